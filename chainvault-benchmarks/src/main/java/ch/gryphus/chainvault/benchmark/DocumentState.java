@@ -0,0 +1,104 @@
+/*
+ * Copyright (c) 2026. Gryphus Lab
+ */
+package ch.gryphus.chainvault.benchmark;
+
+import ch.gryphus.chainvault.domain.MigrationContext;
+import ch.gryphus.chainvault.domain.OcrPage;
+import ch.gryphus.chainvault.domain.SourceMetadata;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * A synthetic document shared by the benchmarks of one trial, sized by page count and page
+ * width.
+ */
+@State(Scope.Benchmark)
+public class DocumentState {
+
+    /**
+     * The number of pages.
+     */
+    @Param({"1", "10", "50"})
+    public int pageCount;
+
+    /**
+     * The width of a page in pixels: A4 at 100 and at 300 dpi.
+     */
+    @Param({"827", "2480"})
+    public int imageSize;
+
+    /**
+     * The doc id.
+     */
+    public final String docId = "DOC-BENCH-001";
+
+    /**
+     * The pages as PNG.
+     */
+    public List<OcrPage> pages;
+
+    /**
+     * The source ZIP payload of the pages.
+     */
+    public byte[] payload;
+
+    /**
+     * The pages laid out as a PDF.
+     */
+    public byte[] pdf;
+
+    /**
+     * The source metadata.
+     */
+    public SourceMetadata metadata;
+
+    /**
+     * The migration context after signing the payload.
+     */
+    public MigrationContext context;
+
+    /**
+     * The working directory.
+     */
+    public Path workingDirectory;
+
+    /**
+     * Generates the document.
+     *
+     * @throws IOException the io exception
+     */
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        pages = SyntheticDocuments.pages(pageCount, imageSize);
+        payload = SyntheticDocuments.payload(pages);
+        pdf = SyntheticDocuments.pdf(pages);
+        metadata = SyntheticDocuments.metadata(docId, pageCount);
+        context = SyntheticDocuments.context(docId, pages);
+        workingDirectory = Files.createTempDirectory("chainvault-bench-");
+    }
+
+    /**
+     * Deletes the working directory.
+     *
+     * @throws IOException the io exception
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        try (Stream<Path> paths = Files.walk(workingDirectory)) {
+            for (Path path : paths.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(path);
+            }
+        }
+    }
+}
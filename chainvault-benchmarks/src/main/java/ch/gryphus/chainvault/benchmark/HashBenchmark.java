@@ -0,0 +1,145 @@
+/*
+ * Copyright (c) 2026. Gryphus Lab
+ */
+package ch.gryphus.chainvault.benchmark;
+
+import ch.gryphus.chainvault.domain.HashAlgorithm;
+import ch.gryphus.chainvault.util.HashUtils;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.NoSuchAlgorithmException;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Throughput of {@link HashUtils} per algorithm, input size and input kind.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class HashBenchmark {
+
+    /**
+     * Random input of a page, a small document and a large document.
+     */
+    @State(Scope.Benchmark)
+    public static class Input {
+
+        /**
+         * The input size in bytes.
+         */
+        @Param({"65536", "4194304", "67108864"})
+        public int size;
+
+        private byte[] data;
+        private ByteBuffer direct;
+        private Path file;
+
+        /**
+         * Generates the input.
+         *
+         * @throws IOException the io exception
+         */
+        @Setup(Level.Trial)
+        public void setUp() throws IOException {
+            data = new byte[size];
+            new Random(42).nextBytes(data);
+            direct = ByteBuffer.allocateDirect(size).put(data).flip();
+            file = Files.createTempFile("chainvault-bench-", ".bin");
+            Files.write(file, data);
+        }
+
+        /**
+         * Deletes the input file.
+         *
+         * @throws IOException the io exception
+         */
+        @TearDown(Level.Trial)
+        public void tearDown() throws IOException {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    /**
+     * The algorithm.
+     */
+    @State(Scope.Benchmark)
+    public static class Algorithm {
+
+        /**
+         * The algorithm.
+         */
+        @Param({"SHA_256", "SHA_512_256", "SHA3_256", "BLAKE3_256"})
+        public HashAlgorithm algorithm;
+    }
+
+    /**
+     * The SHA-256 of a byte array, the call of every stage before the engine was pluggable.
+     *
+     * @param input the input
+     * @return the hash
+     * @throws NoSuchAlgorithmException the no such algorithm exception
+     */
+    @Benchmark
+    public String sha256(Input input) throws NoSuchAlgorithmException {
+        return HashUtils.sha256(input.data);
+    }
+
+    /**
+     * Hash of a byte array.
+     *
+     * @param input     the input
+     * @param algorithm the algorithm
+     * @return the hash
+     * @throws NoSuchAlgorithmException the no such algorithm exception
+     */
+    @Benchmark
+    public String array(Input input, Algorithm algorithm) throws NoSuchAlgorithmException {
+        return HashUtils.hash(algorithm.algorithm, input.data);
+    }
+
+    /**
+     * Hash of a direct buffer.
+     *
+     * @param input     the input
+     * @param algorithm the algorithm
+     * @return the hash
+     * @throws NoSuchAlgorithmException the no such algorithm exception
+     */
+    @Benchmark
+    public String directBuffer(Input input, Algorithm algorithm) throws NoSuchAlgorithmException {
+        return HashUtils.hash(algorithm.algorithm, input.direct.duplicate());
+    }
+
+    /**
+     * Hash of a file through mapped windows.
+     *
+     * @param input     the input
+     * @param algorithm the algorithm
+     * @return the hash
+     * @throws IOException              the io exception
+     * @throws NoSuchAlgorithmException the no such algorithm exception
+     */
+    @Benchmark
+    public String mappedFile(Input input, Algorithm algorithm)
+            throws IOException, NoSuchAlgorithmException {
+        return HashUtils.hash(algorithm.algorithm, input.file);
+    }
+}
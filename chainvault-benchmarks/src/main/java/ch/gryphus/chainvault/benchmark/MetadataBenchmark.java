@@ -0,0 +1,71 @@
+/*
+ * Copyright (c) 2026. Gryphus Lab
+ */
+package ch.gryphus.chainvault.benchmark;
+
+import ch.gryphus.chainvault.config.IntegrityProperties;
+import ch.gryphus.chainvault.config.MigrationProperties;
+import ch.gryphus.chainvault.domain.HashAlgorithm;
+import ch.gryphus.chainvault.service.MigrationService;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmark of the archival metadata XML, whose provenance grows with the page count.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MetadataBenchmark {
+
+    private MigrationService migrationService;
+    private Map<String, Object> ocrFields;
+
+    /**
+     * Creates the migration service and the OCR fields the transform stage adds.
+     */
+    @Setup
+    public void setUp() {
+        migrationService =
+                new MigrationService(
+                        null,
+                        null,
+                        null,
+                        new MigrationProperties(
+                                System.getProperty("java.io.tmpdir"),
+                                1_000_000_000L,
+                                10.0,
+                                10_000,
+                                "eng+deu",
+                                300),
+                        new IntegrityProperties(HashAlgorithm.SHA_256),
+                        null,
+                        null);
+        ocrFields = Map.of("ocrTextLength", 42_000, "ocrPageCount", 10);
+    }
+
+    /**
+     * Building and serializing the archival metadata.
+     *
+     * @param document the document
+     * @return the xml
+     */
+    @Benchmark
+    public String transformMetadataToXml(DocumentState document) {
+        return migrationService.transformMetadataToXml(
+                document.metadata, document.context, ocrFields);
+    }
+}
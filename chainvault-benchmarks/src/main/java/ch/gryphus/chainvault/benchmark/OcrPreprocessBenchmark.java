@@ -0,0 +1,59 @@
+/*
+ * Copyright (c) 2026. Gryphus Lab
+ */
+package ch.gryphus.chainvault.benchmark;
+
+import ch.gryphus.chainvault.util.GrayRaster;
+import ch.gryphus.chainvault.util.OcrPreprocessor;
+import java.awt.image.BufferedImage;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmark of the preprocessing ahead of OCR, grayscale, contrast, binarization and deskew, per
+ * page.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "--add-modules=jdk.incubator.vector")
+public class OcrPreprocessBenchmark {
+
+    /**
+     * The width of the page in pixels: A4 at 100, 200 and 300 dpi.
+     */
+    @Param({"827", "1654", "2480"})
+    public int imageSize;
+
+    private BufferedImage page;
+
+    /**
+     * Renders the page.
+     */
+    @Setup
+    public void setUp() {
+        page = SyntheticDocuments.page(imageSize, 1);
+    }
+
+    /**
+     * Preprocessing one page.
+     *
+     * @return the preprocessed page
+     */
+    @Benchmark
+    public GrayRaster preprocess() {
+        return OcrPreprocessor.preprocess(page);
+    }
+}
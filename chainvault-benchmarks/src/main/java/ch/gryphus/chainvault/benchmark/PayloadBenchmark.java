@@ -0,0 +1,121 @@
+/*
+ * Copyright (c) 2026. Gryphus Lab
+ */
+package ch.gryphus.chainvault.benchmark;
+
+import ch.gryphus.chainvault.config.IntegrityProperties;
+import ch.gryphus.chainvault.config.MigrationProperties;
+import ch.gryphus.chainvault.domain.HashAlgorithm;
+import ch.gryphus.chainvault.domain.MigrationContext;
+import ch.gryphus.chainvault.domain.OcrPage;
+import ch.gryphus.chainvault.service.MigrationService;
+import ch.gryphus.chainvault.util.MigrationUtils;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.security.NoSuchAlgorithmException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks of the payload stages of a migration: unpacking and signing the source ZIP,
+ * rasterizing PDF pages, merging pages into a PDF and writing the chain ZIP.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PayloadBenchmark {
+
+    private MigrationService migrationService;
+
+    /**
+     * Creates the migration service with the thresholds of the default configuration.
+     */
+    @Setup
+    public void setUp() {
+        migrationService =
+                new MigrationService(
+                        null,
+                        null,
+                        null,
+                        new MigrationProperties(
+                                System.getProperty("java.io.tmpdir"),
+                                1_000_000_000L,
+                                10.0,
+                                10_000,
+                                "eng+deu",
+                                300),
+                        new IntegrityProperties(HashAlgorithm.SHA_256),
+                        null,
+                        null);
+    }
+
+    /**
+     * Zip bomb checks, unpacking and page hashing of the source payload.
+     *
+     * @param document the document
+     * @return the pages
+     * @throws IOException              the io exception
+     * @throws NoSuchAlgorithmException the no such algorithm exception
+     */
+    @Benchmark
+    public List<OcrPage> signSourcePayload(DocumentState document)
+            throws IOException, NoSuchAlgorithmException {
+        var context = new MigrationContext();
+        context.setDocId(document.docId);
+        return migrationService.signSourcePayload(
+                document.payload, context, document.workingDirectory);
+    }
+
+    /**
+     * Splitting a PDF into its pages and planning the dpi OCR renders each at, up to 300 dpi.
+     *
+     * @param document the document
+     * @return the pages
+     * @throws IOException the io exception
+     */
+    @Benchmark
+    public List<OcrPage> extractPdfPages(DocumentState document) throws IOException {
+        return MigrationUtils.extractPdfPages(document.pdf, "document.pdf");
+    }
+
+    /**
+     * Merging the pages into one PDF.
+     *
+     * @param document the document
+     * @return the pdf path
+     * @throws IOException the io exception
+     */
+    @Benchmark
+    public Path mergePagesToPdf(DocumentState document) throws IOException {
+        return MigrationUtils.mergePagesToPdf(
+                document.pages, document.docId, document.workingDirectory);
+    }
+
+    /**
+     * Writing the chain ZIP with its manifest.
+     *
+     * @param document the document
+     * @return the zip path
+     * @throws IOException the io exception
+     */
+    @Benchmark
+    public Path createChainZipFile(DocumentState document) throws IOException {
+        Path zipPath = document.workingDirectory.resolve("%s_chain.zip".formatted(document.docId));
+        MigrationUtils.createChainZipFile(
+                document.metadata, document.context, document.pages, zipPath);
+        return zipPath;
+    }
+}
@@ -0,0 +1,208 @@
+/*
+ * Copyright (c) 2026. Gryphus Lab
+ */
+package ch.gryphus.chainvault.benchmark;
+
+import ch.gryphus.chainvault.domain.MigrationContext;
+import ch.gryphus.chainvault.domain.OcrPage;
+import ch.gryphus.chainvault.domain.SourceMetadata;
+import ch.gryphus.chainvault.util.HashUtils;
+import ch.gryphus.chainvault.util.MerkleTree;
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+import javax.imageio.ImageIO;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.PDPageContentStream;
+import org.apache.pdfbox.pdmodel.common.PDRectangle;
+import org.apache.pdfbox.pdmodel.graphics.image.LosslessFactory;
+
+/**
+ * Generates scanned-looking documents in process: A4 pages of text lines with scanner speckle,
+ * the source ZIP payload of those pages, a PDF of them and the matching metadata. The content is
+ * seeded, so every run of a benchmark sees the same bytes.
+ */
+public final class SyntheticDocuments {
+
+    private static final String LINE =
+            "Lorem ipsum dolor sit amet, consectetur adipiscing elit, sed do eiusmod tempor"
+                + " 0123456789";
+
+    private SyntheticDocuments() {
+        /* This utility class should not be instantiated */
+    }
+
+    /**
+     * Renders the pages of a document as PNG.
+     *
+     * @param pageCount the page count
+     * @param width     the width of a page in pixels, its height follows the A4 aspect ratio
+     * @return the pages
+     */
+    public static List<OcrPage> pages(int pageCount, int width) {
+        List<OcrPage> pages = new ArrayList<>(pageCount);
+        for (int number = 1; number <= pageCount; number++) {
+            pages.add(
+                    new OcrPage(
+                            "page%03d.png".formatted(number),
+                            png(page(width, number)),
+                            "image/png",
+                            null));
+        }
+        return pages;
+    }
+
+    /**
+     * Renders one page.
+     *
+     * @param width  the width in pixels, the height follows the A4 aspect ratio
+     * @param number the page number, the seed of its content
+     * @return the image
+     */
+    public static BufferedImage page(int width, int number) {
+        int height = Math.round(width * PDRectangle.A4.getHeight() / PDRectangle.A4.getWidth());
+        var image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = image.createGraphics();
+        try {
+            g.setRenderingHint(
+                    RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+            g.setColor(Color.WHITE);
+            g.fillRect(0, 0, width, height);
+            g.setColor(Color.BLACK);
+            int fontSize = Math.max(8, width / 70);
+            g.setFont(new Font(Font.SERIF, Font.PLAIN, fontSize));
+            int margin = width / 12;
+            for (int y = margin; y < height - margin; y += fontSize * 3 / 2) {
+                g.drawString(LINE, margin, y);
+            }
+
+            // scanner speckle, so that pages neither compress nor OCR like vector renderings
+            var random = new Random(number);
+            for (int i = 0; i < width * height / 400; i++) {
+                image.setRGB(random.nextInt(width), random.nextInt(height), 0x404040);
+            }
+        } finally {
+            g.dispose();
+        }
+        return image;
+    }
+
+    /**
+     * Zips pages the way the source system delivers a payload.
+     *
+     * @param pages the pages
+     * @return the payload
+     */
+    public static byte[] payload(List<? extends OcrPage> pages) {
+        var bytes = new ByteArrayOutputStream();
+        try (var zip = new ZipOutputStream(bytes)) {
+            for (OcrPage page : pages) {
+                zip.putNextEntry(new ZipEntry(page.getName()));
+                zip.write(page.getData());
+                zip.closeEntry();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Lays out pages on A4 pages of a PDF, as a scanner would.
+     *
+     * @param pages the pages
+     * @return the pdf
+     */
+    public static byte[] pdf(List<? extends OcrPage> pages) {
+        var bytes = new ByteArrayOutputStream();
+        try (var doc = new PDDocument()) {
+            for (OcrPage page : pages) {
+                var pdImage =
+                        LosslessFactory.createFromImage(
+                                doc, ImageIO.read(new ByteArrayInputStream(page.getData())));
+                var pdPage = new PDPage(PDRectangle.A4);
+                doc.addPage(pdPage);
+                try (var cs = new PDPageContentStream(doc, pdPage)) {
+                    cs.drawImage(
+                            pdImage, 0, 0, PDRectangle.A4.getWidth(), PDRectangle.A4.getHeight());
+                }
+            }
+            doc.save(bytes);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Creates the source metadata of a document.
+     *
+     * @param docId     the doc id
+     * @param pageCount the page count
+     * @return the source metadata
+     */
+    public static SourceMetadata metadata(String docId, int pageCount) {
+        var meta = new SourceMetadata();
+        meta.setDocId(docId);
+        meta.setTitle("Synthetic document %s".formatted(docId));
+        meta.setCreationDate("2026-01-01T00:00:00Z");
+        meta.setClientId("CLIENT-001");
+        meta.setAccountNo("ACC-0001");
+        meta.setDocumentType("INVOICE");
+        meta.setDepartment("Finance");
+        meta.setStatus("ACTIVE");
+        meta.setPageCount(pageCount);
+        meta.setTags(List.of("benchmark", "synthetic"));
+        return meta;
+    }
+
+    /**
+     * Creates the migration context of a document whose pages were signed.
+     *
+     * @param docId the doc id
+     * @param pages the pages
+     * @return the migration context
+     */
+    public static MigrationContext context(String docId, List<? extends OcrPage> pages) {
+        var context = new MigrationContext();
+        context.setDocId(docId);
+        try {
+            for (OcrPage page : pages) {
+                context.addPageHash(page.getName(), HashUtils.sha256(page.getData()));
+            }
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        context.setPageMerkleRoot(MerkleTree.of(context.getPageHashes().values()).root());
+        return context;
+    }
+
+    /**
+     * Encodes an image as PNG.
+     *
+     * @param image the image
+     * @return the png bytes
+     */
+    public static byte[] png(BufferedImage image) {
+        var bytes = new ByteArrayOutputStream();
+        try {
+            ImageIO.write(image, "png", bytes);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+}
@@ -0,0 +1,62 @@
+/*
+ * Copyright (c) 2026. Gryphus Lab
+ */
+package ch.gryphus.chainvault.config;
+
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.NotNull;
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+import org.springframework.validation.annotation.Validated;
+
+/**
+ * Artifact store properties
+ *
+ * @param sharedDirectory    the directory shared by all nodes of a cluster, mounted at the same
+ *                           path everywhere; blank keeps the working directories node-local
+ * @param processQuota       the upper bound of the space one migration may reserve
+ * @param globalQuota        the upper bound of the space all migrations of this node may reserve
+ * @param reservationFactor  the space reserved per byte of the source payload, covering the pages,
+ *                           PDF, XML and ZIP derived from it
+ * @param sweepInterval      the delay between two runs of the orphan sweeper
+ * @param orphanGracePeriod  the age below which a working directory is never swept
+ * @param failedRetention    how long the working directory of a failed migration is kept for a
+ *                           restart
+ * @param memoryDirectory    the memory-backed directory (tmpfs) holding the working directories
+ *                           of small documents; blank keeps all of them on the disk
+ * @param memoryThreshold    the payload size up to which a document uses the memory directory
+ */
+@Validated
+@ConfigurationProperties(prefix = "migration.artifact-store")
+public record ArtifactStoreProperties(
+        String sharedDirectory,
+        @NotNull DataSize processQuota,
+        @NotNull DataSize globalQuota,
+        @DecimalMin("1.0") double reservationFactor,
+        @NotNull Duration sweepInterval,
+        @NotNull Duration orphanGracePeriod,
+        @NotNull Duration failedRetention,
+        String memoryDirectory,
+        @NotNull DataSize memoryThreshold) {
+
+    /**
+     * Whether the working directories are placed on the shared directory, which allows the steps
+     * of one migration to run on different nodes.
+     *
+     * @return the boolean
+     */
+    public boolean shared() {
+        return sharedDirectory != null && !sharedDirectory.isBlank();
+    }
+
+    /**
+     * Whether small documents get a working directory in the memory directory. The memory tier is
+     * node-local, so it is off in clustered mode.
+     *
+     * @return the boolean
+     */
+    public boolean memoryTier() {
+        return memoryDirectory != null && !memoryDirectory.isBlank() && !shared();
+    }
+}
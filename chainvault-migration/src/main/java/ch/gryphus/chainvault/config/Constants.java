@@ -26,6 +26,57 @@ public final class Constants {
      */
     public static final String BPMN_PROC_VAR_DOC_ID = "docId";
 
+    /**
+     * The constant BPMN_PROC_VAR_PRIORITY, the {@code MigrationPriority} name of the migration.
+     */
+    public static final String BPMN_PROC_VAR_PRIORITY = "priority";
+
+    /**
+     * The constant BPMN_PROC_VAR_WORKING_DIRECTORY_REF.
+     */
+    public static final String BPMN_PROC_VAR_WORKING_DIRECTORY_REF = "workingDirectoryRef";
+
+    /**
+     * The constant BPMN_PROC_VAR_RESUME_CHECKPOINTS, the verified checkpoints of a restarted
+     * migration keyed by task type.
+     */
+    public static final String BPMN_PROC_VAR_RESUME_CHECKPOINTS = "resumeCheckpoints";
+
+    /**
+     * The constant BPMN_TRANSIENT_VAR_CHECKPOINT, the artifacts published by the running task.
+     */
+    public static final String BPMN_TRANSIENT_VAR_CHECKPOINT = "checkpoint";
+
+    /**
+     * The constant TASK_TYPE_EXTRACT_HASH.
+     */
+    public static final String TASK_TYPE_EXTRACT_HASH = "extract-hash";
+
+    /**
+     * The constant TASK_TYPE_SIGN_DOCUMENT.
+     */
+    public static final String TASK_TYPE_SIGN_DOCUMENT = "sign-document";
+
+    /**
+     * The constant TASK_TYPE_PREPARE_FILES.
+     */
+    public static final String TASK_TYPE_PREPARE_FILES = "prepare-files";
+
+    /**
+     * The constant TASK_TYPE_PERFORM_OCR.
+     */
+    public static final String TASK_TYPE_PERFORM_OCR = "perform-ocr";
+
+    /**
+     * The constant TASK_TYPE_MERGE_PDFS.
+     */
+    public static final String TASK_TYPE_MERGE_PDFS = "merge-pdfs";
+
+    /**
+     * The constant TASK_TYPE_TRANSFORM_METADATA.
+     */
+    public static final String TASK_TYPE_TRANSFORM_METADATA = "transform-metadata";
+
     /**
      * The constant POSTGRES_DB_NAME.
      */
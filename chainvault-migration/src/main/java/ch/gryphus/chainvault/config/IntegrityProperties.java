@@ -0,0 +1,18 @@
+/*
+ * Copyright (c) 2026. Gryphus Lab
+ */
+package ch.gryphus.chainvault.config;
+
+import ch.gryphus.chainvault.domain.HashAlgorithm;
+import jakarta.validation.constraints.NotNull;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+/**
+ * Integrity properties
+ *
+ * @param algorithm the digest of the metadata, payload, page, pdf and zip hashes of new migrations
+ */
+@Validated
+@ConfigurationProperties(prefix = "migration.integrity")
+public record IntegrityProperties(@NotNull HashAlgorithm algorithm) {}
@@ -0,0 +1,22 @@
+/*
+ * Copyright (c) 2026. Gryphus Lab
+ */
+package ch.gryphus.chainvault.config;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+/**
+ * Metadata prefetch properties
+ *
+ * @param batchSize  the number of doc ids requested per bulk call
+ * @param maxEntries the upper bound of cached metadata entries
+ * @param ttl        the time after which a prefetched entry is discarded
+ */
+@Validated
+@ConfigurationProperties(prefix = "migration.prefetch")
+public record PrefetchProperties(
+        @Min(1) int batchSize, @Min(1) int maxEntries, @NotNull Duration ttl) {}
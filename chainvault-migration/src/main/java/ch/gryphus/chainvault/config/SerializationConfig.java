@@ -3,7 +3,6 @@
  */
 package ch.gryphus.chainvault.config;
 
-import org.apache.tika.Tika;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Primary;
@@ -47,14 +46,4 @@ public class SerializationConfig {
     public XmlMapper xmlMapper() {
         return new XmlMapper();
     }
-
-    /**
-     * Tika tika.
-     *
-     * @return the tika
-     */
-    @Bean
-    public Tika tika() {
-        return new Tika();
-    }
 }
@@ -0,0 +1,34 @@
+/*
+ * Copyright (c) 2026. Gryphus Lab
+ */
+package ch.gryphus.chainvault.config;
+
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+/**
+ * Source API guard properties
+ *
+ * @param initialLimit     the initial number of concurrent source api calls
+ * @param minLimit         the lower bound of the adaptive limit
+ * @param maxLimit         the upper bound of the adaptive limit
+ * @param latencyThreshold the call latency above which the limit is decreased
+ * @param backoffRatio     the multiplicative decrease applied on slow or failed calls
+ * @param failureThreshold the consecutive failures that open the circuit
+ * @param openDuration     the time the circuit stays open before a trial call
+ */
+@Validated
+@ConfigurationProperties(prefix = "migration.source-guard")
+public record SourceGuardProperties(
+        @Min(1) int initialLimit,
+        @Min(1) int minLimit,
+        @Min(1) int maxLimit,
+        @NotNull Duration latencyThreshold,
+        @Positive @DecimalMax("1.0") double backoffRatio,
+        @Min(1) int failureThreshold,
+        @NotNull Duration openDuration) {}
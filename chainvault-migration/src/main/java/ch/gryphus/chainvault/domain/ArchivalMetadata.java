@@ -26,6 +26,7 @@ public class ArchivalMetadata {
     private String payloadHash;
     private String zipHash;
     private String pdfHash;
+    private String pageMerkleRoot;
 
     private MigrationProvenance provenance;
     private Map<String, Object> customFields;
@@ -0,0 +1,40 @@
+/*
+ * Copyright (c) 2026. Gryphus Lab
+ */
+package ch.gryphus.chainvault.domain;
+
+import lombok.Getter;
+
+/**
+ * The digest of the integrity hashes of a migration, selected per deployment.
+ */
+@Getter
+public enum HashAlgorithm {
+    /**
+     * SHA-256, the default and the only algorithm of migrations before the choice was added.
+     */
+    SHA_256("SHA-256"),
+    /**
+     * SHA-512 truncated to 256 bits, faster than SHA-256 on 64-bit platforms without SHA
+     * extensions.
+     */
+    SHA_512_256("SHA-512/256"),
+    /**
+     * SHA3-256.
+     */
+    SHA3_256("SHA3-256"),
+    /**
+     * BLAKE3 with a 256 bit output.
+     */
+    BLAKE3_256("BLAKE3-256");
+
+    /**
+     * The name recorded in the manifest and set by {@code MIGRATION_HASH_ALGORITHM}, which the
+     * integrity section of the mapping config resolves to.
+     */
+    private final String standardName;
+
+    HashAlgorithm(String standardName) {
+        this.standardName = standardName;
+    }
+}
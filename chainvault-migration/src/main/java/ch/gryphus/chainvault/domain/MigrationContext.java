@@ -3,7 +3,9 @@
  */
 package ch.gryphus.chainvault.domain;
 
-import java.util.HashMap;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import lombok.Data;
 
@@ -13,11 +15,17 @@ import lombok.Data;
 @Data
 public class MigrationContext {
     private String docId;
+    // contexts of migrations started before the algorithm was configurable were hashed with SHA-256
+    private HashAlgorithm hashAlgorithm = HashAlgorithm.SHA_256;
     private String metadataHash;
     private String payloadHash;
     private String zipHash;
     private String pdfHash;
-    private Map<String, String> pageHashes = new HashMap<>();
+    // in page order, the order of the leaves of the page Merkle tree
+    private Map<String, String> pageHashes = new LinkedHashMap<>();
+    private String pageMerkleRoot;
+    // read from the tree built while unpacking, for the manifest of the same run only
+    @JsonIgnore private transient Map<String, List<String>> pageMerkleProofs;
 
     /**
      * Add page hash.
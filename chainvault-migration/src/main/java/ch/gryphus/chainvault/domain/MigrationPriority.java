@@ -0,0 +1,19 @@
+/*
+ * Copyright (c) 2026. Gryphus Lab
+ */
+package ch.gryphus.chainvault.domain;
+
+/**
+ * The scheduling lane of a migration.
+ */
+public enum MigrationPriority {
+    /**
+     * Backfills and batches, executed by the shared Flowable job executor.
+     */
+    BULK,
+    /**
+     * Single documents submitted or restarted by a user, executed on reserved capacity ahead of
+     * the bulk backlog.
+     */
+    INTERACTIVE
+}
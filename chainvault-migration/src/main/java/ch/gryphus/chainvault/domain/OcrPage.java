@@ -22,6 +22,9 @@ public class OcrPage {
 
     private OcrSettings settings;
 
+    // text taken from a text layer, the page needs no OCR
+    private String text;
+
     /**
      * Instantiates a new Ocr page.
      *
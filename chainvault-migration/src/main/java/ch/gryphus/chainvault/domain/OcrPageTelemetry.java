@@ -0,0 +1,36 @@
+/*
+ * Copyright (c) 2026. Gryphus Lab
+ */
+package ch.gryphus.chainvault.domain;
+
+/**
+ * Measurements of the OCR of one page, kept with the OCR settings it ran with so DPI, page
+ * segmentation and preprocessing can be tuned from them.
+ *
+ * @param name            the page name
+ * @param width           the width in pixels
+ * @param height          the height in pixels
+ * @param pageSegMode     the tesseract page segmentation mode
+ * @param dpi             the dpi passed to tesseract
+ * @param preprocessed    whether the page was contrast enhanced, binarized and deskewed
+ * @param decodeNanos     the time spent decoding the image or rendering the PDF page, and
+ *                        converting it to grayscale when it was not preprocessed
+ * @param preprocessNanos the time spent preprocessing, 0 without preprocessing
+ * @param recognizeNanos  the time spent in tesseract
+ * @param meanConfidence  the mean word confidence of tesseract, 0 to 100
+ * @param textLength      the length of the recognized text
+ * @param pixelsPerSecond the pixels recognized per second of tesseract time
+ */
+public record OcrPageTelemetry(
+        String name,
+        int width,
+        int height,
+        int pageSegMode,
+        int dpi,
+        boolean preprocessed,
+        long decodeNanos,
+        long preprocessNanos,
+        long recognizeNanos,
+        int meanConfidence,
+        int textLength,
+        double pixelsPerSecond) {}
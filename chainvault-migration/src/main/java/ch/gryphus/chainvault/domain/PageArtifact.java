@@ -0,0 +1,22 @@
+/*
+ * Copyright (c) 2026. Gryphus Lab
+ */
+package ch.gryphus.chainvault.domain;
+
+/**
+ * Index entry of a page spilled to the artifact store.
+ *
+ * @param name     the page name
+ * @param mimeType the mime type
+ * @param file     the file holding the page data, relative to the working directory
+ * @param settings the ocr settings
+ * @param sha256   the SHA-256 of the page data, verified when the page is loaded
+ * @param text     the text of the text layer of the page, {@code null} if it needs OCR
+ */
+public record PageArtifact(
+        String name,
+        String mimeType,
+        String file,
+        OcrSettings settings,
+        String sha256,
+        String text) {}
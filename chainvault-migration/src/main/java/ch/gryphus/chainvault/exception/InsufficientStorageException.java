@@ -0,0 +1,20 @@
+/*
+ * Copyright (c) 2026. Gryphus Lab
+ */
+package ch.gryphus.chainvault.exception;
+
+/**
+ * Signals that the working directories cannot take the artifacts of another migration right now,
+ * either because the reservations of this node reached the global quota or because the disk is
+ * too full. The operation is safe to retry once other migrations released their space.
+ */
+public class InsufficientStorageException extends MigrationServiceException {
+    /**
+     * Instantiates a new Insufficient storage exception.
+     *
+     * @param message the message
+     */
+    public InsufficientStorageException(String message) {
+        super(message);
+    }
+}
@@ -30,4 +30,14 @@ public class MigrationServiceException extends RuntimeException {
     public MigrationServiceException(String message) {
         super(message);
     }
+
+    /**
+     * Instantiates a new Migration service exception.
+     *
+     * @param message the message
+     * @param cause   the cause
+     */
+    public MigrationServiceException(String message, Throwable cause) {
+        super(message, cause);
+    }
 }
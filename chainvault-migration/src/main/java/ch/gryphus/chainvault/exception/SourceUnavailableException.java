@@ -0,0 +1,30 @@
+/*
+ * Copyright (c) 2026. Gryphus Lab
+ */
+package ch.gryphus.chainvault.exception;
+
+/**
+ * Signals that the source archive API is temporarily unavailable, either because a call failed
+ * on the transport or server side, or because the call was rejected locally by the concurrency
+ * limiter or the open circuit breaker. The operation is safe to retry later.
+ */
+public class SourceUnavailableException extends MigrationServiceException {
+    /**
+     * Instantiates a new Source unavailable exception.
+     *
+     * @param message the message
+     */
+    public SourceUnavailableException(String message) {
+        super(message);
+    }
+
+    /**
+     * Instantiates a new Source unavailable exception.
+     *
+     * @param message the message
+     * @param cause   the cause
+     */
+    public SourceUnavailableException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,612 @@
+/*
+ * Copyright (c) 2026. Gryphus Lab
+ */
+package ch.gryphus.chainvault.service;
+
+import ch.gryphus.chainvault.config.ArtifactStoreProperties;
+import ch.gryphus.chainvault.config.MigrationProperties;
+import ch.gryphus.chainvault.domain.OcrPage;
+import ch.gryphus.chainvault.domain.PageArtifact;
+import ch.gryphus.chainvault.exception.InsufficientStorageException;
+import ch.gryphus.chainvault.exception.MigrationServiceException;
+import ch.gryphus.chainvault.util.HashUtils;
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.util.FileSystemUtils;
+import org.springframework.util.unit.DataSize;
+import tools.jackson.databind.ObjectMapper;
+
+/**
+ * Working-directory backed store for the intermediate artifacts of a migration (payload, pages,
+ * metadata, OCR text, generated files). Every process instance owns one working directory; an
+ * artifact is addressed by a handle, its path relative to that directory, which is small enough
+ * to be persisted as a process variable. Files are written to a temporary sibling first and moved
+ * into place atomically, so a handle never points to a partially written artifact.
+ *
+ * <p>With a shared directory configured the working directories live there, so that every node
+ * of a cluster can continue a migration another node started.
+ *
+ * <p>Before the payload is downloaded a migration reserves space for everything derived from it.
+ * A reservation above the per-process quota fails the migration, one that does not fit under the
+ * global quota of this node or on the disk is rejected with an {@link
+ * InsufficientStorageException} and retried later. Every working directory carries a marker file
+ * with its process instance id, which lets the sweeper find the directories left behind by
+ * earlier runs of the node.
+ *
+ * <p>With a memory directory configured (a tmpfs mount such as {@code /dev/shm}) the working
+ * directories of documents up to {@code memoryThreshold} are placed there, so the temporary ZIP,
+ * pages, PDF and chain ZIP of small documents never touch the disk. Larger documents, and all
+ * documents in clustered mode, stay on the disk tier.
+ */
+@Slf4j
+@Service
+public class ArtifactStoreService {
+
+    /**
+     * The artifact holding the source payload.
+     */
+    public static final String PAYLOAD = "payload.bin";
+
+    /**
+     * The artifact holding the source metadata.
+     */
+    public static final String META = "meta.json";
+
+    /**
+     * The artifact holding the migration context.
+     */
+    public static final String MIGRATION_CONTEXT = "migration-context.json";
+
+    /**
+     * The artifact holding the page index.
+     */
+    public static final String PAGES = "pages/index.json";
+
+    /**
+     * The artifact holding the OCR text per page.
+     */
+    public static final String OCR_RESULTS = "ocr-results.json";
+
+    /**
+     * The artifact holding the archival metadata XML.
+     */
+    public static final String XML = "metadata.xml";
+
+    /**
+     * The file marking a working directory, holding the id of its process instance.
+     */
+    public static final String OWNER = ".process-instance";
+
+    private static final String PAGES_DIRECTORY = "pages";
+
+    private final MigrationProperties props;
+    private final ArtifactStoreProperties storeProps;
+    private final ObjectMapper objectMapper;
+    private final Map<Path, Long> reservations = new ConcurrentHashMap<>();
+
+    /**
+     * Instantiates a new Artifact store service.
+     *
+     * @param props         the props
+     * @param storeProps    the store props
+     * @param meterRegistry the meter registry
+     */
+    @SuppressFBWarnings(
+            value = "EI_EXPOSE_REP2",
+            justification = "Spring-injected singleton beans are effectively immutable references")
+    public ArtifactStoreService(
+            MigrationProperties props,
+            ArtifactStoreProperties storeProps,
+            MeterRegistry meterRegistry) {
+        this.props = props;
+        this.storeProps = storeProps;
+        this.objectMapper = new ObjectMapper();
+
+        Gauge.builder("chainvault.workdir.reserved", this, ArtifactStoreService::reservedBytes)
+                .description("Space reserved by the migrations of this node")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        Gauge.builder("chainvault.workdir.usable", this, store -> store.usableSpaceOrNaN(root()))
+                .description("Usable space of the file system holding the working directories")
+                .tag("tier", "disk")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        if (storeProps.memoryTier()) {
+            Gauge.builder(
+                            "chainvault.workdir.usable",
+                            this,
+                            store -> store.usableSpaceOrNaN(memoryRoot()))
+                    .description("Usable space of the file system holding the working directories")
+                    .tag("tier", "memory")
+                    .baseUnit("bytes")
+                    .register(meterRegistry);
+        }
+    }
+
+    /**
+     * Creates the working directory of a process instance on the disk tier if it does not exist
+     * yet.
+     *
+     * @param processInstanceId the process instance id
+     * @return the working directory
+     * @throws IOException the io exception
+     */
+    public Path open(String processInstanceId) throws IOException {
+        return open(processInstanceId, Long.MAX_VALUE);
+    }
+
+    /**
+     * Creates the working directory of a process instance if it does not exist yet. It is placed
+     * on the memory tier if the payload is small enough and its reservation fits there, otherwise
+     * on the disk. An existing working directory is reused on whichever tier it is.
+     *
+     * @param processInstanceId the process instance id
+     * @param payloadBytes      the size of the source payload
+     * @return the working directory
+     * @throws IOException the io exception
+     */
+    public Path open(String processInstanceId, long payloadBytes) throws IOException {
+        Path workingDirectory = workingDirectory(processInstanceId);
+        if (Files.notExists(workingDirectory) && fitsMemoryTier(payloadBytes)) {
+            workingDirectory = memoryRoot().resolve(processInstanceId);
+        }
+        if (Files.notExists(workingDirectory)) {
+            Files.createDirectories(workingDirectory);
+            log.info("Created working directory: {}", workingDirectory);
+        } else {
+            log.warn("Working directory already exists: {}", workingDirectory);
+        }
+        Path owner = workingDirectory.resolve(OWNER);
+        if (Files.notExists(owner)) {
+            Files.writeString(owner, processInstanceId, StandardCharsets.UTF_8);
+        }
+        return workingDirectory;
+    }
+
+    /**
+     * Gets the working directory of a process instance, on the memory tier if it was opened there.
+     *
+     * @param processInstanceId the process instance id
+     * @return the working directory
+     */
+    public Path workingDirectory(String processInstanceId) {
+        if (storeProps.memoryTier() && Files.isDirectory(memoryRoot().resolve(processInstanceId))) {
+            return memoryRoot().resolve(processInstanceId);
+        }
+        Path workingDirectory =
+                storeProps.shared()
+                        ? Paths.get(storeProps.sharedDirectory(), processInstanceId)
+                        : Paths.get("%s-%s".formatted(props.tempDir(), processInstanceId));
+        return workingDirectory.toAbsolutePath().normalize();
+    }
+
+    /**
+     * Gets the usable space of the file system holding the working directories, measured on the
+     * nearest existing directory above them.
+     *
+     * @return the usable space in bytes
+     * @throws IOException the io exception
+     */
+    public long usableSpace() throws IOException {
+        return usableSpace(root());
+    }
+
+    /**
+     * Reserves the space the artifacts derived from a payload of the given size will take in a
+     * working directory. A repeated reservation for the same directory replaces the previous one.
+     *
+     * @param workingDirectory the working directory
+     * @param payloadBytes     the size of the source payload
+     * @return the reserved bytes
+     * @throws InsufficientStorageException if the reservation does not fit right now
+     */
+    public synchronized long reserve(Path workingDirectory, long payloadBytes) {
+        long bytes = reservation(payloadBytes);
+        if (bytes > storeProps.processQuota().toBytes()) {
+            throw new MigrationServiceException(
+                    "%s for %s exceed the quota of %s per migration"
+                            .formatted(
+                                    DataSize.ofBytes(bytes),
+                                    workingDirectory,
+                                    storeProps.processQuota()));
+        }
+
+        Path key = workingDirectory.toAbsolutePath().normalize();
+        reservations
+                .keySet()
+                .removeIf(reserved -> !reserved.equals(key) && Files.notExists(reserved));
+        long others = reservedBytes() - reservations.getOrDefault(key, 0L);
+        if (others + bytes > storeProps.globalQuota().toBytes()) {
+            throw new InsufficientStorageException(
+                    "%s for %s exceed the global quota of %s, %s already reserved"
+                            .formatted(
+                                    DataSize.ofBytes(bytes),
+                                    workingDirectory,
+                                    storeProps.globalQuota(),
+                                    DataSize.ofBytes(others)));
+        }
+        double usableSpace = usableSpaceOrNaN(key);
+        if (usableSpace < bytes) {
+            throw new InsufficientStorageException(
+                    "%s for %s exceed the usable space of %s"
+                            .formatted(
+                                    DataSize.ofBytes(bytes),
+                                    workingDirectory,
+                                    DataSize.ofBytes((long) usableSpace)));
+        }
+
+        reservations.put(key, bytes);
+        log.debug("Reserved {} bytes for {}", bytes, key);
+        return bytes;
+    }
+
+    /**
+     * Releases the reservation of a working directory.
+     *
+     * @param workingDirectory the working directory
+     */
+    public void release(Path workingDirectory) {
+        if (workingDirectory != null) {
+            reservations.remove(workingDirectory.toAbsolutePath().normalize());
+        }
+    }
+
+    /**
+     * Gets the space reserved by the migrations of this node.
+     *
+     * @return the reserved bytes
+     */
+    public long reservedBytes() {
+        return reservations.values().stream().mapToLong(Long::longValue).sum();
+    }
+
+    /**
+     * Lists the working directories next to the ones this store creates, including those created
+     * by earlier runs of the node or, with a shared directory, by other nodes.
+     *
+     * @return the working directories
+     * @throws IOException the io exception
+     */
+    public List<Path> workingDirectories() throws IOException {
+        List<Path> workingDirectories = new ArrayList<>(workingDirectories(root()));
+        if (storeProps.memoryTier()) {
+            workingDirectories.addAll(workingDirectories(memoryRoot()));
+        }
+        return workingDirectories;
+    }
+
+    /**
+     * Gets the id of the process instance owning a working directory.
+     *
+     * @param workingDirectory the working directory
+     * @return the process instance id
+     */
+    public Optional<String> processInstanceIdOf(Path workingDirectory) {
+        try {
+            String id = Files.readString(workingDirectory.resolve(OWNER), StandardCharsets.UTF_8);
+            return Optional.of(id.strip()).filter(s -> !s.isEmpty());
+        } catch (IOException e) {
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Measures the space taken by the files of a working directory. Files deleted while it is
+     * walked count as empty.
+     *
+     * @param workingDirectory the working directory
+     * @return the size in bytes
+     * @throws IOException the io exception
+     */
+    public long size(Path workingDirectory) throws IOException {
+        try (Stream<Path> files = Files.walk(workingDirectory)) {
+            return files.mapToLong(ArtifactStoreService::sizeOf).sum();
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Stores binary data.
+     *
+     * @param workingDirectory the working directory
+     * @param name             the artifact name
+     * @param data             the data
+     * @return the handle
+     * @throws IOException the io exception
+     */
+    public String putBytes(Path workingDirectory, String name, byte[] data) throws IOException {
+        writeAtomically(resolve(workingDirectory, name), data);
+        return name;
+    }
+
+    /**
+     * Loads binary data.
+     *
+     * @param workingDirectory the working directory
+     * @param handle           the handle
+     * @return the data
+     * @throws IOException the io exception
+     */
+    public byte[] getBytes(Path workingDirectory, String handle) throws IOException {
+        return Files.readAllBytes(existing(workingDirectory, handle));
+    }
+
+    /**
+     * Stores a value as JSON.
+     *
+     * @param workingDirectory the working directory
+     * @param name             the artifact name
+     * @param value            the value
+     * @return the handle
+     * @throws IOException the io exception
+     */
+    public String putJson(Path workingDirectory, String name, Object value) throws IOException {
+        return putBytes(workingDirectory, name, objectMapper.writeValueAsBytes(value));
+    }
+
+    /**
+     * Loads a JSON value.
+     *
+     * @param <T>              the type parameter
+     * @param workingDirectory the working directory
+     * @param handle           the handle
+     * @param type             the type
+     * @return the value
+     * @throws IOException the io exception
+     */
+    public <T> T getJson(Path workingDirectory, String handle, Class<T> type) throws IOException {
+        return objectMapper.readValue(getBytes(workingDirectory, handle), type);
+    }
+
+    /**
+     * Loads a JSON list of strings.
+     *
+     * @param workingDirectory the working directory
+     * @param handle           the handle
+     * @return the strings
+     * @throws IOException the io exception
+     */
+    public List<String> getStrings(Path workingDirectory, String handle) throws IOException {
+        return Arrays.asList(getJson(workingDirectory, handle, String[].class));
+    }
+
+    /**
+     * Spills pages to the store, one file per page plus an index.
+     *
+     * @param workingDirectory the working directory
+     * @param pages            the pages
+     * @return the handle of the page index
+     * @throws IOException              the io exception
+     * @throws NoSuchAlgorithmException the no such algorithm exception
+     */
+    public String putPages(Path workingDirectory, List<? extends OcrPage> pages)
+            throws IOException, NoSuchAlgorithmException {
+        List<PageArtifact> index = new ArrayList<>(pages.size());
+        for (int i = 0; i < pages.size(); i++) {
+            OcrPage page = pages.get(i);
+            String file = "%s/%04d.bin".formatted(PAGES_DIRECTORY, i);
+            putBytes(workingDirectory, file, page.getData());
+            index.add(
+                    new PageArtifact(
+                            page.getName(),
+                            page.getMimeType(),
+                            file,
+                            page.getSettings(),
+                            HashUtils.sha256(page.getData()),
+                            page.getText()));
+        }
+        return putJson(workingDirectory, PAGES, index);
+    }
+
+    /**
+     * Loads spilled pages and verifies their data against the index.
+     *
+     * @param workingDirectory the working directory
+     * @param handle           the handle of the page index
+     * @return the pages
+     * @throws IOException              the io exception
+     * @throws NoSuchAlgorithmException the no such algorithm exception
+     */
+    public List<OcrPage> getPages(Path workingDirectory, String handle)
+            throws IOException, NoSuchAlgorithmException {
+        PageArtifact[] index = getJson(workingDirectory, handle, PageArtifact[].class);
+        List<OcrPage> pages = new ArrayList<>(index.length);
+        for (PageArtifact entry : index) {
+            byte[] data = getBytes(workingDirectory, entry.file());
+            if (entry.sha256() != null && !entry.sha256().equals(HashUtils.sha256(data))) {
+                throw new MigrationServiceException(
+                        "Page %s does not match its checksum".formatted(entry.file()));
+            }
+            OcrPage page = new OcrPage(entry.name(), data, entry.mimeType(), entry.settings());
+            page.setText(entry.text());
+            pages.add(page);
+        }
+        return pages;
+    }
+
+    /**
+     * Computes the SHA-256 of an artifact.
+     *
+     * @param workingDirectory the working directory
+     * @param handle           the handle
+     * @return the checksum
+     * @throws IOException              the io exception
+     * @throws NoSuchAlgorithmException the no such algorithm exception
+     */
+    public String checksum(Path workingDirectory, String handle)
+            throws IOException, NoSuchAlgorithmException {
+        return HashUtils.sha256(existing(workingDirectory, handle));
+    }
+
+    /**
+     * Checks that an artifact is still present and unchanged. For the page index every page it
+     * lists is checked as well.
+     *
+     * @param workingDirectory the working directory
+     * @param handle           the handle
+     * @param checksum         the expected checksum
+     * @return {@code true} if the artifact can be reused
+     */
+    public boolean verify(Path workingDirectory, String handle, String checksum) {
+        try {
+            if (!checksum(workingDirectory, handle).equals(checksum)) {
+                return false;
+            }
+            if (PAGES.equals(handle)) {
+                getPages(workingDirectory, handle);
+            }
+            return true;
+        } catch (IOException | NoSuchAlgorithmException | MigrationServiceException e) {
+            log.warn(
+                    "Artifact {} in {} is not reusable: {}",
+                    handle,
+                    workingDirectory,
+                    e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Gets the handle of a file that was written into the working directory directly.
+     *
+     * @param workingDirectory the working directory
+     * @param file             the file
+     * @return the handle
+     */
+    public String handleOf(Path workingDirectory, Path file) {
+        Path root = workingDirectory.toAbsolutePath().normalize();
+        Path target = file.toAbsolutePath().normalize();
+        if (!target.startsWith(root)) {
+            throw new MigrationServiceException(
+                    "Artifact %s is outside of the working directory".formatted(file));
+        }
+        return root.relativize(target).toString();
+    }
+
+    /**
+     * Resolves a handle to its file.
+     *
+     * @param workingDirectory the working directory
+     * @param handle           the handle
+     * @return the path
+     */
+    public Path resolve(Path workingDirectory, String handle) {
+        Path root = workingDirectory.toAbsolutePath().normalize();
+        Path target = root.resolve(handle).normalize();
+        if (!target.startsWith(root) || target.equals(root)) {
+            throw new MigrationServiceException("Invalid artifact handle: %s".formatted(handle));
+        }
+        return target;
+    }
+
+    /**
+     * Deletes the working directory and all artifacts in it and releases its reservation.
+     *
+     * @param workingDirectory the working directory
+     * @throws IOException the io exception
+     */
+    public void delete(Path workingDirectory) throws IOException {
+        release(workingDirectory);
+        if (workingDirectory != null && FileSystemUtils.deleteRecursively(workingDirectory)) {
+            log.info("Deleted working directory {}", workingDirectory);
+        }
+    }
+
+    private static List<Path> workingDirectories(Path root) throws IOException {
+        if (root == null || !Files.isDirectory(root)) {
+            return List.of();
+        }
+        try (Stream<Path> children = Files.list(root)) {
+            return children.filter(child -> Files.isRegularFile(child.resolve(OWNER)))
+                    .map(child -> child.toAbsolutePath().normalize())
+                    .toList();
+        }
+    }
+
+    private static long usableSpace(Path path) throws IOException {
+        Path existing = path;
+        while (existing != null && Files.notExists(existing)) {
+            existing = existing.getParent();
+        }
+        return existing == null ? Long.MAX_VALUE : Files.getFileStore(existing).getUsableSpace();
+    }
+
+    private long reservation(long payloadBytes) {
+        return (long) Math.ceil(Math.max(payloadBytes, 0) * storeProps.reservationFactor());
+    }
+
+    private boolean fitsMemoryTier(long payloadBytes) {
+        return storeProps.memoryTier()
+                && payloadBytes <= storeProps.memoryThreshold().toBytes()
+                && usableSpaceOrNaN(memoryRoot()) >= reservation(payloadBytes);
+    }
+
+    private Path memoryRoot() {
+        return Paths.get(storeProps.memoryDirectory()).toAbsolutePath().normalize();
+    }
+
+    private Path root() {
+        return storeProps.shared()
+                ? Paths.get(storeProps.sharedDirectory()).toAbsolutePath().normalize()
+                : Paths.get(props.tempDir()).toAbsolutePath().normalize().getParent();
+    }
+
+    private static long sizeOf(Path file) {
+        try {
+            return Files.isRegularFile(file) ? Files.size(file) : 0L;
+        } catch (IOException e) {
+            return 0L;
+        }
+    }
+
+    private double usableSpaceOrNaN(Path path) {
+        try {
+            return usableSpace(path);
+        } catch (IOException e) {
+            return Double.NaN;
+        }
+    }
+
+    private Path existing(Path workingDirectory, String handle) {
+        Path path = resolve(workingDirectory, handle);
+        if (Files.notExists(path)) {
+            throw new MigrationServiceException(
+                    "Artifact %s is missing in %s".formatted(handle, workingDirectory));
+        }
+        return path;
+    }
+
+    private static void writeAtomically(Path target, byte[] data) throws IOException {
+        Files.createDirectories(target.getParent());
+        Path temp = Files.createTempFile(target.getParent(), ".artifact-", ".tmp");
+        try {
+            Files.write(temp, data);
+            Files.move(
+                    temp,
+                    target,
+                    StandardCopyOption.REPLACE_EXISTING,
+                    StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+}
@@ -0,0 +1,126 @@
+/*
+ * Copyright (c) 2026. Gryphus Lab
+ */
+package ch.gryphus.chainvault.service;
+
+import ch.gryphus.chainvault.config.PrefetchProperties;
+import ch.gryphus.chainvault.domain.SourceMetadata;
+import ch.gryphus.chainvault.util.ExpiringCache;
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import java.time.Clock;
+import java.util.*;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.web.client.RestClient;
+import org.springframework.web.client.RestClientException;
+
+/**
+ * Fetches source metadata for known doc ids in bulk ({@code /documents?id=..&id=..}) and keeps
+ * it in a bounded, short-lived cache so that {@link MigrationService#extractAndHash(String)} only
+ * has to download the payload on the critical path.
+ *
+ * <p>The cache is local to the JVM; a miss (expired, evicted or prefetched on another node)
+ * simply falls back to the single-document lookup.
+ */
+@Slf4j
+@Service
+public class MetadataPrefetchService {
+
+    private final RestClient restClient;
+    private final PrefetchProperties props;
+    private final ExpiringCache<String, SourceMetadata> cache;
+
+    /**
+     * Instantiates a new Metadata prefetch service.
+     *
+     * @param restClient the rest client
+     * @param props      the props
+     */
+    @SuppressFBWarnings(
+            value = "EI_EXPOSE_REP2",
+            justification = "Spring-injected singleton beans are effectively immutable references")
+    public MetadataPrefetchService(RestClient restClient, PrefetchProperties props) {
+        this(restClient, props, Clock.systemUTC());
+    }
+
+    /**
+     * Instantiates a new Metadata prefetch service.
+     *
+     * @param restClient the rest client
+     * @param props      the props
+     * @param clock      the clock used for expiry
+     */
+    MetadataPrefetchService(RestClient restClient, PrefetchProperties props, Clock clock) {
+        this.restClient = restClient;
+        this.props = props;
+        this.cache = new ExpiringCache<>(props.maxEntries(), props.ttl(), clock);
+    }
+
+    /**
+     * Fetches the metadata of the given doc ids in chunks of {@code batchSize} and caches it.
+     * Failed chunks are logged and skipped, the affected documents are fetched individually later.
+     *
+     * @param docIds the doc ids
+     * @return the number of cached entries
+     */
+    public int prefetch(Collection<String> docIds) {
+        List<String> ids = docIds.stream().filter(Objects::nonNull).distinct().toList();
+        int cached = 0;
+
+        for (int from = 0; from < ids.size(); from += props.batchSize()) {
+            List<String> chunk = ids.subList(from, Math.min(from + props.batchSize(), ids.size()));
+            try {
+                for (SourceMetadata meta : getSourceMetadata(chunk)) {
+                    if (meta != null && meta.getDocId() != null) {
+                        cache.put(meta.getDocId(), meta);
+                        cached++;
+                    }
+                }
+            } catch (RestClientException e) {
+                log.warn(
+                        "Metadata prefetch failed for {} doc ids: {}",
+                        chunk.size(),
+                        e.getMessage());
+            }
+        }
+
+        log.info("Prefetched metadata for {} of {} documents", cached, ids.size());
+        return cached;
+    }
+
+    /**
+     * Removes and returns the cached metadata of a document if it has not expired yet.
+     *
+     * @param docId the doc id
+     * @return the source metadata
+     */
+    public Optional<SourceMetadata> take(String docId) {
+        return cache.take(docId);
+    }
+
+    /**
+     * Gets the number of cached entries.
+     *
+     * @return the size
+     */
+    int size() {
+        return cache.size();
+    }
+
+    private List<SourceMetadata> getSourceMetadata(List<String> docIds) {
+        SourceMetadata[] result =
+                restClient
+                        .get()
+                        .uri(
+                                uriBuilder ->
+                                        uriBuilder
+                                                .path("/documents")
+                                                .queryParam("id", docIds.toArray())
+                                                .build())
+                        .accept(MediaType.APPLICATION_JSON)
+                        .retrieve()
+                        .body(SourceMetadata[].class);
+        return result == null ? List.of() : Arrays.asList(result);
+    }
+}
@@ -3,14 +3,21 @@
  */
 package ch.gryphus.chainvault.service;
 
+import ch.gryphus.chainvault.config.IntegrityProperties;
 import ch.gryphus.chainvault.config.MigrationProperties;
 import ch.gryphus.chainvault.config.SftpTargetConfig;
 import ch.gryphus.chainvault.domain.MigrationContext;
 import ch.gryphus.chainvault.domain.OcrPage;
+import ch.gryphus.chainvault.domain.OcrPageTelemetry;
 import ch.gryphus.chainvault.domain.SourceMetadata;
 import ch.gryphus.chainvault.exception.MigrationServiceException;
+import ch.gryphus.chainvault.exception.SourceUnavailableException;
 import ch.gryphus.chainvault.util.HashUtils;
+import ch.gryphus.chainvault.util.InstrumentedTesseract;
+import ch.gryphus.chainvault.util.MerkleTree;
+import ch.gryphus.chainvault.util.MetadataXmlWriter;
 import ch.gryphus.chainvault.util.MigrationUtils;
+import ch.gryphus.chainvault.util.MimeSniffer;
 import ch.gryphus.chainvault.util.OcrUtils;
 import ch.gryphus.chainvault.util.SftpUtils;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
@@ -18,22 +25,20 @@ import java.io.*;
 import java.nio.file.Path;
 import java.security.NoSuchAlgorithmException;
 import java.util.*;
+import java.util.function.Consumer;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipFile;
 import java.util.zip.ZipInputStream;
 import lombok.Getter;
 import lombok.NonNull;
 import lombok.extern.slf4j.Slf4j;
-import net.sourceforge.tess4j.Tesseract;
 import net.sourceforge.tess4j.TesseractException;
 import org.apache.commons.io.FileUtils;
 import org.springframework.http.MediaType;
 import org.springframework.integration.sftp.session.SftpRemoteFileTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestClient;
-import tools.jackson.databind.MapperFeature;
 import tools.jackson.databind.ObjectMapper;
-import tools.jackson.dataformat.xml.XmlMapper;
 
 /**
  * The type Migration service.
@@ -42,22 +47,32 @@ import tools.jackson.dataformat.xml.XmlMapper;
 @Service
 public class MigrationService {
 
+    // the entry formats taken as pages, any other entry of a payload is skipped
+    private static final Set<String> PAGE_MIME_TYPES =
+            Set.of("application/pdf", "image/tiff", "image/png", "image/jpeg", "image/bmp");
+
     private final RestClient restClient;
     private final SftpRemoteFileTemplate remoteFileTemplate;
 
     @Getter private final SftpTargetConfig sftpTargetConfig;
-    private final XmlMapper xmlMapper;
+    private final MetadataXmlWriter metadataXmlWriter;
     private final ObjectMapper objectMapper;
     private final MigrationProperties props;
-    private final ThreadLocal<Tesseract> tesseractThreadLocal;
+    private final IntegrityProperties integrityProperties;
+    private final MetadataPrefetchService metadataPrefetchService;
+    private final SourceApiGuardService sourceApiGuardService;
+    private final ThreadLocal<InstrumentedTesseract> tesseractThreadLocal;
 
     /**
      * Instantiates a new Migration service.
      *
-     * @param restClient         the rest client
-     * @param remoteFileTemplate the remote file template
-     * @param sftpTargetConfig   the sftp target config
-     * @param props              the props
+     * @param restClient              the rest client
+     * @param remoteFileTemplate      the remote file template
+     * @param sftpTargetConfig        the sftp target config
+     * @param props                   the props
+     * @param integrityProperties     the integrity properties
+     * @param metadataPrefetchService the metadata prefetch service
+     * @param sourceApiGuardService   the source api guard service
      */
     @SuppressFBWarnings(
             value = "EI_EXPOSE_REP2",
@@ -66,18 +81,24 @@ public class MigrationService {
             RestClient restClient,
             SftpRemoteFileTemplate remoteFileTemplate,
             SftpTargetConfig sftpTargetConfig,
-            MigrationProperties props) {
+            MigrationProperties props,
+            IntegrityProperties integrityProperties,
+            MetadataPrefetchService metadataPrefetchService,
+            SourceApiGuardService sourceApiGuardService) {
         this.restClient = restClient;
         this.remoteFileTemplate = remoteFileTemplate;
         this.sftpTargetConfig = sftpTargetConfig;
         this.props = props;
-        xmlMapper = new XmlMapper();
+        this.integrityProperties = integrityProperties;
+        this.metadataPrefetchService = metadataPrefetchService;
+        this.sourceApiGuardService = sourceApiGuardService;
+        metadataXmlWriter = new MetadataXmlWriter();
         objectMapper = new ObjectMapper();
 
         tesseractThreadLocal =
                 ThreadLocal.withInitial(
                         () -> {
-                            Tesseract t = new Tesseract();
+                            InstrumentedTesseract t = new InstrumentedTesseract();
                             t.setLanguage(props.tesseractLanguage());
                             t.setVariable("user_defined_dpi", String.valueOf(props.tesseractDpi()));
                             t.setPageSegMode(3);
@@ -134,6 +155,10 @@ public class MigrationService {
                                         "Unable to find document with id: %s".formatted(docId),
                                         response.getStatusCode(),
                                         response.getHeaders());
+                            } else if (response.getStatusCode().is5xxServerError()) {
+                                throw new SourceUnavailableException(
+                                        "Source API returned %s for document with id: %s"
+                                                .formatted(response.getStatusCode(), docId));
                             } else {
                                 return response.bodyTo(SourceMetadata.class);
                             }
@@ -153,6 +178,10 @@ public class MigrationService {
                                                 .formatted(docId),
                                         response.getStatusCode(),
                                         response.getHeaders());
+                            } else if (response.getStatusCode().is5xxServerError()) {
+                                throw new SourceUnavailableException(
+                                        "Source API returned %s for payload of %s"
+                                                .formatted(response.getStatusCode(), docId));
                             } else {
                                 return response.bodyTo(byte[].class);
                             }
@@ -167,22 +196,50 @@ public class MigrationService {
      * @throws NoSuchAlgorithmException the no such algorithm exception
      */
     public Map<String, Object> extractAndHash(String docId) throws NoSuchAlgorithmException {
+        return extractAndHash(docId, meta -> {});
+    }
+
+    /**
+     * Extract and hash map.
+     *
+     * @param docId         the doc id
+     * @param beforePayload called with the source metadata before the payload is downloaded, e.g.
+     *                      to reserve space for it; an exception aborts the extraction
+     * @return the map
+     * @throws NoSuchAlgorithmException the no such algorithm exception
+     */
+    public Map<String, Object> extractAndHash(String docId, Consumer<SourceMetadata> beforePayload)
+            throws NoSuchAlgorithmException {
         Map<String, Object> map = new HashMap<>();
         byte[] payload;
 
         MigrationContext migrationContext = new MigrationContext();
         migrationContext.setDocId(docId);
+        migrationContext.setHashAlgorithm(integrityProperties.algorithm());
         map.put("migrationContext", migrationContext);
 
-        // get source metadata
-        var meta = getSourceMetadata(restClient, docId);
-        migrationContext.setMetadataHash(HashUtils.sha256(objectMapper.writeValueAsBytes(meta)));
+        // get source metadata, prefetched in bulk when the doc id was part of a batch
+        var meta =
+                metadataPrefetchService
+                        .take(docId)
+                        .orElseGet(
+                                () ->
+                                        sourceApiGuardService.call(
+                                                "metadata",
+                                                () -> getSourceMetadata(restClient, docId)));
+        migrationContext.setMetadataHash(
+                HashUtils.hash(
+                        migrationContext.getHashAlgorithm(), objectMapper.writeValueAsBytes(meta)));
         map.put("meta", meta);
 
         // get payload url
         if (meta.getPayloadUrl() != null) {
-            payload = getPayloadBytes(restClient, docId, meta);
-            migrationContext.setPayloadHash(HashUtils.sha256(payload));
+            beforePayload.accept(meta);
+            payload =
+                    sourceApiGuardService.call(
+                            "payload", () -> getPayloadBytes(restClient, docId, meta));
+            migrationContext.setPayloadHash(
+                    HashUtils.hash(migrationContext.getHashAlgorithm(), payload));
             map.put("payload", payload);
         }
 
@@ -260,32 +317,62 @@ public class MigrationService {
             }
         }
 
-        // process the zip file post-zip bomb checks
+        // process the zip file post-zip bomb checks, growing the page Merkle tree page by page
+        MerkleTree pageTree = MerkleTree.of(migrationContext.getPageHashes().values());
+        boolean replaced = false;
+        byte[] prefix = new byte[MimeSniffer.PREFIX_LENGTH];
         try (ZipInputStream zis = new ZipInputStream(new ByteArrayInputStream(payload))) {
+            // one buffer over all entries, each entry is read to its end so none of it stays behind
+            InputStream in = new BufferedInputStream(zis);
             ZipEntry entry;
             while ((entry = zis.getNextEntry()) != null) {
                 String entryName = entry.getName();
 
-                byte[] data = zis.readAllBytes();
-                String mimeType = MigrationUtils.getDetectedMimeType(data);
+                // detected from the start of the entry, only pages are read in full
+                String mimeType = MigrationUtils.getDetectedMimeType(in, prefix);
+                if (!PAGE_MIME_TYPES.contains(mimeType)) {
+                    in.transferTo(OutputStream.nullOutputStream());
+                    continue;
+                }
+                byte[] data = in.readAllBytes();
 
                 switch (mimeType) {
                     case "application/pdf" -> {
-                        // Extract PDF pages as individual PNG images
-                        List<OcrPage> pdfPages = MigrationUtils.extractPdfPages(data, entryName);
+                        // Extract PDF pages as single page PDFs
+                        List<OcrPage> pdfPages =
+                                MigrationUtils.extractPdfPages(
+                                        data, entryName, props.tesseractDpi());
                         pages.addAll(pdfPages);
 
-                        String pdfHash = HashUtils.sha256(data);
+                        String pdfHash = HashUtils.hash(migrationContext.getHashAlgorithm(), data);
+                        replaced |= migrationContext.getPageHashes().containsKey(entryName);
                         migrationContext.addPageHash(entryName, pdfHash);
+                        pageTree.append(pdfHash);
                     }
-                    case "image/tiff", "image/png", "image/jpeg", "image/bmp" -> {
+                    case "image/tiff" -> {
+                        // every frame of a multi page TIFF is a page with a hash of its own
+                        for (OcrPage frame : MigrationUtils.extractTiffFrames(data, entryName)) {
+                            pages.add(frame);
+
+                            String frameHash =
+                                    HashUtils.hash(
+                                            migrationContext.getHashAlgorithm(), frame.getData());
+                            replaced |=
+                                    migrationContext.getPageHashes().containsKey(frame.getName());
+                            migrationContext.addPageHash(frame.getName(), frameHash);
+                            pageTree.append(frameHash);
+                        }
+                    }
+                    case "image/png", "image/jpeg", "image/bmp" -> {
                         pages.add(new OcrPage(entryName, data, mimeType, null));
 
-                        String pageHash = HashUtils.sha256(data);
+                        String pageHash = HashUtils.hash(migrationContext.getHashAlgorithm(), data);
+                        replaced |= migrationContext.getPageHashes().containsKey(entryName);
                         migrationContext.addPageHash(entryName, pageHash);
+                        pageTree.append(pageHash);
                     }
-                    case null, default -> {
-                        // do nothing
+                    default -> {
+                        // not a page format
                     }
                 }
             }
@@ -295,6 +382,14 @@ public class MigrationService {
             throw new MigrationServiceException("No supported image pages found in ZIP");
         }
 
+        // a repeated entry name replaced its earlier hash, the tree has to follow the map
+        if (replaced) {
+            pageTree = MerkleTree.of(migrationContext.getPageHashes().values());
+        }
+        migrationContext.setPageMerkleRoot(pageTree.root());
+        migrationContext.setPageMerkleProofs(
+                MigrationUtils.pageMerkleProofs(migrationContext.getPageHashes(), pageTree));
+
         return pages;
     }
 
@@ -320,9 +415,10 @@ public class MigrationService {
         Path zipPath = new File("%s/%s_chain.zip".formatted(workingDirectory, docId)).toPath();
 
         MigrationUtils.createChainZipFile(sourceMetadata, migrationContext, pages, zipPath);
-
-        String zipHash = HashUtils.sha256(zipPath);
-        log.info("Chain ZIP created: {} | hash = {}", zipPath.getFileName(), zipHash);
+        log.info(
+                "Chain ZIP created: {} | page Merkle root = {}",
+                zipPath.getFileName(),
+                migrationContext.getPageMerkleRoot());
 
         return zipPath;
     }
@@ -337,8 +433,23 @@ public class MigrationService {
      */
     public List<String> performOcr(List<? extends OcrPage> pages)
             throws IOException, TesseractException {
-        Tesseract tesseract = tesseractThreadLocal.get(); // per-thread singleton
-        List<String> results = OcrUtils.getOcrResults(pages, tesseract);
+        return performOcr(pages, _ -> {});
+    }
+
+    /**
+     * Perform ocr list, handing the measurements of every recognized page to a consumer.
+     *
+     * @param pages     the pages
+     * @param telemetry the telemetry consumer
+     * @return the list
+     * @throws IOException        the io exception
+     * @throws TesseractException the tesseract exception
+     */
+    public List<String> performOcr(
+            List<? extends OcrPage> pages, Consumer<OcrPageTelemetry> telemetry)
+            throws IOException, TesseractException {
+        InstrumentedTesseract tesseract = tesseractThreadLocal.get(); // per-thread singleton
+        List<String> results = OcrUtils.getOcrResults(pages, tesseract, telemetry);
         tesseractThreadLocal.remove();
         return results;
     }
@@ -371,11 +482,7 @@ public class MigrationService {
             Map<String, Object> map) {
 
         var archivalMetadata = MigrationUtils.buildXml(sourceMetadata, migrationContext, map);
-        return xmlMapper
-                .rebuild()
-                .disable(MapperFeature.SORT_PROPERTIES_ALPHABETICALLY)
-                .build()
-                .writeValueAsString(archivalMetadata);
+        return metadataXmlWriter.write(archivalMetadata);
     }
 
     /**
@@ -0,0 +1,175 @@
+/*
+ * Copyright (c) 2026. Gryphus Lab
+ */
+package ch.gryphus.chainvault.service;
+
+import ch.gryphus.chainvault.config.SourceGuardProperties;
+import ch.gryphus.chainvault.exception.MigrationServiceException;
+import ch.gryphus.chainvault.exception.SourceUnavailableException;
+import ch.gryphus.chainvault.util.AimdLimiter;
+import ch.gryphus.chainvault.util.CircuitBreaker;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Clock;
+import java.util.function.Supplier;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.web.client.RestClientException;
+
+/**
+ * Guards calls to the source archive API with an adaptive (AIMD) concurrency limit and a circuit
+ * breaker. Calls beyond the current limit, or while the circuit is open, are rejected immediately
+ * with a {@link SourceUnavailableException} so that async executor threads are handed back to
+ * other stages instead of piling up on a slow source.
+ *
+ * <p>Exported metrics: {@code chainvault.source.limit}, {@code chainvault.source.in_flight},
+ * {@code chainvault.source.circuit.state} (0 closed, 1 half-open, 2 open) and {@code
+ * chainvault.source.rejections} tagged by {@code reason}.
+ */
+@Slf4j
+@Service
+public class SourceApiGuardService {
+
+    private final AimdLimiter limiter;
+    private final CircuitBreaker circuitBreaker;
+    private final Counter limitRejections;
+    private final Counter circuitRejections;
+
+    /**
+     * Instantiates a new Source api guard service.
+     *
+     * @param props         the props
+     * @param meterRegistry the meter registry
+     */
+    public SourceApiGuardService(SourceGuardProperties props, MeterRegistry meterRegistry) {
+        this(props, meterRegistry, Clock.systemUTC());
+    }
+
+    /**
+     * Instantiates a new Source api guard service.
+     *
+     * @param props         the props
+     * @param meterRegistry the meter registry
+     * @param clock         the clock
+     */
+    SourceApiGuardService(SourceGuardProperties props, MeterRegistry meterRegistry, Clock clock) {
+        this.limiter =
+                new AimdLimiter(
+                        props.initialLimit(),
+                        props.minLimit(),
+                        props.maxLimit(),
+                        props.latencyThreshold(),
+                        props.backoffRatio());
+        this.circuitBreaker =
+                new CircuitBreaker(props.failureThreshold(), props.openDuration(), clock);
+
+        Gauge.builder("chainvault.source.limit", limiter, AimdLimiter::getLimit)
+                .description("Current adaptive concurrency limit for source API calls")
+                .register(meterRegistry);
+        Gauge.builder("chainvault.source.in_flight", limiter, AimdLimiter::getInFlight)
+                .description("Source API calls currently in flight")
+                .register(meterRegistry);
+        Gauge.builder(
+                        "chainvault.source.circuit.state",
+                        circuitBreaker,
+                        cb -> cb.getState().ordinal())
+                .description("Source API circuit state (0 closed, 1 half-open, 2 open)")
+                .register(meterRegistry);
+        limitRejections =
+                Counter.builder("chainvault.source.rejections")
+                        .tag("reason", "limit")
+                        .register(meterRegistry);
+        circuitRejections =
+                Counter.builder("chainvault.source.rejections")
+                        .tag("reason", "circuit")
+                        .register(meterRegistry);
+    }
+
+    /**
+     * Executes a source API call under the concurrency limit and circuit breaker. Transport
+     * failures and {@link SourceUnavailableException}s count against the source; other {@link
+     * MigrationServiceException}s (e.g. 4xx) mean the source answered and are passed through. Any
+     * other failure is passed through without counting either way.
+     *
+     * @param <T>       the result type
+     * @param operation the operation name used in messages
+     * @param call      the call
+     * @return the result
+     * @throws SourceUnavailableException if the call was rejected or the source failed
+     */
+    public <T> T call(String operation, Supplier<T> call) {
+        if (!limiter.tryAcquire()) {
+            limitRejections.increment();
+            throw new SourceUnavailableException(
+                    "Source API concurrency limit of %d reached, rejecting %s"
+                            .formatted(limiter.getLimit(), operation));
+        }
+        if (!circuitBreaker.allowRequest()) {
+            limiter.onIgnored();
+            circuitRejections.increment();
+            throw new SourceUnavailableException(
+                    "Source API circuit is open, rejecting %s".formatted(operation));
+        }
+
+        long start = System.nanoTime();
+        boolean settled = false;
+        try {
+            T result = call.get();
+            limiter.onSuccess(System.nanoTime() - start);
+            circuitBreaker.onSuccess();
+            settled = true;
+            return result;
+        } catch (SourceUnavailableException e) {
+            onFailure(operation, e);
+            settled = true;
+            throw e;
+        } catch (RestClientException e) {
+            onFailure(operation, e);
+            settled = true;
+            throw new SourceUnavailableException(
+                    "Source API call %s failed: %s".formatted(operation, e.getMessage()), e);
+        } catch (MigrationServiceException e) {
+            limiter.onIgnored();
+            circuitBreaker.onSuccess();
+            settled = true;
+            throw e;
+        } finally {
+            // any other failure, an Error included, is ours rather than the source's, but must
+            // neither leak the permit nor leave a half-open trial pending forever
+            if (!settled) {
+                limiter.onIgnored();
+                circuitBreaker.onIgnored();
+            }
+        }
+    }
+
+    /**
+     * Gets the current concurrency limit.
+     *
+     * @return the limit
+     */
+    public int getLimit() {
+        return limiter.getLimit();
+    }
+
+    /**
+     * Gets the circuit state.
+     *
+     * @return the circuit state
+     */
+    public CircuitBreaker.State getCircuitState() {
+        return circuitBreaker.getState();
+    }
+
+    private void onFailure(String operation, RuntimeException e) {
+        limiter.onDropped();
+        circuitBreaker.onFailure();
+        log.warn(
+                "Source API call {} failed (limit={}, circuit={}): {}",
+                operation,
+                limiter.getLimit(),
+                circuitBreaker.getState(),
+                e.getMessage());
+    }
+}
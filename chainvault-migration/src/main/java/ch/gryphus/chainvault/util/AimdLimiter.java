@@ -0,0 +1,109 @@
+/*
+ * Copyright (c) 2026. Gryphus Lab
+ */
+package ch.gryphus.chainvault.util;
+
+import java.time.Duration;
+
+/**
+ * Adaptive concurrency limit using additive increase / multiplicative decrease (AIMD). While calls
+ * complete below the latency threshold and the limit is actually being used, the limit grows by
+ * roughly one per window of successful calls; a slow or failed call shrinks it by the backoff
+ * ratio. Callers that do not get a permit should fail fast instead of queueing.
+ */
+public class AimdLimiter {
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final long latencyThresholdNanos;
+    private final double backoffRatio;
+
+    private double limit;
+    private int inFlight;
+
+    /**
+     * Instantiates a new Aimd limiter.
+     *
+     * @param initialLimit     the initial limit
+     * @param minLimit         the min limit
+     * @param maxLimit         the max limit
+     * @param latencyThreshold the latency threshold
+     * @param backoffRatio     the backoff ratio
+     */
+    public AimdLimiter(
+            int initialLimit,
+            int minLimit,
+            int maxLimit,
+            Duration latencyThreshold,
+            double backoffRatio) {
+        this.minLimit = minLimit;
+        this.maxLimit = Math.max(minLimit, maxLimit);
+        this.latencyThresholdNanos = latencyThreshold.toNanos();
+        this.backoffRatio = backoffRatio;
+        this.limit = Math.clamp(initialLimit, this.minLimit, this.maxLimit);
+    }
+
+    /**
+     * Try to acquire a permit.
+     *
+     * @return true if the call may proceed
+     */
+    public synchronized boolean tryAcquire() {
+        if (inFlight >= getLimit()) {
+            return false;
+        }
+        inFlight++;
+        return true;
+    }
+
+    /**
+     * Releases the permit of a completed call and adapts the limit to its latency.
+     *
+     * @param latencyNanos the latency in nanoseconds
+     */
+    public synchronized void onSuccess(long latencyNanos) {
+        inFlight--;
+        if (latencyNanos > latencyThresholdNanos) {
+            decrease();
+        } else if (inFlight * 2 >= getLimit()) {
+            limit = Math.min(maxLimit, limit + 1.0 / limit);
+        }
+    }
+
+    /**
+     * Releases the permit of a failed call and decreases the limit.
+     */
+    public synchronized void onDropped() {
+        inFlight--;
+        decrease();
+    }
+
+    /**
+     * Releases the permit of a call whose outcome says nothing about the source health.
+     */
+    public synchronized void onIgnored() {
+        inFlight--;
+    }
+
+    /**
+     * Gets limit.
+     *
+     * @return the limit
+     */
+    public synchronized int getLimit() {
+        return (int) limit;
+    }
+
+    /**
+     * Gets in flight.
+     *
+     * @return the in flight
+     */
+    public synchronized int getInFlight() {
+        return inFlight;
+    }
+
+    private void decrease() {
+        limit = Math.max(minLimit, limit * backoffRatio);
+    }
+}
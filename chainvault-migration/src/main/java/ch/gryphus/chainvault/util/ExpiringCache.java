@@ -0,0 +1,79 @@
+/*
+ * Copyright (c) 2026. Gryphus Lab
+ */
+package ch.gryphus.chainvault.util;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * A small thread-safe cache bounded by entry count, where every entry expires after a fixed
+ * time-to-live. Once the bound is reached the eldest entry is evicted.
+ *
+ * @param <K> the key type
+ * @param <V> the value type
+ */
+public class ExpiringCache<K, V> {
+
+    private final Duration ttl;
+    private final Clock clock;
+    private final Map<K, Entry<V>> entries;
+
+    private record Entry<V>(V value, Instant expiresAt) {}
+
+    /**
+     * Instantiates a new Expiring cache.
+     *
+     * @param maxEntries the max entries
+     * @param ttl        the time to live
+     * @param clock      the clock
+     */
+    public ExpiringCache(int maxEntries, Duration ttl, Clock clock) {
+        this.ttl = ttl;
+        this.clock = clock;
+        this.entries =
+                new LinkedHashMap<>() {
+                    @Override
+                    protected boolean removeEldestEntry(Map.Entry<K, Entry<V>> eldest) {
+                        return size() > maxEntries;
+                    }
+                };
+    }
+
+    /**
+     * Put.
+     *
+     * @param key   the key
+     * @param value the value
+     */
+    public synchronized void put(K key, V value) {
+        entries.put(key, new Entry<>(value, clock.instant().plus(ttl)));
+    }
+
+    /**
+     * Removes the entry and returns its value if it has not expired yet.
+     *
+     * @param key the key
+     * @return the value
+     */
+    public synchronized Optional<V> take(K key) {
+        Entry<V> entry = entries.remove(key);
+        if (entry == null || entry.expiresAt().isBefore(clock.instant())) {
+            return Optional.empty();
+        }
+        return Optional.of(entry.value());
+    }
+
+    /**
+     * Size int.
+     *
+     * @return the int
+     */
+    public synchronized int size() {
+        return entries.size();
+    }
+}
@@ -0,0 +1,28 @@
+/*
+ * Copyright (c) 2026. Gryphus Lab
+ */
+package ch.gryphus.chainvault.util;
+
+import java.nio.ByteBuffer;
+
+/**
+ * An 8 bit grayscale raster, one byte per pixel and rows packed without padding, in a direct
+ * buffer Tesseract reads as it is.
+ *
+ * @param width  the width
+ * @param height the height
+ * @param pixels the pixels, {@code width * height} bytes from position 0
+ */
+public record GrayRaster(int width, int height, ByteBuffer pixels) {
+
+    /**
+     * Gets a pixel.
+     *
+     * @param x the x
+     * @param y the y
+     * @return the gray value, 0 to 255
+     */
+    public int gray(int x, int y) {
+        return pixels.get(y * width + x) & 0xFF;
+    }
+}
@@ -3,19 +3,42 @@
  */
 package ch.gryphus.chainvault.util;
 
+import ch.gryphus.chainvault.domain.HashAlgorithm;
 import java.io.IOException;
-import java.nio.file.Files;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
+import java.util.EnumMap;
+import java.util.Map;
 import lombok.NonNull;
 import org.apache.commons.codec.binary.Hex;
+import org.bouncycastle.crypto.digests.Blake3Digest;
 
 /**
  * The type Hash utils.
+ *
+ * <p>Digests are created once per thread and algorithm and reset between uses, instead of being
+ * looked up from the security providers on every call. Files are hashed through memory mapped
+ * windows, so neither their size nor the heap limits what can be hashed.
  */
 public final class HashUtils {
 
+    private static final int CHUNK_SIZE = 64 * 1024;
+    private static final long MAP_WINDOW = 256L * 1024 * 1024;
+
+    private static final Map<HashAlgorithm, ThreadLocal<Engine>> ENGINES =
+            new EnumMap<>(HashAlgorithm.class);
+
+    static {
+        for (HashAlgorithm algorithm : HashAlgorithm.values()) {
+            ENGINES.put(algorithm, new ThreadLocal<>());
+        }
+    }
+
     private HashUtils() {
         // empty constructor
     }
@@ -29,7 +52,7 @@ public final class HashUtils {
      * @throws NoSuchAlgorithmException the no such algorithm exception
      */
     public static @NonNull String sha256(Path path) throws IOException, NoSuchAlgorithmException {
-        return sha256(Files.readAllBytes(path));
+        return hash(HashAlgorithm.SHA_256, path);
     }
 
     /**
@@ -40,6 +63,170 @@ public final class HashUtils {
      * @throws NoSuchAlgorithmException the no such algorithm exception
      */
     public static @NonNull String sha256(byte[] data) throws NoSuchAlgorithmException {
-        return Hex.encodeHexString(MessageDigest.getInstance("SHA-256").digest(data));
+        return hash(HashAlgorithm.SHA_256, data);
+    }
+
+    /**
+     * Hashes a byte array.
+     *
+     * @param algorithm the algorithm
+     * @param data      the data
+     * @return the hex encoded hash
+     * @throws NoSuchAlgorithmException the no such algorithm exception
+     */
+    public static @NonNull String hash(HashAlgorithm algorithm, byte[] data)
+            throws NoSuchAlgorithmException {
+        Engine engine = engine(algorithm);
+        engine.update(data, 0, data.length);
+        return Hex.encodeHexString(engine.digest());
+    }
+
+    /**
+     * Hashes the remaining bytes of a buffer, heap, direct or mapped, and moves its position to
+     * its limit.
+     *
+     * @param algorithm the algorithm
+     * @param buffer    the buffer
+     * @return the hex encoded hash
+     * @throws NoSuchAlgorithmException the no such algorithm exception
+     */
+    public static @NonNull String hash(HashAlgorithm algorithm, ByteBuffer buffer)
+            throws NoSuchAlgorithmException {
+        Engine engine = engine(algorithm);
+        engine.update(buffer);
+        return Hex.encodeHexString(engine.digest());
+    }
+
+    /**
+     * Hashes a stream up to its end, without closing it.
+     *
+     * @param algorithm the algorithm
+     * @param in        the stream
+     * @return the hex encoded hash
+     * @throws IOException              the io exception
+     * @throws NoSuchAlgorithmException the no such algorithm exception
+     */
+    public static @NonNull String hash(HashAlgorithm algorithm, InputStream in)
+            throws IOException, NoSuchAlgorithmException {
+        Engine engine = engine(algorithm);
+        byte[] chunk = new byte[CHUNK_SIZE];
+        int read;
+        while ((read = in.read(chunk)) != -1) {
+            engine.update(chunk, 0, read);
+        }
+        return Hex.encodeHexString(engine.digest());
+    }
+
+    /**
+     * Hashes a file through read-only memory mapped windows.
+     *
+     * @param algorithm the algorithm
+     * @param path      the path
+     * @return the hex encoded hash
+     * @throws IOException              the io exception
+     * @throws NoSuchAlgorithmException the no such algorithm exception
+     */
+    public static @NonNull String hash(HashAlgorithm algorithm, Path path)
+            throws IOException, NoSuchAlgorithmException {
+        Engine engine = engine(algorithm);
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            for (long position = 0; position < size; position += MAP_WINDOW) {
+                engine.update(
+                        channel.map(
+                                FileChannel.MapMode.READ_ONLY,
+                                position,
+                                Math.min(MAP_WINDOW, size - position)));
+            }
+        }
+        return Hex.encodeHexString(engine.digest());
+    }
+
+    // the engine of the current thread, reset in case an earlier caller failed mid-stream
+    private static Engine engine(HashAlgorithm algorithm) throws NoSuchAlgorithmException {
+        ThreadLocal<Engine> engines = ENGINES.get(algorithm);
+        Engine engine = engines.get();
+        if (engine == null) {
+            engine =
+                    algorithm == HashAlgorithm.BLAKE3_256
+                            ? new Blake3Engine(new Blake3Digest())
+                            : new JdkEngine(MessageDigest.getInstance(algorithm.getStandardName()));
+            engines.set(engine);
+        } else {
+            engine.reset();
+        }
+        return engine;
+    }
+
+    private interface Engine {
+        void update(byte[] data, int offset, int length);
+
+        void update(ByteBuffer buffer);
+
+        byte[] digest();
+
+        void reset();
+    }
+
+    private record JdkEngine(MessageDigest delegate) implements Engine {
+
+        @Override
+        public void update(byte[] data, int offset, int length) {
+            delegate.update(data, offset, length);
+        }
+
+        @Override
+        public void update(ByteBuffer buffer) {
+            delegate.update(buffer);
+        }
+
+        @Override
+        public byte[] digest() {
+            return delegate.digest();
+        }
+
+        @Override
+        public void reset() {
+            delegate.reset();
+        }
+    }
+
+    private record Blake3Engine(Blake3Digest delegate) implements Engine {
+
+        @Override
+        public void update(byte[] data, int offset, int length) {
+            delegate.update(data, offset, length);
+        }
+
+        @Override
+        public void update(ByteBuffer buffer) {
+            if (buffer.hasArray()) {
+                delegate.update(
+                        buffer.array(),
+                        buffer.arrayOffset() + buffer.position(),
+                        buffer.remaining());
+                buffer.position(buffer.limit());
+                return;
+            }
+            // direct and mapped buffers have no backing array to hand over
+            byte[] chunk = new byte[Math.min(CHUNK_SIZE, buffer.remaining())];
+            while (buffer.hasRemaining()) {
+                int length = Math.min(chunk.length, buffer.remaining());
+                buffer.get(chunk, 0, length);
+                delegate.update(chunk, 0, length);
+            }
+        }
+
+        @Override
+        public byte[] digest() {
+            byte[] hash = new byte[delegate.getDigestSize()];
+            delegate.doFinal(hash, 0);
+            return hash;
+        }
+
+        @Override
+        public void reset() {
+            delegate.reset();
+        }
     }
 }
@@ -0,0 +1,43 @@
+/*
+ * Copyright (c) 2026. Gryphus Lab
+ */
+package ch.gryphus.chainvault.util;
+
+import net.sourceforge.tess4j.Tesseract;
+
+/**
+ * Tesseract that reports the mean word confidence of a recognition along with its text. Both
+ * come from the same pass over the page, {@link #getWords} would recognize it a second time.
+ */
+public class InstrumentedTesseract extends Tesseract {
+
+    /**
+     * The text of a page and the mean confidence of its words.
+     *
+     * @param text           the text
+     * @param meanConfidence the mean word confidence, 0 to 100
+     */
+    public record Recognition(String text, int meanConfidence) {}
+
+    /**
+     * Recognizes a grayscale raster, handing its pixels to Tesseract without a conversion.
+     *
+     * @param raster the raster
+     * @return the recognition
+     */
+    public Recognition recognize(GrayRaster raster) {
+        init();
+        setVariables();
+        try {
+            setImage(raster.width(), raster.height(), raster.pixels(), Byte.SIZE);
+            return recognizeImage();
+        } finally {
+            dispose();
+        }
+    }
+
+    private Recognition recognizeImage() {
+        String text = getOCRText(null, 1);
+        return new Recognition(text, getAPI().TessBaseAPIMeanTextConf(getHandle()));
+    }
+}
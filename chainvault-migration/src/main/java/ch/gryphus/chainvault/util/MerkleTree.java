@@ -0,0 +1,220 @@
+/*
+ * Copyright (c) 2026. Gryphus Lab
+ */
+package ch.gryphus.chainvault.util;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import org.apache.commons.codec.DecoderException;
+import org.apache.commons.codec.binary.Hex;
+
+/**
+ * SHA-256 Merkle tree over page hashes in the layout of RFC 6962 (Certificate Transparency): a
+ * leaf is {@code SHA-256(0x00 || page hash)}, an inner node {@code SHA-256(0x01 || left ||
+ * right)}, where the page hash is the lowercase hex hash of the page as ASCII, in the hash
+ * algorithm of the migration. The tree grows one leaf at a time and keeps only the roots of its
+ * complete subtrees for the running root, so the root is available while the pages are still
+ * streaming in.
+ *
+ * <p>An inclusion proof of one page has {@code log2(size)} hashes and can be checked against the
+ * root with {@link #verify(String, int, int, List, String)} without any other page. The hashes of
+ * every level are computed once, on the first proof after the last append, and every proof is
+ * read from them.
+ */
+public final class MerkleTree {
+
+    private static final byte LEAF_PREFIX = 0x00;
+    private static final byte NODE_PREFIX = 0x01;
+
+    private final List<byte[]> leaves = new ArrayList<>();
+    private final List<byte[]> subtrees = new ArrayList<>();
+    // the levels below the root, from the leaves up, computed for the proofs
+    private List<List<byte[]>> levels;
+
+    /**
+     * Builds the tree of the given page hashes, in their iteration order.
+     *
+     * @param pageHashes the page hashes
+     * @return the merkle tree
+     */
+    public static MerkleTree of(Collection<String> pageHashes) {
+        MerkleTree tree = new MerkleTree();
+        pageHashes.forEach(tree::append);
+        return tree;
+    }
+
+    /**
+     * Appends the hash of the next page.
+     *
+     * @param pageHash the page hash
+     */
+    public void append(String pageHash) {
+        byte[] node = leafHash(pageHash);
+        leaves.add(node);
+        levels = null;
+
+        // carry like a binary counter: two complete subtrees of equal height merge
+        int height = 0;
+        while (height < subtrees.size() && subtrees.get(height) != null) {
+            node = nodeHash(subtrees.get(height), node);
+            subtrees.set(height++, null);
+        }
+        if (height == subtrees.size()) {
+            subtrees.add(node);
+        } else {
+            subtrees.set(height, node);
+        }
+    }
+
+    /**
+     * Gets the number of leaves.
+     *
+     * @return the size
+     */
+    public int size() {
+        return leaves.size();
+    }
+
+    /**
+     * Gets the root, the hash of the empty string for an empty tree.
+     *
+     * @return the hex encoded root
+     */
+    public String root() {
+        byte[] root = null;
+        for (byte[] subtree : subtrees) {
+            if (subtree != null) {
+                root = root == null ? subtree : nodeHash(subtree, root);
+            }
+        }
+        return Hex.encodeHexString(root == null ? digest().digest() : root);
+    }
+
+    /**
+     * Gets the inclusion proof of a leaf, the hashes of its siblings from the bottom up.
+     *
+     * @param index the index of the leaf
+     * @return the hex encoded proof
+     */
+    public List<String> proof(int index) {
+        if (index < 0 || index >= leaves.size()) {
+            throw new IndexOutOfBoundsException(
+                    "Leaf %d outside of a tree of %d".formatted(index, leaves.size()));
+        }
+        List<String> proof = new ArrayList<>();
+        int node = index;
+        for (List<byte[]> level : levels()) {
+            int sibling = node ^ 1;
+            if (sibling < level.size()) {
+                proof.add(Hex.encodeHexString(level.get(sibling)));
+            }
+            node >>= 1;
+        }
+        return proof;
+    }
+
+    /**
+     * Gets the inclusion proofs of all leaves, in leaf order.
+     *
+     * @return the hex encoded proofs
+     */
+    public List<List<String>> proofs() {
+        List<List<String>> proofs = new ArrayList<>(leaves.size());
+        for (int i = 0; i < leaves.size(); i++) {
+            proofs.add(proof(i));
+        }
+        return proofs;
+    }
+
+    /**
+     * Checks the inclusion proof of a page hash against a root.
+     *
+     * @param pageHash the page hash
+     * @param index    the index of the page
+     * @param size     the number of leaves of the tree
+     * @param proof    the hex encoded proof
+     * @param root     the hex encoded root
+     * @return {@code true} if the page is part of the tree at the given index
+     */
+    public static boolean verify(
+            String pageHash, int index, int size, List<String> proof, String root) {
+        if (index < 0 || index >= size) {
+            return false;
+        }
+        long fn = index;
+        long sn = size - 1L;
+        byte[] node = leafHash(pageHash);
+        try {
+            for (String sibling : proof) {
+                if (sn == 0) {
+                    return false;
+                }
+                byte[] hash = Hex.decodeHex(sibling);
+                if ((fn & 1) == 1 || fn == sn) {
+                    node = nodeHash(hash, node);
+                    while ((fn & 1) == 0 && fn != 0) {
+                        fn >>= 1;
+                        sn >>= 1;
+                    }
+                } else {
+                    node = nodeHash(node, hash);
+                }
+                fn >>= 1;
+                sn >>= 1;
+            }
+            return sn == 0 && Arrays.equals(node, Hex.decodeHex(root));
+        } catch (DecoderException e) {
+            return false;
+        }
+    }
+
+    // a lone last node is carried up as it is, giving the tree of RFC 6962 MTH, whose left subtree
+    // is always the largest complete one
+    private List<List<byte[]>> levels() {
+        if (levels == null) {
+            levels = new ArrayList<>();
+            List<byte[]> level = leaves;
+            while (level.size() > 1) {
+                levels.add(level);
+                List<byte[]> parents = new ArrayList<>((level.size() + 1) / 2);
+                for (int i = 0; i + 1 < level.size(); i += 2) {
+                    parents.add(nodeHash(level.get(i), level.get(i + 1)));
+                }
+                if (level.size() % 2 == 1) {
+                    parents.add(level.getLast());
+                }
+                level = parents;
+            }
+        }
+        return levels;
+    }
+
+    private static byte[] leafHash(String pageHash) {
+        MessageDigest digest = digest();
+        digest.update(LEAF_PREFIX);
+        digest.update(pageHash.getBytes(StandardCharsets.US_ASCII));
+        return digest.digest();
+    }
+
+    private static byte[] nodeHash(byte[] left, byte[] right) {
+        MessageDigest digest = digest();
+        digest.update(NODE_PREFIX);
+        digest.update(left);
+        digest.update(right);
+        return digest.digest();
+    }
+
+    private static MessageDigest digest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            // every Java platform is required to support SHA-256
+            throw new IllegalStateException(e);
+        }
+    }
+}
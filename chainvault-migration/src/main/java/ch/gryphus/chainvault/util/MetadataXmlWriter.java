@@ -0,0 +1,87 @@
+/*
+ * Copyright (c) 2026. Gryphus Lab
+ */
+package ch.gryphus.chainvault.util;
+
+import ch.gryphus.chainvault.domain.ArchivalMetadata;
+import java.io.IOException;
+import java.io.StringWriter;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.validation.ValidatorHandler;
+import org.codehaus.stax2.XMLStreamWriter2;
+import org.xml.sax.SAXException;
+import tools.jackson.core.JacksonException;
+import tools.jackson.databind.MapperFeature;
+import tools.jackson.databind.ObjectWriter;
+import tools.jackson.dataformat.xml.XmlMapper;
+import tools.jackson.dataformat.xml.ser.ToXmlGenerator;
+
+/**
+ * Serializes the archival metadata to XML with a writer configured once, whose serializers stay
+ * warm across documents. A document can be validated against an XSD while it is written, with
+ * the compiled schema cached by {@link XmlValidationUtils}.
+ */
+public final class MetadataXmlWriter {
+
+    private final XmlMapper xmlMapper;
+    private final ObjectWriter writer;
+
+    /**
+     * Instantiates a new Metadata xml writer.
+     */
+    public MetadataXmlWriter() {
+        xmlMapper =
+                XmlMapper.builder().disable(MapperFeature.SORT_PROPERTIES_ALPHABETICALLY).build();
+        writer = xmlMapper.writerFor(ArchivalMetadata.class);
+    }
+
+    /**
+     * Writes the metadata.
+     *
+     * @param metadata the metadata
+     * @return the xml
+     */
+    public String write(ArchivalMetadata metadata) {
+        return writer.writeValueAsString(metadata);
+    }
+
+    /**
+     * Writes the metadata, validating each element against the schema as it is written.
+     *
+     * @param metadata the metadata
+     * @param xsdPath  the xsd path
+     * @return the xml
+     * @throws SAXException the sax exception, if the schema cannot be read or the metadata does
+     *                      not conform to it
+     */
+    public String write(ArchivalMetadata metadata, String xsdPath) throws SAXException {
+        ValidatorHandler handler = XmlValidationUtils.schema(xsdPath).newValidatorHandler();
+        StringWriter out = new StringWriter();
+        try {
+            XMLStreamWriter2 target =
+                    (XMLStreamWriter2)
+                            xmlMapper
+                                    .tokenStreamFactory()
+                                    .getXMLOutputFactory()
+                                    .createXMLStreamWriter(out);
+            ValidatingStreamWriter validating = new ValidatingStreamWriter(target, handler);
+            try (ToXmlGenerator generator = xmlMapper.createGenerator(validating)) {
+                writer.writeValue(generator, metadata);
+            }
+            validating.finish();
+        } catch (XMLStreamException | IOException | JacksonException e) {
+            throw asSaxException(e);
+        }
+        return out.toString();
+    }
+
+    // the validation error the handler raised, beneath the stream and serialization wrappers
+    private static SAXException asSaxException(Exception e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof SAXException sax) {
+                return sax;
+            }
+        }
+        return new SAXException(e.getMessage(), e);
+    }
+}
@@ -8,34 +8,51 @@ import ch.gryphus.chainvault.domain.ArchivalMetadata;
 import ch.gryphus.chainvault.domain.MigrationContext;
 import ch.gryphus.chainvault.domain.MigrationProvenance;
 import ch.gryphus.chainvault.domain.OcrPage;
+import ch.gryphus.chainvault.domain.OcrSettings;
 import ch.gryphus.chainvault.domain.SourceMetadata;
 import java.awt.image.BufferedImage;
+import java.io.BufferedInputStream;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
-import java.nio.charset.StandardCharsets;
-import java.nio.file.Files;
 import java.nio.file.Path;
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
 import java.util.zip.ZipEntry;
-import java.util.zip.ZipOutputStream;
+import javax.imageio.IIOImage;
 import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import javax.imageio.stream.MemoryCacheImageInputStream;
+import javax.imageio.stream.MemoryCacheImageOutputStream;
 import lombok.NonNull;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.compress.archivers.zip.ZipArchiveEntry;
+import org.apache.commons.compress.archivers.zip.ZipArchiveOutputStream;
+import org.apache.commons.io.output.CloseShieldOutputStream;
 import org.apache.pdfbox.Loader;
 import org.apache.pdfbox.pdmodel.PDDocument;
 import org.apache.pdfbox.pdmodel.PDPage;
 import org.apache.pdfbox.pdmodel.PDPageContentStream;
 import org.apache.pdfbox.pdmodel.common.PDRectangle;
 import org.apache.pdfbox.pdmodel.graphics.image.LosslessFactory;
-import org.apache.pdfbox.rendering.ImageType;
-import org.apache.pdfbox.rendering.PDFRenderer;
 import org.apache.tika.Tika;
 import tools.jackson.databind.ObjectMapper;
 
@@ -51,29 +68,74 @@ public final class MigrationUtils {
     private static final Tika tika = new Tika();
     private static final ObjectMapper objectMapper = new ObjectMapper();
 
+    // formats whose data is compressed already, deflating them again gains next to nothing
+    private static final Set<String> PRECOMPRESSED_MIME_TYPES =
+            Set.of(
+                    "image/png",
+                    "image/jpeg",
+                    "image/gif",
+                    "image/webp",
+                    "image/jp2",
+                    "application/zip");
+    private static final int ENTROPY_SAMPLE_SIZE = 64 * 1024;
+    private static final double INCOMPRESSIBLE_ENTROPY = 7.5;
+
+    // one pool for all migrations, deflating never takes more threads than there are cores
+    private static final int DEFLATE_THREADS = Runtime.getRuntime().availableProcessors();
+    private static final ExecutorService DEFLATE_POOL =
+            Executors.newFixedThreadPool(
+                    DEFLATE_THREADS,
+                    Thread.ofPlatform().name("chain-zip-deflate-", 0).daemon().factory());
+    // pages deflated ahead of the one being written, bounds the compressed data held in memory
+    private static final int DEFLATE_WINDOW = 2 * DEFLATE_THREADS;
+
     /**
-     * Gets detected mime type.
+     * Gets detected mime type from the start of a stream, by {@link MimeSniffer} for the page
+     * formats and by Tika for anything else. A stream supporting mark is reset to where it was,
+     * so its data can be read after; any other stream is consumed.
      *
      * @param in the in
      * @return the detected mime type
      * @throws IOException the io exception
      */
     public static String getDetectedMimeType(InputStream in) throws IOException {
-        return tika.detect(in);
+        InputStream marked = in.markSupported() ? in : new BufferedInputStream(in);
+        return getDetectedMimeType(marked, new byte[MimeSniffer.PREFIX_LENGTH]);
     }
 
     /**
-     * Gets detected mime type.
+     * Gets detected mime type from the start of a stream supporting mark, reading its prefix into
+     * the given buffer, so the buffer can be reused across streams. The stream is reset to where
+     * it was.
+     *
+     * @param in     the in, supporting mark
+     * @param prefix the buffer for the prefix, of {@link MimeSniffer#PREFIX_LENGTH} bytes
+     * @return the detected mime type
+     * @throws IOException the io exception
+     */
+    public static String getDetectedMimeType(InputStream in, byte[] prefix) throws IOException {
+        in.mark(prefix.length);
+        int length = in.readNBytes(prefix, 0, prefix.length);
+        in.reset();
+        String mimeType = MimeSniffer.sniff(prefix, length);
+        return mimeType != null ? mimeType : tika.detect(in);
+    }
+
+    /**
+     * Gets detected mime type, by {@link MimeSniffer} for the page formats and by Tika for
+     * anything else.
      *
      * @param bytes the bytes
      * @return the detected mime type
      */
     public static String getDetectedMimeType(byte[] bytes) {
-        return tika.detect(bytes);
+        String mimeType =
+                MimeSniffer.sniff(bytes, Math.min(bytes.length, MimeSniffer.PREFIX_LENGTH));
+        return mimeType != null ? mimeType : tika.detect(bytes);
     }
 
     /**
-     * Extract pdf pages list.
+     * Extract pdf pages list, planning OCR at up to 300 dpi.
      *
      * @param pdfBytes     the pdf bytes
      * @param originalName the original name
@@ -82,21 +144,44 @@ public final class MigrationUtils {
      */
     public static List<OcrPage> extractPdfPages(byte[] pdfBytes, String originalName)
             throws IOException {
+        return extractPdfPages(pdfBytes, originalName, 300);
+    }
+
+    /**
+     * Extract pdf pages list. Every page is kept as a single page PDF, planned by {@link
+     * OcrPlanner}: a page with a text layer carries its text, any other page the dpi OCR renders
+     * it at, the resolution of its images up to the given dpi. Rendering is left to OCR, which
+     * hands the raster to Tesseract as it is, instead of a PNG encoded here and decoded there.
+     *
+     * @param pdfBytes     the pdf bytes
+     * @param originalName the original name
+     * @param maxDpi       the max dpi
+     * @return the list
+     * @throws IOException the io exception
+     */
+    public static List<OcrPage> extractPdfPages(byte[] pdfBytes, String originalName, int maxDpi)
+            throws IOException {
         List<OcrPage> pdfPages = new ArrayList<>();
 
         try (PDDocument doc = Loader.loadPDF(pdfBytes)) {
-            PDFRenderer renderer = new PDFRenderer(doc);
-
             for (int pageNum = 0; pageNum < doc.getNumberOfPages(); pageNum++) {
-                BufferedImage image = renderer.renderImageWithDPI(pageNum, 300, ImageType.RGB);
-
-                // Convert rendered page to PNG bytes (Tesseract-friendly)
                 ByteArrayOutputStream baos = new ByteArrayOutputStream();
-                ImageIO.write(image, "png", baos);
-                byte[] pngData = baos.toByteArray();
+                try (PDDocument single = new PDDocument()) {
+                    importPage(single, doc.getPage(pageNum));
+                    single.save(baos);
+                }
 
-                String pageName = "%s_page%03d.png".formatted(originalName, pageNum + 1);
-                pdfPages.add(new OcrPage(pageName, pngData, "image/png", null));
+                String text = OcrPlanner.textLayer(doc, pageNum);
+                OcrSettings settings = new OcrSettings();
+                if (text == null) {
+                    settings.setDpi(OcrPlanner.renderDpi(doc.getPage(pageNum), maxDpi));
+                }
+
+                String pageName = "%s_page%03d.pdf".formatted(originalName, pageNum + 1);
+                OcrPage page =
+                        new OcrPage(pageName, baos.toByteArray(), "application/pdf", settings);
+                page.setText(text);
+                pdfPages.add(page);
             }
         } catch (IOException e) {
             throw new IOException(
@@ -107,6 +192,85 @@ public final class MigrationUtils {
         return pdfPages;
     }
 
+    // importPage copies the page dictionary only, what the page inherits from the page tree is
+    // resolved and set on it, else its fonts and images are lost
+    private static void importPage(PDDocument target, PDPage page) throws IOException {
+        PDPage imported = target.importPage(page);
+        imported.setResources(page.getResources());
+        imported.setMediaBox(page.getMediaBox());
+        imported.setRotation(page.getRotation());
+    }
+
+    /**
+     * Extract tiff frames list. A single frame TIFF is kept as it is, a multi page TIFF is split
+     * into single frame TIFFs named after their frame, so every frame is recognized, merged and
+     * hashed as a page of its own. Frames are read by index and decoded one at a time, never the
+     * whole stack; each keeps the resolution of its source and a lossless compression, CCITT T.6
+     * for bilevel scans.
+     *
+     * @param tiffBytes    the tiff bytes
+     * @param originalName the original name
+     * @return the list
+     * @throws IOException the io exception
+     */
+    public static List<OcrPage> extractTiffFrames(byte[] tiffBytes, String originalName)
+            throws IOException {
+        try (ImageInputStream stream =
+                new MemoryCacheImageInputStream(new ByteArrayInputStream(tiffBytes))) {
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(stream);
+            if (!readers.hasNext()) {
+                return List.of(new OcrPage(originalName, tiffBytes, "image/tiff", null));
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(stream, false, false);
+                int frames = reader.getNumImages(true);
+                if (frames <= 1) {
+                    return List.of(new OcrPage(originalName, tiffBytes, "image/tiff", null));
+                }
+
+                List<OcrPage> tiffFrames = new ArrayList<>(frames);
+                for (int frame = 0; frame < frames; frame++) {
+                    String frameName = "%s_page%03d.tif".formatted(originalName, frame + 1);
+                    tiffFrames.add(
+                            new OcrPage(
+                                    frameName, writeTiffFrame(reader, frame), "image/tiff", null));
+                }
+                return tiffFrames;
+            } finally {
+                reader.dispose();
+            }
+        } catch (IOException e) {
+            throw new IOException(
+                    "Error extracting frames from TIFF file: %s, caused by: %s"
+                            .formatted(originalName, e));
+        }
+    }
+
+    private static byte[] writeTiffFrame(ImageReader reader, int frame) throws IOException {
+        IIOImage image = reader.readAll(frame, null);
+        // the writer of the reader's plugin, when it names one, reads its metadata best
+        ImageWriter writer = ImageIO.getImageWriter(reader);
+        if (writer == null) {
+            writer = ImageIO.getImageWritersByFormatName("tiff").next();
+        }
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        try (ImageOutputStream out = new MemoryCacheImageOutputStream(baos)) {
+            writer.setOutput(out);
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionType(
+                    image.getRenderedImage().getColorModel().getPixelSize() == 1
+                            ? "CCITT T.6"
+                            : "Deflate");
+            // the metadata of the source carries its resolution over
+            writer.write(null, image, param);
+        } finally {
+            writer.dispose();
+        }
+        return baos.toByteArray();
+    }
+
     /**
      * Merge pages to pdf path.
      *
@@ -119,9 +283,17 @@ public final class MigrationUtils {
     public static Path mergePagesToPdf(
             List<? extends OcrPage> pages, String docId, Path workingDirectory) throws IOException {
         Path pdf = Path.of("%s/%s-merged.pdf".formatted(workingDirectory, docId));
+        // single page PDFs are imported as they are, their sources stay open until the save
+        List<PDDocument> sources = new ArrayList<>();
         try (var doc = new PDDocument()) {
             for (var page : pages) {
-                BufferedImage img = ImageIO.read(new ByteArrayInputStream(page.getData()));
+                if ("application/pdf".equals(page.getMimeType())) {
+                    PDDocument source = Loader.loadPDF(page.getData());
+                    sources.add(source);
+                    importPage(doc, source.getPage(0));
+                    continue;
+                }
+                BufferedImage img = OcrUtils.decodeImage(page.getData());
                 var pdImage = LosslessFactory.createFromImage(doc, img);
                 var pdPage = new PDPage(new PDRectangle(img.getWidth(), img.getHeight()));
                 doc.addPage(pdPage);
@@ -131,12 +303,20 @@ public final class MigrationUtils {
                 }
             }
             doc.save(pdf.toFile());
+        } finally {
+            for (PDDocument source : sources) {
+                source.close();
+            }
         }
         return pdf;
     }
 
     /**
-     * Create chain zip file.
+     * Create chain zip file. Pages that are already compressed (PNG, JPEG, ... or data that looks
+     * random) are stored as they are, the others are deflated on a pool shared by all migrations,
+     * a bounded number of pages ahead of the one being written. Every entry keeps the position of
+     * its page, the manifest is streamed into the last entry and the central directory is written
+     * once at the end.
      *
      * @param sourceMetadata   the source metadata
      * @param migrationContext the migration context
@@ -150,46 +330,170 @@ public final class MigrationUtils {
             List<? extends OcrPage> pages,
             Path zipPath)
             throws IOException {
-        try (ZipOutputStream zos = new ZipOutputStream(Files.newOutputStream(zipPath))) {
-            Map<String, Object> manifest = new LinkedHashMap<>();
-            String docId = sourceMetadata.getDocId();
-            manifest.put(Constants.BPMN_PROC_VAR_DOC_ID, docId);
-
-            if (pages != null && !pages.isEmpty()) {
-                for (OcrPage page : pages) {
-                    String entryName = "%s".formatted(page.getName());
+        List<? extends OcrPage> entries = pages == null ? List.of() : pages;
+        List<Future<DeflatedPage>> deflated = new ArrayList<>(entries.size());
+        try (var zos = new ZipArchiveOutputStream(zipPath)) {
+            int submitted = 0;
+            for (int i = 0; i < entries.size(); i++) {
+                for (; submitted < entries.size() && submitted <= i + DEFLATE_WINDOW; submitted++) {
+                    OcrPage page = entries.get(submitted);
+                    deflated.add(
+                            isCompressible(page) ? DEFLATE_POOL.submit(() -> deflate(page)) : null);
+                }
 
-                    zos.putNextEntry(new ZipEntry(entryName));
+                OcrPage page = entries.get(i);
+                Future<DeflatedPage> future = deflated.get(i);
+                if (future == null) {
+                    zos.putArchiveEntry(zipEntry(page.getName(), ZipEntry.STORED));
                     zos.write(page.getData());
-                    zos.closeEntry();
+                    zos.closeArchiveEntry();
+                } else {
+                    DeflatedPage compressed = future.get();
+                    deflated.set(i, null);
+                    zos.addRawArchiveEntry(
+                            compressed.entry(), new ByteArrayInputStream(compressed.data()));
                 }
+            }
+
+            zos.putArchiveEntry(zipEntry("manifest.json", ZipEntry.DEFLATED));
+            objectMapper
+                    .writerWithDefaultPrettyPrinter()
+                    .writeValue(
+                            CloseShieldOutputStream.wrap(zos),
+                            manifest(sourceMetadata, migrationContext, entries.size()));
+            zos.closeArchiveEntry();
+            zos.finish();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while creating %s".formatted(zipPath), e);
+        } catch (ExecutionException e) {
+            throw new IOException("Cannot compress pages of %s".formatted(zipPath), e.getCause());
+        } finally {
+            for (Future<DeflatedPage> future : deflated) {
+                if (future != null) {
+                    future.cancel(true);
+                }
+            }
+        }
+    }
+
+    private record DeflatedPage(ZipArchiveEntry entry, byte[] data) {}
+
+    // raw deflate in memory, with the sizes and checksum the entry is written with unchanged
+    private static DeflatedPage deflate(OcrPage page) throws IOException {
+        byte[] data = page.getData();
+        CRC32 crc = new CRC32();
+        crc.update(data);
+        ByteArrayOutputStream out = new ByteArrayOutputStream(data.length / 2 + 64);
+        Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION, true);
+        try (var dos = new DeflaterOutputStream(out, deflater)) {
+            dos.write(data);
+        } finally {
+            deflater.end();
+        }
+
+        ZipArchiveEntry entry = zipEntry(page.getName(), ZipEntry.DEFLATED);
+        entry.setSize(data.length);
+        entry.setCompressedSize(out.size());
+        entry.setCrc(crc.getValue());
+        return new DeflatedPage(entry, out.toByteArray());
+    }
+
+    /**
+     * Whether deflating a page is worth the CPU. Formats that are compressed already are stored,
+     * other data only if a sample of it has close to eight bits of entropy per byte.
+     *
+     * @param page the page
+     * @return the boolean
+     */
+    static boolean isCompressible(OcrPage page) {
+        if (PRECOMPRESSED_MIME_TYPES.contains(page.getMimeType())) {
+            return false;
+        }
+        byte[] data = page.getData();
+        int length = Math.min(data.length, ENTROPY_SAMPLE_SIZE);
+        if (length == 0) {
+            return false;
+        }
 
-                manifest.put("pageCount", pages.size());
-                manifest.put("pageHashes", migrationContext.getPageHashes());
-                manifest.put("payloadHash", migrationContext.getPayloadHash());
+        int[] counts = new int[256];
+        for (int i = 0; i < length; i++) {
+            counts[data[i] & 0xff]++;
+        }
+        double entropy = 0;
+        for (int count : counts) {
+            if (count > 0) {
+                double p = (double) count / length;
+                entropy -= p * (Math.log(p) / Math.log(2));
             }
+        }
+        return entropy < INCOMPRESSIBLE_ENTROPY;
+    }
 
-            manifest.put("timestamp", Instant.now().toString());
-
-            manifest.put(
-                    "sourceMetadata",
-                    Map.of(
-                            Constants.BPMN_PROC_VAR_DOC_ID,
-                            docId,
-                            "title",
-                            sourceMetadata.getTitle(),
-                            "creationDate",
-                            sourceMetadata.getCreationDate(),
-                            "clientId",
-                            sourceMetadata.getClientId()));
-
-            String manifestJson =
-                    objectMapper.writerWithDefaultPrettyPrinter().writeValueAsString(manifest);
-
-            zos.putNextEntry(new ZipEntry("manifest.json"));
-            zos.write(manifestJson.getBytes(StandardCharsets.UTF_8));
-            zos.closeEntry();
+    private static ZipArchiveEntry zipEntry(String name, int method) {
+        var entry = new ZipArchiveEntry(name);
+        entry.setMethod(method);
+        return entry;
+    }
+
+    /**
+     * Gets the inclusion proof of every page, by page name.
+     *
+     * @param pageHashes the page hashes, in the order of the leaves of the tree
+     * @param pageTree   the page tree
+     * @return the hex encoded proofs
+     */
+    public static Map<String, List<String>> pageMerkleProofs(
+            Map<String, String> pageHashes, MerkleTree pageTree) {
+        Map<String, List<String>> proofs = new LinkedHashMap<>();
+        Iterator<List<String>> proof = pageTree.proofs().iterator();
+        for (String name : pageHashes.keySet()) {
+            proofs.put(name, proof.next());
+        }
+        return proofs;
+    }
+
+    private static Map<String, Object> manifest(
+            SourceMetadata sourceMetadata, MigrationContext migrationContext, int pageCount) {
+        Map<String, Object> manifest = new LinkedHashMap<>();
+        String docId = sourceMetadata.getDocId();
+        manifest.put(Constants.BPMN_PROC_VAR_DOC_ID, docId);
+        manifest.put("hashAlgorithm", migrationContext.getHashAlgorithm().getStandardName());
+
+        if (pageCount > 0) {
+            manifest.put("pageCount", pageCount);
+            manifest.put("pageHashes", migrationContext.getPageHashes());
+            manifest.put("payloadHash", migrationContext.getPayloadHash());
+
+            // lets a verifier check one page against the root without the others, from the tree
+            // built while unpacking unless the context was read back since
+            Map<String, List<String>> proofs = migrationContext.getPageMerkleProofs();
+            String root = migrationContext.getPageMerkleRoot();
+            if (proofs == null
+                    || root == null
+                    || !proofs.keySet().equals(migrationContext.getPageHashes().keySet())) {
+                MerkleTree pageTree = MerkleTree.of(migrationContext.getPageHashes().values());
+                proofs = pageMerkleProofs(migrationContext.getPageHashes(), pageTree);
+                root = pageTree.root();
+            }
+            manifest.put("pageMerkleRoot", root);
+            manifest.put("pageMerkleProofs", proofs);
         }
+
+        manifest.put("timestamp", Instant.now().toString());
+
+        manifest.put(
+                "sourceMetadata",
+                Map.of(
+                        Constants.BPMN_PROC_VAR_DOC_ID,
+                        docId,
+                        "title",
+                        sourceMetadata.getTitle(),
+                        "creationDate",
+                        sourceMetadata.getCreationDate(),
+                        "clientId",
+                        sourceMetadata.getClientId()));
+        return manifest;
     }
 
     /**
@@ -219,6 +523,7 @@ public final class MigrationUtils {
         metadata.setPayloadHash(migrationContext.getPayloadHash());
         metadata.setZipHash(migrationContext.getZipHash());
         metadata.setPdfHash(migrationContext.getPdfHash());
+        metadata.setPageMerkleRoot(migrationContext.getPageMerkleRoot());
 
         MigrationProvenance provenance = new MigrationProvenance();
         provenance.setMigrationTimestamp(Instant.now().toString());
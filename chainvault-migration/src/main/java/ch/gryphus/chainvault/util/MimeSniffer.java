@@ -0,0 +1,97 @@
+/*
+ * Copyright (c) 2026. Gryphus Lab
+ */
+package ch.gryphus.chainvault.util;
+
+/**
+ * Recognizes the page formats of a payload, PDF, TIFF, PNG, JPEG and BMP, from the magic bytes
+ * at the start of their data. It answers the same as Tika for them, from a prefix the caller
+ * reads into a buffer of its own and without Tika's full magic table; anything else is left to
+ * Tika.
+ */
+public final class MimeSniffer {
+
+    /**
+     * The number of bytes the formats are recognized from.
+     */
+    public static final int PREFIX_LENGTH = 16;
+
+    private static final byte[] PDF = {'%', 'P', 'D', 'F', '-'};
+    private static final byte[] PNG = {(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n'};
+
+    private MimeSniffer() {
+        /* This utility class should not be instantiated */
+    }
+
+    /**
+     * Sniffs the mime type of data from its first bytes.
+     *
+     * @param prefix the first bytes of the data
+     * @param length the number of bytes read into the prefix
+     * @return the mime type, or {@code null} if it is none of the page formats
+     */
+    public static String sniff(byte[] prefix, int length) {
+        if (startsWith(prefix, length, PDF)) {
+            return "application/pdf";
+        }
+        if (isTiff(prefix, length)) {
+            return "image/tiff";
+        }
+        if (startsWith(prefix, length, PNG)) {
+            return "image/png";
+        }
+        if (length >= 3
+                && prefix[0] == (byte) 0xFF
+                && prefix[1] == (byte) 0xD8
+                && prefix[2] == (byte) 0xFF) {
+            return "image/jpeg";
+        }
+        if (isBmp(prefix, length)) {
+            return "image/bmp";
+        }
+        return null;
+    }
+
+    private static boolean startsWith(byte[] prefix, int length, byte[] magic) {
+        if (length < magic.length) {
+            return false;
+        }
+        for (int i = 0; i < magic.length; i++) {
+            if (prefix[i] != magic[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // II*. or MM.*, BigTIFF with + in place of *
+    private static boolean isTiff(byte[] prefix, int length) {
+        if (length < 4) {
+            return false;
+        }
+        if (prefix[0] == 'I' && prefix[1] == 'I') {
+            return (prefix[2] == '*' || prefix[2] == '+') && prefix[3] == 0;
+        }
+        if (prefix[0] == 'M' && prefix[1] == 'M') {
+            return prefix[2] == 0 && (prefix[3] == '*' || prefix[3] == '+');
+        }
+        return false;
+    }
+
+    // BM alone starts plenty of text, the reserved bytes and the size of the DIB header confirm it
+    private static boolean isBmp(byte[] prefix, int length) {
+        if (length < PREFIX_LENGTH || prefix[0] != 'B' || prefix[1] != 'M') {
+            return false;
+        }
+        for (int i = 6; i < 10; i++) {
+            if (prefix[i] != 0) {
+                return false;
+            }
+        }
+        int headerSize = (prefix[14] & 0xFF) | (prefix[15] & 0xFF) << 8;
+        return switch (headerSize) {
+            case 12, 40, 52, 56, 64, 108, 124 -> true;
+            default -> false;
+        };
+    }
+}
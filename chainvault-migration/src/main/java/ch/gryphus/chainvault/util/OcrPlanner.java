@@ -0,0 +1,167 @@
+/*
+ * Copyright (c) 2026. Gryphus Lab
+ */
+package ch.gryphus.chainvault.util;
+
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.util.List;
+import org.apache.pdfbox.contentstream.PDFStreamEngine;
+import org.apache.pdfbox.contentstream.operator.DrawObject;
+import org.apache.pdfbox.contentstream.operator.Operator;
+import org.apache.pdfbox.contentstream.operator.state.Concatenate;
+import org.apache.pdfbox.contentstream.operator.state.Restore;
+import org.apache.pdfbox.contentstream.operator.state.Save;
+import org.apache.pdfbox.contentstream.operator.state.SetGraphicsStateParameters;
+import org.apache.pdfbox.contentstream.operator.state.SetMatrix;
+import org.apache.pdfbox.cos.COSBase;
+import org.apache.pdfbox.cos.COSName;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.graphics.image.PDImageXObject;
+import org.apache.pdfbox.text.PDFTextStripper;
+import org.apache.pdfbox.util.Matrix;
+
+/**
+ * Decides per page how much OCR work it needs, so the work of a document follows its image
+ * content rather than its page count:
+ *
+ * <ul>
+ *   <li>a PDF page with a text layer is neither rendered nor recognized, its text is extracted
+ *   <li>a PDF page without one is rendered at the resolution of the images it shows, between
+ *       {@value #MIN_RENDER_DPI} dpi and the configured tesseract dpi
+ *   <li>a blank page, with hardly any pixel standing out from the paper, is not recognized
+ * </ul>
+ */
+public final class OcrPlanner {
+
+    /**
+     * The lowest dpi a PDF page is rendered at, below it tesseract loses small print.
+     */
+    public static final int MIN_RENDER_DPI = 150;
+
+    // fewer characters are usually page numbers or stray marks over a scan
+    private static final int MIN_TEXT_LAYER_CHARS = 16;
+    // images narrower than this share of the page are logos or stamps, not the page scan
+    private static final float MIN_IMAGE_SHARE = 0.25f;
+    // luminance difference to the paper from which a pixel counts as ink, above scanner noise
+    private static final int INK_MIN_CONTRAST = 64;
+    // about 400 pixels of an A4 page at 300 dpi, less than a signature line or a short footnote
+    private static final double BLANK_MAX_INK_SHARE = 0.00005;
+
+    private OcrPlanner() {
+        /* This utility class should not be instantiated */
+    }
+
+    /**
+     * Gets the text layer of a PDF page.
+     *
+     * @param doc       the document
+     * @param pageIndex the zero based page index
+     * @return the text, or {@code null} if the page has no usable text layer
+     * @throws IOException the io exception
+     */
+    public static String textLayer(PDDocument doc, int pageIndex) throws IOException {
+        PDFTextStripper stripper = new PDFTextStripper();
+        stripper.setStartPage(pageIndex + 1);
+        stripper.setEndPage(pageIndex + 1);
+        String text = stripper.getText(doc);
+        return text.codePoints().filter(c -> !Character.isWhitespace(c)).count()
+                        >= MIN_TEXT_LAYER_CHARS
+                ? text.strip()
+                : null;
+    }
+
+    /**
+     * Gets the dpi to render a PDF page at, the highest effective resolution of the page sized
+     * images it draws, within {@value #MIN_RENDER_DPI} and the given maximum. Pages without such
+     * images are rendered at the maximum.
+     *
+     * @param page   the page
+     * @param maxDpi the max dpi
+     * @return the render dpi
+     * @throws IOException the io exception
+     */
+    public static int renderDpi(PDPage page, int maxDpi) throws IOException {
+        ImageResolution resolution = new ImageResolution(page.getMediaBox().getWidth());
+        resolution.processPage(page);
+        if (resolution.maxDpi == 0) {
+            return maxDpi;
+        }
+        return Math.clamp(Math.round(resolution.maxDpi), MIN_RENDER_DPI, maxDpi);
+    }
+
+    /**
+     * Checks whether a page is blank, from the share of its pixels whose luminance stands out
+     * from the paper, the most frequent luminance of the page. Every pixel is counted, so thin
+     * strokes are not missed.
+     *
+     * @param image the image
+     * @return the boolean
+     */
+    public static boolean isBlank(BufferedImage image) {
+        int width = image.getWidth();
+        int height = image.getHeight();
+        int[] histogram = new int[256];
+        int[] row = new int[width];
+        for (int y = 0; y < height; y++) {
+            image.getRGB(0, y, width, 1, row, 0, width);
+            for (int rgb : row) {
+                histogram[
+                        (299 * ((rgb >> 16) & 0xFF)
+                                        + 587 * ((rgb >> 8) & 0xFF)
+                                        + 114 * (rgb & 0xFF))
+                                / 1000]++;
+            }
+        }
+
+        int paper = 0;
+        for (int luminance = 1; luminance < histogram.length; luminance++) {
+            if (histogram[luminance] > histogram[paper]) {
+                paper = luminance;
+            }
+        }
+        long ink = 0;
+        for (int luminance = 0; luminance < histogram.length; luminance++) {
+            if (Math.abs(luminance - paper) >= INK_MIN_CONTRAST) {
+                ink += histogram[luminance];
+            }
+        }
+        return ink <= (long) width * height * BLANK_MAX_INK_SHARE;
+    }
+
+    // follows the transformation matrix to the size images are drawn at
+    private static final class ImageResolution extends PDFStreamEngine {
+
+        private final float pageWidth;
+        private double maxDpi;
+
+        ImageResolution(float pageWidth) {
+            this.pageWidth = pageWidth;
+            addOperator(new Concatenate(this));
+            addOperator(new DrawObject(this));
+            addOperator(new SetGraphicsStateParameters(this));
+            addOperator(new Save(this));
+            addOperator(new Restore(this));
+            addOperator(new SetMatrix(this));
+        }
+
+        @Override
+        protected void processOperator(Operator operator, List<COSBase> operands)
+                throws IOException {
+            if ("Do".equals(operator.getName())
+                    && !operands.isEmpty()
+                    && operands.getFirst() instanceof COSName name
+                    && getResources().getXObject(name) instanceof PDImageXObject image) {
+                Matrix ctm = getGraphicsState().getCurrentTransformationMatrix();
+                float drawnWidth = Math.abs(ctm.getScalingFactorX());
+                if (drawnWidth >= pageWidth * MIN_IMAGE_SHARE) {
+                    // user space units are 1/72 inch
+                    maxDpi = Math.max(maxDpi, image.getWidth() * 72.0 / drawnWidth);
+                }
+                return;
+            }
+            super.processOperator(operator, operands);
+        }
+    }
+}
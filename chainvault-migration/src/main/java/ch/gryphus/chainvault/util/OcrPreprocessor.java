@@ -0,0 +1,432 @@
+/*
+ * Copyright (c) 2026. Gryphus Lab
+ */
+package ch.gryphus.chainvault.util;
+
+import java.awt.image.BufferedImage;
+import java.awt.image.ComponentSampleModel;
+import java.awt.image.DataBufferByte;
+import java.awt.image.DataBufferInt;
+import java.awt.image.SinglePixelPackedSampleModel;
+import java.awt.image.WritableRaster;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import jdk.incubator.vector.ByteVector;
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Prepares a page for Tesseract on raw rasters with the Vector API: grayscale and contrast in one
+ * pass, Otsu binarization and a deskew of up to {@value #MAX_SKEW_DEGREES} degrees.
+ *
+ * <p>The skew is measured with projection profiles, the ink of column strips shifted row wise
+ * for every candidate angle, and corrected with a vertical shear, which for angles this small
+ * matches a rotation without resampling a pixel.
+ *
+ * <p>Pages that are not preprocessed still go through {@link #grayscale(BufferedImage)}, so
+ * Tesseract always reads one byte per pixel from a direct buffer instead of converting the
+ * image itself.
+ *
+ * <p>Rasters are worked on in buffers of the calling thread, which grow to its largest page and
+ * are reused for every page after. A {@link GrayRaster} returned is therefore only valid until
+ * the thread preprocesses its next page.
+ */
+public final class OcrPreprocessor {
+
+    /**
+     * The largest skew corrected, in degrees.
+     */
+    public static final double MAX_SKEW_DEGREES = 5.0;
+
+    private static final VectorSpecies<Integer> INTS = IntVector.SPECIES_PREFERRED;
+    // of the same shape, so the ints of four vectors narrow into one
+    private static final VectorSpecies<Byte> BYTES =
+            VectorSpecies.of(byte.class, INTS.vectorShape());
+    private static final int PARTS = BYTES.length() / INTS.length();
+
+    // the former RescaleOp(1.8, -40), 1.8 as 461 / 256
+    private static final int CONTRAST_SCALE = 461;
+    private static final int CONTRAST_OFFSET = 40;
+    private static final int UNCHANGED_SCALE = 256;
+
+    private static final byte INK = 0;
+    private static final byte PAPER = (byte) 0xFF;
+
+    private static final double SKEW_STEP_DEGREES = 0.25;
+    // columns of a strip share one row shift, wide strips to measure the skew, narrow to correct it
+    private static final int ESTIMATE_STRIP = 64;
+    private static final int CORRECT_STRIP = 16;
+    private static final byte[] WHITE = new byte[CORRECT_STRIP];
+
+    private static final ThreadLocal<Buffers> BUFFERS = ThreadLocal.withInitial(Buffers::new);
+
+    static {
+        Arrays.fill(WHITE, PAPER);
+    }
+
+    private OcrPreprocessor() {
+        /* This utility class should not be instantiated */
+    }
+
+    /**
+     * Converts a page to grayscale, raises its contrast, binarizes it and corrects its skew.
+     *
+     * @param image the image
+     * @return the binarized raster, black ink on white
+     */
+    public static GrayRaster preprocess(BufferedImage image) {
+        int width = image.getWidth();
+        int height = image.getHeight();
+        int length = width * height;
+        Buffers buffers = BUFFERS.get();
+
+        byte[] gray = buffers.gray(length);
+        grayscale(image, gray, CONTRAST_SCALE, CONTRAST_OFFSET, buffers);
+        binarize(gray, length, otsuThreshold(gray, length, buffers.histogram));
+
+        ByteBuffer pixels = buffers.pixels(length);
+        shear(gray, width, height, skewSlope(gray, width, height, buffers), pixels, buffers);
+        return new GrayRaster(width, height, pixels);
+    }
+
+    /**
+     * Converts a page to grayscale only.
+     *
+     * @param image the image
+     * @return the grayscale raster
+     */
+    public static GrayRaster grayscale(BufferedImage image) {
+        int length = image.getWidth() * image.getHeight();
+        Buffers buffers = BUFFERS.get();
+
+        byte[] gray = buffers.gray(length);
+        grayscale(image, gray, UNCHANGED_SCALE, 0, buffers);
+
+        ByteBuffer pixels = buffers.pixels(length);
+        pixels.put(0, gray, 0, length);
+        return new GrayRaster(image.getWidth(), image.getHeight(), pixels);
+    }
+
+    // the skew of a binarized page in degrees, positive when lines descend to the right
+    static double skewAngle(GrayRaster raster) {
+        int length = raster.width() * raster.height();
+        Buffers buffers = BUFFERS.get();
+        byte[] binary = new byte[length];
+        raster.pixels().get(0, binary, 0, length);
+        return Math.toDegrees(
+                Math.atan(skewSlope(binary, raster.width(), raster.height(), buffers)));
+    }
+
+    // gray * scale / 256 - offset, the luminance for images in color
+    private static void grayscale(
+            BufferedImage image, byte[] gray, int scale, int offset, Buffers buffers) {
+        int width = image.getWidth();
+        int height = image.getHeight();
+        WritableRaster raster = image.getRaster();
+        int type = image.getType();
+
+        if (type == BufferedImage.TYPE_BYTE_GRAY
+                && raster.getParent() == null
+                && raster.getDataBuffer() instanceof DataBufferByte data
+                && raster.getSampleModel() instanceof ComponentSampleModel model) {
+            for (int y = 0; y < height; y++) {
+                contrastRow(
+                        data.getData(),
+                        data.getOffset() + y * model.getScanlineStride(),
+                        gray,
+                        y * width,
+                        width,
+                        scale,
+                        offset);
+            }
+        } else if ((type == BufferedImage.TYPE_INT_RGB || type == BufferedImage.TYPE_INT_ARGB)
+                && raster.getParent() == null
+                && raster.getDataBuffer() instanceof DataBufferInt data
+                && raster.getSampleModel() instanceof SinglePixelPackedSampleModel model) {
+            for (int y = 0; y < height; y++) {
+                luminanceRow(
+                        data.getData(),
+                        data.getOffset() + y * model.getScanlineStride(),
+                        gray,
+                        y * width,
+                        width,
+                        scale,
+                        offset);
+            }
+        } else {
+            // any other layout goes through the color model a row at a time
+            int[] row = buffers.row(width);
+            for (int y = 0; y < height; y++) {
+                image.getRGB(0, y, width, 1, row, 0, width);
+                luminanceRow(row, 0, gray, y * width, width, scale, offset);
+            }
+        }
+    }
+
+    private static void luminanceRow(
+            int[] argb, int from, byte[] gray, int to, int width, int scale, int offset) {
+        int x = 0;
+        for (; x < BYTES.loopBound(width); x += BYTES.length()) {
+            ByteVector packed = ByteVector.zero(BYTES);
+            for (int part = 0; part < PARTS; part++) {
+                IntVector pixel = IntVector.fromArray(INTS, argb, from + x + part * INTS.length());
+                IntVector luminance =
+                        pixel.lanewise(VectorOperators.LSHR, 16)
+                                .and(0xFF)
+                                .mul(77)
+                                .add(pixel.lanewise(VectorOperators.LSHR, 8).and(0xFF).mul(150))
+                                .add(pixel.and(0xFF).mul(29))
+                                .lanewise(VectorOperators.LSHR, 8);
+                packed = packed.or(narrow(contrast(luminance, scale, offset), part));
+            }
+            packed.intoArray(gray, to + x);
+        }
+        for (; x < width; x++) {
+            int pixel = argb[from + x];
+            int luminance =
+                    (((pixel >> 16) & 0xFF) * 77
+                                    + ((pixel >> 8) & 0xFF) * 150
+                                    + (pixel & 0xFF) * 29)
+                            >> 8;
+            gray[to + x] = (byte) contrast(luminance, scale, offset);
+        }
+    }
+
+    private static void contrastRow(
+            byte[] source, int from, byte[] gray, int to, int width, int scale, int offset) {
+        int x = 0;
+        for (; x < BYTES.loopBound(width); x += BYTES.length()) {
+            ByteVector pixels = ByteVector.fromArray(BYTES, source, from + x);
+            ByteVector packed = ByteVector.zero(BYTES);
+            for (int part = 0; part < PARTS; part++) {
+                IntVector widened =
+                        ((IntVector) pixels.convertShape(VectorOperators.B2I, INTS, part))
+                                .and(0xFF);
+                packed = packed.or(narrow(contrast(widened, scale, offset), part));
+            }
+            packed.intoArray(gray, to + x);
+        }
+        for (; x < width; x++) {
+            gray[to + x] = (byte) contrast(source[from + x] & 0xFF, scale, offset);
+        }
+    }
+
+    private static IntVector contrast(IntVector gray, int scale, int offset) {
+        return gray.mul(scale).lanewise(VectorOperators.ASHR, 8).sub(offset).max(0).min(255);
+    }
+
+    private static int contrast(int gray, int scale, int offset) {
+        return Math.clamp(((gray * scale) >> 8) - offset, 0, 255);
+    }
+
+    // places the lanes of an int vector in the given quarter of a byte vector, zero elsewhere
+    private static ByteVector narrow(IntVector ints, int part) {
+        return (ByteVector) ints.convertShape(VectorOperators.I2B, BYTES, -part);
+    }
+
+    // the threshold maximizing the variance between ink and paper
+    private static int otsuThreshold(byte[] gray, int length, int[] histogram) {
+        Arrays.fill(histogram, 0);
+        for (int i = 0; i < length; i++) {
+            histogram[gray[i] & 0xFF]++;
+        }
+        double sum = 0;
+        for (int value = 0; value < histogram.length; value++) {
+            sum += (double) value * histogram[value];
+        }
+
+        int threshold = 127;
+        double bestVariance = -1;
+        long background = 0;
+        double backgroundSum = 0;
+        for (int value = 0; value < histogram.length; value++) {
+            background += histogram[value];
+            long foreground = length - background;
+            if (background == 0) {
+                continue;
+            }
+            if (foreground == 0) {
+                break;
+            }
+            backgroundSum += (double) value * histogram[value];
+            double meanDifference = backgroundSum / background - (sum - backgroundSum) / foreground;
+            double variance = (double) background * foreground * meanDifference * meanDifference;
+            if (variance > bestVariance) {
+                bestVariance = variance;
+                threshold = value;
+            }
+        }
+        return threshold;
+    }
+
+    private static void binarize(byte[] gray, int length, int threshold) {
+        // flipping the sign bit orders unsigned bytes as signed ones
+        byte signedThreshold = (byte) (threshold ^ 0x80);
+        ByteVector ink = ByteVector.broadcast(BYTES, INK);
+        int i = 0;
+        for (; i < BYTES.loopBound(length); i += BYTES.length()) {
+            ByteVector pixels =
+                    ByteVector.fromArray(BYTES, gray, i).lanewise(VectorOperators.XOR, (byte) 0x80);
+            ink.blend(PAPER, pixels.compare(VectorOperators.GT, signedThreshold))
+                    .intoArray(gray, i);
+        }
+        for (; i < length; i++) {
+            gray[i] = (gray[i] & 0xFF) > threshold ? PAPER : INK;
+        }
+    }
+
+    // rows shifted per column, of the angle whose profile has the sharpest line edges
+    private static double skewSlope(byte[] binary, int width, int height, Buffers buffers) {
+        int strips = Math.ceilDiv(width, ESTIMATE_STRIP);
+        int[] ink = buffers.ink(strips * height);
+        for (int y = 0; y < height; y++) {
+            for (int strip = 0; strip < strips; strip++) {
+                int x = strip * ESTIMATE_STRIP;
+                ink[strip * height + y] =
+                        countInk(binary, y * width + x, Math.min(ESTIMATE_STRIP, width - x));
+            }
+        }
+
+        int[] profile = buffers.profile(height);
+        int steps = (int) (MAX_SKEW_DEGREES / SKEW_STEP_DEGREES);
+        double bestSlope = 0;
+        long bestSharpness = -1;
+        // straight first, then alternating outwards, so ties keep the smaller correction
+        for (int candidate = 0; candidate <= 2 * steps; candidate++) {
+            int step = (candidate % 2 == 0 ? 1 : -1) * ((candidate + 1) / 2);
+            double slope = Math.tan(Math.toRadians(step * SKEW_STEP_DEGREES));
+            Arrays.fill(profile, 0, height, 0);
+            for (int strip = 0; strip < strips; strip++) {
+                int shift = (int) Math.round(slope * (strip + 0.5) * ESTIMATE_STRIP);
+                addShifted(ink, strip * height, shift, profile, height);
+            }
+            long sharpness = 0;
+            for (int y = 1; y < height; y++) {
+                long edge = profile[y] - profile[y - 1];
+                sharpness += edge * edge;
+            }
+            if (sharpness > bestSharpness) {
+                bestSharpness = sharpness;
+                bestSlope = slope;
+            }
+        }
+        return bestSlope;
+    }
+
+    private static int countInk(byte[] binary, int offset, int length) {
+        int count = 0;
+        int x = 0;
+        for (; x < BYTES.loopBound(length); x += BYTES.length()) {
+            count +=
+                    ByteVector.fromArray(BYTES, binary, offset + x)
+                            .compare(VectorOperators.EQ, INK)
+                            .trueCount();
+        }
+        for (; x < length; x++) {
+            if (binary[offset + x] == INK) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    // profile[y] += column[y + shift], within the rows of the page
+    private static void addShifted(int[] columns, int base, int shift, int[] profile, int height) {
+        int from = Math.max(0, -shift);
+        int to = Math.min(height, height - shift);
+        int y = from;
+        for (; to - y >= INTS.length(); y += INTS.length()) {
+            IntVector.fromArray(INTS, profile, y)
+                    .add(IntVector.fromArray(INTS, columns, base + y + shift))
+                    .intoArray(profile, y);
+        }
+        for (; y < to; y++) {
+            profile[y] += columns[base + y + shift];
+        }
+    }
+
+    private static void shear(
+            byte[] binary,
+            int width,
+            int height,
+            double slope,
+            ByteBuffer pixels,
+            Buffers buffers) {
+        if (slope == 0) {
+            pixels.put(0, binary, 0, width * height);
+            return;
+        }
+        int strips = Math.ceilDiv(width, CORRECT_STRIP);
+        int[] shifts = buffers.shifts(strips);
+        for (int strip = 0; strip < strips; strip++) {
+            shifts[strip] = (int) Math.round(slope * (strip + 0.5) * CORRECT_STRIP);
+        }
+        for (int y = 0; y < height; y++) {
+            for (int strip = 0; strip < strips; strip++) {
+                int x = strip * CORRECT_STRIP;
+                int length = Math.min(CORRECT_STRIP, width - x);
+                int source = y + shifts[strip];
+                if (source >= 0 && source < height) {
+                    pixels.put(y * width + x, binary, source * width + x, length);
+                } else {
+                    pixels.put(y * width + x, WHITE, 0, length);
+                }
+            }
+        }
+    }
+
+    // the rasters of one thread, grown to its largest page
+    private static final class Buffers {
+
+        private final int[] histogram = new int[256];
+        private byte[] gray = new byte[0];
+        private int[] row = new int[0];
+        private int[] ink = new int[0];
+        private int[] profile = new int[0];
+        private int[] shifts = new int[0];
+        private ByteBuffer pixels = ByteBuffer.allocateDirect(0);
+
+        byte[] gray(int length) {
+            if (gray.length < length) {
+                gray = new byte[length];
+            }
+            return gray;
+        }
+
+        int[] row(int length) {
+            if (row.length < length) {
+                row = new int[length];
+            }
+            return row;
+        }
+
+        int[] ink(int length) {
+            if (ink.length < length) {
+                ink = new int[length];
+            }
+            return ink;
+        }
+
+        int[] profile(int length) {
+            if (profile.length < length) {
+                profile = new int[length];
+            }
+            return profile;
+        }
+
+        int[] shifts(int length) {
+            if (shifts.length < length) {
+                shifts = new int[length];
+            }
+            return shifts;
+        }
+
+        ByteBuffer pixels(int length) {
+            if (pixels.capacity() < length) {
+                pixels = ByteBuffer.allocateDirect(length);
+            }
+            return pixels.clear().limit(length);
+        }
+    }
+}
@@ -4,18 +4,26 @@
 package ch.gryphus.chainvault.util;
 
 import ch.gryphus.chainvault.domain.OcrPage;
+import ch.gryphus.chainvault.domain.OcrPageTelemetry;
 import ch.gryphus.chainvault.domain.OcrSettings;
 import java.awt.image.BufferedImage;
-import java.awt.image.ColorConvertOp;
-import java.awt.image.RescaleOp;
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.MemoryCacheImageInputStream;
 import lombok.extern.slf4j.Slf4j;
-import net.sourceforge.tess4j.Tesseract;
 import net.sourceforge.tess4j.TesseractException;
+import org.apache.pdfbox.Loader;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.rendering.ImageType;
+import org.apache.pdfbox.rendering.PDFRenderer;
 
 /**
  * The type Ocr utils.
@@ -31,16 +39,25 @@ public final class OcrUtils {
      *
      * @param pages     the pages
      * @param tesseract the tesseract
+     * @param telemetry receives the measurements of every recognized page
      * @return the ocr results
      * @throws TesseractException the tesseract exception
      * @throws IOException        the io exception
      */
-    public static List<String> getOcrResults(List<? extends OcrPage> pages, Tesseract tesseract)
+    public static List<String> getOcrResults(
+            List<? extends OcrPage> pages,
+            InstrumentedTesseract tesseract,
+            Consumer<OcrPageTelemetry> telemetry)
             throws TesseractException, IOException {
         List<String> results = new ArrayList<>();
 
         if (pages != null) {
             for (OcrPage page : pages) {
+                if (page.getText() != null) {
+                    // taken from the text layer when the page was extracted
+                    results.add(page.getText());
+                    continue;
+                }
                 if (!page.isSupportedImage()) {
                     log.warn(
                             "Unsupported format for OCR: {} ({})",
@@ -50,25 +67,56 @@ public final class OcrUtils {
                     continue;
                 }
 
-                try (ByteArrayInputStream bis = new ByteArrayInputStream(page.getData())) {
-                    BufferedImage image = ImageIO.read(bis);
+                long decodeStart = System.nanoTime();
+                BufferedImage image = readImage(page);
+                long decodeNanos = System.nanoTime() - decodeStart;
+
+                // Defensive checks
+                if (isValidImageSize(image)) {
+                    if (OcrPlanner.isBlank(image)) {
+                        log.debug("Skipping blank page {}", page.getName());
+                        results.add("");
+                        continue;
+                    }
+                    OcrSettings settings = page.getSettings();
+                    tesseract.setLanguage(settings.getLanguage());
+                    tesseract.setPageSegMode(settings.getPageSegMode());
+                    tesseract.setOcrEngineMode(settings.getOcrEngineMode());
+                    tesseract.setVariable("user_defined_dpi", String.valueOf(settings.getDpi()));
 
-                    // Defensive checks
-                    if (isValidImageSize(image)) {
-                        OcrSettings settings = page.getSettings();
-                        tesseract.setLanguage(settings.getLanguage());
-                        tesseract.setPageSegMode(settings.getPageSegMode());
-                        tesseract.setOcrEngineMode(settings.getOcrEngineMode());
-                        tesseract.setVariable(
-                                "user_defined_dpi", String.valueOf(settings.getDpi()));
+                    // Pre-processing if enabled, a grayscale raster for Tesseract either way
+                    long convertStart = System.nanoTime();
+                    GrayRaster raster =
+                            settings.isPreprocessEnabled()
+                                    ? OcrPreprocessor.preprocess(image)
+                                    : OcrPreprocessor.grayscale(image);
+                    long convertNanos = System.nanoTime() - convertStart;
 
-                        // Pre-processing if enabled
-                        BufferedImage processed =
-                                settings.isPreprocessEnabled() ? preprocessImage(image) : image;
+                    long recognizeStart = System.nanoTime();
+                    InstrumentedTesseract.Recognition recognition = tesseract.recognize(raster);
+                    long recognizeNanos = System.nanoTime() - recognizeStart;
 
-                        String text = tesseract.doOCR(processed);
-                        results.add(text.trim());
-                    }
+                    String text = recognition.text().trim();
+                    results.add(text);
+                    telemetry.accept(
+                            new OcrPageTelemetry(
+                                    page.getName(),
+                                    image.getWidth(),
+                                    image.getHeight(),
+                                    settings.getPageSegMode(),
+                                    settings.getDpi(),
+                                    settings.isPreprocessEnabled(),
+                                    settings.isPreprocessEnabled()
+                                            ? decodeNanos
+                                            : decodeNanos + convertNanos,
+                                    settings.isPreprocessEnabled() ? convertNanos : 0,
+                                    recognizeNanos,
+                                    recognition.meanConfidence(),
+                                    text.length(),
+                                    (double) image.getWidth()
+                                            * image.getHeight()
+                                            * TimeUnit.SECONDS.toNanos(1)
+                                            / Math.max(recognizeNanos, 1)));
                 }
             }
         }
@@ -76,6 +124,42 @@ public final class OcrUtils {
         return results;
     }
 
+    // decodes a page once, a PDF page is rendered in gray at its planned dpi
+    private static BufferedImage readImage(OcrPage page) throws IOException {
+        if ("application/pdf".equals(page.getMimeType())) {
+            try (PDDocument doc = Loader.loadPDF(page.getData())) {
+                return new PDFRenderer(doc)
+                        .renderImageWithDPI(0, page.getSettings().getDpi(), ImageType.GRAY);
+            }
+        }
+        return decodeImage(page.getData());
+    }
+
+    /**
+     * Decodes the first image of the data from memory, rather than through the temporary file
+     * {@link ImageIO#read(java.io.InputStream)} caches streams in by default.
+     *
+     * @param data the data
+     * @return the image, or {@code null} if no reader knows its format
+     * @throws IOException the io exception
+     */
+    static BufferedImage decodeImage(byte[] data) throws IOException {
+        try (ImageInputStream stream =
+                new MemoryCacheImageInputStream(new ByteArrayInputStream(data))) {
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(stream);
+            if (!readers.hasNext()) {
+                return null;
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(stream, true, true);
+                return reader.read(0);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
     private static boolean isValidImageSize(BufferedImage image) {
         if (image == null
                 || image.getWidth() <= 0
@@ -89,19 +173,4 @@ public final class OcrUtils {
         }
         return true;
     }
-
-    private static BufferedImage preprocessImage(BufferedImage original) {
-        // Grayscale
-        BufferedImage gray =
-                new BufferedImage(
-                        original.getWidth(), original.getHeight(), BufferedImage.TYPE_BYTE_GRAY);
-        ColorConvertOp op = new ColorConvertOp(null);
-        op.filter(original, gray);
-
-        // Contrast enhancement
-        RescaleOp rescale = new RescaleOp(1.8f, -40.0f, null);
-        rescale.filter(gray, gray);
-
-        return gray;
-    }
 }
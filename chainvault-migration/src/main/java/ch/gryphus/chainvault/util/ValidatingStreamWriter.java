@@ -0,0 +1,297 @@
+/*
+ * Copyright (c) 2026. Gryphus Lab
+ */
+package ch.gryphus.chainvault.util;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import javax.xml.namespace.QName;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.validation.ValidatorHandler;
+import org.codehaus.stax2.XMLStreamWriter2;
+import org.codehaus.stax2.util.StreamWriter2Delegate;
+import org.xml.sax.SAXException;
+import org.xml.sax.helpers.AttributesImpl;
+
+/**
+ * A StAX writer that hands every element, attribute and text it writes to a schema validator as
+ * well, so a document is validated while it is serialized instead of being parsed again after.
+ * Attributes follow their element in StAX but come with it in SAX, the start of an element is
+ * therefore held back until its content begins. Raw and binary content is written only.
+ */
+class ValidatingStreamWriter extends StreamWriter2Delegate {
+
+    private final ValidatorHandler handler;
+    private final AttributesImpl attributes = new AttributesImpl();
+    private final Deque<QName> open = new ArrayDeque<>();
+
+    private String pendingUri;
+    private String pendingName;
+    private boolean pendingEmpty;
+
+    /**
+     * Instantiates a new Validating stream writer and starts the document of the handler.
+     *
+     * @param writer  the writer of the document
+     * @param handler the validator handler
+     * @throws XMLStreamException the xml stream exception
+     */
+    ValidatingStreamWriter(XMLStreamWriter2 writer, ValidatorHandler handler)
+            throws XMLStreamException {
+        super(writer);
+        // the delegate of this stax2 version keeps only the plain writer from its constructor
+        setParent(writer);
+        this.handler = handler;
+        validate(handler::startDocument);
+    }
+
+    /**
+     * Ends the document of the handler, after the last element of the document was written.
+     *
+     * @throws XMLStreamException the xml stream exception, with the validation error as cause
+     */
+    void finish() throws XMLStreamException {
+        flushPending();
+        validate(handler::endDocument);
+    }
+
+    @Override
+    public void writeStartElement(String localName) throws XMLStreamException {
+        writeStartElement("", localName);
+    }
+
+    @Override
+    public void writeStartElement(String namespaceURI, String localName) throws XMLStreamException {
+        super.writeStartElement(namespaceURI, localName);
+        startElement(namespaceURI, localName, false);
+    }
+
+    @Override
+    public void writeStartElement(String prefix, String localName, String namespaceURI)
+            throws XMLStreamException {
+        super.writeStartElement(prefix, localName, namespaceURI);
+        startElement(namespaceURI, localName, false);
+    }
+
+    @Override
+    public void writeEmptyElement(String localName) throws XMLStreamException {
+        writeEmptyElement("", localName);
+    }
+
+    @Override
+    public void writeEmptyElement(String namespaceURI, String localName) throws XMLStreamException {
+        super.writeEmptyElement(namespaceURI, localName);
+        startElement(namespaceURI, localName, true);
+    }
+
+    @Override
+    public void writeEmptyElement(String prefix, String localName, String namespaceURI)
+            throws XMLStreamException {
+        super.writeEmptyElement(prefix, localName, namespaceURI);
+        startElement(namespaceURI, localName, true);
+    }
+
+    @Override
+    public void writeEndElement() throws XMLStreamException {
+        flushPending();
+        super.writeEndElement();
+        QName element = open.pop();
+        validate(
+                () ->
+                        handler.endElement(
+                                element.getNamespaceURI(),
+                                element.getLocalPart(),
+                                element.getLocalPart()));
+    }
+
+    @Override
+    public void writeAttribute(String localName, String value) throws XMLStreamException {
+        super.writeAttribute(localName, value);
+        attribute("", localName, value);
+    }
+
+    @Override
+    public void writeAttribute(String namespaceURI, String localName, String value)
+            throws XMLStreamException {
+        super.writeAttribute(namespaceURI, localName, value);
+        attribute(namespaceURI, localName, value);
+    }
+
+    @Override
+    public void writeAttribute(String prefix, String namespaceURI, String localName, String value)
+            throws XMLStreamException {
+        super.writeAttribute(prefix, namespaceURI, localName, value);
+        attribute(namespaceURI, localName, value);
+    }
+
+    @Override
+    public void writeCharacters(String text) throws XMLStreamException {
+        super.writeCharacters(text);
+        characters(text);
+    }
+
+    @Override
+    public void writeCharacters(char[] text, int start, int len) throws XMLStreamException {
+        super.writeCharacters(text, start, len);
+        flushPending();
+        validate(() -> handler.characters(text, start, len));
+    }
+
+    @Override
+    public void writeCData(String data) throws XMLStreamException {
+        super.writeCData(data);
+        characters(data);
+    }
+
+    @Override
+    public void writeCData(char[] text, int start, int len) throws XMLStreamException {
+        super.writeCData(text, start, len);
+        flushPending();
+        validate(() -> handler.characters(text, start, len));
+    }
+
+    @Override
+    public void writeBoolean(boolean value) throws XMLStreamException {
+        super.writeBoolean(value);
+        characters(String.valueOf(value));
+    }
+
+    @Override
+    public void writeInt(int value) throws XMLStreamException {
+        super.writeInt(value);
+        characters(String.valueOf(value));
+    }
+
+    @Override
+    public void writeLong(long value) throws XMLStreamException {
+        super.writeLong(value);
+        characters(String.valueOf(value));
+    }
+
+    @Override
+    public void writeFloat(float value) throws XMLStreamException {
+        super.writeFloat(value);
+        characters(String.valueOf(value));
+    }
+
+    @Override
+    public void writeDouble(double value) throws XMLStreamException {
+        super.writeDouble(value);
+        characters(String.valueOf(value));
+    }
+
+    @Override
+    public void writeInteger(BigInteger value) throws XMLStreamException {
+        super.writeInteger(value);
+        characters(value.toString());
+    }
+
+    @Override
+    public void writeDecimal(BigDecimal value) throws XMLStreamException {
+        super.writeDecimal(value);
+        characters(value.toString());
+    }
+
+    @Override
+    public void writeBooleanAttribute(
+            String prefix, String namespaceURI, String localName, boolean value)
+            throws XMLStreamException {
+        super.writeBooleanAttribute(prefix, namespaceURI, localName, value);
+        attribute(namespaceURI, localName, String.valueOf(value));
+    }
+
+    @Override
+    public void writeIntAttribute(String prefix, String namespaceURI, String localName, int value)
+            throws XMLStreamException {
+        super.writeIntAttribute(prefix, namespaceURI, localName, value);
+        attribute(namespaceURI, localName, String.valueOf(value));
+    }
+
+    @Override
+    public void writeLongAttribute(String prefix, String namespaceURI, String localName, long value)
+            throws XMLStreamException {
+        super.writeLongAttribute(prefix, namespaceURI, localName, value);
+        attribute(namespaceURI, localName, String.valueOf(value));
+    }
+
+    @Override
+    public void writeFloatAttribute(
+            String prefix, String namespaceURI, String localName, float value)
+            throws XMLStreamException {
+        super.writeFloatAttribute(prefix, namespaceURI, localName, value);
+        attribute(namespaceURI, localName, String.valueOf(value));
+    }
+
+    @Override
+    public void writeDoubleAttribute(
+            String prefix, String namespaceURI, String localName, double value)
+            throws XMLStreamException {
+        super.writeDoubleAttribute(prefix, namespaceURI, localName, value);
+        attribute(namespaceURI, localName, String.valueOf(value));
+    }
+
+    @Override
+    public void writeIntegerAttribute(
+            String prefix, String namespaceURI, String localName, BigInteger value)
+            throws XMLStreamException {
+        super.writeIntegerAttribute(prefix, namespaceURI, localName, value);
+        attribute(namespaceURI, localName, value.toString());
+    }
+
+    @Override
+    public void writeDecimalAttribute(
+            String prefix, String namespaceURI, String localName, BigDecimal value)
+            throws XMLStreamException {
+        super.writeDecimalAttribute(prefix, namespaceURI, localName, value);
+        attribute(namespaceURI, localName, value.toString());
+    }
+
+    private void startElement(String namespaceURI, String localName, boolean empty)
+            throws XMLStreamException {
+        flushPending();
+        pendingUri = namespaceURI == null ? "" : namespaceURI;
+        pendingName = localName;
+        pendingEmpty = empty;
+    }
+
+    private void attribute(String namespaceURI, String localName, String value) {
+        attributes.addAttribute(
+                namespaceURI == null ? "" : namespaceURI, localName, localName, "CDATA", value);
+    }
+
+    private void characters(String text) throws XMLStreamException {
+        flushPending();
+        validate(() -> handler.characters(text.toCharArray(), 0, text.length()));
+    }
+
+    private void flushPending() throws XMLStreamException {
+        if (pendingName == null) {
+            return;
+        }
+        String uri = pendingUri;
+        String name = pendingName;
+        pendingName = null;
+        validate(() -> handler.startElement(uri, name, name, attributes));
+        attributes.clear();
+        if (pendingEmpty) {
+            validate(() -> handler.endElement(uri, name, name));
+        } else {
+            open.push(new QName(uri, name));
+        }
+    }
+
+    private static void validate(SaxAction action) throws XMLStreamException {
+        try {
+            action.run();
+        } catch (SAXException e) {
+            throw new XMLStreamException(e.getMessage(), e);
+        }
+    }
+
+    @FunctionalInterface
+    private interface SaxAction {
+        void run() throws SAXException;
+    }
+}
@@ -6,6 +6,8 @@ package ch.gryphus.chainvault.util;
 import java.io.File;
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import javax.xml.XMLConstants;
 import javax.xml.transform.Source;
 import javax.xml.transform.stream.StreamSource;
@@ -25,9 +27,31 @@ final class XmlValidationUtils {
         /* This utility class should not be instantiated */
     }
 
+    // compiled schemas are immutable and thread-safe, only their validators are per use
+    private static final Map<String, Schema> SCHEMAS = new ConcurrentHashMap<>();
+
     @Getter @Setter private static String xsdPath = "";
 
-    private static Validator initValidator(String xsdPath) throws SAXException {
+    /**
+     * Gets the compiled schema of an XSD, compiling it on first use.
+     *
+     * @param xsdPath the xsd path
+     * @return the schema
+     * @throws SAXException the sax exception
+     */
+    static Schema schema(String xsdPath) throws SAXException {
+        Schema schema = SCHEMAS.get(xsdPath);
+        if (schema == null) {
+            schema = compile(xsdPath);
+            Schema raced = SCHEMAS.putIfAbsent(xsdPath, schema);
+            if (raced != null) {
+                schema = raced;
+            }
+        }
+        return schema;
+    }
+
+    private static Schema compile(String xsdPath) throws SAXException {
         SchemaFactory factory = SchemaFactory.newInstance(XMLConstants.W3C_XML_SCHEMA_NS_URI);
         factory.setFeature("http://apache.org/xml/features/disallow-doctype-decl", true);
         factory.setProperty(XMLConstants.ACCESS_EXTERNAL_DTD, "");
@@ -35,8 +59,7 @@ final class XmlValidationUtils {
         factory.setFeature(XMLConstants.FEATURE_SECURE_PROCESSING, true);
 
         Source schemaFile = new StreamSource(new File(xsdPath));
-        Schema schema = factory.newSchema(schemaFile);
-        return schema.newValidator();
+        return factory.newSchema(schemaFile);
     }
 
     /**
@@ -47,7 +70,7 @@ final class XmlValidationUtils {
      */
     static boolean isValid(String xmlString) {
         try {
-            Validator validator = initValidator(xsdPath);
+            Validator validator = schema(xsdPath).newValidator();
             validator.validate(
                     new StreamSource(IOUtils.toInputStream(xmlString, StandardCharsets.UTF_8)));
 
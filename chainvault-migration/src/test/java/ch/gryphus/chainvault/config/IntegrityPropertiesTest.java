@@ -0,0 +1,38 @@
+/*
+ * Copyright (c) 2026. Gryphus Lab
+ */
+package ch.gryphus.chainvault.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import ch.gryphus.chainvault.domain.HashAlgorithm;
+import java.util.Map;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.context.properties.source.MapConfigurationPropertySource;
+
+/**
+ * The type Integrity properties test.
+ */
+class IntegrityPropertiesTest {
+
+    /**
+     * Test the standard name of every algorithm, as documented for MIGRATION_HASH_ALGORITHM,
+     * binds to it.
+     *
+     * @param algorithm the algorithm
+     */
+    @ParameterizedTest
+    @EnumSource(HashAlgorithm.class)
+    void testBind_shouldAcceptStandardName(HashAlgorithm algorithm) {
+        var source =
+                new MapConfigurationPropertySource(
+                        Map.of("migration.integrity.algorithm", algorithm.getStandardName()));
+
+        IntegrityProperties props =
+                new Binder(source).bindOrCreate("migration.integrity", IntegrityProperties.class);
+
+        assertThat(props.algorithm()).isEqualTo(algorithm);
+    }
+}
@@ -61,17 +61,4 @@ class SerializationConfigTest {
         // Verify the results
         assertThat(result).isNotNull();
     }
-
-    /**
-     * Test tika.
-     */
-    @Test
-    void testTika() {
-        // Setup
-        // Run the test
-        var result = serializationConfigUnderTest.tika();
-
-        // Verify the results
-        assertThat(result).isNotNull();
-    }
 }
@@ -0,0 +1,334 @@
+/*
+ * Copyright (c) 2026. Gryphus Lab
+ */
+package ch.gryphus.chainvault.service;
+
+import static org.assertj.core.api.Assertions.*;
+
+import ch.gryphus.chainvault.config.ArtifactStoreProperties;
+import ch.gryphus.chainvault.config.MigrationProperties;
+import ch.gryphus.chainvault.domain.MigrationContext;
+import ch.gryphus.chainvault.domain.OcrPage;
+import ch.gryphus.chainvault.domain.OcrSettings;
+import ch.gryphus.chainvault.exception.InsufficientStorageException;
+import ch.gryphus.chainvault.exception.MigrationServiceException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * The type Artifact store service test.
+ */
+class ArtifactStoreServiceTest {
+
+    @TempDir Path tempDir;
+
+    private ArtifactStoreService artifactStoreUnderTest;
+
+    /**
+     * Sets up.
+     */
+    @BeforeEach
+    void setUp() {
+        artifactStoreUnderTest = store(storeProps(""));
+    }
+
+    /**
+     * Test open creates the working directory of a process instance.
+     *
+     * @throws Exception the exception
+     */
+    @Test
+    void testOpen_shouldCreateWorkingDirectory() throws Exception {
+        Path workingDirectory = artifactStoreUnderTest.open("pid-1");
+
+        assertThat(workingDirectory).isDirectory().isAbsolute();
+        assertThat(workingDirectory).isEqualTo(artifactStoreUnderTest.workingDirectory("pid-1"));
+        assertThat(artifactStoreUnderTest.open("pid-1")).isEqualTo(workingDirectory);
+    }
+
+    /**
+     * Test working directories are placed on the shared directory in clustered mode.
+     *
+     * @throws Exception the exception
+     */
+    @Test
+    void testOpen_shouldUseSharedDirectoryWhenConfigured() throws Exception {
+        Path shared = tempDir.resolve("shared");
+        var sharedStore = store(storeProps(shared.toString()));
+
+        Path workingDirectory = sharedStore.open("pid-7");
+
+        assertThat(workingDirectory).isEqualTo(shared.resolve("pid-7")).isDirectory();
+        assertThat(store(storeProps(shared.toString())).workingDirectory("pid-7"))
+                .isEqualTo(workingDirectory);
+    }
+
+    /**
+     * Test small documents get their working directory on the memory tier, large ones on disk.
+     *
+     * @throws Exception the exception
+     */
+    @Test
+    void testOpen_shouldPlaceSmallDocumentsOnMemoryTier() throws Exception {
+        Path memory = tempDir.resolve("shm");
+        var tieredStore = store(storeProps("", memory.toString()));
+
+        Path small = tieredStore.open("pid-13", 1024);
+        Path large = tieredStore.open("pid-14", 1025);
+
+        assertThat(small).isEqualTo(memory.resolve("pid-13")).isDirectory();
+        assertThat(large).isEqualTo(tieredStore.workingDirectory("pid-14")).startsWith(tempDir);
+        assertThat(large).isNotEqualTo(memory.resolve("pid-14"));
+        assertThat(tieredStore.workingDirectory("pid-13")).isEqualTo(small);
+        assertThat(tieredStore.open("pid-13", 5000)).isEqualTo(small);
+        assertThat(tieredStore.workingDirectories()).containsExactlyInAnyOrder(small, large);
+        assertThat(
+                        store(storeProps(tempDir.resolve("shared").toString(), memory.toString()))
+                                .open("pid-15", 10))
+                .isEqualTo(tempDir.resolve("shared/pid-15"));
+    }
+
+    /**
+     * Test usable space is measured on the file system of the working directories.
+     *
+     * @throws Exception the exception
+     */
+    @Test
+    void testUsableSpace_shouldMeasureNearestExistingDirectory() throws Exception {
+        assertThat(artifactStoreUnderTest.usableSpace()).isPositive();
+        assertThat(store(storeProps(tempDir.resolve("a/b").toString())).usableSpace()).isPositive();
+    }
+
+    /**
+     * Test reservations are bounded by the quotas and released with their working directory.
+     *
+     * @throws Exception the exception
+     */
+    @Test
+    void testReserve_shouldEnforceQuotas() throws Exception {
+        Path first = artifactStoreUnderTest.open("pid-8");
+        Path second = artifactStoreUnderTest.open("pid-9");
+        Path third = artifactStoreUnderTest.open("pid-10");
+
+        assertThat(artifactStoreUnderTest.reserve(first, 4000)).isEqualTo(8000);
+        assertThat(artifactStoreUnderTest.reserve(second, 4000)).isEqualTo(8000);
+        assertThat(artifactStoreUnderTest.reserve(first, 3000)).isEqualTo(6000);
+        assertThat(artifactStoreUnderTest.reservedBytes()).isEqualTo(14000);
+
+        assertThatThrownBy(() -> artifactStoreUnderTest.reserve(third, 6000))
+                .isInstanceOf(MigrationServiceException.class)
+                .isNotInstanceOf(InsufficientStorageException.class)
+                .hasMessageContaining("per migration");
+        assertThatThrownBy(() -> artifactStoreUnderTest.reserve(third, 4000))
+                .isInstanceOf(InsufficientStorageException.class)
+                .hasMessageContaining("global quota");
+
+        artifactStoreUnderTest.delete(second);
+
+        assertThat(artifactStoreUnderTest.reserve(third, 4000)).isEqualTo(8000);
+        assertThat(artifactStoreUnderTest.reservedBytes()).isEqualTo(14000);
+    }
+
+    /**
+     * Test working directories of earlier runs are found through their owner marker.
+     *
+     * @throws Exception the exception
+     */
+    @Test
+    void testWorkingDirectories_shouldFindMarkedDirectories() throws Exception {
+        Path workingDirectory = artifactStoreUnderTest.open("pid-11");
+        artifactStoreUnderTest.putBytes(
+                workingDirectory, ArtifactStoreService.PAYLOAD, new byte[100]);
+        Path earlierRun = tempDir.resolve("migration-earlier-pid-12");
+        Files.createDirectories(earlierRun);
+        Files.writeString(earlierRun.resolve(ArtifactStoreService.OWNER), "pid-12");
+        Files.createDirectories(tempDir.resolve("unrelated"));
+
+        assertThat(artifactStoreUnderTest.workingDirectories())
+                .containsExactlyInAnyOrder(workingDirectory, earlierRun);
+        assertThat(artifactStoreUnderTest.processInstanceIdOf(earlierRun)).contains("pid-12");
+        assertThat(artifactStoreUnderTest.processInstanceIdOf(tempDir.resolve("unrelated")))
+                .isEmpty();
+        assertThat(artifactStoreUnderTest.size(workingDirectory)).isEqualTo(106);
+    }
+
+    /**
+     * Test bytes and json artifacts survive a roundtrip.
+     *
+     * @throws Exception the exception
+     */
+    @Test
+    void testPutAndGet_shouldRoundtripArtifacts() throws Exception {
+        Path workingDirectory = artifactStoreUnderTest.open("pid-2");
+        MigrationContext context = new MigrationContext();
+        context.setDocId("DOC-1");
+        context.addPageHash("page-1", "abc");
+
+        String payloadHandle =
+                artifactStoreUnderTest.putBytes(
+                        workingDirectory,
+                        ArtifactStoreService.PAYLOAD,
+                        "payload".getBytes(StandardCharsets.UTF_8));
+        String contextHandle =
+                artifactStoreUnderTest.putJson(
+                        workingDirectory, ArtifactStoreService.MIGRATION_CONTEXT, context);
+        String ocrHandle =
+                artifactStoreUnderTest.putJson(
+                        workingDirectory, ArtifactStoreService.OCR_RESULTS, List.of("a", "b"));
+
+        assertThat(artifactStoreUnderTest.getBytes(workingDirectory, payloadHandle))
+                .asString(StandardCharsets.UTF_8)
+                .isEqualTo("payload");
+        assertThat(
+                        artifactStoreUnderTest.getJson(
+                                workingDirectory, contextHandle, MigrationContext.class))
+                .isEqualTo(context);
+        assertThat(artifactStoreUnderTest.getStrings(workingDirectory, ocrHandle))
+                .containsExactly("a", "b");
+        try (var files = Files.list(workingDirectory)) {
+            assertThat(files.map(path -> path.getFileName().toString()))
+                    .noneMatch(name -> name.endsWith(".tmp"));
+        }
+    }
+
+    /**
+     * Test pages are spilled to one file each and restored in order.
+     *
+     * @throws Exception the exception
+     */
+    @Test
+    void testPutPages_shouldRestorePagesInOrder() throws Exception {
+        Path workingDirectory = artifactStoreUnderTest.open("pid-3");
+        OcrSettings settings = new OcrSettings();
+        settings.setDpi(200);
+        List<OcrPage> pages =
+                List.of(
+                        new OcrPage("page-1", new byte[] {1, 2}, "image/png", settings),
+                        new OcrPage("page-2", new byte[] {3}));
+
+        String handle = artifactStoreUnderTest.putPages(workingDirectory, pages);
+        List<OcrPage> restored = artifactStoreUnderTest.getPages(workingDirectory, handle);
+
+        assertThat(handle).isEqualTo(ArtifactStoreService.PAGES);
+        assertThat(restored).hasSize(2);
+        assertThat(restored.get(0).getName()).isEqualTo("page-1");
+        assertThat(restored.get(0).getData()).containsExactly(1, 2);
+        assertThat(restored.get(0).getMimeType()).isEqualTo("image/png");
+        assertThat(restored.get(0).getSettings().getDpi()).isEqualTo(200);
+        assertThat(restored.get(1).getName()).isEqualTo("page-2");
+        assertThat(restored.get(1).getMimeType()).isEqualTo("image/tiff");
+    }
+
+    /**
+     * Test verify accepts unchanged artifacts and rejects modified or missing ones.
+     *
+     * @throws Exception the exception
+     */
+    @Test
+    void testVerify_shouldDetectModifiedArtifacts() throws Exception {
+        Path workingDirectory = artifactStoreUnderTest.open("pid-6");
+        String xml =
+                artifactStoreUnderTest.putBytes(
+                        workingDirectory,
+                        ArtifactStoreService.XML,
+                        "<xml/>".getBytes(StandardCharsets.UTF_8));
+        String pages =
+                artifactStoreUnderTest.putPages(
+                        workingDirectory, List.of(new OcrPage("p", new byte[] {1})));
+        String xmlChecksum = artifactStoreUnderTest.checksum(workingDirectory, xml);
+        String pagesChecksum = artifactStoreUnderTest.checksum(workingDirectory, pages);
+
+        assertThat(artifactStoreUnderTest.verify(workingDirectory, xml, xmlChecksum)).isTrue();
+        assertThat(artifactStoreUnderTest.verify(workingDirectory, pages, pagesChecksum)).isTrue();
+
+        Files.writeString(workingDirectory.resolve(xml), "<changed/>");
+        Files.write(workingDirectory.resolve("pages/0000.bin"), new byte[] {2});
+
+        assertThat(artifactStoreUnderTest.verify(workingDirectory, xml, xmlChecksum)).isFalse();
+        assertThat(artifactStoreUnderTest.verify(workingDirectory, pages, pagesChecksum)).isFalse();
+        assertThat(artifactStoreUnderTest.verify(workingDirectory, "missing.bin", xmlChecksum))
+                .isFalse();
+        assertThatThrownBy(() -> artifactStoreUnderTest.getPages(workingDirectory, pages))
+                .isInstanceOf(MigrationServiceException.class);
+    }
+
+    /**
+     * Test handles are relative to the working directory and cannot escape it.
+     *
+     * @throws Exception the exception
+     */
+    @Test
+    void testHandles_shouldStayInsideWorkingDirectory() throws Exception {
+        Path workingDirectory = artifactStoreUnderTest.open("pid-4");
+        Path zip = Files.writeString(workingDirectory.resolve("DOC-1_chain.zip"), "zip");
+
+        String handle = artifactStoreUnderTest.handleOf(workingDirectory, zip);
+
+        assertThat(handle).isEqualTo("DOC-1_chain.zip");
+        assertThat(artifactStoreUnderTest.resolve(workingDirectory, handle)).isEqualTo(zip);
+        assertThatThrownBy(() -> artifactStoreUnderTest.resolve(workingDirectory, "../other"))
+                .isInstanceOf(MigrationServiceException.class);
+        assertThatThrownBy(
+                        () ->
+                                artifactStoreUnderTest.handleOf(
+                                        workingDirectory, tempDir.resolve("outside.zip")))
+                .isInstanceOf(MigrationServiceException.class);
+        assertThatThrownBy(() -> artifactStoreUnderTest.getBytes(workingDirectory, "missing.bin"))
+                .isInstanceOf(MigrationServiceException.class);
+    }
+
+    /**
+     * Test delete removes the working directory with all artifacts.
+     *
+     * @throws Exception the exception
+     */
+    @Test
+    void testDelete_shouldRemoveWorkingDirectory() throws Exception {
+        Path workingDirectory = artifactStoreUnderTest.open("pid-5");
+        artifactStoreUnderTest.putPages(workingDirectory, List.of(new OcrPage("p", new byte[1])));
+
+        artifactStoreUnderTest.delete(workingDirectory);
+
+        assertThat(workingDirectory).doesNotExist();
+        assertThatNoException().isThrownBy(() -> artifactStoreUnderTest.delete(null));
+    }
+
+    private ArtifactStoreService store(ArtifactStoreProperties storeProps) {
+        return new ArtifactStoreService(
+                new MigrationProperties(
+                        tempDir.resolve("migration").toString(),
+                        5000000,
+                        10.0,
+                        10000,
+                        "eng+deu",
+                        300),
+                storeProps,
+                new SimpleMeterRegistry());
+    }
+
+    private static ArtifactStoreProperties storeProps(String sharedDirectory) {
+        return storeProps(sharedDirectory, "");
+    }
+
+    private static ArtifactStoreProperties storeProps(
+            String sharedDirectory, String memoryDirectory) {
+        return new ArtifactStoreProperties(
+                sharedDirectory,
+                DataSize.ofKilobytes(10),
+                DataSize.ofKilobytes(20),
+                2.0,
+                Duration.ofMinutes(5),
+                Duration.ofHours(1),
+                Duration.ofDays(7),
+                memoryDirectory,
+                DataSize.ofKilobytes(1));
+    }
+}
@@ -0,0 +1,151 @@
+/*
+ * Copyright (c) 2026. Gryphus Lab
+ */
+package ch.gryphus.chainvault.service;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import ch.gryphus.chainvault.config.PrefetchProperties;
+import ch.gryphus.chainvault.domain.SourceMetadata;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.function.Function;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestClient;
+
+/**
+ * The type Metadata prefetch service test.
+ */
+@SuppressWarnings({"unchecked", "rawtypes"})
+@MockitoSettings(strictness = Strictness.LENIENT)
+@ExtendWith(MockitoExtension.class)
+class MetadataPrefetchServiceTest {
+
+    @Mock private RestClient mockRestClient;
+    @Mock private RestClient.RequestHeadersUriSpec mockRequestHeadersUriSpec;
+    @Mock private RestClient.RequestHeadersSpec mockRequestHeadersSpec;
+    @Mock private RestClient.ResponseSpec mockResponseSpec;
+    @Mock private Clock mockClock;
+
+    private MetadataPrefetchService prefetchServiceUnderTest;
+
+    /**
+     * Sets up.
+     */
+    @BeforeEach
+    void setUp() {
+        prefetchServiceUnderTest =
+                new MetadataPrefetchService(
+                        mockRestClient,
+                        new PrefetchProperties(2, 3, Duration.ofSeconds(30)),
+                        mockClock);
+
+        when(mockClock.instant()).thenReturn(Instant.parse("2026-01-01T00:00:00Z"));
+        when(mockRestClient.get()).thenReturn(mockRequestHeadersUriSpec);
+        when(mockRequestHeadersUriSpec.uri(any(Function.class))).thenReturn(mockRequestHeadersSpec);
+        when(mockRequestHeadersSpec.accept(any())).thenReturn(mockRequestHeadersSpec);
+        when(mockRequestHeadersSpec.retrieve()).thenReturn(mockResponseSpec);
+    }
+
+    /**
+     * Test prefetch caches metadata once per doc id.
+     */
+    @Test
+    void testPrefetch_shouldCacheMetadataForSingleUse() {
+        when(mockResponseSpec.body(SourceMetadata[].class))
+                .thenReturn(new SourceMetadata[] {meta("DOC-1"), meta("DOC-2")});
+
+        int cached = prefetchServiceUnderTest.prefetch(List.of("DOC-1", "DOC-2"));
+
+        assertThat(cached).isEqualTo(2);
+        assertThat(prefetchServiceUnderTest.take("DOC-1")).isPresent();
+        assertThat(prefetchServiceUnderTest.take("DOC-1")).isEmpty();
+        assertThat(prefetchServiceUnderTest.take("DOC-UNKNOWN")).isEmpty();
+    }
+
+    /**
+     * Test prefetch requests doc ids in chunks of the configured batch size.
+     */
+    @Test
+    void testPrefetch_shouldRequestInBatches() {
+        when(mockResponseSpec.body(SourceMetadata[].class))
+                .thenReturn(new SourceMetadata[] {meta("DOC-1"), meta("DOC-2")})
+                .thenReturn(new SourceMetadata[] {meta("DOC-3")});
+
+        int cached = prefetchServiceUnderTest.prefetch(List.of("DOC-1", "DOC-2", "DOC-3", "DOC-1"));
+
+        assertThat(cached).isEqualTo(3);
+        verify(mockRestClient, times(2)).get();
+    }
+
+    /**
+     * Test prefetch keeps the cache bounded.
+     */
+    @Test
+    void testPrefetch_shouldEvictEldestEntriesBeyondMaxEntries() {
+        when(mockResponseSpec.body(SourceMetadata[].class))
+                .thenReturn(new SourceMetadata[] {meta("DOC-1"), meta("DOC-2")})
+                .thenReturn(new SourceMetadata[] {meta("DOC-3"), meta("DOC-4")});
+
+        prefetchServiceUnderTest.prefetch(List.of("DOC-1", "DOC-2", "DOC-3", "DOC-4"));
+
+        assertThat(prefetchServiceUnderTest.size()).isEqualTo(3);
+        assertThat(prefetchServiceUnderTest.take("DOC-1")).isEmpty();
+        assertThat(prefetchServiceUnderTest.take("DOC-4")).isPresent();
+    }
+
+    /**
+     * Test take ignores expired entries.
+     */
+    @Test
+    void testTake_shouldIgnoreExpiredEntries() {
+        when(mockResponseSpec.body(SourceMetadata[].class))
+                .thenReturn(new SourceMetadata[] {meta("DOC-1")});
+        prefetchServiceUnderTest.prefetch(List.of("DOC-1"));
+
+        when(mockClock.instant()).thenReturn(Instant.parse("2026-01-01T00:01:00Z"));
+
+        assertThat(prefetchServiceUnderTest.take("DOC-1")).isEmpty();
+    }
+
+    /**
+     * Test prefetch tolerates source api failures.
+     */
+    @Test
+    void testPrefetch_shouldSkipFailedBatches() {
+        when(mockResponseSpec.body(SourceMetadata[].class))
+                .thenThrow(new ResourceAccessException("connection refused"));
+
+        assertThatNoException()
+                .isThrownBy(() -> prefetchServiceUnderTest.prefetch(List.of("DOC-1")));
+        assertThat(prefetchServiceUnderTest.take("DOC-1")).isEmpty();
+    }
+
+    /**
+     * Test default constructor.
+     */
+    @Test
+    void testDefaultConstructor() {
+        var service =
+                new MetadataPrefetchService(
+                        mockRestClient, new PrefetchProperties(1, 1, Duration.ofSeconds(1)));
+        assertThat(service.size()).isZero();
+        assertThat(service.take("DOC-1")).isEmpty();
+    }
+
+    private static SourceMetadata meta(String docId) {
+        SourceMetadata meta = new SourceMetadata();
+        meta.setDocId(docId);
+        return meta;
+    }
+}
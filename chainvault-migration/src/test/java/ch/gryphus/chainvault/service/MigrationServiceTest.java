@@ -7,15 +7,23 @@ import static org.assertj.core.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
 import ch.gryphus.chainvault.config.Constants;
+import ch.gryphus.chainvault.config.IntegrityProperties;
 import ch.gryphus.chainvault.config.MigrationProperties;
+import ch.gryphus.chainvault.config.PrefetchProperties;
 import ch.gryphus.chainvault.config.SftpTargetConfig;
+import ch.gryphus.chainvault.config.SourceGuardProperties;
 import ch.gryphus.chainvault.domain.ArchivalMetadata;
+import ch.gryphus.chainvault.domain.HashAlgorithm;
 import ch.gryphus.chainvault.domain.MigrationContext;
 import ch.gryphus.chainvault.domain.OcrPage;
+import ch.gryphus.chainvault.domain.OcrPageTelemetry;
 import ch.gryphus.chainvault.domain.SourceMetadata;
 import ch.gryphus.chainvault.exception.MigrationServiceException;
+import ch.gryphus.chainvault.exception.SourceUnavailableException;
 import ch.gryphus.chainvault.util.HashUtils;
+import ch.gryphus.chainvault.util.MerkleTree;
 import ch.gryphus.chainvault.util.MigrationUtils;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
@@ -23,6 +31,7 @@ import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.time.Duration;
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.Collections;
@@ -30,6 +39,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
+import java.util.function.Function;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipInputStream;
 import java.util.zip.ZipOutputStream;
@@ -90,6 +100,7 @@ class MigrationServiceTest {
     @Mock private PDDocument mockPDDocument;
     @Mock private PDFRenderer mockRenderer;
 
+    private MetadataPrefetchService metadataPrefetchService;
     private MigrationService migrationServiceUnderTest;
 
     private MigrationContext migrationContext;
@@ -105,6 +116,9 @@ class MigrationServiceTest {
      */
     @BeforeEach
     void setUp() throws Exception {
+        metadataPrefetchService =
+                new MetadataPrefetchService(
+                        mockRestClient, new PrefetchProperties(50, 100, Duration.ofMinutes(1)));
         migrationServiceUnderTest =
                 new MigrationService(
                         mockRestClient,
@@ -116,7 +130,19 @@ class MigrationServiceTest {
                                 10.0,
                                 10000,
                                 "eng+deu",
-                                300));
+                                300),
+                        new IntegrityProperties(HashAlgorithm.SHA_256),
+                        metadataPrefetchService,
+                        new SourceApiGuardService(
+                                new SourceGuardProperties(
+                                        4,
+                                        1,
+                                        8,
+                                        Duration.ofSeconds(5),
+                                        0.9,
+                                        3,
+                                        Duration.ofSeconds(30)),
+                                new SimpleMeterRegistry()));
 
         workingDirectory = Path.of(migrationServiceUnderTest.getTempDir());
         Files.createDirectory(workingDirectory);
@@ -184,6 +210,40 @@ class MigrationServiceTest {
         migrationContext = (MigrationContext) obj;
         assertThat(migrationContext.getMetadataHash()).isNotNull(); // metadata hash exists
         assertThat(migrationContext.getPayloadHash()).isNotNull(); // payload hash exists
+        assertThat(migrationContext.getHashAlgorithm()).isEqualTo(HashAlgorithm.SHA_256);
+    }
+
+    /**
+     * Test extract and hash when metadata was prefetched.
+     *
+     * @throws Exception the exception
+     */
+    @Test
+    void testExtractAndHash_whenMetadataWasPrefetched() throws Exception {
+        // Setup
+        RestClient.ResponseSpec mockResponseSpec = mock(RestClient.ResponseSpec.class);
+        when(mockRequestHeadersUriSpec.uri(any(Function.class))).thenReturn(mockRequestHeadersSpec);
+        when(mockRequestHeadersSpec.retrieve()).thenReturn(mockResponseSpec);
+        when(mockResponseSpec.body(SourceMetadata[].class)).thenReturn(new SourceMetadata[] {meta});
+        when(mockRequestHeadersSpec.exchange(
+                        any(RestClient.RequestHeadersSpec.ExchangeFunction.class)))
+                .thenAnswer(
+                        invocation -> {
+                            RestClient.RequestHeadersSpec.ExchangeFunction function =
+                                    invocation.getArgument(0);
+
+                            when(mockResponse.getStatusCode()).thenReturn(HttpStatus.OK);
+                            when(mockResponse.bodyTo(byte[].class)).thenReturn(new byte[] {});
+                            return function.exchange(mockRequest, mockResponse);
+                        });
+
+        metadataPrefetchService.prefetch(List.of("DOC-TEST-001"));
+        Map<String, Object> result = migrationServiceUnderTest.extractAndHash("DOC-TEST-001");
+
+        // Verify the results: only the payload is fetched individually
+        assertThat(result).hasSize(3).containsEntry("meta", meta);
+        verify(mockRequestHeadersUriSpec, never()).uri(eq("/documents/{id}"), any(Object[].class));
+        verify(mockRequestHeadersSpec, times(1)).exchange(any());
     }
 
     /**
@@ -211,6 +271,31 @@ class MigrationServiceTest {
                 .withMessageContaining("Unable to find document with id: %s".formatted(docId));
     }
 
+    /**
+     * Test extract and hash when the source api fails.
+     */
+    @Test
+    void testExtractAndHash_whenSourceApiFails() {
+        when(mockRequestHeadersSpec.exchange(
+                        any(RestClient.RequestHeadersSpec.ExchangeFunction.class)))
+                .thenAnswer(
+                        invocation -> {
+                            RestClient.RequestHeadersSpec.ExchangeFunction function =
+                                    invocation.getArgument(0);
+
+                            when(mockResponse.getStatusCode())
+                                    .thenReturn(HttpStatus.SERVICE_UNAVAILABLE); // return 503
+
+                            // Execute the lambda manually
+                            return function.exchange(mockRequest, mockResponse);
+                        });
+
+        String docId = "DOC-SOURCE-DOWN-001";
+        assertThatExceptionOfType(SourceUnavailableException.class)
+                .isThrownBy(() -> migrationServiceUnderTest.extractAndHash(docId))
+                .withMessageContaining("Source API returned 503");
+    }
+
     /**
      * Test extract and hash when no payload url exists.
      *
@@ -303,6 +388,52 @@ class MigrationServiceTest {
         assertThat(result.getFirst().getName()).isEqualTo(("DOC-ARCH-2025-001_001.tiff"));
         assertThat(HashUtils.sha256(result.getFirst().getData()))
                 .isEqualTo("a7c2d26a6c721dd9dba9cd6aec405552217c6ede0c9cf7cd5bcccca2a3d4e705");
+        assertThat(migrationContext.getPageHashes().keySet())
+                .containsExactlyElementsOf(result.stream().map(OcrPage::getName).toList());
+        assertThat(migrationContext.getPageMerkleRoot())
+                .isEqualTo(MerkleTree.of(migrationContext.getPageHashes().values()).root());
+        assertThat(migrationContext.getPageMerkleProofs())
+                .containsOnlyKeys(migrationContext.getPageHashes().keySet())
+                .containsEntry(
+                        "DOC-ARCH-2025-001_001.tiff",
+                        MerkleTree.of(migrationContext.getPageHashes().values()).proof(0));
+    }
+
+    /**
+     * Test sign source payload should hash every frame of a multi page tiff as a page.
+     *
+     * @throws Exception the exception
+     */
+    @Test
+    void testSignSourcePayload_shouldSplitMultiPageTiff() throws Exception {
+        // Setup
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        try (ZipOutputStream zos = new ZipOutputStream(baos)) {
+            zos.putNextEntry(new ZipEntry("letter.tiff"));
+            zos.write(
+                    Files.readAllBytes(
+                            Path.of("%s/tiffs/multipage.tiff".formatted(resourceDirectory))));
+            zos.closeEntry();
+        }
+
+        // Run the test
+        List<OcrPage> result =
+                migrationServiceUnderTest.signSourcePayload(
+                        baos.toByteArray(), migrationContext, workingDirectory);
+
+        // Verify the results
+        assertThat(result)
+                .extracting(OcrPage::getName)
+                .containsExactly(
+                        "letter.tiff_page001.tif",
+                        "letter.tiff_page002.tif",
+                        "letter.tiff_page003.tif");
+        assertThat(migrationContext.getPageHashes())
+                .containsOnlyKeys(result.stream().map(OcrPage::getName).toList())
+                .containsEntry(
+                        "letter.tiff_page002.tif", HashUtils.sha256(result.get(1).getData()));
+        assertThat(migrationContext.getPageMerkleRoot())
+                .isEqualTo(MerkleTree.of(migrationContext.getPageHashes().values()).root());
     }
 
     /**
@@ -403,6 +534,7 @@ class MigrationServiceTest {
         migrationContext.setPdfHash("pdfHash-sha256-abc123");
         migrationContext.setPageHashes(
                 Map.ofEntries(Map.entry("file1.tiff", "pageHash-sha256-abc123")));
+        migrationContext.setPageMerkleRoot("merkleRoot-sha256-abc123");
 
         // Run the test
         String result =
@@ -451,12 +583,45 @@ class MigrationServiceTest {
     }
 
     /**
-     * Test sign source payload should extract pdf as png files.
+     * Test sign source payload should read every page whole after entries that are not pages.
+     *
+     * @throws Exception the exception
+     */
+    @Test
+    void testSignSourcePayload_shouldSkipOtherEntriesWhole() throws Exception {
+        // Setup
+        byte[] tiff =
+                Files.readAllBytes(Path.of("%s/tiffs/sample1.tiff".formatted(resourceDirectory)));
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        try (ZipOutputStream zos = new ZipOutputStream(baos)) {
+            zos.putNextEntry(new ZipEntry("readme.txt"));
+            for (int i = 0; i < 50; i++) {
+                zos.write(UUID.randomUUID().toString().getBytes(StandardCharsets.UTF_8));
+            }
+            zos.closeEntry();
+            zos.putNextEntry(new ZipEntry("page.tiff"));
+            zos.write(tiff);
+            zos.closeEntry();
+        }
+
+        // Run the test
+        List<OcrPage> result =
+                migrationServiceUnderTest.signSourcePayload(
+                        baos.toByteArray(), migrationContext, workingDirectory);
+
+        // Verify the results
+        assertThat(result).hasSize(1);
+        assertThat(migrationContext.getPageHashes())
+                .containsExactly(Map.entry("page.tiff", HashUtils.sha256(tiff)));
+    }
+
+    /**
+     * Test sign source payload should keep pdf pages with a text layer instead of rendering them.
      *
      * @throws Exception the exception
      */
     @Test
-    void testSignSourcePayload_shouldExtractPdfAsPngFiles() throws Exception {
+    void testSignSourcePayload_shouldKeepPdfPagesWithTextLayer() throws Exception {
         // Setup
         byte[] zip =
                 Files.readAllBytes(
@@ -473,10 +638,11 @@ class MigrationServiceTest {
                 .isNotEmpty()
                 .allSatisfy(
                         page -> {
-                            assertThat(page.getMimeType()).isEqualTo("image/png");
+                            assertThat(page.getMimeType()).isEqualTo("application/pdf");
+                            assertThat(page.getText()).isNotBlank();
                             int i = pages.indexOf(page) + 1;
                             assertThat(page.getName())
-                                    .isEqualTo("%s_page%03d.png".formatted(pdfFilename, i));
+                                    .isEqualTo("%s_page%03d.pdf".formatted(pdfFilename, i));
                         });
     }
 
@@ -698,6 +864,7 @@ class MigrationServiceTest {
             JSONAssert.assertEquals(expectedResult, actualResult, JSONCompareMode.LENIENT);
 
             JSONObject manifest = new JSONObject(actualResult);
+            assertThat(manifest.get("hashAlgorithm")).isEqualTo("SHA-256");
             if (manifest.has("pageCount")) {
                 assertThat(manifest.get("pageCount")).isEqualTo(pageCount);
             }
@@ -858,6 +1025,40 @@ class MigrationServiceTest {
         assertThat(result).isEqualTo(List.of(expectedContent));
     }
 
+    /**
+     * Test perform ocr should report the timings and confidence of every recognized page.
+     *
+     * @throws Exception the exception
+     */
+    @Test
+    void testPerformOcr_shouldReportPageTelemetry() throws Exception {
+        // Setup
+        byte[] data =
+                Files.readAllBytes(Path.of("%s/tiffs/test_ocr.tiff".formatted(resourceDirectory)));
+        List<OcrPage> pages =
+                List.of(
+                        new OcrPage("test_ocr.tiff", data),
+                        new OcrPage("notes.txt", data, "text/plain", null));
+        List<OcrPageTelemetry> telemetry = new ArrayList<>();
+
+        // Run the test
+        List<String> result = migrationServiceUnderTest.performOcr(pages, telemetry::add);
+
+        // Verify the results
+        assertThat(telemetry)
+                .singleElement()
+                .satisfies(
+                        page -> {
+                            assertThat(page.name()).isEqualTo("test_ocr.tiff");
+                            assertThat(page.width()).isPositive();
+                            assertThat(page.preprocessed()).isTrue();
+                            assertThat(page.recognizeNanos()).isPositive();
+                            assertThat(page.meanConfidence()).isBetween(1, 100);
+                            assertThat(page.textLength()).isEqualTo(result.getFirst().length());
+                            assertThat(page.pixelsPerSecond()).isPositive();
+                        });
+    }
+
     /**
      * Test perform ocr should not throw exception for invalid content.
      */
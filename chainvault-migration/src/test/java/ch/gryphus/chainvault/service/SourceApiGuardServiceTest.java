@@ -0,0 +1,213 @@
+/*
+ * Copyright (c) 2026. Gryphus Lab
+ */
+package ch.gryphus.chainvault.service;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import ch.gryphus.chainvault.config.SourceGuardProperties;
+import ch.gryphus.chainvault.exception.MigrationServiceException;
+import ch.gryphus.chainvault.exception.SourceUnavailableException;
+import ch.gryphus.chainvault.util.CircuitBreaker;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.web.client.ResourceAccessException;
+
+/**
+ * The type Source api guard service test.
+ */
+@MockitoSettings(strictness = Strictness.LENIENT)
+@ExtendWith(MockitoExtension.class)
+class SourceApiGuardServiceTest {
+
+    @Mock private Clock mockClock;
+
+    private SimpleMeterRegistry meterRegistry;
+    private SourceApiGuardService guardServiceUnderTest;
+
+    /**
+     * Sets up.
+     */
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        when(mockClock.instant()).thenReturn(Instant.parse("2026-01-01T00:00:00Z"));
+        guardServiceUnderTest =
+                new SourceApiGuardService(
+                        new SourceGuardProperties(
+                                1, 1, 4, Duration.ofSeconds(5), 0.5, 2, Duration.ofSeconds(30)),
+                        meterRegistry,
+                        mockClock);
+    }
+
+    /**
+     * Test call returns the result of a successful call.
+     */
+    @Test
+    void testCall_shouldReturnResult() {
+        assertThat(guardServiceUnderTest.call("metadata", () -> "ok")).isEqualTo("ok");
+        assertThat(guardServiceUnderTest.getCircuitState()).isEqualTo(CircuitBreaker.State.CLOSED);
+        assertThat(meterRegistry.get("chainvault.source.limit").gauge().value()).isEqualTo(1.0);
+    }
+
+    /**
+     * Test call rejects calls beyond the concurrency limit.
+     *
+     * @throws Exception the exception
+     */
+    @Test
+    void testCall_shouldRejectBeyondLimit() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            executor.submit(
+                    () ->
+                            guardServiceUnderTest.call(
+                                    "payload",
+                                    () -> {
+                                        started.countDown();
+                                        awaitQuietly(release);
+                                        return null;
+                                    }));
+            assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+            assertThatExceptionOfType(SourceUnavailableException.class)
+                    .isThrownBy(() -> guardServiceUnderTest.call("payload", () -> "ok"))
+                    .withMessageContaining("concurrency limit");
+            assertThat(
+                            meterRegistry
+                                    .get("chainvault.source.rejections")
+                                    .tag("reason", "limit")
+                                    .counter()
+                                    .count())
+                    .isEqualTo(1.0);
+        } finally {
+            release.countDown();
+            executor.shutdown();
+        }
+    }
+
+    /**
+     * Test call opens the circuit after consecutive failures and fails fast.
+     */
+    @Test
+    void testCall_shouldOpenCircuitAfterFailures() {
+        for (int i = 0; i < 2; i++) {
+            assertThatExceptionOfType(SourceUnavailableException.class)
+                    .isThrownBy(
+                            () ->
+                                    guardServiceUnderTest.call(
+                                            "metadata",
+                                            () -> {
+                                                throw new ResourceAccessException("timeout");
+                                            }))
+                    .withMessageContaining("timeout");
+        }
+        assertThat(guardServiceUnderTest.getCircuitState()).isEqualTo(CircuitBreaker.State.OPEN);
+
+        assertThatExceptionOfType(SourceUnavailableException.class)
+                .isThrownBy(() -> guardServiceUnderTest.call("metadata", () -> "ok"))
+                .withMessageContaining("circuit is open");
+
+        // after the open duration a trial call closes the circuit again
+        when(mockClock.instant()).thenReturn(Instant.parse("2026-01-01T00:01:00Z"));
+        assertThat(guardServiceUnderTest.call("metadata", () -> "ok")).isEqualTo("ok");
+        assertThat(guardServiceUnderTest.getCircuitState()).isEqualTo(CircuitBreaker.State.CLOSED);
+    }
+
+    /**
+     * Test a half-open trial that fails unexpectedly lets the next call be the trial, and an
+     * error does not leak the permit.
+     */
+    @Test
+    void testCall_shouldSettleUnexpectedTrialFailure() {
+        for (int i = 0; i < 2; i++) {
+            assertThatExceptionOfType(SourceUnavailableException.class)
+                    .isThrownBy(
+                            () ->
+                                    guardServiceUnderTest.call(
+                                            "metadata",
+                                            () -> {
+                                                throw new ResourceAccessException("timeout");
+                                            }));
+        }
+        when(mockClock.instant()).thenReturn(Instant.parse("2026-01-01T00:01:00Z"));
+
+        assertThatIllegalArgumentException()
+                .isThrownBy(
+                        () ->
+                                guardServiceUnderTest.call(
+                                        "payload",
+                                        () -> {
+                                            throw new IllegalArgumentException("bad payloadUrl");
+                                        }));
+        assertThat(guardServiceUnderTest.getCircuitState()).isEqualTo(CircuitBreaker.State.OPEN);
+        assertThatExceptionOfType(StackOverflowError.class)
+                .isThrownBy(
+                        () ->
+                                guardServiceUnderTest.call(
+                                        "payload",
+                                        () -> {
+                                            throw new StackOverflowError();
+                                        }));
+
+        // the limit of one permit was given back both times
+        assertThat(guardServiceUnderTest.call("metadata", () -> "ok")).isEqualTo("ok");
+        assertThat(guardServiceUnderTest.getCircuitState()).isEqualTo(CircuitBreaker.State.CLOSED);
+    }
+
+    /**
+     * Test call passes client errors through without counting them against the source.
+     */
+    @Test
+    void testCall_shouldPassThroughClientErrors() {
+        for (int i = 0; i < 3; i++) {
+            assertThatExceptionOfType(MigrationServiceException.class)
+                    .isThrownBy(
+                            () ->
+                                    guardServiceUnderTest.call(
+                                            "metadata",
+                                            () -> {
+                                                throw new MigrationServiceException("not found");
+                                            }))
+                    .isNotInstanceOf(SourceUnavailableException.class);
+        }
+        assertThat(guardServiceUnderTest.getCircuitState()).isEqualTo(CircuitBreaker.State.CLOSED);
+    }
+
+    /**
+     * Test default constructor.
+     */
+    @Test
+    void testDefaultConstructor() {
+        var service =
+                new SourceApiGuardService(
+                        new SourceGuardProperties(
+                                8, 1, 16, Duration.ofSeconds(1), 0.9, 5, Duration.ofSeconds(10)),
+                        new SimpleMeterRegistry());
+        assertThat(service.getLimit()).isEqualTo(8);
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException _) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
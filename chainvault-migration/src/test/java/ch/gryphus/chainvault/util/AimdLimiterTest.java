@@ -0,0 +1,83 @@
+/*
+ * Copyright (c) 2026. Gryphus Lab
+ */
+package ch.gryphus.chainvault.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import org.junit.jupiter.api.Test;
+
+/**
+ * The type Aimd limiter test.
+ */
+class AimdLimiterTest {
+
+    private static final long FAST = Duration.ofMillis(10).toNanos();
+    private static final long SLOW = Duration.ofSeconds(10).toNanos();
+
+    /**
+     * Test limit grows additively while saturated and fast.
+     */
+    @Test
+    void testOnSuccess_shouldIncreaseLimitWhenSaturated() {
+        AimdLimiter limiter = new AimdLimiter(2, 1, 10, Duration.ofSeconds(1), 0.5);
+
+        for (int i = 0; i < 10; i++) {
+            assertThat(limiter.tryAcquire()).isTrue();
+            assertThat(limiter.tryAcquire()).isTrue();
+            limiter.onSuccess(FAST);
+            limiter.onSuccess(FAST);
+        }
+
+        assertThat(limiter.getLimit()).isGreaterThan(2);
+        assertThat(limiter.getInFlight()).isZero();
+    }
+
+    /**
+     * Test limit does not grow while the permits are not used.
+     */
+    @Test
+    void testOnSuccess_shouldNotIncreaseLimitWhenIdle() {
+        AimdLimiter limiter = new AimdLimiter(8, 1, 10, Duration.ofSeconds(1), 0.5);
+
+        for (int i = 0; i < 20; i++) {
+            limiter.tryAcquire();
+            limiter.onSuccess(FAST);
+        }
+
+        assertThat(limiter.getLimit()).isEqualTo(8);
+    }
+
+    /**
+     * Test limit shrinks multiplicatively on slow or dropped calls, bounded by the min limit.
+     */
+    @Test
+    void testOnSlowOrDropped_shouldDecreaseLimit() {
+        AimdLimiter limiter = new AimdLimiter(8, 2, 10, Duration.ofSeconds(1), 0.5);
+
+        limiter.tryAcquire();
+        limiter.onSuccess(SLOW);
+        assertThat(limiter.getLimit()).isEqualTo(4);
+
+        limiter.tryAcquire();
+        limiter.onDropped();
+        limiter.tryAcquire();
+        limiter.onDropped();
+        assertThat(limiter.getLimit()).isEqualTo(2);
+    }
+
+    /**
+     * Test try acquire fails fast once the limit is reached.
+     */
+    @Test
+    void testTryAcquire_shouldRejectBeyondLimit() {
+        AimdLimiter limiter = new AimdLimiter(1, 1, 10, Duration.ofSeconds(1), 0.5);
+
+        assertThat(limiter.tryAcquire()).isTrue();
+        assertThat(limiter.tryAcquire()).isFalse();
+
+        limiter.onIgnored();
+        assertThat(limiter.tryAcquire()).isTrue();
+    }
+}
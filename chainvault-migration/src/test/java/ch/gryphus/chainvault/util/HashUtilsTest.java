@@ -5,12 +5,20 @@ package ch.gryphus.chainvault.util;
 
 import static org.assertj.core.api.Assertions.*;
 
+import ch.gryphus.chainvault.domain.HashAlgorithm;
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.Random;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
 
 /**
  * The type Hash utils test.
@@ -62,4 +70,83 @@ class HashUtilsTest {
 
         assertThat(hashFromPath).isEqualTo(hashFromBytes);
     }
+
+    /**
+     * Test hash should match the published test vectors of every algorithm.
+     *
+     * @throws Exception the exception
+     */
+    @Test
+    void hash_shouldMatchTestVectors() throws Exception {
+        byte[] abc = "abc".getBytes(StandardCharsets.US_ASCII);
+
+        assertThat(HashUtils.hash(HashAlgorithm.SHA_256, abc))
+                .isEqualTo("ba7816bf8f01cfea414140de5dae2223b00361a396177a9cb410ff61f20015ad");
+        assertThat(HashUtils.hash(HashAlgorithm.SHA_512_256, abc))
+                .isEqualTo("53048e2681941ef99b2e29b76b4c7dabe4c2d0c634fc6d46e0e2f13107e7af23");
+        assertThat(HashUtils.hash(HashAlgorithm.SHA3_256, abc))
+                .isEqualTo("3a985da74fe225b2045c172d6bd390bd855f086e3e9d525b46bfe24511431532");
+        assertThat(HashUtils.hash(HashAlgorithm.BLAKE3_256, new byte[0]))
+                .isEqualTo("af1349b9f5f9a1a6a0404dea36dcc9499bcb25c9adc112b7cc9a93cae41f3262");
+    }
+
+    /**
+     * Test hash should be the same for arrays, streams, heap, direct and mapped buffers.
+     *
+     * @param algorithm the algorithm
+     * @throws Exception the exception
+     */
+    @ParameterizedTest
+    @EnumSource(HashAlgorithm.class)
+    void hash_shouldNotDependOnTheInput(HashAlgorithm algorithm) throws Exception {
+        byte[] data = new byte[200_000];
+        new Random(42).nextBytes(data);
+        Path file = tempDir.resolve("data.bin");
+        Files.write(file, data);
+        ByteBuffer direct = ByteBuffer.allocateDirect(data.length).put(data).flip();
+
+        String expected = HashUtils.hash(algorithm, data);
+
+        assertThat(HashUtils.hash(algorithm, new ByteArrayInputStream(data))).isEqualTo(expected);
+        assertThat(HashUtils.hash(algorithm, ByteBuffer.wrap(data))).isEqualTo(expected);
+        assertThat(HashUtils.hash(algorithm, direct)).isEqualTo(expected);
+        assertThat(direct.hasRemaining()).isFalse();
+        assertThat(HashUtils.hash(algorithm, file)).isEqualTo(expected);
+    }
+
+    /**
+     * Test hash should not carry state over from a stream that failed mid-way.
+     *
+     * @throws Exception the exception
+     */
+    @Test
+    void hash_shouldResetTheDigestAfterAFailedStream() throws Exception {
+        InputStream failing =
+                new SequenceInputStream(
+                        new ByteArrayInputStream(new byte[] {1, 2, 3}),
+                        new InputStream() {
+                            @Override
+                            public int read() throws IOException {
+                                throw new IOException("connection reset");
+                            }
+                        });
+        assertThatThrownBy(() -> HashUtils.hash(HashAlgorithm.SHA_256, failing))
+                .isInstanceOf(IOException.class);
+
+        assertThat(HashUtils.sha256("content".getBytes(StandardCharsets.UTF_8)))
+                .isEqualTo("ed7002b439e9ac845f22357d822bac1444730fbdb6016d3ec9432297b9ec9f73");
+    }
+
+    /**
+     * Test hash of an empty file.
+     *
+     * @throws Exception the exception
+     */
+    @Test
+    void hash_shouldHashEmptyFiles() throws Exception {
+        Path file = Files.createFile(tempDir.resolve("empty.bin"));
+
+        assertThat(HashUtils.sha256(file))
+                .isEqualTo("e3b0c44298fc1c149afbf4c8996fb92427ae41e4649b934ca495991b7852b855");
+    }
 }
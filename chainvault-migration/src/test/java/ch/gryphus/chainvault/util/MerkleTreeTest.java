@@ -0,0 +1,117 @@
+/*
+ * Copyright (c) 2026. Gryphus Lab
+ */
+package ch.gryphus.chainvault.util;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import org.apache.commons.codec.binary.Hex;
+import org.junit.jupiter.api.Test;
+
+/**
+ * The type Merkle tree test.
+ */
+class MerkleTreeTest {
+
+    /**
+     * Test the root follows RFC 6962 for an unbalanced tree.
+     *
+     * @throws Exception the exception
+     */
+    @Test
+    void testRoot_shouldMatchRfc6962Layout() throws Exception {
+        MerkleTree tree = MerkleTree.of(List.of("a", "b", "c"));
+
+        String ab = node(leaf("a"), leaf("b"));
+        assertThat(tree.size()).isEqualTo(3);
+        assertThat(tree.root()).isEqualTo(node(ab, leaf("c")));
+        assertThat(new MerkleTree().root()).isEqualTo(HashUtils.sha256(new byte[0]));
+        assertThat(MerkleTree.of(List.of("a")).root()).isEqualTo(leaf("a"));
+    }
+
+    /**
+     * Test the incremental root equals the root of the tree built at once.
+     */
+    @Test
+    void testAppend_shouldKeepRunningRoot() {
+        MerkleTree tree = new MerkleTree();
+        List<String> hashes = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            hashes.add("page-%d".formatted(i));
+            tree.append(hashes.getLast());
+
+            assertThat(tree.root()).isEqualTo(MerkleTree.of(hashes).root());
+        }
+    }
+
+    /**
+     * Test every leaf has a logarithmic proof that verifies against the root only.
+     */
+    @Test
+    void testProof_shouldVerifyEveryLeaf() {
+        for (int size = 1; size <= 17; size++) {
+            List<String> hashes = new ArrayList<>();
+            for (int i = 0; i < size; i++) {
+                hashes.add("hash-%d".formatted(i));
+            }
+            MerkleTree tree = MerkleTree.of(hashes);
+            String root = tree.root();
+
+            for (int i = 0; i < size; i++) {
+                List<String> proof = tree.proof(i);
+
+                assertThat(proof.size())
+                        .isLessThanOrEqualTo(32 - Integer.numberOfLeadingZeros(size));
+                assertThat(MerkleTree.verify(hashes.get(i), i, size, proof, root)).isTrue();
+                assertThat(MerkleTree.verify("tampered", i, size, proof, root)).isFalse();
+                if (size > 1) {
+                    assertThat(MerkleTree.verify(hashes.get(i), (i + 1) % size, size, proof, root))
+                            .isFalse();
+                }
+            }
+        }
+        assertThatThrownBy(() -> MerkleTree.of(List.of("a")).proof(1))
+                .isInstanceOf(IndexOutOfBoundsException.class);
+    }
+
+    /**
+     * Test the proofs follow RFC 6962 and are recomputed after an append.
+     *
+     * @throws Exception the exception
+     */
+    @Test
+    void testProofs_shouldFollowAppends() throws Exception {
+        MerkleTree tree = MerkleTree.of(List.of("a", "b", "c"));
+
+        assertThat(tree.proofs())
+                .containsExactly(
+                        List.of(leaf("b"), leaf("c")),
+                        List.of(leaf("a"), leaf("c")),
+                        List.of(node(leaf("a"), leaf("b"))));
+
+        tree.append("d");
+
+        assertThat(tree.proof(2)).containsExactly(leaf("d"), node(leaf("a"), leaf("b")));
+        assertThat(tree.proofs()).hasSize(4);
+    }
+
+    private static String leaf(String pageHash) throws Exception {
+        byte[] data = pageHash.getBytes(StandardCharsets.US_ASCII);
+        byte[] input = new byte[data.length + 1];
+        System.arraycopy(data, 0, input, 1, data.length);
+        return HashUtils.sha256(input);
+    }
+
+    private static String node(String left, String right) throws Exception {
+        byte[] l = Hex.decodeHex(left);
+        byte[] r = Hex.decodeHex(right);
+        byte[] input = new byte[1 + l.length + r.length];
+        input[0] = 1;
+        System.arraycopy(l, 0, input, 1, l.length);
+        System.arraycopy(r, 0, input, 1 + l.length, r.length);
+        return HashUtils.sha256(input);
+    }
+}
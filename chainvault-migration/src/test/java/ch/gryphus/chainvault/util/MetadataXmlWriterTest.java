@@ -0,0 +1,99 @@
+/*
+ * Copyright (c) 2026. Gryphus Lab
+ */
+package ch.gryphus.chainvault.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import ch.gryphus.chainvault.domain.ArchivalMetadata;
+import ch.gryphus.chainvault.domain.MigrationProvenance;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.xml.sax.SAXException;
+
+/**
+ * The type Metadata xml writer test.
+ */
+class MetadataXmlWriterTest {
+
+    private static final String XSD_PATH = "src/test/resources/xmls/ArchivalMetadata.xsd";
+
+    private final MetadataXmlWriter writer = new MetadataXmlWriter();
+    private ArchivalMetadata metadata;
+
+    /**
+     * Sets up metadata that conforms to the schema.
+     */
+    @BeforeEach
+    void setUp() {
+        MigrationProvenance provenance = new MigrationProvenance();
+        provenance.setMigrationTimestamp("2026-03-18T18:30:47.059571Z");
+        provenance.setToolVersion("1.0.0");
+        provenance.setOperator("migration-service");
+        provenance.setPageHashes(Map.of("value", "pageHash-sha256-abc123"));
+
+        metadata = new ArchivalMetadata();
+        metadata.setDocumentId("DOC-TEST-001");
+        metadata.setTitle("Test Invoice 2026");
+        metadata.setCreationDate("2026-03-18T18:30:47.049969Z");
+        metadata.setClientId("CHE-123.456.789");
+        metadata.setDocumentType("INVOICE");
+        metadata.setPageCount(1);
+        metadata.setPayloadHash("payload-sha256-abc123");
+        metadata.setZipHash("zipHash-sha256-abc123");
+        metadata.setPdfHash("pdfHash-sha256-abc123");
+        metadata.setPageMerkleRoot("merkleRoot-sha256-abc123");
+        metadata.setProvenance(provenance);
+        metadata.setCustomFields(new LinkedHashMap<>(Map.of("sourceSystem", "legacy-archive-v1")));
+    }
+
+    /**
+     * Test write keeps the declaration order of the fields.
+     */
+    @Test
+    void testWrite_shouldKeepDeclarationOrder() {
+        String xml = writer.write(metadata);
+
+        assertThat(xml)
+                .startsWith("<ArchivalMetadata><documentId>DOC-TEST-001</documentId><title>")
+                .containsSubsequence("<pageCount>1</pageCount>", "<provenance>", "<customFields>");
+    }
+
+    /**
+     * Test write validates conforming metadata while writing the same xml.
+     *
+     * @throws SAXException the sax exception
+     */
+    @Test
+    void testWrite_shouldValidateConformingMetadata() throws SAXException {
+        String xml = writer.write(metadata, XSD_PATH);
+
+        assertThat(xml).isEqualTo(writer.write(metadata));
+        XmlValidationUtils.setXsdPath(XSD_PATH);
+        assertThat(XmlValidationUtils.isValid(xml)).isTrue();
+    }
+
+    /**
+     * Test write rejects metadata that does not conform to the schema.
+     */
+    @Test
+    void testWrite_shouldRejectNonConformingMetadata() {
+        metadata.getCustomFields().put("ocrTextLength", 42_000);
+
+        assertThatThrownBy(() -> writer.write(metadata, XSD_PATH))
+                .isInstanceOf(SAXException.class)
+                .hasMessageContaining("ocrTextLength");
+    }
+
+    /**
+     * Test write rejects a schema that cannot be read.
+     */
+    @Test
+    void testWrite_shouldRejectMissingSchema() {
+        assertThatThrownBy(() -> writer.write(metadata, "src/test/resources/xmls/missing.xsd"))
+                .isInstanceOf(SAXException.class);
+    }
+}
@@ -6,12 +6,38 @@ package ch.gryphus.chainvault.util;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
+import ch.gryphus.chainvault.domain.MigrationContext;
+import ch.gryphus.chainvault.domain.OcrPage;
+import ch.gryphus.chainvault.domain.SourceMetadata;
+import java.awt.image.BufferedImage;
 import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
 import org.apache.commons.io.input.BrokenInputStream;
+import org.apache.pdfbox.Loader;
+import org.apache.pdfbox.cos.COSName;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.PDPageContentStream;
+import org.apache.pdfbox.pdmodel.PDResources;
+import org.apache.pdfbox.pdmodel.common.PDRectangle;
+import org.apache.pdfbox.pdmodel.font.PDType1Font;
+import org.apache.pdfbox.pdmodel.font.Standard14Fonts;
+import org.apache.pdfbox.pdmodel.graphics.image.LosslessFactory;
+import org.apache.pdfbox.pdmodel.graphics.image.PDImageXObject;
+import org.apache.pdfbox.text.PDFTextStripper;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
 /**
  * The type Migration utils test.
@@ -35,6 +61,90 @@ class MigrationUtilsTest {
         assertThat(result).isEqualTo("text/plain");
     }
 
+    /**
+     * Test extract tiff frames splits a multi page tiff into single frame tiffs.
+     *
+     * @throws Exception the exception
+     */
+    @Test
+    void testExtractTiffFrames_shouldSplitFrames() throws Exception {
+        byte[] tiff = Files.readAllBytes(Path.of("src/test/resources/tiffs/multipage.tiff"));
+
+        List<OcrPage> frames = MigrationUtils.extractTiffFrames(tiff, "letter.tiff");
+
+        assertThat(frames)
+                .hasSize(3)
+                .allSatisfy(
+                        frame -> {
+                            assertThat(frame.getMimeType()).isEqualTo("image/tiff");
+                            BufferedImage image = OcrUtils.decodeImage(frame.getData());
+                            assertThat(image.getWidth()).isEqualTo(800);
+                            assertThat(image.getHeight()).isEqualTo(500);
+                        });
+        assertThat(frames.getFirst().getName()).isEqualTo("letter.tiff_page001.tif");
+        // bilevel frames stay bilevel, the gray one stays gray
+        assertThat(OcrUtils.decodeImage(frames.get(0).getData()).getType())
+                .isEqualTo(BufferedImage.TYPE_BYTE_BINARY);
+        assertThat(OcrUtils.decodeImage(frames.get(1).getData()).getType())
+                .isEqualTo(BufferedImage.TYPE_BYTE_GRAY);
+    }
+
+    /**
+     * Test extract tiff frames keeps a single frame tiff as it is.
+     *
+     * @throws Exception the exception
+     */
+    @Test
+    void testExtractTiffFrames_shouldKeepSingleFrame() throws Exception {
+        byte[] tiff = Files.readAllBytes(Path.of("src/test/resources/tiffs/sample1.tiff"));
+
+        List<OcrPage> frames = MigrationUtils.extractTiffFrames(tiff, "sample1.tiff");
+
+        assertThat(frames)
+                .singleElement()
+                .satisfies(
+                        frame -> {
+                            assertThat(frame.getName()).isEqualTo("sample1.tiff");
+                            assertThat(frame.getData()).isEqualTo(tiff);
+                        });
+    }
+
+    /**
+     * Test get detected mime type leaves a stream at its start, by magic bytes and by tika.
+     *
+     * @throws Exception the exception
+     */
+    @Test
+    void testGetDetectedMimeType_shouldResetStream() throws Exception {
+        byte[] pdf = Files.readAllBytes(Path.of("src/test/resources/pdfs/sample.pdf"));
+        byte[] xml = "<?xml version=\"1.0\"?><doc/>".getBytes(StandardCharsets.UTF_8);
+        InputStream pdfIn = new ByteArrayInputStream(pdf);
+        InputStream xmlIn = new ByteArrayInputStream(xml);
+
+        assertThat(MigrationUtils.getDetectedMimeType(pdfIn)).isEqualTo("application/pdf");
+        assertThat(pdfIn.readAllBytes()).isEqualTo(pdf);
+        assertThat(MigrationUtils.getDetectedMimeType(xmlIn)).isEqualTo("application/xml");
+        assertThat(xmlIn.readAllBytes()).isEqualTo(xml);
+    }
+
+    /**
+     * Test get detected mime type reads streams one after the other into the same prefix buffer.
+     *
+     * @throws Exception the exception
+     */
+    @Test
+    void testGetDetectedMimeType_shouldReusePrefixBuffer() throws Exception {
+        byte[] pdf = Files.readAllBytes(Path.of("src/test/resources/pdfs/sample.pdf"));
+        byte[] prefix = new byte[MimeSniffer.PREFIX_LENGTH];
+        InputStream pdfIn = new ByteArrayInputStream(pdf);
+        InputStream emptyIn = new ByteArrayInputStream(new byte[0]);
+
+        assertThat(MigrationUtils.getDetectedMimeType(pdfIn, prefix)).isEqualTo("application/pdf");
+        assertThat(pdfIn.readAllBytes()).isEqualTo(pdf);
+        assertThat(MigrationUtils.getDetectedMimeType(emptyIn, prefix))
+                .isEqualTo("application/octet-stream");
+    }
+
     /**
      * Test get detected mime type empty in.
      *
@@ -64,4 +174,140 @@ class MigrationUtilsTest {
         assertThatThrownBy(() -> MigrationUtils.getDetectedMimeType(in))
                 .isInstanceOf(IOException.class);
     }
+
+    /**
+     * Test the single page PDFs of the split and the merge keep the fonts and images a page
+     * inherits from the page tree.
+     *
+     * @param tempDir the temp dir
+     * @throws Exception the exception
+     */
+    @Test
+    void testExtractPdfPages_shouldKeepInheritedResources(@TempDir Path tempDir) throws Exception {
+        List<OcrPage> pages = MigrationUtils.extractPdfPages(inheritedResourcesPdf(), "tree.pdf");
+
+        assertThat(pages).hasSize(2);
+        for (OcrPage page : pages) {
+            try (PDDocument single = Loader.loadPDF(page.getData())) {
+                assertInheritedResourcesKept(single.getPage(0));
+            }
+        }
+
+        Path merged = MigrationUtils.mergePagesToPdf(pages, "DOC-1", tempDir);
+
+        try (PDDocument doc = Loader.loadPDF(merged.toFile())) {
+            assertThat(doc.getNumberOfPages()).isEqualTo(2);
+            for (PDPage page : doc.getPages()) {
+                assertInheritedResourcesKept(page);
+            }
+            assertThat(new PDFTextStripper().getText(doc)).contains("Inherited page 2");
+        }
+    }
+
+    /**
+     * Test only pages that are not compressed already are deflated.
+     */
+    @Test
+    void testIsCompressible() {
+        byte[] random = new byte[16 * 1024];
+        new Random(42).nextBytes(random);
+        byte[] uniform = new byte[16 * 1024];
+
+        assertThat(MigrationUtils.isCompressible(new OcrPage("a.tiff", uniform))).isTrue();
+        assertThat(MigrationUtils.isCompressible(new OcrPage("b.tiff", random))).isFalse();
+        assertThat(MigrationUtils.isCompressible(new OcrPage("c.png", uniform, "image/png", null)))
+                .isFalse();
+        assertThat(MigrationUtils.isCompressible(new OcrPage("d.tiff", new byte[0]))).isFalse();
+    }
+
+    /**
+     * Test the chain zip stores compressed pages, deflates the others, keeps the page order and
+     * ends with the manifest.
+     *
+     * @param tempDir the temp dir
+     * @throws Exception the exception
+     */
+    @Test
+    void testCreateChainZipFile_shouldPickMethodPerEntry(@TempDir Path tempDir) throws Exception {
+        byte[] random = new byte[16 * 1024];
+        new Random(7).nextBytes(random);
+        List<OcrPage> pages = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            pages.add(new OcrPage("page-%d.tiff".formatted(i), new byte[8 * 1024]));
+        }
+        pages.add(2, new OcrPage("photo.jpg", random, "image/jpeg", null));
+        SourceMetadata meta = new SourceMetadata();
+        meta.setDocId("DOC-1");
+        meta.setTitle("Invoice");
+        meta.setCreationDate("2026-01-01");
+        meta.setClientId("CHE-123.456.789");
+        MigrationContext context = new MigrationContext();
+        Path zipPath = tempDir.resolve("DOC-1_chain.zip");
+
+        MigrationUtils.createChainZipFile(meta, context, pages, zipPath);
+
+        try (ZipFile zip = new ZipFile(zipPath.toFile())) {
+            List<? extends ZipEntry> entries = Collections.list(zip.entries());
+            assertThat(entries)
+                    .extracting(ZipEntry::getName)
+                    .containsExactly(
+                            "page-0.tiff",
+                            "page-1.tiff",
+                            "photo.jpg",
+                            "page-2.tiff",
+                            "page-3.tiff",
+                            "manifest.json");
+            assertThat(zip.getEntry("photo.jpg").getMethod()).isEqualTo(ZipEntry.STORED);
+            assertThat(zip.getEntry("page-0.tiff").getMethod()).isEqualTo(ZipEntry.DEFLATED);
+            assertThat(zip.getEntry("page-0.tiff").getCompressedSize()).isLessThan(8 * 1024);
+            assertThat(zip.getInputStream(zip.getEntry("photo.jpg")).readAllBytes())
+                    .isEqualTo(random);
+            assertThat(zip.getInputStream(zip.getEntry("page-3.tiff")).readAllBytes())
+                    .hasSize(8 * 1024);
+            assertThat(
+                            new String(
+                                    zip.getInputStream(entries.getLast()).readAllBytes(),
+                                    StandardCharsets.UTF_8))
+                    .contains("\"pageCount\" : 5");
+        }
+        try (var files = Files.list(tempDir)) {
+            assertThat(files).containsExactly(zipPath);
+        }
+    }
+
+    // a font and an image shared by two pages on the /Pages node, none on the pages themselves
+    private static byte[] inheritedResourcesPdf() throws IOException {
+        try (PDDocument doc = new PDDocument()) {
+            PDResources resources = new PDResources();
+            PDType1Font font = new PDType1Font(Standard14Fonts.FontName.HELVETICA);
+            PDImageXObject logo =
+                    LosslessFactory.createFromImage(
+                            doc, new BufferedImage(32, 32, BufferedImage.TYPE_INT_RGB));
+            for (int i = 1; i <= 2; i++) {
+                PDPage page = new PDPage(PDRectangle.A4);
+                doc.addPage(page);
+                page.setResources(resources);
+                try (PDPageContentStream cs = new PDPageContentStream(doc, page)) {
+                    cs.beginText();
+                    cs.setFont(font, 12);
+                    cs.newLineAtOffset(72, 720);
+                    cs.showText("Inherited page %d".formatted(i));
+                    cs.endText();
+                    cs.drawImage(logo, 72, 600, 32, 32);
+                }
+                page.getCOSObject().removeItem(COSName.RESOURCES);
+            }
+            doc.getPages().getCOSObject().setItem(COSName.RESOURCES, resources);
+
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            doc.save(out);
+            return out.toByteArray();
+        }
+    }
+
+    private static void assertInheritedResourcesKept(PDPage page) {
+        assertThat(page.getCOSObject().getDictionaryObject(COSName.RESOURCES)).isNotNull();
+        assertThat(page.getResources().getFontNames()).hasSize(1);
+        assertThat(page.getResources().getXObjectNames()).hasSize(1);
+    }
 }
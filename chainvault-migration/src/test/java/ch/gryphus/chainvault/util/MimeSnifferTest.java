@@ -0,0 +1,80 @@
+/*
+ * Copyright (c) 2026. Gryphus Lab
+ */
+package ch.gryphus.chainvault.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.Stream;
+import javax.imageio.ImageIO;
+import org.apache.tika.Tika;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+/**
+ * The type Mime sniffer test.
+ */
+class MimeSnifferTest {
+
+    /**
+     * The page formats, as files of the test resources and as written by ImageIO.
+     *
+     * @return the arguments
+     * @throws IOException the io exception
+     */
+    static Stream<Arguments> pageFormats() throws IOException {
+        return Stream.of(
+                Arguments.of("application/pdf", read("pdfs/sample.pdf")),
+                Arguments.of("image/tiff", read("tiffs/sample1.tiff")),
+                Arguments.of("image/tiff", read("tiffs/multipage.tiff")),
+                Arguments.of("image/png", image("png")),
+                Arguments.of("image/jpeg", image("jpeg")),
+                Arguments.of("image/bmp", image("bmp")));
+    }
+
+    /**
+     * Test sniff agrees with tika on the page formats.
+     *
+     * @param mimeType the mime type
+     * @param data     the data
+     */
+    @ParameterizedTest
+    @MethodSource("pageFormats")
+    void testSniff_shouldAgreeWithTika(String mimeType, byte[] data) {
+        assertThat(MimeSniffer.sniff(data, MimeSniffer.PREFIX_LENGTH)).isEqualTo(mimeType);
+        assertThat(new Tika().detect(data)).isEqualTo(mimeType);
+    }
+
+    /**
+     * Test sniff leaves other content to tika.
+     */
+    @Test
+    void testSniff_shouldLeaveOtherContentToTika() {
+        byte[] text = "BMW invoice 2026, amounts in CHF".getBytes(StandardCharsets.UTF_8);
+        byte[] xml = "<?xml version=\"1.0\"?><doc/>".getBytes(StandardCharsets.UTF_8);
+
+        assertThat(MimeSniffer.sniff(text, MimeSniffer.PREFIX_LENGTH)).isNull();
+        assertThat(MimeSniffer.sniff(xml, MimeSniffer.PREFIX_LENGTH)).isNull();
+        assertThat(MimeSniffer.sniff(new byte[MimeSniffer.PREFIX_LENGTH], 0)).isNull();
+        // a prefix cut short is not mistaken for the format it starts like
+        assertThat(MimeSniffer.sniff(new byte[] {'%', 'P', 'D'}, 3)).isNull();
+    }
+
+    private static byte[] read(String resource) throws IOException {
+        return Files.readAllBytes(Path.of("src/test/resources", resource));
+    }
+
+    private static byte[] image(String format) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(new BufferedImage(32, 32, BufferedImage.TYPE_INT_RGB), format, out);
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,201 @@
+/*
+ * Copyright (c) 2026. Gryphus Lab
+ */
+package ch.gryphus.chainvault.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import ch.gryphus.chainvault.domain.OcrPage;
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import org.apache.pdfbox.Loader;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.PDPageContentStream;
+import org.apache.pdfbox.pdmodel.common.PDRectangle;
+import org.apache.pdfbox.pdmodel.graphics.image.LosslessFactory;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * The type Ocr planner test.
+ */
+class OcrPlannerTest {
+
+    @TempDir private Path tempDir;
+
+    /**
+     * Test is blank for an empty page and a page with lines of text.
+     */
+    @Test
+    void testIsBlank() {
+        BufferedImage blank = page(1240, 1754, false);
+        BufferedImage text = page(1240, 1754, true);
+
+        assertThat(OcrPlanner.isBlank(blank)).isTrue();
+        assertThat(OcrPlanner.isBlank(text)).isFalse();
+    }
+
+    /**
+     * Test is blank is false for a page with a single short line, such as a signature.
+     */
+    @Test
+    void testIsBlank_shouldKeepSparseLine() {
+        BufferedImage image = page(2480, 3508, false);
+        Graphics2D g = image.createGraphics();
+        g.setColor(Color.BLACK);
+        g.setFont(new Font(Font.SERIF, Font.PLAIN, 32));
+        g.drawString("J. Smith", 1800, 3300);
+        g.dispose();
+
+        assertThat(OcrPlanner.isBlank(image)).isFalse();
+    }
+
+    /**
+     * Test is blank ignores scanner noise on a gray page.
+     */
+    @Test
+    void testIsBlank_shouldIgnoreNoise() {
+        BufferedImage image = new BufferedImage(1240, 1754, BufferedImage.TYPE_INT_RGB);
+        Random random = new Random(7);
+        for (int y = 0; y < image.getHeight(); y++) {
+            for (int x = 0; x < image.getWidth(); x++) {
+                int gray = 220 + random.nextInt(21) - 10;
+                image.setRGB(x, y, new Color(gray, gray, gray).getRGB());
+            }
+        }
+
+        assertThat(OcrPlanner.isBlank(image)).isTrue();
+    }
+
+    /**
+     * Test text layer of a scanned page is null and of the sample pdf is its text.
+     *
+     * @throws Exception the exception
+     */
+    @Test
+    void testTextLayer() throws Exception {
+        try (PDDocument scanned = Loader.loadPDF(scannedPdf(1240))) {
+            assertThat(OcrPlanner.textLayer(scanned, 0)).isNull();
+        }
+        try (PDDocument sample =
+                Loader.loadPDF(Files.readAllBytes(Path.of("src/test/resources/pdfs/sample.pdf")))) {
+            assertThat(OcrPlanner.textLayer(sample, 0)).isNotBlank();
+        }
+    }
+
+    /**
+     * Test render dpi follows the resolution of the scan within its bounds.
+     *
+     * @throws Exception the exception
+     */
+    @Test
+    void testRenderDpi() throws Exception {
+        // 1240 pixels across a page of 595 points are 150 dpi
+        try (PDDocument doc = Loader.loadPDF(scannedPdf(1240))) {
+            assertThat(OcrPlanner.renderDpi(doc.getPage(0), 300)).isEqualTo(150);
+        }
+        try (PDDocument doc = Loader.loadPDF(scannedPdf(620))) {
+            assertThat(OcrPlanner.renderDpi(doc.getPage(0), 300))
+                    .isEqualTo(OcrPlanner.MIN_RENDER_DPI);
+        }
+        try (PDDocument doc = Loader.loadPDF(scannedPdf(4960))) {
+            assertThat(OcrPlanner.renderDpi(doc.getPage(0), 300)).isEqualTo(300);
+        }
+        try (PDDocument doc = new PDDocument()) {
+            doc.addPage(new PDPage(PDRectangle.A4));
+            assertThat(OcrPlanner.renderDpi(doc.getPage(0), 300)).isEqualTo(300);
+        }
+    }
+
+    /**
+     * Test extract pdf pages keeps a scanned page as pdf, to be rendered at its own resolution.
+     *
+     * @throws Exception the exception
+     */
+    @Test
+    void testExtractPdfPages_shouldPlanScansAtTheirResolution() throws Exception {
+        List<OcrPage> pages = MigrationUtils.extractPdfPages(scannedPdf(1240), "scan.pdf", 300);
+
+        assertThat(pages)
+                .singleElement()
+                .satisfies(
+                        page -> {
+                            assertThat(page.getName()).isEqualTo("scan.pdf_page001.pdf");
+                            assertThat(page.getMimeType()).isEqualTo("application/pdf");
+                            assertThat(page.getText()).isNull();
+                            assertThat(page.getSettings().getDpi()).isEqualTo(150);
+                        });
+    }
+
+    /**
+     * Test merge pages to pdf imports pages kept as pdf, with and without a text layer.
+     *
+     * @throws Exception the exception
+     */
+    @Test
+    void testMergePagesToPdf_shouldImportTextLayerPages() throws Exception {
+        List<OcrPage> pages =
+                new ArrayList<>(
+                        MigrationUtils.extractPdfPages(
+                                Files.readAllBytes(Path.of("src/test/resources/pdfs/sample.pdf")),
+                                "sample.pdf",
+                                300));
+        pages.addAll(MigrationUtils.extractPdfPages(scannedPdf(1240), "scan.pdf", 300));
+
+        Path merged = MigrationUtils.mergePagesToPdf(pages, "DOC-1", tempDir);
+
+        try (PDDocument doc = Loader.loadPDF(merged.toFile())) {
+            assertThat(doc.getNumberOfPages()).isEqualTo(2);
+            assertThat(OcrPlanner.textLayer(doc, 0)).isEqualTo(pages.getFirst().getText());
+        }
+    }
+
+    // an A4 page showing one image of the given width across the whole page
+    private static byte[] scannedPdf(int width) throws IOException {
+        BufferedImage image = page(width, width * 297 / 210, true);
+        try (PDDocument doc = new PDDocument()) {
+            PDPage pdPage = new PDPage(PDRectangle.A4);
+            doc.addPage(pdPage);
+            try (var cs = new PDPageContentStream(doc, pdPage)) {
+                cs.drawImage(
+                        LosslessFactory.createFromImage(doc, image),
+                        0,
+                        0,
+                        PDRectangle.A4.getWidth(),
+                        PDRectangle.A4.getHeight());
+            }
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            doc.save(out);
+            return out.toByteArray();
+        }
+    }
+
+    private static BufferedImage page(int width, int height, boolean withText) {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = image.createGraphics();
+        g.setColor(Color.WHITE);
+        g.fillRect(0, 0, width, height);
+        if (withText) {
+            g.setColor(Color.BLACK);
+            g.setFont(new Font(Font.SERIF, Font.PLAIN, Math.max(12, width / 40)));
+            for (int line = 1; line <= 10; line++) {
+                g.drawString(
+                        "Invoice line %d of the archived document".formatted(line),
+                        width / 10,
+                        height / 12 * line);
+            }
+        }
+        g.dispose();
+        return image;
+    }
+}
@@ -0,0 +1,159 @@
+/*
+ * Copyright (c) 2026. Gryphus Lab
+ */
+package ch.gryphus.chainvault.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.nio.ByteBuffer;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+/**
+ * The type Ocr preprocessor test.
+ */
+class OcrPreprocessorTest {
+
+    private static final Color DARK = new Color(60, 60, 60);
+    private static final Color LIGHT = new Color(200, 200, 200);
+
+    /**
+     * Test preprocess binarizes every pixel of every raster layout, including the ones past the
+     * last full vector of a row.
+     *
+     * @param type the image type
+     */
+    @ParameterizedTest
+    @ValueSource(
+            ints = {
+                BufferedImage.TYPE_INT_RGB,
+                BufferedImage.TYPE_INT_ARGB,
+                BufferedImage.TYPE_BYTE_GRAY,
+                BufferedImage.TYPE_3BYTE_BGR
+            })
+    void testPreprocess_shouldBinarizeEveryPixel(int type) {
+        // an odd width leaves a scalar tail on every row
+        int width = 1003;
+        int height = 301;
+        BufferedImage image = new BufferedImage(width, height, type);
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                image.setRGB(x, y, (isDash(x, y) ? DARK : LIGHT).getRGB());
+            }
+        }
+
+        GrayRaster raster = OcrPreprocessor.preprocess(image);
+
+        assertThat(raster.width()).isEqualTo(width);
+        assertThat(raster.height()).isEqualTo(height);
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                assertThat(raster.gray(x, y))
+                        .as("(%d, %d)", x, y)
+                        .isEqualTo(isDash(x, y) ? 0 : 255);
+            }
+        }
+    }
+
+    /**
+     * Test grayscale keeps the luminance of every pixel, without contrast or binarization.
+     */
+    @Test
+    void testGrayscale_shouldKeepLuminance() {
+        BufferedImage image = new BufferedImage(203, 7, BufferedImage.TYPE_INT_RGB);
+        for (int x = 0; x < image.getWidth(); x++) {
+            image.setRGB(x, x % 7, new Color(x, 255 - x, 50).getRGB());
+        }
+
+        GrayRaster raster = OcrPreprocessor.grayscale(image);
+
+        for (int y = 0; y < image.getHeight(); y++) {
+            for (int x = 0; x < image.getWidth(); x++) {
+                Color color = new Color(image.getRGB(x, y));
+                int luminance =
+                        (color.getRed() * 77 + color.getGreen() * 150 + color.getBlue() * 29) >> 8;
+                assertThat(raster.gray(x, y)).as("(%d, %d)", x, y).isEqualTo(luminance);
+            }
+        }
+    }
+
+    /**
+     * Test preprocess straightens a page scanned at an angle.
+     */
+    @Test
+    void testPreprocess_shouldCorrectSkew() {
+        BufferedImage skewed = textPage(1240, 1754, 3.0);
+        assertThat(OcrPreprocessor.skewAngle(threshold(skewed))).isCloseTo(3.0, within(0.5));
+
+        GrayRaster raster = OcrPreprocessor.preprocess(skewed);
+
+        assertThat(OcrPreprocessor.skewAngle(raster)).isCloseTo(0.0, within(0.5));
+    }
+
+    /**
+     * Test preprocess leaves a straight page as it is.
+     */
+    @Test
+    void testPreprocess_shouldKeepStraightPage() {
+        BufferedImage straight = textPage(1240, 1754, 0);
+
+        GrayRaster raster = OcrPreprocessor.preprocess(straight);
+
+        GrayRaster expected = threshold(straight);
+        assertThat(raster.pixels()).isEqualTo(expected.pixels());
+    }
+
+    /**
+     * Test preprocess reuses the raster of the thread.
+     */
+    @Test
+    void testPreprocess_shouldReuseBuffers() {
+        ByteBuffer first = OcrPreprocessor.preprocess(textPage(1240, 1754, 0)).pixels();
+        ByteBuffer second = OcrPreprocessor.preprocess(textPage(620, 877, 0)).pixels();
+
+        assertThat(second).isSameAs(first);
+        assertThat(second.isDirect()).isTrue();
+        assertThat(second.limit()).isEqualTo(620 * 877);
+    }
+
+    private static boolean isDash(int x, int y) {
+        return (y / 8) % 3 == 0 && x % 11 < 8;
+    }
+
+    private static BufferedImage textPage(int width, int height, double degrees) {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = image.createGraphics();
+        g.setColor(Color.WHITE);
+        g.fillRect(0, 0, width, height);
+        g.rotate(Math.toRadians(degrees), width / 2.0, height / 2.0);
+        g.setColor(Color.BLACK);
+        g.setFont(new Font(Font.SERIF, Font.PLAIN, width / 40));
+        for (int line = 1; line <= 30; line++) {
+            g.drawString(
+                    "Invoice line %d of the archived document, amounts carried forward"
+                            .formatted(line),
+                    width / 10,
+                    height / 32 * line);
+        }
+        g.dispose();
+        return image;
+    }
+
+    // black and white as the preprocessing would make it, without a deskew
+    private static GrayRaster threshold(BufferedImage image) {
+        ByteBuffer pixels = ByteBuffer.allocateDirect(image.getWidth() * image.getHeight());
+        for (int y = 0; y < image.getHeight(); y++) {
+            for (int x = 0; x < image.getWidth(); x++) {
+                int gray = new Color(image.getRGB(x, y)).getGreen();
+                pixels.put(y * image.getWidth() + x, (byte) (gray < 128 ? 0 : 0xFF));
+            }
+        }
+        return new GrayRaster(image.getWidth(), image.getHeight(), pixels);
+    }
+}
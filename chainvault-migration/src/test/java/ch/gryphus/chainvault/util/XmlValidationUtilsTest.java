@@ -9,8 +9,10 @@ import static org.assertj.core.api.Assertions.assertThatNoException;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import javax.xml.validation.Schema;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.xml.sax.SAXException;
 
 /**
  * The type Xml validator test.
@@ -52,6 +54,19 @@ class XmlValidationUtilsTest {
                 .isFalse();
     }
 
+    /**
+     * Test schema is compiled once per xsd path.
+     *
+     * @throws SAXException the sax exception
+     */
+    @Test
+    void testSchema_shouldBeCached() throws SAXException {
+        Schema schema = XmlValidationUtils.schema("src/test/resources/xmls/ArchivalMetadata.xsd");
+
+        assertThat(XmlValidationUtils.schema("src/test/resources/xmls/ArchivalMetadata.xsd"))
+                .isSameAs(schema);
+    }
+
     /**
      * Test set xsd path.
      */
@@ -0,0 +1,27 @@
+/*
+ * Copyright (c) 2026. Gryphus Lab
+ */
+package ch.gryphus.chainvault.config;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+import org.springframework.validation.annotation.Validated;
+
+/**
+ * Admission control properties of process starts
+ *
+ * @param maxInFlight   the upper bound of pending, running and retrying bulk migrations
+ * @param maxQueuedJobs the upper bound of async jobs waiting in the Flowable job table
+ * @param minFreeDisk   the free space the working directories need to admit new migrations
+ * @param retryAfter    the delay suggested to rejected clients
+ */
+@Validated
+@ConfigurationProperties(prefix = "migration.admission")
+public record AdmissionProperties(
+        @Min(1) int maxInFlight,
+        @Min(1) int maxQueuedJobs,
+        @NotNull DataSize minFreeDisk,
+        @NotNull Duration retryAfter) {}
@@ -0,0 +1,41 @@
+/*
+ * Copyright (c) 2026. Gryphus Lab
+ */
+package ch.gryphus.chainvault.config;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+/**
+ * Flowable async job execution properties
+ *
+ * @param mode                       whether async jobs run on the Flowable platform pool or on virtual threads
+ * @param maxConcurrency             the upper bound of jobs running concurrently on virtual threads
+ * @param interactiveConcurrency     the capacity reserved for jobs of interactive migrations
+ * @param interactiveAcquireInterval how often jobs of interactive migrations are acquired
+ */
+@Validated
+@ConfigurationProperties(prefix = "migration.async-executor")
+public record AsyncExecutorProperties(
+        @NotNull Mode mode,
+        @Min(1) int maxConcurrency,
+        @Min(1) int interactiveConcurrency,
+        @NotNull Duration interactiveAcquireInterval) {
+
+    /**
+     * The execution mode.
+     */
+    public enum Mode {
+        /**
+         * Jobs use the fixed Flowable task executor, only {@code io} jobs run on virtual threads.
+         */
+        PLATFORM,
+        /**
+         * All jobs run on virtual threads, capped by {@code maxConcurrency}.
+         */
+        VIRTUAL
+    }
+}
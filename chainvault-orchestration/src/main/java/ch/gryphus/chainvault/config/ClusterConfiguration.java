@@ -0,0 +1,69 @@
+/*
+ * Copyright (c) 2026. Gryphus Lab
+ */
+package ch.gryphus.chainvault.config;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import lombok.extern.slf4j.Slf4j;
+import org.flowable.engine.parse.BpmnParseHandler;
+import org.flowable.spring.SpringProcessEngineConfiguration;
+import org.flowable.spring.boot.EngineConfigurationConfigurer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Clustered mode. With a shared artifact directory every stage after the extraction is executed
+ * as its own async job, so the steps of one migration spread over all nodes. Without it the
+ * migration keeps running in the job of the node that extracted it, next to its node-local
+ * working directory.
+ */
+@Slf4j
+@Configuration(proxyBeanMethods = false)
+public class ClusterConfiguration {
+
+    /**
+     * The job category by activity id of the stages split into separate jobs in clustered mode.
+     */
+    static final Map<String, String> CLUSTERED_STAGES = clusteredStages();
+
+    /**
+     * Registers the clustered stage parse handler when the artifact store is shared.
+     *
+     * @param artifactStoreProperties the artifact store properties
+     * @return the engine configuration configurer
+     */
+    @Bean
+    public EngineConfigurationConfigurer<SpringProcessEngineConfiguration> clusteredStagesConfig(
+            ArtifactStoreProperties artifactStoreProperties) {
+        return engineConfiguration -> {
+            if (!artifactStoreProperties.shared()) {
+                return;
+            }
+            log.info(
+                    "Clustered mode: artifacts in {}, stages {} run as separate jobs",
+                    artifactStoreProperties.sharedDirectory(),
+                    CLUSTERED_STAGES.keySet());
+
+            var handlers = new ArrayList<BpmnParseHandler>();
+            if (engineConfiguration.getPostBpmnParseHandlers() != null) {
+                handlers.addAll(engineConfiguration.getPostBpmnParseHandlers());
+            }
+            // first, so that the priority lane handler sees the categories set here
+            handlers.addFirst(new ClusteredStageParseHandler(CLUSTERED_STAGES));
+            engineConfiguration.setPostBpmnParseHandlers(handlers);
+        };
+    }
+
+    private static Map<String, String> clusteredStages() {
+        Map<String, String> stages = new LinkedHashMap<>();
+        stages.put("Task_Sign", "");
+        stages.put("Task_Prepare", "");
+        stages.put("Task_OCR", "");
+        stages.put("Task_Merge", "");
+        stages.put("Task_Transform", "");
+        stages.put("Task_Send", StageAwareAsyncExecutor.IO_CATEGORY);
+        return stages;
+    }
+}
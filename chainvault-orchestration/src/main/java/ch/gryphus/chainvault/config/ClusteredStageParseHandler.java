@@ -0,0 +1,60 @@
+/*
+ * Copyright (c) 2026. Gryphus Lab
+ */
+package ch.gryphus.chainvault.config;
+
+import java.util.List;
+import java.util.Map;
+import org.flowable.bpmn.model.BaseElement;
+import org.flowable.bpmn.model.ExtensionElement;
+import org.flowable.bpmn.model.ServiceTask;
+import org.flowable.engine.impl.bpmn.parser.BpmnParse;
+import org.flowable.engine.impl.bpmn.parser.handler.AbstractBpmnParseHandler;
+
+/**
+ * Turns the configured service tasks into async continuations when a process is parsed, so that
+ * each stage becomes its own job that any node of a cluster can acquire. A non-blank job category
+ * is set unless the model already declares one, which keeps the routing of {@link
+ * StageAwareAsyncExecutor} intact.
+ */
+public class ClusteredStageParseHandler extends AbstractBpmnParseHandler<ServiceTask> {
+
+    private static final String JOB_CATEGORY = "jobCategory";
+    private static final String FLOWABLE_NAMESPACE = "http://flowable.org/bpmn";
+
+    private final Map<String, String> stages;
+
+    /**
+     * Instantiates a new Clustered stage parse handler.
+     *
+     * @param stages the job category by activity id of the tasks to run as separate jobs, an empty
+     *               category leaves the job uncategorised
+     */
+    public ClusteredStageParseHandler(Map<String, String> stages) {
+        this.stages = Map.copyOf(stages);
+    }
+
+    @Override
+    protected Class<? extends BaseElement> getHandledType() {
+        return ServiceTask.class;
+    }
+
+    @Override
+    protected void executeParse(BpmnParse bpmnParse, ServiceTask serviceTask) {
+        String category = stages.get(serviceTask.getId());
+        if (category == null) {
+            return;
+        }
+        serviceTask.setAsynchronous(true);
+        serviceTask.setExclusive(true);
+
+        if (!category.isBlank() && !serviceTask.getExtensionElements().containsKey(JOB_CATEGORY)) {
+            var jobCategory = new ExtensionElement();
+            jobCategory.setName(JOB_CATEGORY);
+            jobCategory.setNamespacePrefix("flowable");
+            jobCategory.setNamespace(FLOWABLE_NAMESPACE);
+            jobCategory.setElementText(category);
+            serviceTask.getExtensionElements().put(JOB_CATEGORY, List.of(jobCategory));
+        }
+    }
+}
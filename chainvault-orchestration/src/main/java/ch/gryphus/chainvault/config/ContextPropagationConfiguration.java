@@ -3,9 +3,14 @@
  */
 package ch.gryphus.chainvault.config;
 
+import java.util.ArrayList;
 import org.flowable.common.engine.api.async.AsyncTaskExecutor;
+import org.flowable.engine.parse.BpmnParseHandler;
+import org.flowable.job.service.impl.asyncexecutor.AsyncJobExecutorConfiguration;
 import org.flowable.spring.SpringProcessEngineConfiguration;
 import org.flowable.spring.boot.EngineConfigurationConfigurer;
+import org.flowable.spring.boot.process.ProcessAsync;
+import org.flowable.spring.job.service.SpringAsyncExecutor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.core.task.support.ContextPropagatingTaskDecorator;
@@ -26,6 +31,28 @@ public class ContextPropagationConfiguration {
         return new ContextPropagatingTaskDecorator();
     }
 
+    /**
+     * Replaces Flowable's process async executor with one that runs {@code io} category jobs, or
+     * all jobs in virtual mode, on virtual threads and jobs of interactive migrations on a lane of
+     * their own.
+     *
+     * @param processAsyncExecutorConfiguration the process async executor configuration
+     * @param contextPropagatingTaskDecorator   the context propagating task decorator
+     * @param asyncExecutorProperties           the async executor properties
+     * @return the spring async executor
+     */
+    @Bean
+    @ProcessAsync
+    public SpringAsyncExecutor processAsyncExecutor(
+            @ProcessAsync AsyncJobExecutorConfiguration processAsyncExecutorConfiguration,
+            ContextPropagatingTaskDecorator contextPropagatingTaskDecorator,
+            AsyncExecutorProperties asyncExecutorProperties) {
+        return new StageAwareAsyncExecutor(
+                processAsyncExecutorConfiguration,
+                contextPropagatingTaskDecorator,
+                asyncExecutorProperties);
+    }
+
     /**
      * Custom flowable config engine configuration configurer.
      *
@@ -41,4 +68,21 @@ public class ContextPropagationConfiguration {
             engineConfiguration.setAsyncTaskExecutor(flowableTaskExecutor);
         };
     }
+
+    /**
+     * Registers the parse handler routing the jobs of interactive migrations to their own lane.
+     *
+     * @return the engine configuration configurer
+     */
+    @Bean
+    public EngineConfigurationConfigurer<SpringProcessEngineConfiguration> priorityLaneConfig() {
+        return engineConfiguration -> {
+            var handlers = new ArrayList<BpmnParseHandler>();
+            if (engineConfiguration.getPostBpmnParseHandlers() != null) {
+                handlers.addAll(engineConfiguration.getPostBpmnParseHandlers());
+            }
+            handlers.add(new PriorityLaneParseHandler());
+            engineConfiguration.setPostBpmnParseHandlers(handlers);
+        };
+    }
 }
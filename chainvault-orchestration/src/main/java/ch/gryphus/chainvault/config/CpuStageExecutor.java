@@ -0,0 +1,115 @@
+/*
+ * Copyright (c) 2026. Gryphus Lab
+ */
+package ch.gryphus.chainvault.config;
+
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.security.NoSuchAlgorithmException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import lombok.extern.slf4j.Slf4j;
+import net.sourceforge.tess4j.TesseractException;
+import org.springframework.core.task.support.ContextPropagatingTaskDecorator;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+
+/**
+ * Bulkhead for CPU-bound stages (signing, OCR, PDF merge). The work is handed to a platform pool
+ * sized to the available cores while the calling job thread, usually a virtual thread of the
+ * {@code io} job category, parks until the result is available. This keeps CPU-heavy work off
+ * the virtual thread carriers without splitting the process into separate transactions.
+ */
+@Slf4j
+@Component
+public class CpuStageExecutor {
+
+    private final ThreadPoolTaskExecutor executor;
+
+    /**
+     * A unit of CPU-bound stage work.
+     *
+     * @param <T> the result type
+     */
+    @FunctionalInterface
+    public interface StageTask<T> {
+
+        /**
+         * Runs the stage work.
+         *
+         * @return the result
+         * @throws IOException              the io exception
+         * @throws NoSuchAlgorithmException the no such algorithm exception
+         * @throws TesseractException       the tesseract exception
+         */
+        T call() throws IOException, NoSuchAlgorithmException, TesseractException;
+    }
+
+    /**
+     * Instantiates a new Cpu stage executor.
+     *
+     * @param props         the props
+     * @param taskDecorator the task decorator propagating trace context to the pool threads
+     */
+    public CpuStageExecutor(
+            StageExecutorProperties props, ContextPropagatingTaskDecorator taskDecorator) {
+        int threads = props.resolvedCpuThreads();
+        this.executor = new ThreadPoolTaskExecutor();
+        this.executor.setCorePoolSize(threads);
+        this.executor.setMaxPoolSize(threads);
+        this.executor.setThreadNamePrefix("cpu-stage-");
+        this.executor.setTaskDecorator(taskDecorator);
+        this.executor.initialize();
+        log.info("CPU stage pool started with {} threads", threads);
+    }
+
+    /**
+     * Runs the task on the CPU pool and waits for its result. Checked exceptions of the task are
+     * rethrown unchanged.
+     *
+     * @param <T>  the result type
+     * @param task the task
+     * @return the result
+     * @throws IOException              the io exception
+     * @throws NoSuchAlgorithmException the no such algorithm exception
+     * @throws TesseractException       the tesseract exception
+     */
+    public <T> T call(StageTask<T> task)
+            throws IOException, NoSuchAlgorithmException, TesseractException {
+        Future<T> future = executor.submit(task::call);
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for CPU stage");
+        } catch (ExecutionException e) {
+            switch (e.getCause()) {
+                case IOException io -> throw io;
+                case NoSuchAlgorithmException nsa -> throw nsa;
+                case TesseractException te -> throw te;
+                case RuntimeException re -> throw re;
+                case Error err -> throw err;
+                default -> throw new IllegalStateException(e.getCause());
+            }
+        }
+    }
+
+    /**
+     * Gets the configured pool size.
+     *
+     * @return the pool size
+     */
+    public int getPoolSize() {
+        return executor.getMaxPoolSize();
+    }
+
+    /**
+     * Shuts the pool down.
+     */
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+}
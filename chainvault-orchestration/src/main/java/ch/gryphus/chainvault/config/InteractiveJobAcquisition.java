@@ -0,0 +1,129 @@
+/*
+ * Copyright (c) 2026. Gryphus Lab
+ */
+package ch.gryphus.chainvault.config;
+
+import java.time.Duration;
+import java.util.List;
+import lombok.extern.slf4j.Slf4j;
+import org.flowable.common.engine.api.FlowableOptimisticLockingException;
+import org.flowable.common.engine.impl.Page;
+import org.flowable.common.engine.impl.interceptor.CommandContext;
+import org.flowable.job.service.impl.asyncexecutor.AsyncExecutor;
+import org.flowable.job.service.impl.cmd.AcquireJobsCmd;
+import org.flowable.job.service.impl.persistence.entity.JobInfoEntity;
+
+/**
+ * Acquisition loop of the interactive lane. Flowable acquires due jobs in no particular order and
+ * only as many as its task executor can queue, so behind a bulk backlog an interactive job could
+ * wait indefinitely. This loop acquires only jobs of the {@value
+ * StageAwareAsyncExecutor#INTERACTIVE_CATEGORY} category, as many as the lane has free capacity,
+ * which bounds their latency by the acquire interval.
+ */
+@Slf4j
+class InteractiveJobAcquisition implements Runnable {
+
+    private final AsyncExecutor asyncExecutor;
+    private final VirtualThreadAsyncTaskExecutor laneExecutor;
+    private final Duration interval;
+    private volatile boolean stopped;
+
+    /**
+     * Instantiates a new Interactive job acquisition.
+     *
+     * @param asyncExecutor the async executor executing the acquired jobs
+     * @param laneExecutor  the executor of the interactive lane
+     * @param interval      the pause between acquisitions that found no jobs
+     */
+    InteractiveJobAcquisition(
+            AsyncExecutor asyncExecutor,
+            VirtualThreadAsyncTaskExecutor laneExecutor,
+            Duration interval) {
+        this.asyncExecutor = asyncExecutor;
+        this.laneExecutor = laneExecutor;
+        this.interval = interval;
+    }
+
+    @Override
+    public void run() {
+        while (!stopped) {
+            if (acquireAndExecute() == 0) {
+                try {
+                    Thread.sleep(interval);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Acquires due interactive jobs up to the free capacity of the lane and executes them.
+     *
+     * @return the number of acquired jobs
+     */
+    int acquireAndExecute() {
+        int capacity = laneExecutor.getRemainingCapacity();
+        if (capacity == 0) {
+            return 0;
+        }
+        try {
+            List<? extends JobInfoEntity> jobs =
+                    asyncExecutor
+                            .getJobServiceConfiguration()
+                            .getCommandExecutor()
+                            .execute(new AcquireInteractiveJobsCmd(asyncExecutor, capacity));
+            jobs.forEach(asyncExecutor::executeAsyncJob);
+            return jobs.size();
+        } catch (FlowableOptimisticLockingException e) {
+            log.debug("Interactive jobs were acquired by another node: {}", e.getMessage());
+        } catch (RuntimeException e) {
+            log.warn("Interactive job acquisition failed: {}", e.getMessage());
+        }
+        return 0;
+    }
+
+    /**
+     * Stops the loop after the current acquisition.
+     */
+    void stop() {
+        stopped = true;
+    }
+
+    /**
+     * {@link AcquireJobsCmd} restricted to the interactive category.
+     */
+    static class AcquireInteractiveJobsCmd extends AcquireJobsCmd {
+
+        /**
+         * Instantiates a new Acquire interactive jobs cmd.
+         *
+         * @param asyncExecutor     the async executor
+         * @param remainingCapacity the number of jobs the lane can start
+         */
+        AcquireInteractiveJobsCmd(AsyncExecutor asyncExecutor, int remainingCapacity) {
+            super(
+                    asyncExecutor,
+                    remainingCapacity,
+                    asyncExecutor.getJobServiceConfiguration().getJobEntityManager());
+        }
+
+        @Override
+        public List<? extends JobInfoEntity> execute(CommandContext commandContext) {
+            int maxResults =
+                    Math.min(remainingCapacity, asyncExecutor.getMaxAsyncJobsDuePerAcquisition());
+            List<? extends JobInfoEntity> jobs =
+                    jobEntityManager.findJobsToExecute(
+                            List.of(StageAwareAsyncExecutor.INTERACTIVE_CATEGORY),
+                            new Page(0, maxResults));
+            for (JobInfoEntity job : jobs) {
+                lockJob(
+                        job,
+                        asyncExecutor.getAsyncJobLockTimeInMillis(),
+                        asyncExecutor.getJobServiceConfiguration());
+            }
+            return jobs;
+        }
+    }
+}
@@ -0,0 +1,68 @@
+/*
+ * Copyright (c) 2026. Gryphus Lab
+ */
+package ch.gryphus.chainvault.config;
+
+import ch.gryphus.chainvault.domain.MigrationPriority;
+import java.util.List;
+import org.flowable.bpmn.model.BaseElement;
+import org.flowable.bpmn.model.ExtensionElement;
+import org.flowable.bpmn.model.ServiceTask;
+import org.flowable.engine.impl.bpmn.parser.BpmnParse;
+import org.flowable.engine.impl.bpmn.parser.handler.AbstractBpmnParseHandler;
+
+/**
+ * Gives the jobs of async service tasks the {@value StageAwareAsyncExecutor#INTERACTIVE_CATEGORY}
+ * category when the {@value Constants#BPMN_PROC_VAR_PRIORITY} process variable is {@link
+ * MigrationPriority#INTERACTIVE}. Other migrations keep the static category of the task, if any.
+ * Categories that already are expressions are left alone.
+ */
+public class PriorityLaneParseHandler extends AbstractBpmnParseHandler<ServiceTask> {
+
+    private static final String JOB_CATEGORY = "jobCategory";
+    private static final String FLOWABLE_NAMESPACE = "http://flowable.org/bpmn";
+
+    @Override
+    protected Class<? extends BaseElement> getHandledType() {
+        return ServiceTask.class;
+    }
+
+    @Override
+    protected void executeParse(BpmnParse bpmnParse, ServiceTask serviceTask) {
+        if (!serviceTask.isAsynchronous()) {
+            return;
+        }
+        List<ExtensionElement> declared = serviceTask.getExtensionElements().get(JOB_CATEGORY);
+        String category =
+                declared == null || declared.isEmpty()
+                        ? null
+                        : declared.getFirst().getElementText();
+        if (category != null && category.contains("${")) {
+            return;
+        }
+
+        var jobCategory = new ExtensionElement();
+        jobCategory.setName(JOB_CATEGORY);
+        jobCategory.setNamespacePrefix("flowable");
+        jobCategory.setNamespace(FLOWABLE_NAMESPACE);
+        jobCategory.setElementText(laneExpression(category));
+        serviceTask.getExtensionElements().put(JOB_CATEGORY, List.of(jobCategory));
+    }
+
+    /**
+     * Builds the job category expression of an async task.
+     *
+     * @param category the static category of the task, may be blank
+     * @return the expression
+     */
+    static String laneExpression(String category) {
+        String otherwise = category == null || category.isBlank() ? "null" : "'" + category + "'";
+        return "${vars:getOrDefault('%s', '%s') == '%s' ? '%s' : %s}"
+                .formatted(
+                        Constants.BPMN_PROC_VAR_PRIORITY,
+                        MigrationPriority.BULK,
+                        MigrationPriority.INTERACTIVE,
+                        StageAwareAsyncExecutor.INTERACTIVE_CATEGORY,
+                        otherwise);
+    }
+}
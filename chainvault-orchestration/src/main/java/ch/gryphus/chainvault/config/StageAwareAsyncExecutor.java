@@ -0,0 +1,142 @@
+/*
+ * Copyright (c) 2026. Gryphus Lab
+ */
+package ch.gryphus.chainvault.config;
+
+import java.util.concurrent.RejectedExecutionException;
+import org.flowable.common.engine.api.async.AsyncTaskExecutor;
+import org.flowable.job.api.Job;
+import org.flowable.job.api.JobInfo;
+import org.flowable.job.service.impl.asyncexecutor.AsyncJobExecutorConfiguration;
+import org.flowable.spring.job.service.SpringAsyncExecutor;
+import org.springframework.core.task.TaskDecorator;
+
+/**
+ * Async job executor that routes jobs by their BPMN job category. Jobs of the {@value
+ * #IO_CATEGORY} category run on virtual threads, all other jobs keep using the configured
+ * Flowable task executor. In {@link AsyncExecutorProperties.Mode#VIRTUAL} mode every job runs on
+ * the capped virtual thread executor. Rejected jobs are unacquired exactly like in the default
+ * executor.
+ *
+ * <p>Jobs of the {@value #INTERACTIVE_CATEGORY} category form a separate lane: they run on
+ * capacity reserved by {@code interactiveConcurrency} and are acquired by an {@link
+ * InteractiveJobAcquisition} loop of their own, so a bulk backlog neither occupies their threads
+ * nor delays their acquisition.
+ */
+public class StageAwareAsyncExecutor extends SpringAsyncExecutor {
+
+    /**
+     * The job category of IO-bound stages.
+     */
+    public static final String IO_CATEGORY = "io";
+
+    /**
+     * The job category of interactive migrations.
+     */
+    public static final String INTERACTIVE_CATEGORY = "interactive";
+
+    private final TaskDecorator taskDecorator;
+    private final AsyncExecutorProperties props;
+    private VirtualThreadAsyncTaskExecutor ioExecutor;
+    private AsyncTaskExecutor platformTaskExecutor;
+    private VirtualThreadAsyncTaskExecutor interactiveExecutor;
+    private InteractiveJobAcquisition interactiveAcquisition;
+
+    /**
+     * Instantiates a new Stage aware async executor.
+     *
+     * @param configuration the async executor configuration
+     * @param taskDecorator the task decorator applied to virtual thread jobs
+     * @param props         the props
+     */
+    public StageAwareAsyncExecutor(
+            AsyncJobExecutorConfiguration configuration,
+            TaskDecorator taskDecorator,
+            AsyncExecutorProperties props) {
+        super(configuration);
+        this.taskDecorator = taskDecorator;
+        this.props = props;
+    }
+
+    @Override
+    protected void initAsyncJobExecutionThreadPool() {
+        super.initAsyncJobExecutionThreadPool();
+        ioExecutor =
+                new VirtualThreadAsyncTaskExecutor(
+                        "flowable-io-", props.maxConcurrency(), taskDecorator);
+        interactiveExecutor =
+                new VirtualThreadAsyncTaskExecutor(
+                        "flowable-interactive-", props.interactiveConcurrency(), taskDecorator);
+        if (props.mode() == AsyncExecutorProperties.Mode.VIRTUAL) {
+            platformTaskExecutor = taskExecutor;
+            taskExecutor = ioExecutor;
+        }
+    }
+
+    @Override
+    protected void startJobAcquisitionThread() {
+        super.startJobAcquisitionThread();
+        if (isAsyncJobAcquisitionEnabled() && interactiveExecutor != null) {
+            interactiveAcquisition =
+                    new InteractiveJobAcquisition(
+                            this, interactiveExecutor, props.interactiveAcquireInterval());
+            Thread.ofPlatform()
+                    .name("flowable-interactive-acquire")
+                    .daemon()
+                    .start(interactiveAcquisition);
+        }
+    }
+
+    @Override
+    protected void stopJobAcquisitionThread() {
+        if (interactiveAcquisition != null) {
+            interactiveAcquisition.stop();
+            interactiveAcquisition = null;
+        }
+        super.stopJobAcquisitionThread();
+    }
+
+    @Override
+    protected boolean executeAsyncJob(JobInfo job, Runnable runnable) {
+        if (interactiveExecutor != null && hasCategory(job, INTERACTIVE_CATEGORY)) {
+            return executeOn(interactiveExecutor, job, runnable);
+        }
+        if (ioExecutor != null && hasCategory(job, IO_CATEGORY)) {
+            return executeOn(ioExecutor, job, runnable);
+        }
+        return super.executeAsyncJob(job, runnable);
+    }
+
+    private boolean executeOn(
+            VirtualThreadAsyncTaskExecutor executor, JobInfo job, Runnable runnable) {
+        try {
+            executor.execute(runnable);
+            return true;
+        } catch (RejectedExecutionException e) {
+            sendRejectedEvent(job);
+            unacquireJobAfterRejection(job);
+            return false;
+        }
+    }
+
+    @Override
+    protected void stopExecutingAsyncJobs() {
+        super.stopExecutingAsyncJobs();
+        if (platformTaskExecutor != null) {
+            taskExecutor = platformTaskExecutor;
+            platformTaskExecutor = null;
+        }
+        if (ioExecutor != null) {
+            ioExecutor.shutdown();
+            ioExecutor = null;
+        }
+        if (interactiveExecutor != null) {
+            interactiveExecutor.shutdown();
+            interactiveExecutor = null;
+        }
+    }
+
+    private static boolean hasCategory(JobInfo job, String category) {
+        return job instanceof Job j && category.equals(j.getCategory());
+    }
+}
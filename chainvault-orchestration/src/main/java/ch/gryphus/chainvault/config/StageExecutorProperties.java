@@ -0,0 +1,28 @@
+/*
+ * Copyright (c) 2026. Gryphus Lab
+ */
+package ch.gryphus.chainvault.config;
+
+import jakarta.validation.constraints.PositiveOrZero;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+/**
+ * Stage executor properties
+ *
+ * @param cpuThreads the size of the platform pool for CPU-bound stages, {@code 0} uses the
+ *                   number of available processors
+ */
+@Validated
+@ConfigurationProperties(prefix = "migration.stage-executor")
+public record StageExecutorProperties(@PositiveOrZero int cpuThreads) {
+
+    /**
+     * Resolves the effective CPU pool size.
+     *
+     * @return the cpu pool size
+     */
+    public int resolvedCpuThreads() {
+        return cpuThreads > 0 ? cpuThreads : Runtime.getRuntime().availableProcessors();
+    }
+}
@@ -0,0 +1,174 @@
+/*
+ * Copyright (c) 2026. Gryphus Lab
+ */
+package ch.gryphus.chainvault.config;
+
+import ch.gryphus.chainvault.domain.OcrPageTelemetry;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.Nullable;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.springframework.stereotype.Component;
+
+/**
+ * Micrometer meters of the workflow stages, tagged by {@code stage} (the task type): a timer with
+ * a percentile histogram per outcome, a counter of the outcomes by error code, a counter of the
+ * bytes processed and a gauge of the documents in flight. They show where the time goes at any
+ * trace sampling rate.
+ *
+ * <p>OCR is broken down further per page, tagged by the page segmentation mode, dpi and
+ * preprocessing it ran with.
+ */
+@Component
+public class StageMetrics {
+
+    /**
+     * The outcome of a completed stage.
+     */
+    public static final String SUCCESS = "success";
+
+    /**
+     * The outcome of a stage backing off for a retry.
+     */
+    public static final String RETRY = "retry";
+
+    /**
+     * The outcome of a failed stage.
+     */
+    public static final String FAILURE = "failure";
+
+    private static final String NO_ERROR = "none";
+
+    private final MeterRegistry meterRegistry;
+    private final Map<String, AtomicInteger> inFlight = new ConcurrentHashMap<>();
+
+    /**
+     * Instantiates a new Stage metrics.
+     *
+     * @param meterRegistry the meter registry
+     */
+    public StageMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Starts timing a stage and counts the document as in flight.
+     *
+     * @param stage the stage
+     * @return the sample to hand to {@link #stop(Timer.Sample, String, String, String)}
+     */
+    public Timer.Sample start(String stage) {
+        inFlight(stage).incrementAndGet();
+        return Timer.start(meterRegistry);
+    }
+
+    /**
+     * Stops timing a stage and records its outcome.
+     *
+     * @param sample    the sample of {@link #start(String)}
+     * @param stage     the stage
+     * @param outcome   the outcome, {@link #SUCCESS}, {@link #RETRY} or {@link #FAILURE}
+     * @param errorCode the BPMN error code, {@code null} on success
+     */
+    public void stop(
+            Timer.Sample sample, String stage, String outcome, @Nullable String errorCode) {
+        inFlight(stage).decrementAndGet();
+        sample.stop(
+                Timer.builder("chainvault.stage.duration")
+                        .description("Duration of a workflow stage")
+                        .tag("stage", stage)
+                        .tag("outcome", outcome)
+                        .publishPercentileHistogram()
+                        .publishPercentiles(0.5, 0.95, 0.99)
+                        .minimumExpectedValue(Duration.ofMillis(1))
+                        .maximumExpectedValue(Duration.ofMinutes(30))
+                        .register(meterRegistry));
+        Counter.builder("chainvault.stage.outcomes")
+                .description("Completed, retried and failed workflow stages")
+                .tag("stage", stage)
+                .tag("outcome", outcome)
+                .tag("error_code", errorCode == null ? NO_ERROR : errorCode)
+                .register(meterRegistry)
+                .increment();
+    }
+
+    /**
+     * Counts the bytes a stage read or produced.
+     *
+     * @param stage the stage
+     * @param bytes the bytes
+     */
+    public void recordBytes(String stage, long bytes) {
+        Counter.builder("chainvault.stage.processed")
+                .description("Bytes processed by a workflow stage")
+                .baseUnit("bytes")
+                .tag("stage", stage)
+                .register(meterRegistry)
+                .increment(bytes);
+    }
+
+    /**
+     * Records the measurements of the OCR of one page.
+     *
+     * @param page the page telemetry
+     */
+    public void recordOcrPage(OcrPageTelemetry page) {
+        Tags settings =
+                Tags.of(
+                        "psm", String.valueOf(page.pageSegMode()),
+                        "dpi", String.valueOf(page.dpi()),
+                        "preprocess", String.valueOf(page.preprocessed()));
+        ocrPhase(settings, "decode").record(page.decodeNanos(), TimeUnit.NANOSECONDS);
+        if (page.preprocessed()) {
+            ocrPhase(settings, "preprocess").record(page.preprocessNanos(), TimeUnit.NANOSECONDS);
+        }
+        ocrPhase(settings, "recognize").record(page.recognizeNanos(), TimeUnit.NANOSECONDS);
+        DistributionSummary.builder("chainvault.ocr.page.confidence")
+                .description("Mean word confidence of tesseract per page")
+                .tags(settings)
+                .publishPercentiles(0.05, 0.5, 0.95)
+                .register(meterRegistry)
+                .record(page.meanConfidence());
+        DistributionSummary.builder("chainvault.ocr.page.throughput")
+                .description("Pixels recognized per second of tesseract time per page")
+                .baseUnit("pixels")
+                .tags(settings)
+                .publishPercentiles(0.05, 0.5, 0.95)
+                .register(meterRegistry)
+                .record(page.pixelsPerSecond());
+    }
+
+    private Timer ocrPhase(Tags settings, String phase) {
+        return Timer.builder("chainvault.ocr.page.duration")
+                .description("Duration of a phase of the OCR of a page")
+                .tags(settings)
+                .tag("phase", phase)
+                .publishPercentileHistogram()
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .minimumExpectedValue(Duration.ofMillis(1))
+                .maximumExpectedValue(Duration.ofMinutes(5))
+                .register(meterRegistry);
+    }
+
+    // registered on first use, the gauge keeps a strong reference to the counter of its stage
+    private AtomicInteger inFlight(String stage) {
+        return inFlight.computeIfAbsent(
+                stage,
+                key -> {
+                    AtomicInteger documents = new AtomicInteger();
+                    Gauge.builder("chainvault.stage.in_flight", documents, AtomicInteger::get)
+                            .description("Documents currently in a workflow stage")
+                            .tag("stage", key)
+                            .register(meterRegistry);
+                    return documents;
+                });
+    }
+}
@@ -0,0 +1,99 @@
+/*
+ * Copyright (c) 2026. Gryphus Lab
+ */
+package ch.gryphus.chainvault.config;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import org.flowable.common.engine.api.async.AsyncTaskExecutor;
+import org.springframework.core.task.TaskDecorator;
+
+/**
+ * Flowable task executor starting one virtual thread per job. Concurrency is capped by a
+ * semaphore instead of a pool size: a task submitted while all permits are taken is rejected, and
+ * the free permits are reported as remaining capacity so that Flowable only acquires as many jobs
+ * as can be started.
+ */
+public class VirtualThreadAsyncTaskExecutor implements AsyncTaskExecutor {
+
+    private final ExecutorService executor;
+    private final Semaphore permits;
+    private final int maxConcurrency;
+    private final TaskDecorator taskDecorator;
+
+    /**
+     * Instantiates a new Virtual thread async task executor.
+     *
+     * @param threadNamePrefix the thread name prefix
+     * @param maxConcurrency   the max number of concurrently running tasks
+     * @param taskDecorator    the task decorator propagating trace context to the virtual threads
+     */
+    public VirtualThreadAsyncTaskExecutor(
+            String threadNamePrefix, int maxConcurrency, TaskDecorator taskDecorator) {
+        this.executor =
+                Executors.newThreadPerTaskExecutor(
+                        Thread.ofVirtual().name(threadNamePrefix, 0).factory());
+        this.permits = new Semaphore(maxConcurrency);
+        this.maxConcurrency = maxConcurrency;
+        this.taskDecorator = taskDecorator;
+    }
+
+    @Override
+    public void execute(Runnable task) {
+        submit(task);
+    }
+
+    @Override
+    public CompletableFuture<?> submit(Runnable task) {
+        return submit(Executors.callable(task));
+    }
+
+    @Override
+    public <T> CompletableFuture<T> submit(Callable<T> task) {
+        if (!permits.tryAcquire()) {
+            throw new RejectedExecutionException(
+                    "Concurrency cap of %d virtual threads reached".formatted(maxConcurrency));
+        }
+        CompletableFuture<T> future = new CompletableFuture<>();
+        Runnable runnable =
+                () -> {
+                    try {
+                        future.complete(task.call());
+                    } catch (Exception e) {
+                        future.completeExceptionally(e);
+                    } finally {
+                        permits.release();
+                    }
+                };
+        try {
+            executor.execute(taskDecorator.decorate(runnable));
+        } catch (RejectedExecutionException e) {
+            permits.release();
+            throw e;
+        }
+        return future;
+    }
+
+    @Override
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    @Override
+    public int getRemainingCapacity() {
+        return permits.availablePermits();
+    }
+
+    /**
+     * Gets the number of running tasks.
+     *
+     * @return the active count
+     */
+    public int getActiveCount() {
+        return maxConcurrency - permits.availablePermits();
+    }
+}
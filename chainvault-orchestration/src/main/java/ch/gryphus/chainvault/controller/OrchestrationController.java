@@ -3,14 +3,22 @@
  */
 package ch.gryphus.chainvault.controller;
 
+import ch.gryphus.chainvault.domain.MigrationPriority;
+import ch.gryphus.chainvault.exception.AdmissionRejectedException;
+import ch.gryphus.chainvault.exception.BatchTooLargeException;
 import ch.gryphus.chainvault.workflow.service.OrchestrationService;
+import java.util.List;
 import java.util.Map;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 /**
@@ -44,4 +52,59 @@ public class OrchestrationController {
         String processId = orchestrationService.startProcess(payload);
         return new ResponseEntity<>(processId, HttpStatus.CREATED);
     }
+
+    /**
+     * Start a batch of process instances response entity.
+     *
+     * @param docIds   the doc ids
+     * @param priority the priority of the migrations, bulk unless given
+     * @return the response entity
+     */
+    @PostMapping(
+            value = "/process/batch",
+            consumes = MediaType.APPLICATION_JSON_VALUE,
+            produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<List<String>> startProcessInstances(
+            @RequestBody List<String> docIds,
+            @RequestParam(defaultValue = "BULK") MigrationPriority priority) {
+        List<String> processIds = orchestrationService.startBatch(docIds, priority);
+        return new ResponseEntity<>(processIds, HttpStatus.CREATED);
+    }
+
+    /**
+     * Restart a failed process instance from its last intact checkpoint response entity.
+     *
+     * @param processInstanceId the process instance id of the failed migration
+     * @return the response entity holding the process instance id of the restarted migration
+     */
+    @PostMapping(value = "/process/{processInstanceId}/restart")
+    public ResponseEntity<String> restartProcessInstance(@PathVariable String processInstanceId) {
+        String processId = orchestrationService.restartProcess(processInstanceId);
+        return new ResponseEntity<>(processId, HttpStatus.CREATED);
+    }
+
+    /**
+     * Answers rejected starts with 429 and the delay after which the client should retry.
+     *
+     * @param e the exception
+     * @return the response entity
+     */
+    @ExceptionHandler(AdmissionRejectedException.class)
+    public ResponseEntity<String> handleAdmissionRejected(AdmissionRejectedException e) {
+        long seconds = Math.max(1, (e.getRetryAfter().toMillis() + 999) / 1000);
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, Long.toString(seconds))
+                .body(e.getMessage());
+    }
+
+    /**
+     * Answers batches that can never be admitted with 400.
+     *
+     * @param e the exception
+     * @return the response entity
+     */
+    @ExceptionHandler(BatchTooLargeException.class)
+    public ResponseEntity<String> handleBatchTooLarge(BatchTooLargeException e) {
+        return ResponseEntity.badRequest().body(e.getMessage());
+    }
 }
@@ -0,0 +1,28 @@
+/*
+ * Copyright (c) 2026. Gryphus Lab
+ */
+package ch.gryphus.chainvault.exception;
+
+import java.time.Duration;
+import lombok.Getter;
+
+/**
+ * Signals that process starts are rejected because the system is saturated. The client should
+ * retry after {@link #getRetryAfter()}.
+ */
+@Getter
+public class AdmissionRejectedException extends RuntimeException {
+
+    private final Duration retryAfter;
+
+    /**
+     * Instantiates a new Admission rejected exception.
+     *
+     * @param message    the message
+     * @param retryAfter the delay after which the client should retry
+     */
+    public AdmissionRejectedException(String message, Duration retryAfter) {
+        super(message);
+        this.retryAfter = retryAfter;
+    }
+}
@@ -0,0 +1,21 @@
+/*
+ * Copyright (c) 2026. Gryphus Lab
+ */
+package ch.gryphus.chainvault.exception;
+
+/**
+ * Signals that a batch asks for more migrations than may ever be in flight at once, so it can
+ * never be admitted and retrying it is pointless.
+ */
+public class BatchTooLargeException extends RuntimeException {
+
+    /**
+     * Instantiates a new Batch too large exception.
+     *
+     * @param count the number of migrations of the batch
+     * @param limit the number of migrations that may be in flight
+     */
+    public BatchTooLargeException(int count, int limit) {
+        super("Batch of %d exceeds the limit of %d migrations in flight".formatted(count, limit));
+    }
+}
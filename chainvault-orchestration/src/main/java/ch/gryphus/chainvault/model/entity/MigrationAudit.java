@@ -15,12 +15,16 @@ import jakarta.persistence.PreUpdate;
 import jakarta.persistence.Table;
 import jakarta.persistence.UniqueConstraint;
 import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 import lombok.ToString;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
 
 /**
  * The type Migration audit.
@@ -39,7 +43,8 @@ import lombok.ToString;
             @Index(
                     name = "idx_migration_audit_source_status_created",
                     columnList = "source_system, status, created_at DESC"),
-            @Index(name = "idx_migration_audit_trace_id", columnList = "trace_id")
+            @Index(name = "idx_migration_audit_trace_id", columnList = "trace_id"),
+            @Index(name = "idx_migration_audit_working_directory", columnList = "working_directory")
         },
         uniqueConstraints =
                 @UniqueConstraint(
@@ -50,7 +55,7 @@ import lombok.ToString;
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
-@ToString(exclude = "inputPayloadHash")
+@ToString(exclude = {"inputPayloadHash", "checkpoints"})
 public class MigrationAudit {
 
     @Id
@@ -139,6 +144,18 @@ public class MigrationAudit {
     @Column(name = "merged_pdf_hash", length = 128)
     private String mergedPdfHash;
 
+    // ───────────────────────────────────────────────
+    // Checkpoints (resume a restarted migration)
+    // ───────────────────────────────────────────────
+
+    @Column(name = "working_directory", length = 512)
+    private String workingDirectory; // directory holding the checkpointed artifacts
+
+    @Builder.Default
+    @Column(name = "checkpoints", columnDefinition = "jsonb")
+    @JdbcTypeCode(SqlTypes.JSON)
+    private Map<String, Object> checkpoints = new LinkedHashMap<>(); // task type -> artifacts
+
     // ───────────────────────────────────────────────
     // Optional: Tracing & Context
     // ───────────────────────────────────────────────
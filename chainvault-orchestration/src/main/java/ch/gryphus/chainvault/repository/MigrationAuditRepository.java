@@ -4,6 +4,7 @@
 package ch.gryphus.chainvault.repository;
 
 import ch.gryphus.chainvault.model.entity.MigrationAudit;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import org.springframework.data.domain.Limit;
@@ -33,6 +34,14 @@ public interface MigrationAuditRepository extends JpaRepository<MigrationAudit,
      */
     List<MigrationAudit> findByDocumentId(String documentId);
 
+    /**
+     * Find by working directory list.
+     *
+     * @param workingDirectory the working directory
+     * @return the list
+     */
+    List<MigrationAudit> findByWorkingDirectory(String workingDirectory);
+
     /**
      * Find by status list.
      *
@@ -49,6 +58,14 @@ public interface MigrationAuditRepository extends JpaRepository<MigrationAudit,
      */
     int countAllByStatus(MigrationAudit.MigrationStatus status);
 
+    /**
+     * Count the migrations in any of the given statuses.
+     *
+     * @param statuses the statuses
+     * @return the count
+     */
+    long countByStatusIn(Collection<MigrationAudit.MigrationStatus> statuses);
+
     /**
      * Retrieve MigrationAudit records whose `completedAt` timestamp is not null, constrained by the provided limit.
      *
@@ -4,10 +4,15 @@
 package ch.gryphus.chainvault.workflow.delegate;
 
 import ch.gryphus.chainvault.config.Constants;
+import ch.gryphus.chainvault.config.StageMetrics;
+import ch.gryphus.chainvault.domain.OcrPageTelemetry;
+import ch.gryphus.chainvault.exception.InsufficientStorageException;
+import ch.gryphus.chainvault.exception.SourceUnavailableException;
 import ch.gryphus.chainvault.model.dto.MigrationEventDto;
 import ch.gryphus.chainvault.model.entity.MigrationAudit;
 import ch.gryphus.chainvault.service.SseEmitterService;
 import ch.gryphus.chainvault.workflow.service.AuditEventService;
+import io.micrometer.core.instrument.Timer;
 import io.opentelemetry.api.OpenTelemetry;
 import io.opentelemetry.api.trace.Span;
 import io.opentelemetry.context.Context;
@@ -16,6 +21,7 @@ import java.io.IOException;
 import java.security.NoSuchAlgorithmException;
 import java.time.Instant;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 import lombok.NonNull;
@@ -30,9 +36,20 @@ import org.flowable.engine.delegate.JavaDelegate;
 @Slf4j
 public abstract class AbstractTracingDelegate implements JavaDelegate {
 
+    /**
+     * The BPMN error code for a retryable source outage.
+     */
+    static final String SOURCE_UNAVAILABLE = "SOURCE_UNAVAILABLE";
+
+    /**
+     * The process variable counting scheduled source retries.
+     */
+    static final String SOURCE_RETRY_COUNT = "sourceRetryCount";
+
     private final OpenTelemetry openTelemetry;
     private final AuditEventService auditService;
     private final SseEmitterService sseEmitterService;
+    private final StageMetrics stageMetrics;
     private final String taskType;
     private final String errorCode;
 
@@ -42,6 +59,7 @@ public abstract class AbstractTracingDelegate implements JavaDelegate {
      * @param openTelemetry     the open telemetry
      * @param auditService      the audit service
      * @param sseEmitterService the sse emitter service
+     * @param stageMetrics      the stage metrics
      * @param taskType          the task type
      * @param errorCode         the error code
      */
@@ -49,20 +67,24 @@ public abstract class AbstractTracingDelegate implements JavaDelegate {
             OpenTelemetry openTelemetry,
             AuditEventService auditService,
             SseEmitterService sseEmitterService,
+            StageMetrics stageMetrics,
             String taskType,
             String errorCode) {
         this.openTelemetry = openTelemetry;
         this.auditService = auditService;
         this.sseEmitterService = sseEmitterService;
+        this.stageMetrics = stageMetrics;
         this.taskType = taskType;
         this.errorCode = errorCode;
     }
 
     /**
      * Executes the delegate within an OpenTelemetry child span: starts an audit event, invokes
-     * subclass task logic, collects filtered transient outputs, emits an SSE event with the task
+     * subclass task logic unless a restart handed over a verified checkpoint of this task,
+     * collects filtered transient outputs, emits an SSE event with the task
      * status, and finalizes the audit event. Exceptions are recorded on the span and routed to the
-     * audit service; the span is always ended.
+     * audit service; the span is always ended and the stage timed by outcome in {@link
+     * StageMetrics}.
      *
      * @param execution the BPMN delegate execution providing process and transient variables
      */
@@ -81,13 +103,24 @@ public abstract class AbstractTracingDelegate implements JavaDelegate {
                         .startSpan();
         String processInstanceId = execution.getProcessInstanceId();
 
+        // the audit service rethrows as a BPMN error, so the outcome is set before handing over
+        Timer.Sample sample = stageMetrics.start(taskType);
+        String outcome = StageMetrics.FAILURE;
+        String outcomeErrorCode = errorCode;
+
         try (var _ = span.makeCurrent()) {
             log.info("{} started", taskType);
             String docId =
                     getVariableSafely(execution, Constants.BPMN_PROC_VAR_DOC_ID, String.class);
             auditService.updateAuditEventStart(processInstanceId, docId, taskType, span);
 
-            doExecute(execution, span, docId);
+            ArtifactUtils.beginCheckpoint(execution);
+            if (ArtifactUtils.restoreCheckpoint(execution, taskType)) {
+                log.info("{} restored from checkpoint", taskType);
+                onRestored(execution);
+            } else {
+                doExecute(execution, span, docId);
+            }
 
             // filter out byte array payloads and TiffPages instances
             Map<String, Object> outputMap = new HashMap<>();
@@ -127,6 +160,21 @@ public abstract class AbstractTracingDelegate implements JavaDelegate {
                     processInstanceId, status, null, null, taskType, eventMessage, outputMap, span);
 
             log.info("{} finished", taskType);
+            outcome = StageMetrics.SUCCESS;
+            outcomeErrorCode = null;
+        } catch (SourceUnavailableException | InsufficientStorageException e) {
+            // both clear up by themselves, the task backs off and retries
+            log.warn("{} hit an unavailable resource: {}", taskType, e.getMessage());
+
+            Integer retries = getVariableSafely(execution, SOURCE_RETRY_COUNT, Integer.class);
+            int attempt = retries == null ? 1 : retries + 1;
+            execution.setVariable(SOURCE_RETRY_COUNT, attempt);
+            outcome = StageMetrics.RETRY;
+            outcomeErrorCode = SOURCE_UNAVAILABLE;
+
+            sendSseEvent(processInstanceId, span, MigrationAudit.MigrationStatus.RETRYING);
+            auditService.handleRetryableException(
+                    e, span, processInstanceId, SOURCE_UNAVAILABLE, taskType, attempt);
         } catch (Exception e) {
             log.error("{} encountered an exception", taskType, e);
             span.recordException(e);
@@ -134,6 +182,7 @@ public abstract class AbstractTracingDelegate implements JavaDelegate {
             sendSseEvent(processInstanceId, span, MigrationAudit.MigrationStatus.FAILED);
             auditService.handleException(e, span, processInstanceId, errorCode, taskType);
         } finally {
+            stageMetrics.stop(sample, taskType, outcome, outcomeErrorCode);
             span.end();
         }
     }
@@ -145,7 +194,9 @@ public abstract class AbstractTracingDelegate implements JavaDelegate {
                 switch (status) {
                     case FAILED -> "%s failed".formatted(taskType);
                     case SUCCESS -> "%s completed successfully".formatted(taskType);
-                    case RUNNING -> "%s completed — migration still in progress".formatted(taskType);
+                    case RUNNING ->
+                            "%s completed — migration still in progress".formatted(taskType);
+                    case RETRYING -> "%s will be retried".formatted(taskType);
                     default -> "%s is in progress".formatted(taskType);
                 };
         MigrationEventDto event = new MigrationEventDto();
@@ -160,6 +211,24 @@ public abstract class AbstractTracingDelegate implements JavaDelegate {
         sseEmitterService.sendEvent(event);
     }
 
+    /**
+     * Counts the bytes this stage read or produced.
+     *
+     * @param bytes the bytes
+     */
+    protected void recordBytes(long bytes) {
+        stageMetrics.recordBytes(taskType, bytes);
+    }
+
+    /**
+     * Records the phases and the confidence of each recognized page.
+     *
+     * @param pages the telemetry of the pages
+     */
+    protected void recordOcrPages(List<OcrPageTelemetry> pages) {
+        pages.forEach(stageMetrics::recordOcrPage);
+    }
+
     /**
      * Do execute.
      *
@@ -173,6 +242,19 @@ public abstract class AbstractTracingDelegate implements JavaDelegate {
     protected abstract void doExecute(DelegateExecution execution, Span span, String docId)
             throws IOException, NoSuchAlgorithmException, TesseractException;
 
+    /**
+     * Takes up again what a stage holds beyond its artifacts, when a restart restores it from
+     * its checkpoint instead of executing it. Nothing by default.
+     *
+     * @param execution the execution
+     * @throws IOException              the io exception
+     * @throws NoSuchAlgorithmException the no such algorithm exception
+     */
+    protected void onRestored(DelegateExecution execution)
+            throws IOException, NoSuchAlgorithmException {
+        // the restored artifact handles are all a stage needs
+    }
+
     /**
      * Gets transient variable safely.
      *
@@ -228,4 +310,4 @@ public abstract class AbstractTracingDelegate implements JavaDelegate {
         // The warning is suppressed here, centralizing the risk
         return (T) value;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,327 @@
+/*
+ * Copyright (c) 2026. Gryphus Lab
+ */
+package ch.gryphus.chainvault.workflow.delegate;
+
+import ch.gryphus.chainvault.config.Constants;
+import ch.gryphus.chainvault.domain.MigrationContext;
+import ch.gryphus.chainvault.domain.OcrPage;
+import ch.gryphus.chainvault.domain.SourceMetadata;
+import ch.gryphus.chainvault.service.ArtifactStoreService;
+import jakarta.annotation.Nullable;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.security.NoSuchAlgorithmException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import org.flowable.engine.delegate.DelegateExecution;
+
+/**
+ * Moves intermediate artifacts between delegates. A value is published as a transient variable
+ * for the steps running in the same transaction and as a small persisted handle ({@code
+ * <name>Ref}) into the {@link ArtifactStoreService}, from which any later step can reload it,
+ * also after an async boundary, a job retry or on another node sharing the working directory.
+ *
+ * <p>Every published artifact is also recorded with its checksum in the checkpoint of the running
+ * task, which the audit keeps so that a restarted migration can skip the stages whose artifacts
+ * are still intact.
+ */
+final class ArtifactUtils {
+    private ArtifactUtils() {
+        /* This utility class should not be instantiated */
+    }
+
+    /**
+     * The suffix of process variables holding an artifact handle.
+     */
+    static final String HANDLE_SUFFIX = "Ref";
+
+    /**
+     * The variable holding the working directory.
+     */
+    static final String WORKING_DIRECTORY = "workingDirectory";
+
+    /**
+     * The checkpoint entry key of an artifact handle.
+     */
+    static final String CHECKPOINT_HANDLE = "handle";
+
+    /**
+     * The checkpoint entry key of an artifact checksum.
+     */
+    static final String CHECKPOINT_SHA256 = "sha256";
+
+    /**
+     * Loads an artifact from its handle.
+     *
+     * @param <T> the artifact type
+     */
+    @FunctionalInterface
+    interface Loader<T> {
+
+        /**
+         * Load.
+         *
+         * @param handle the handle
+         * @return the artifact
+         * @throws IOException              the io exception
+         * @throws NoSuchAlgorithmException the no such algorithm exception
+         */
+        T load(String handle) throws IOException, NoSuchAlgorithmException;
+    }
+
+    /**
+     * Creates the working directory of the process instance on the tier matching its payload size
+     * and publishes it.
+     *
+     * @param execution     the execution
+     * @param artifactStore the artifact store
+     * @param payloadBytes  the size of the source payload
+     * @return the working directory
+     * @throws IOException the io exception
+     */
+    static Path openWorkingDirectory(
+            DelegateExecution execution, ArtifactStoreService artifactStore, long payloadBytes)
+            throws IOException {
+        Path workingDirectory = artifactStore.open(execution.getProcessInstanceId(), payloadBytes);
+        execution.setTransientVariable(WORKING_DIRECTORY, workingDirectory);
+        execution.setVariable(
+                Constants.BPMN_PROC_VAR_WORKING_DIRECTORY_REF, workingDirectory.toString());
+        return workingDirectory;
+    }
+
+    /**
+     * Gets the working directory of the process instance.
+     *
+     * @param execution     the execution
+     * @param artifactStore the artifact store
+     * @return the working directory
+     */
+    static Path workingDirectory(DelegateExecution execution, ArtifactStoreService artifactStore) {
+        Path workingDirectory =
+                AbstractTracingDelegate.getTransientVariableSafely(
+                        execution, WORKING_DIRECTORY, Path.class);
+        if (workingDirectory != null) {
+            return workingDirectory;
+        }
+        if (execution.getVariable(Constants.BPMN_PROC_VAR_WORKING_DIRECTORY_REF)
+                instanceof String handle) {
+            return Path.of(handle);
+        }
+        return artifactStore.workingDirectory(execution.getProcessInstanceId());
+    }
+
+    /**
+     * Resolves an artifact, preferring the transient variable and falling back to its handle.
+     *
+     * @param <T>       the artifact type
+     * @param execution the execution
+     * @param name      the variable name
+     * @param type      the expected type
+     * @param loader    the loader reading the artifact from the store
+     * @return the artifact, or {@code null} when it was never published
+     * @throws IOException              the io exception
+     * @throws NoSuchAlgorithmException the no such algorithm exception
+     */
+    static <T> @Nullable T resolve(
+            DelegateExecution execution, String name, Class<T> type, Loader<? extends T> loader)
+            throws IOException, NoSuchAlgorithmException {
+        T value = AbstractTracingDelegate.getTransientVariableSafely(execution, name, type);
+        if (value != null) {
+            return value;
+        }
+        if (!(execution.getVariable(name + HANDLE_SUFFIX) instanceof String handle)) {
+            return null;
+        }
+        value = loader.load(handle);
+        execution.setTransientVariable(name, value);
+        return value;
+    }
+
+    /**
+     * Publishes an artifact as transient variable and its handle as process variable, and records
+     * it in the checkpoint of the running task.
+     *
+     * @param execution        the execution
+     * @param artifactStore    the artifact store
+     * @param workingDirectory the working directory
+     * @param name             the variable name
+     * @param value            the artifact
+     * @param handle           the handle
+     * @throws IOException              the io exception
+     * @throws NoSuchAlgorithmException the no such algorithm exception
+     */
+    static void publish(
+            DelegateExecution execution,
+            ArtifactStoreService artifactStore,
+            Path workingDirectory,
+            String name,
+            Object value,
+            String handle)
+            throws IOException, NoSuchAlgorithmException {
+        execution.setTransientVariable(name, value);
+        execution.setVariable(name + HANDLE_SUFFIX, handle);
+
+        if (execution.getTransientVariable(Constants.BPMN_TRANSIENT_VAR_CHECKPOINT)
+                instanceof Map<?, ?> checkpoint) {
+            @SuppressWarnings("unchecked")
+            var entries = (Map<String, Object>) checkpoint;
+            entries.put(
+                    name,
+                    Map.of(
+                            CHECKPOINT_HANDLE,
+                            handle,
+                            CHECKPOINT_SHA256,
+                            artifactStore.checksum(workingDirectory, handle)));
+        }
+    }
+
+    /**
+     * Starts an empty checkpoint for the running task.
+     *
+     * @param execution the execution
+     */
+    static void beginCheckpoint(DelegateExecution execution) {
+        execution.setTransientVariable(
+                Constants.BPMN_TRANSIENT_VAR_CHECKPOINT, new LinkedHashMap<String, Object>());
+    }
+
+    /**
+     * Restores the artifact handles of a task from the checkpoint handed over by a restart.
+     *
+     * @param execution the execution
+     * @param taskType  the task type
+     * @return {@code true} if the task was restored and must not run again
+     */
+    static boolean restoreCheckpoint(DelegateExecution execution, String taskType) {
+        if (!(execution.getVariable(Constants.BPMN_PROC_VAR_RESUME_CHECKPOINTS)
+                        instanceof Map<?, ?> checkpoints)
+                || !(checkpoints.get(taskType) instanceof Map<?, ?> checkpoint)) {
+            return false;
+        }
+        checkpoint.forEach(
+                (name, entry) -> {
+                    if (entry instanceof Map<?, ?> artifact
+                            && artifact.get(CHECKPOINT_HANDLE) instanceof String handle) {
+                        execution.setVariable(name + HANDLE_SUFFIX, handle);
+                    }
+                });
+        execution.setTransientVariable(
+                Constants.BPMN_TRANSIENT_VAR_CHECKPOINT, new LinkedHashMap<>(checkpoint));
+        return true;
+    }
+
+    /**
+     * Stores a value as JSON artifact and publishes it.
+     *
+     * @param execution        the execution
+     * @param artifactStore    the artifact store
+     * @param workingDirectory the working directory
+     * @param name             the variable name
+     * @param artifact         the artifact name
+     * @param value            the value
+     * @throws IOException              the io exception
+     * @throws NoSuchAlgorithmException the no such algorithm exception
+     */
+    static void publishJson(
+            DelegateExecution execution,
+            ArtifactStoreService artifactStore,
+            Path workingDirectory,
+            String name,
+            String artifact,
+            Object value)
+            throws IOException, NoSuchAlgorithmException {
+        publish(
+                execution,
+                artifactStore,
+                workingDirectory,
+                name,
+                value,
+                artifactStore.putJson(workingDirectory, artifact, value));
+    }
+
+    /**
+     * Checks whether any artifact was published, i.e. whether the working directory holds
+     * something a restart could reuse.
+     *
+     * @param execution the execution
+     * @return {@code true} if at least one artifact handle exists
+     */
+    static boolean hasArtifacts(DelegateExecution execution) {
+        return execution.getVariableNames().stream()
+                .anyMatch(
+                        name ->
+                                name.endsWith(HANDLE_SUFFIX)
+                                        && !Constants.BPMN_PROC_VAR_WORKING_DIRECTORY_REF.equals(
+                                                name));
+    }
+
+    /**
+     * Resolves the migration context.
+     *
+     * @param execution        the execution
+     * @param artifactStore    the artifact store
+     * @param workingDirectory the working directory
+     * @return the migration context
+     * @throws IOException              the io exception
+     * @throws NoSuchAlgorithmException the no such algorithm exception
+     */
+    static MigrationContext migrationContext(
+            DelegateExecution execution, ArtifactStoreService artifactStore, Path workingDirectory)
+            throws IOException, NoSuchAlgorithmException {
+        return Objects.requireNonNull(
+                resolve(
+                        execution,
+                        "migrationContext",
+                        MigrationContext.class,
+                        handle ->
+                                artifactStore.getJson(
+                                        workingDirectory, handle, MigrationContext.class)));
+    }
+
+    /**
+     * Resolves the source metadata.
+     *
+     * @param execution        the execution
+     * @param artifactStore    the artifact store
+     * @param workingDirectory the working directory
+     * @return the source metadata
+     * @throws IOException              the io exception
+     * @throws NoSuchAlgorithmException the no such algorithm exception
+     */
+    static SourceMetadata meta(
+            DelegateExecution execution, ArtifactStoreService artifactStore, Path workingDirectory)
+            throws IOException, NoSuchAlgorithmException {
+        return Objects.requireNonNull(
+                resolve(
+                        execution,
+                        "meta",
+                        SourceMetadata.class,
+                        handle ->
+                                artifactStore.getJson(
+                                        workingDirectory, handle, SourceMetadata.class)));
+    }
+
+    /**
+     * Resolves the pages.
+     *
+     * @param execution        the execution
+     * @param artifactStore    the artifact store
+     * @param workingDirectory the working directory
+     * @return the pages, or {@code null} when none were extracted
+     * @throws IOException              the io exception
+     * @throws NoSuchAlgorithmException the no such algorithm exception
+     */
+    @SuppressWarnings("unchecked")
+    static @Nullable List<OcrPage> pages(
+            DelegateExecution execution, ArtifactStoreService artifactStore, Path workingDirectory)
+            throws IOException, NoSuchAlgorithmException {
+        return resolve(
+                execution,
+                "pages",
+                List.class,
+                handle -> artifactStore.getPages(workingDirectory, handle));
+    }
+}
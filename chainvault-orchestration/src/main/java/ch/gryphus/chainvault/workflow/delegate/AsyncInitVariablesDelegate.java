@@ -3,6 +3,7 @@
  */
 package ch.gryphus.chainvault.workflow.delegate;
 
+import ch.gryphus.chainvault.config.StageMetrics;
 import ch.gryphus.chainvault.service.SseEmitterService;
 import ch.gryphus.chainvault.workflow.service.AuditEventService;
 import io.opentelemetry.api.OpenTelemetry;
@@ -24,15 +25,18 @@ public class AsyncInitVariablesDelegate extends AbstractTracingDelegate {
      * @param openTelemetry     the open telemetry
      * @param auditService      the audit service
      * @param sseEmitterService the sse emitter service
+     * @param stageMetrics      the stage metrics
      */
     public AsyncInitVariablesDelegate(
             OpenTelemetry openTelemetry,
             AuditEventService auditService,
-            SseEmitterService sseEmitterService) {
+            SseEmitterService sseEmitterService,
+            StageMetrics stageMetrics) {
         super(
                 openTelemetry,
                 auditService,
                 sseEmitterService,
+                stageMetrics,
                 "async-init-vars",
                 "ASYNC-INIT_FAILED");
     }
@@ -3,17 +3,21 @@
  */
 package ch.gryphus.chainvault.workflow.delegate;
 
+import ch.gryphus.chainvault.config.Constants;
+import ch.gryphus.chainvault.config.StageMetrics;
+import ch.gryphus.chainvault.domain.SourceMetadata;
+import ch.gryphus.chainvault.exception.MigrationServiceException;
+import ch.gryphus.chainvault.service.ArtifactStoreService;
 import ch.gryphus.chainvault.service.MigrationService;
 import ch.gryphus.chainvault.service.SseEmitterService;
 import ch.gryphus.chainvault.workflow.service.AuditEventService;
 import io.opentelemetry.api.OpenTelemetry;
 import io.opentelemetry.api.trace.Span;
 import java.io.IOException;
-import java.nio.file.Files;
 import java.nio.file.Path;
-import java.nio.file.Paths;
 import java.security.NoSuchAlgorithmException;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
 import lombok.extern.slf4j.Slf4j;
 import org.flowable.engine.delegate.DelegateExecution;
 import org.springframework.stereotype.Component;
@@ -26,6 +30,7 @@ import org.springframework.stereotype.Component;
 public class ExtractAndHashDelegate extends AbstractTracingDelegate {
 
     private final MigrationService migrationService;
+    private final ArtifactStoreService artifactStore;
 
     /**
      * Instantiates a new Extract and hash delegate.
@@ -33,37 +38,84 @@ public class ExtractAndHashDelegate extends AbstractTracingDelegate {
      * @param openTelemetry     the open telemetry
      * @param auditService      the audit service
      * @param sseEmitterService the sse emitter service
+     * @param stageMetrics      the stage metrics
      * @param migrationService  the migration service
+     * @param artifactStore     the artifact store
      */
     public ExtractAndHashDelegate(
             OpenTelemetry openTelemetry,
             AuditEventService auditService,
             SseEmitterService sseEmitterService,
-            MigrationService migrationService) {
-        super(openTelemetry, auditService, sseEmitterService, "extract-hash", "EXTRACTION_FAILED");
+            StageMetrics stageMetrics,
+            MigrationService migrationService,
+            ArtifactStoreService artifactStore) {
+        super(
+                openTelemetry,
+                auditService,
+                sseEmitterService,
+                stageMetrics,
+                Constants.TASK_TYPE_EXTRACT_HASH,
+                "EXTRACTION_FAILED");
         this.migrationService = migrationService;
+        this.artifactStore = artifactStore;
     }
 
     @Override
     protected void doExecute(DelegateExecution execution, Span span, String docId)
             throws IOException, NoSuchAlgorithmException {
-        Path workingDirectory =
-                Paths.get(
-                        "%s-%s"
-                                .formatted(
-                                        migrationService.getTempDir(),
-                                        execution.getProcessInstanceId()));
-        if (Files.notExists(workingDirectory)) {
-            Files.createDirectory(workingDirectory);
-            log.info("Created working directory: {}", workingDirectory);
-        } else {
-            log.warn("Working directory already exists: {}", workingDirectory);
+        // the tier of the working directory depends on the payload size, known with the metadata
+        AtomicReference<Path> opened = new AtomicReference<>();
+        Map<String, Object> map =
+                migrationService.extractAndHash(
+                        docId,
+                        meta -> {
+                            Path payloadDirectory = open(execution, meta.getOriginalSizeBytes());
+                            artifactStore.reserve(payloadDirectory, meta.getOriginalSizeBytes());
+                            opened.set(payloadDirectory);
+                        });
+        Path workingDirectory = opened.get() != null ? opened.get() : open(execution, 0);
+
+        ArtifactUtils.publishJson(
+                execution,
+                artifactStore,
+                workingDirectory,
+                "migrationContext",
+                ArtifactStoreService.MIGRATION_CONTEXT,
+                map.get("migrationContext"));
+        ArtifactUtils.publishJson(
+                execution,
+                artifactStore,
+                workingDirectory,
+                "meta",
+                ArtifactStoreService.META,
+                map.get("meta"));
+        if (map.get("payload") instanceof byte[] payload) {
+            recordBytes(payload.length);
+            ArtifactUtils.publish(
+                    execution,
+                    artifactStore,
+                    workingDirectory,
+                    "payload",
+                    payload,
+                    artifactStore.putBytes(
+                            workingDirectory, ArtifactStoreService.PAYLOAD, payload));
         }
-        execution.setTransientVariable("workingDirectory", workingDirectory);
+    }
 
-        Map<String, Object> map = migrationService.extractAndHash(docId);
-        execution.setTransientVariable("migrationContext", map.get("migrationContext"));
-        execution.setTransientVariable("meta", map.get("meta"));
-        execution.setTransientVariable("payload", map.get("payload"));
+    // the failed migration released its reservation when it kept the working directory
+    @Override
+    protected void onRestored(DelegateExecution execution)
+            throws IOException, NoSuchAlgorithmException {
+        Path workingDirectory = ArtifactUtils.workingDirectory(execution, artifactStore);
+        SourceMetadata meta = ArtifactUtils.meta(execution, artifactStore, workingDirectory);
+        artifactStore.reserve(workingDirectory, meta.getOriginalSizeBytes());
+    }
+
+    private Path open(DelegateExecution execution, long payloadBytes) {
+        try {
+            return ArtifactUtils.openWorkingDirectory(execution, artifactStore, payloadBytes);
+        } catch (IOException e) {
+            throw new MigrationServiceException("Cannot open working directory", e);
+        }
     }
 }
@@ -3,17 +3,17 @@
  */
 package ch.gryphus.chainvault.workflow.delegate;
 
+import ch.gryphus.chainvault.config.StageMetrics;
+import ch.gryphus.chainvault.service.ArtifactStoreService;
 import ch.gryphus.chainvault.service.SseEmitterService;
 import ch.gryphus.chainvault.workflow.service.AuditEventService;
 import io.opentelemetry.api.OpenTelemetry;
 import io.opentelemetry.api.trace.Span;
 import java.io.IOException;
-import java.nio.file.Path;
 import java.security.NoSuchAlgorithmException;
 import lombok.extern.slf4j.Slf4j;
 import org.flowable.engine.delegate.DelegateExecution;
 import org.springframework.stereotype.Component;
-import org.springframework.util.FileSystemUtils;
 
 /**
  * The type Handle error delegate.
@@ -22,29 +22,40 @@ import org.springframework.util.FileSystemUtils;
 @Component("handleError")
 public class HandleErrorDelegate extends AbstractTracingDelegate {
 
+    private final ArtifactStoreService artifactStore;
+
     /**
      * Instantiates a new Handle error delegate.
      *
      * @param openTelemetry     the open telemetry
      * @param auditService      the audit service
      * @param sseEmitterService the sse emitter service
+     * @param stageMetrics      the stage metrics
+     * @param artifactStore     the artifact store
      */
     public HandleErrorDelegate(
             OpenTelemetry openTelemetry,
             AuditEventService auditService,
-            SseEmitterService sseEmitterService) {
-        super(openTelemetry, auditService, sseEmitterService, "handle-error", "");
+            SseEmitterService sseEmitterService,
+            StageMetrics stageMetrics,
+            ArtifactStoreService artifactStore) {
+        super(openTelemetry, auditService, sseEmitterService, stageMetrics, "handle-error", "");
+        this.artifactStore = artifactStore;
     }
 
     @Override
     protected void doExecute(DelegateExecution execution, Span span, String docId)
             throws IOException, NoSuchAlgorithmException {
+        var workingDirectory = ArtifactUtils.workingDirectory(execution, artifactStore);
 
-        // cleanup temporary working directory
-        var workingDirectory =
-                getTransientVariableSafely(execution, "workingDirectory", Path.class);
+        // keep checkpointed artifacts, a restart resumes from them and reserves their space again
+        if (ArtifactUtils.hasArtifacts(execution)) {
+            log.info("Keeping working directory {} for a restart", workingDirectory);
+            artifactStore.release(workingDirectory);
+            return;
+        }
 
-        FileSystemUtils.deleteRecursively(workingDirectory);
-        log.info("Deleted working directory {}", workingDirectory);
+        // cleanup temporary working directory
+        artifactStore.delete(workingDirectory);
     }
 }
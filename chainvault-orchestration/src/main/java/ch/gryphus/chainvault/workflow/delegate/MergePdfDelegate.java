@@ -3,8 +3,11 @@
  */
 package ch.gryphus.chainvault.workflow.delegate;
 
-import ch.gryphus.chainvault.domain.MigrationContext;
+import ch.gryphus.chainvault.config.Constants;
+import ch.gryphus.chainvault.config.CpuStageExecutor;
+import ch.gryphus.chainvault.config.StageMetrics;
 import ch.gryphus.chainvault.domain.OcrPage;
+import ch.gryphus.chainvault.service.ArtifactStoreService;
 import ch.gryphus.chainvault.service.MigrationService;
 import ch.gryphus.chainvault.service.SseEmitterService;
 import ch.gryphus.chainvault.util.HashUtils;
@@ -12,11 +15,12 @@ import ch.gryphus.chainvault.workflow.service.AuditEventService;
 import io.opentelemetry.api.OpenTelemetry;
 import io.opentelemetry.api.trace.Span;
 import java.io.IOException;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.security.NoSuchAlgorithmException;
 import java.util.List;
-import java.util.Objects;
 import lombok.extern.slf4j.Slf4j;
+import net.sourceforge.tess4j.TesseractException;
 import org.flowable.engine.delegate.DelegateExecution;
 import org.springframework.stereotype.Component;
 
@@ -28,6 +32,8 @@ import org.springframework.stereotype.Component;
 public class MergePdfDelegate extends AbstractTracingDelegate {
 
     private final MigrationService migrationService;
+    private final ArtifactStoreService artifactStore;
+    private final CpuStageExecutor cpuStageExecutor;
 
     /**
      * Instantiates a new Merge pdf delegate.
@@ -35,35 +41,61 @@ public class MergePdfDelegate extends AbstractTracingDelegate {
      * @param openTelemetry     the open telemetry
      * @param auditService      the audit service
      * @param sseEmitterService the sse emitter service
+     * @param stageMetrics      the stage metrics
      * @param migrationService  the migration service
+     * @param artifactStore     the artifact store
+     * @param cpuStageExecutor  the cpu stage executor
      */
     public MergePdfDelegate(
             OpenTelemetry openTelemetry,
             AuditEventService auditService,
             SseEmitterService sseEmitterService,
-            MigrationService migrationService) {
-        super(openTelemetry, auditService, sseEmitterService, "merge-pdfs", "MERGE_FAILED");
+            StageMetrics stageMetrics,
+            MigrationService migrationService,
+            ArtifactStoreService artifactStore,
+            CpuStageExecutor cpuStageExecutor) {
+        super(
+                openTelemetry,
+                auditService,
+                sseEmitterService,
+                stageMetrics,
+                Constants.TASK_TYPE_MERGE_PDFS,
+                "MERGE_FAILED");
         this.migrationService = migrationService;
+        this.artifactStore = artifactStore;
+        this.cpuStageExecutor = cpuStageExecutor;
     }
 
-    @SuppressWarnings("unchecked")
     @Override
     protected void doExecute(DelegateExecution execution, Span span, String docId)
-            throws IOException, NoSuchAlgorithmException {
-        List<OcrPage> pages = getTransientVariableSafely(execution, "pages", List.class);
+            throws IOException, NoSuchAlgorithmException, TesseractException {
+        var workingDirectory = ArtifactUtils.workingDirectory(execution, artifactStore);
+        List<OcrPage> pages = ArtifactUtils.pages(execution, artifactStore, workingDirectory);
         if (pages != null && !pages.isEmpty()) {
             var migrationContext =
-                    Objects.requireNonNull(
-                            getTransientVariableSafely(
-                                    execution, "migrationContext", MigrationContext.class));
+                    ArtifactUtils.migrationContext(execution, artifactStore, workingDirectory);
 
-            var workingDirectory =
-                    getTransientVariableSafely(execution, "workingDirectory", Path.class);
-            Path pdfPath = migrationService.createMergedPdf(pages, docId, workingDirectory);
-            migrationContext.setPdfHash(HashUtils.sha256(pdfPath));
+            Path pdfPath =
+                    cpuStageExecutor.call(
+                            () -> migrationService.createMergedPdf(pages, docId, workingDirectory));
+            recordBytes(Files.size(pdfPath));
+            migrationContext.setPdfHash(
+                    HashUtils.hash(migrationContext.getHashAlgorithm(), pdfPath));
 
-            execution.setTransientVariable("migrationContext", migrationContext);
-            execution.setTransientVariable("pdfPath", pdfPath);
+            ArtifactUtils.publishJson(
+                    execution,
+                    artifactStore,
+                    workingDirectory,
+                    "migrationContext",
+                    ArtifactStoreService.MIGRATION_CONTEXT,
+                    migrationContext);
+            ArtifactUtils.publish(
+                    execution,
+                    artifactStore,
+                    workingDirectory,
+                    "pdfPath",
+                    pdfPath,
+                    artifactStore.handleOf(workingDirectory, pdfPath));
         }
     }
 }
@@ -3,7 +3,12 @@
  */
 package ch.gryphus.chainvault.workflow.delegate;
 
+import ch.gryphus.chainvault.config.Constants;
+import ch.gryphus.chainvault.config.CpuStageExecutor;
+import ch.gryphus.chainvault.config.StageMetrics;
 import ch.gryphus.chainvault.domain.OcrPage;
+import ch.gryphus.chainvault.domain.OcrPageTelemetry;
+import ch.gryphus.chainvault.service.ArtifactStoreService;
 import ch.gryphus.chainvault.service.MigrationService;
 import ch.gryphus.chainvault.service.SseEmitterService;
 import ch.gryphus.chainvault.workflow.service.AuditEventService;
@@ -11,6 +16,7 @@ import io.opentelemetry.api.OpenTelemetry;
 import io.opentelemetry.api.trace.Span;
 import java.io.IOException;
 import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
 import java.util.List;
 import lombok.extern.slf4j.Slf4j;
 import net.sourceforge.tess4j.TesseractException;
@@ -25,6 +31,8 @@ import org.springframework.stereotype.Component;
 public class PerformOcrDelegate extends AbstractTracingDelegate {
 
     private final MigrationService migrationService;
+    private final ArtifactStoreService artifactStore;
+    private final CpuStageExecutor cpuStageExecutor;
 
     /**
      * Instantiates a new Perform ocr delegate.
@@ -32,29 +40,55 @@ public class PerformOcrDelegate extends AbstractTracingDelegate {
      * @param openTelemetry     the open telemetry
      * @param auditService      the audit service
      * @param sseEmitterService the sse emitter service
+     * @param stageMetrics      the stage metrics
      * @param migrationService  the migration service
+     * @param artifactStore     the artifact store
+     * @param cpuStageExecutor  the cpu stage executor
      */
     public PerformOcrDelegate(
             OpenTelemetry openTelemetry,
             AuditEventService auditService,
             SseEmitterService sseEmitterService,
-            MigrationService migrationService) {
-        super(openTelemetry, auditService, sseEmitterService, "perform-ocr", "OCR_FAILED");
+            StageMetrics stageMetrics,
+            MigrationService migrationService,
+            ArtifactStoreService artifactStore,
+            CpuStageExecutor cpuStageExecutor) {
+        super(
+                openTelemetry,
+                auditService,
+                sseEmitterService,
+                stageMetrics,
+                Constants.TASK_TYPE_PERFORM_OCR,
+                "OCR_FAILED");
         this.migrationService = migrationService;
+        this.artifactStore = artifactStore;
+        this.cpuStageExecutor = cpuStageExecutor;
     }
 
-    @SuppressWarnings("unchecked")
     @Override
     protected void doExecute(DelegateExecution execution, Span span, String docId)
             throws IOException, NoSuchAlgorithmException, TesseractException {
-        List<OcrPage> pages = getTransientVariableSafely(execution, "pages", List.class);
+        var workingDirectory = ArtifactUtils.workingDirectory(execution, artifactStore);
+        List<OcrPage> pages = ArtifactUtils.pages(execution, artifactStore, workingDirectory);
         if (pages != null && !pages.isEmpty()) {
-            List<String> ocrResults = migrationService.performOcr(pages);
+            List<OcrPageTelemetry> telemetry = new ArrayList<>();
+            List<String> ocrResults =
+                    cpuStageExecutor.call(() -> migrationService.performOcr(pages, telemetry::add));
+            recordOcrPages(telemetry);
+            recordBytes(pages.stream().mapToLong(page -> page.getData().length).sum());
 
-            execution.setTransientVariable("ocrResults", ocrResults);
+            ArtifactUtils.publishJson(
+                    execution,
+                    artifactStore,
+                    workingDirectory,
+                    "ocrResults",
+                    ArtifactStoreService.OCR_RESULTS,
+                    ocrResults);
             execution.setTransientVariable(
                     "ocrTextLength", ocrResults.stream().mapToInt(String::length).sum());
             execution.setTransientVariable("ocrPageCount", ocrResults.size());
+            // kept per page in the event data of the completed task
+            execution.setTransientVariable("ocrPages", telemetry);
         } else {
             log.warn("No pages found for document {}", docId);
         }
@@ -3,9 +3,10 @@
  */
 package ch.gryphus.chainvault.workflow.delegate;
 
-import ch.gryphus.chainvault.domain.MigrationContext;
+import ch.gryphus.chainvault.config.Constants;
+import ch.gryphus.chainvault.config.StageMetrics;
 import ch.gryphus.chainvault.domain.OcrPage;
-import ch.gryphus.chainvault.domain.SourceMetadata;
+import ch.gryphus.chainvault.service.ArtifactStoreService;
 import ch.gryphus.chainvault.service.MigrationService;
 import ch.gryphus.chainvault.service.SseEmitterService;
 import ch.gryphus.chainvault.util.HashUtils;
@@ -13,10 +14,10 @@ import ch.gryphus.chainvault.workflow.service.AuditEventService;
 import io.opentelemetry.api.OpenTelemetry;
 import io.opentelemetry.api.trace.Span;
 import java.io.IOException;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.security.NoSuchAlgorithmException;
 import java.util.List;
-import java.util.Objects;
 import lombok.extern.slf4j.Slf4j;
 import org.flowable.engine.delegate.DelegateExecution;
 import org.springframework.stereotype.Component;
@@ -29,6 +30,7 @@ import org.springframework.stereotype.Component;
 public class PrepareFilesDelegate extends AbstractTracingDelegate {
 
     private final MigrationService migrationService;
+    private final ArtifactStoreService artifactStore;
 
     /**
      * Instantiates a new Prepare files delegate.
@@ -36,37 +38,55 @@ public class PrepareFilesDelegate extends AbstractTracingDelegate {
      * @param openTelemetry     the open telemetry
      * @param auditService      the audit service
      * @param sseEmitterService the sse emitter service
+     * @param stageMetrics      the stage metrics
      * @param migrationService  the migration service
+     * @param artifactStore     the artifact store
      */
     protected PrepareFilesDelegate(
             OpenTelemetry openTelemetry,
             AuditEventService auditService,
             SseEmitterService sseEmitterService,
-            MigrationService migrationService) {
-        super(openTelemetry, auditService, sseEmitterService, "prepare-files", "PREPARE_FAILED");
+            StageMetrics stageMetrics,
+            MigrationService migrationService,
+            ArtifactStoreService artifactStore) {
+        super(
+                openTelemetry,
+                auditService,
+                sseEmitterService,
+                stageMetrics,
+                Constants.TASK_TYPE_PREPARE_FILES,
+                "PREPARE_FAILED");
         this.migrationService = migrationService;
+        this.artifactStore = artifactStore;
     }
 
-    @SuppressWarnings("unchecked")
     @Override
     protected void doExecute(DelegateExecution execution, Span span, String docId)
             throws IOException, NoSuchAlgorithmException {
-        List<OcrPage> pages = getTransientVariableSafely(execution, "pages", List.class);
-        var meta = getTransientVariableSafely(execution, "meta", SourceMetadata.class);
+        var workingDirectory = ArtifactUtils.workingDirectory(execution, artifactStore);
+        List<OcrPage> pages = ArtifactUtils.pages(execution, artifactStore, workingDirectory);
+        var meta = ArtifactUtils.meta(execution, artifactStore, workingDirectory);
         var migrationContext =
-                Objects.requireNonNull(
-                        getTransientVariableSafely(
-                                execution, "migrationContext", MigrationContext.class));
-
-        var workingDirectory =
-                getTransientVariableSafely(execution, "workingDirectory", Path.class);
+                ArtifactUtils.migrationContext(execution, artifactStore, workingDirectory);
 
         Path zipPath =
-                migrationService.prepareChainZip(
-                        workingDirectory, Objects.requireNonNull(meta), migrationContext, pages);
-        migrationContext.setZipHash(HashUtils.sha256(zipPath));
+                migrationService.prepareChainZip(workingDirectory, meta, migrationContext, pages);
+        recordBytes(Files.size(zipPath));
+        migrationContext.setZipHash(HashUtils.hash(migrationContext.getHashAlgorithm(), zipPath));
 
-        execution.setTransientVariable("migrationContext", migrationContext);
-        execution.setTransientVariable("zipPath", zipPath);
+        ArtifactUtils.publishJson(
+                execution,
+                artifactStore,
+                workingDirectory,
+                "migrationContext",
+                ArtifactStoreService.MIGRATION_CONTEXT,
+                migrationContext);
+        ArtifactUtils.publish(
+                execution,
+                artifactStore,
+                workingDirectory,
+                "zipPath",
+                zipPath,
+                artifactStore.handleOf(workingDirectory, zipPath));
     }
 }
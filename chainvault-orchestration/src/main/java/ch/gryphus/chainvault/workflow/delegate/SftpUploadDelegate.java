@@ -3,20 +3,22 @@
  */
 package ch.gryphus.chainvault.workflow.delegate;
 
-import ch.gryphus.chainvault.domain.MigrationContext;
+import ch.gryphus.chainvault.config.StageMetrics;
+import ch.gryphus.chainvault.service.ArtifactStoreService;
 import ch.gryphus.chainvault.service.MigrationService;
 import ch.gryphus.chainvault.service.SseEmitterService;
 import ch.gryphus.chainvault.workflow.service.AuditEventService;
 import io.opentelemetry.api.OpenTelemetry;
 import io.opentelemetry.api.trace.Span;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.security.NoSuchAlgorithmException;
 import java.util.Objects;
 import lombok.extern.slf4j.Slf4j;
 import org.flowable.engine.delegate.DelegateExecution;
 import org.springframework.stereotype.Component;
-import org.springframework.util.FileSystemUtils;
 
 /**
  * The type Sftp upload delegate.
@@ -25,6 +27,7 @@ import org.springframework.util.FileSystemUtils;
 @Component("uploadSftp")
 public class SftpUploadDelegate extends AbstractTracingDelegate {
     private final MigrationService migrationService;
+    private final ArtifactStoreService artifactStore;
 
     /**
      * Instantiates a new Sftp upload delegate.
@@ -32,47 +35,71 @@ public class SftpUploadDelegate extends AbstractTracingDelegate {
      * @param openTelemetry     the open telemetry
      * @param auditService      the audit service
      * @param sseEmitterService the sse emitter service
+     * @param stageMetrics      the stage metrics
      * @param migrationService  the migration service
+     * @param artifactStore     the artifact store
      */
     public SftpUploadDelegate(
             OpenTelemetry openTelemetry,
             AuditEventService auditService,
             SseEmitterService sseEmitterService,
-            MigrationService migrationService) {
-        super(openTelemetry, auditService, sseEmitterService, "upload-sftp", "UPLOAD_FAILED");
+            StageMetrics stageMetrics,
+            MigrationService migrationService,
+            ArtifactStoreService artifactStore) {
+        super(
+                openTelemetry,
+                auditService,
+                sseEmitterService,
+                stageMetrics,
+                "upload-sftp",
+                "UPLOAD_FAILED");
         this.migrationService = migrationService;
+        this.artifactStore = artifactStore;
     }
 
     @Override
     protected void doExecute(DelegateExecution execution, Span span, String docId)
             throws IOException, NoSuchAlgorithmException {
-
-        var xml = getTransientVariableSafely(execution, "xml", String.class);
+        var workingDirectory = ArtifactUtils.workingDirectory(execution, artifactStore);
+        var xml =
+                ArtifactUtils.resolve(
+                        execution,
+                        "xml",
+                        String.class,
+                        handle ->
+                                new String(
+                                        artifactStore.getBytes(workingDirectory, handle),
+                                        StandardCharsets.UTF_8));
         var zipPath =
                 Objects.requireNonNull(
-                        getTransientVariableSafely(execution, "zipPath", Path.class));
-        var pdfPath = getTransientVariableSafely(execution, "pdfPath", Path.class);
-        var workingDirectory =
-                Objects.requireNonNull(
-                        getTransientVariableSafely(execution, "workingDirectory", Path.class));
+                        ArtifactUtils.resolve(
+                                execution,
+                                "zipPath",
+                                Path.class,
+                                handle -> artifactStore.resolve(workingDirectory, handle)));
+        var pdfPath =
+                ArtifactUtils.resolve(
+                        execution,
+                        "pdfPath",
+                        Path.class,
+                        handle -> artifactStore.resolve(workingDirectory, handle));
         var migrationContext =
-                Objects.requireNonNull(
-                        getTransientVariableSafely(
-                                execution, "migrationContext", MigrationContext.class));
+                ArtifactUtils.migrationContext(execution, artifactStore, workingDirectory);
 
         String processInstanceId = execution.getProcessInstanceId();
         String outputFileKey =
                 migrationService.createSftpUploadTarget(
                         xml, zipPath, pdfPath, processInstanceId, migrationContext);
+        recordBytes(
+                xml.getBytes(StandardCharsets.UTF_8).length
+                        + Files.size(zipPath)
+                        + (pdfPath == null ? 0 : Files.size(pdfPath)));
 
         execution.setTransientVariable("outputFileKey", outputFileKey);
-
-        String zipPathRef =
-                zipPath.toString().replaceAll("%s/".formatted(workingDirectory.toString()), "");
-        execution.setTransientVariable("chainOfCustodyZip", zipPathRef);
+        execution.setTransientVariable(
+                "chainOfCustodyZip", artifactStore.handleOf(workingDirectory, zipPath));
 
         // cleanup temporary working directory
-        FileSystemUtils.deleteRecursively(workingDirectory);
-        log.info("Deleted working directory {}", workingDirectory);
+        artifactStore.delete(workingDirectory);
     }
 }
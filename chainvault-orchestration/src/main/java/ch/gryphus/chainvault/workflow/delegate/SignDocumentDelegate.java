@@ -3,19 +3,21 @@
  */
 package ch.gryphus.chainvault.workflow.delegate;
 
-import ch.gryphus.chainvault.domain.MigrationContext;
+import ch.gryphus.chainvault.config.Constants;
+import ch.gryphus.chainvault.config.CpuStageExecutor;
+import ch.gryphus.chainvault.config.StageMetrics;
 import ch.gryphus.chainvault.domain.OcrPage;
+import ch.gryphus.chainvault.service.ArtifactStoreService;
 import ch.gryphus.chainvault.service.MigrationService;
 import ch.gryphus.chainvault.service.SseEmitterService;
 import ch.gryphus.chainvault.workflow.service.AuditEventService;
 import io.opentelemetry.api.OpenTelemetry;
 import io.opentelemetry.api.trace.Span;
 import java.io.IOException;
-import java.nio.file.Path;
 import java.security.NoSuchAlgorithmException;
 import java.util.List;
-import java.util.Objects;
 import lombok.extern.slf4j.Slf4j;
+import net.sourceforge.tess4j.TesseractException;
 import org.flowable.engine.delegate.DelegateExecution;
 import org.springframework.stereotype.Component;
 
@@ -27,6 +29,8 @@ import org.springframework.stereotype.Component;
 public class SignDocumentDelegate extends AbstractTracingDelegate {
 
     private final MigrationService migrationService;
+    private final ArtifactStoreService artifactStore;
+    private final CpuStageExecutor cpuStageExecutor;
 
     /**
      * Instantiates a new Sign document delegate.
@@ -34,31 +38,64 @@ public class SignDocumentDelegate extends AbstractTracingDelegate {
      * @param openTelemetry     the open telemetry
      * @param auditService      the audit service
      * @param sseEmitterService the sse emitter service
+     * @param stageMetrics      the stage metrics
      * @param migrationService  the migration service
+     * @param artifactStore     the artifact store
+     * @param cpuStageExecutor  the cpu stage executor
      */
     public SignDocumentDelegate(
             OpenTelemetry openTelemetry,
             AuditEventService auditService,
             SseEmitterService sseEmitterService,
-            MigrationService migrationService) {
-        super(openTelemetry, auditService, sseEmitterService, "sign-document", "SIGN_FAILED");
+            StageMetrics stageMetrics,
+            MigrationService migrationService,
+            ArtifactStoreService artifactStore,
+            CpuStageExecutor cpuStageExecutor) {
+        super(
+                openTelemetry,
+                auditService,
+                sseEmitterService,
+                stageMetrics,
+                Constants.TASK_TYPE_SIGN_DOCUMENT,
+                "SIGN_FAILED");
         this.migrationService = migrationService;
+        this.artifactStore = artifactStore;
+        this.cpuStageExecutor = cpuStageExecutor;
     }
 
     @Override
     protected void doExecute(DelegateExecution execution, Span span, String docId)
-            throws IOException, NoSuchAlgorithmException {
-        var payload = getTransientVariableSafely(execution, "payload", byte[].class);
+            throws IOException, NoSuchAlgorithmException, TesseractException {
+        var workingDirectory = ArtifactUtils.workingDirectory(execution, artifactStore);
+        var payload =
+                ArtifactUtils.resolve(
+                        execution,
+                        "payload",
+                        byte[].class,
+                        handle -> artifactStore.getBytes(workingDirectory, handle));
         var migrationContext =
-                Objects.requireNonNull(
-                        getTransientVariableSafely(
-                                execution, "migrationContext", MigrationContext.class));
-        var workingDirectory =
-                getTransientVariableSafely(execution, "workingDirectory", Path.class);
+                ArtifactUtils.migrationContext(execution, artifactStore, workingDirectory);
 
         List<OcrPage> pages =
-                migrationService.signSourcePayload(payload, migrationContext, workingDirectory);
+                cpuStageExecutor.call(
+                        () ->
+                                migrationService.signSourcePayload(
+                                        payload, migrationContext, workingDirectory));
+        recordBytes(payload.length);
 
-        execution.setTransientVariable("pages", pages);
+        ArtifactUtils.publish(
+                execution,
+                artifactStore,
+                workingDirectory,
+                "pages",
+                pages,
+                artifactStore.putPages(workingDirectory, pages));
+        ArtifactUtils.publishJson(
+                execution,
+                artifactStore,
+                workingDirectory,
+                "migrationContext",
+                ArtifactStoreService.MIGRATION_CONTEXT,
+                migrationContext);
     }
 }
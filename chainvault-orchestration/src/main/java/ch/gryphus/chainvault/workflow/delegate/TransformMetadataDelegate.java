@@ -3,18 +3,20 @@
  */
 package ch.gryphus.chainvault.workflow.delegate;
 
-import ch.gryphus.chainvault.domain.MigrationContext;
-import ch.gryphus.chainvault.domain.SourceMetadata;
+import ch.gryphus.chainvault.config.Constants;
+import ch.gryphus.chainvault.config.StageMetrics;
+import ch.gryphus.chainvault.service.ArtifactStoreService;
 import ch.gryphus.chainvault.service.MigrationService;
 import ch.gryphus.chainvault.service.SseEmitterService;
 import ch.gryphus.chainvault.workflow.service.AuditEventService;
 import io.opentelemetry.api.OpenTelemetry;
 import io.opentelemetry.api.trace.Span;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.security.NoSuchAlgorithmException;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
-import java.util.Objects;
 import lombok.extern.slf4j.Slf4j;
 import org.flowable.engine.delegate.DelegateExecution;
 import org.springframework.stereotype.Component;
@@ -27,6 +29,7 @@ import org.springframework.stereotype.Component;
 public class TransformMetadataDelegate extends AbstractTracingDelegate {
 
     private final MigrationService migrationService;
+    private final ArtifactStoreService artifactStore;
 
     /**
      * Instantiates a new Transform metadata delegate.
@@ -34,39 +37,58 @@ public class TransformMetadataDelegate extends AbstractTracingDelegate {
      * @param openTelemetry     the open telemetry
      * @param auditService      the audit service
      * @param sseEmitterService the sse emitter service
+     * @param stageMetrics      the stage metrics
      * @param migrationService  the migration service
+     * @param artifactStore     the artifact store
      */
     public TransformMetadataDelegate(
             OpenTelemetry openTelemetry,
             AuditEventService auditService,
             SseEmitterService sseEmitterService,
-            MigrationService migrationService) {
+            StageMetrics stageMetrics,
+            MigrationService migrationService,
+            ArtifactStoreService artifactStore) {
         super(
                 openTelemetry,
                 auditService,
                 sseEmitterService,
-                "transform-metadata",
+                stageMetrics,
+                Constants.TASK_TYPE_TRANSFORM_METADATA,
                 "TRANSFORM_FAILED");
         this.migrationService = migrationService;
+        this.artifactStore = artifactStore;
     }
 
     @Override
     protected void doExecute(DelegateExecution execution, Span span, String docId)
             throws IOException, NoSuchAlgorithmException {
+        var workingDirectory = ArtifactUtils.workingDirectory(execution, artifactStore);
         var migrationContext =
-                Objects.requireNonNull(
-                        getTransientVariableSafely(
-                                execution, "migrationContext", MigrationContext.class));
-        var meta =
-                Objects.requireNonNull(
-                        getTransientVariableSafely(execution, "meta", SourceMetadata.class));
+                ArtifactUtils.migrationContext(execution, artifactStore, workingDirectory);
+        var meta = ArtifactUtils.meta(execution, artifactStore, workingDirectory);
+        List<String> ocrResults =
+                ArtifactUtils.resolve(
+                        execution,
+                        "ocrResults",
+                        List.class,
+                        handle -> artifactStore.getStrings(workingDirectory, handle));
 
         Map<String, Object> map = new HashMap<>();
-        map.put("ocrResults", execution.getTransientVariable("ocrResults"));
-        map.put("ocrTextLength", execution.getTransientVariable("ocrTextLength"));
-        map.put("ocrPageCount", execution.getTransientVariable("ocrPageCount"));
+        map.put("ocrResults", ocrResults);
+        map.put(
+                "ocrTextLength",
+                ocrResults == null ? null : ocrResults.stream().mapToInt(String::length).sum());
+        map.put("ocrPageCount", ocrResults == null ? null : ocrResults.size());
 
         String xml = migrationService.transformMetadataToXml(meta, migrationContext, map);
-        execution.setTransientVariable("xml", xml);
+        byte[] xmlBytes = xml.getBytes(StandardCharsets.UTF_8);
+        recordBytes(xmlBytes.length);
+        ArtifactUtils.publish(
+                execution,
+                artifactStore,
+                workingDirectory,
+                "xml",
+                xml,
+                artifactStore.putBytes(workingDirectory, ArtifactStoreService.XML, xmlBytes));
     }
 }
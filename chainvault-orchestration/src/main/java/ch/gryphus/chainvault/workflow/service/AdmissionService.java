@@ -0,0 +1,120 @@
+/*
+ * Copyright (c) 2026. Gryphus Lab
+ */
+package ch.gryphus.chainvault.workflow.service;
+
+import ch.gryphus.chainvault.config.AdmissionProperties;
+import ch.gryphus.chainvault.domain.MigrationPriority;
+import ch.gryphus.chainvault.exception.AdmissionRejectedException;
+import ch.gryphus.chainvault.exception.BatchTooLargeException;
+import ch.gryphus.chainvault.model.entity.MigrationAudit;
+import ch.gryphus.chainvault.repository.MigrationAuditRepository;
+import ch.gryphus.chainvault.service.ArtifactStoreService;
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import java.io.IOException;
+import java.util.EnumSet;
+import java.util.Set;
+import lombok.extern.slf4j.Slf4j;
+import org.flowable.engine.ManagementService;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * Admission control of process starts. A start is rejected while the free space of the working
+ * directories is below {@code minFreeDisk}. Bulk starts are also rejected while the migrations in
+ * flight or the async jobs waiting in the Flowable job table would exceed their bounds; interactive
+ * starts are exempt from these two limits, they run on a lane of their own.
+ */
+@Slf4j
+@Service
+@Transactional(readOnly = true)
+public class AdmissionService {
+
+    private static final Set<MigrationAudit.MigrationStatus> IN_FLIGHT =
+            EnumSet.of(
+                    MigrationAudit.MigrationStatus.PENDING,
+                    MigrationAudit.MigrationStatus.RUNNING,
+                    MigrationAudit.MigrationStatus.RETRYING);
+
+    private final AdmissionProperties props;
+    private final MigrationAuditRepository auditRepo;
+    private final ManagementService managementService;
+    private final ArtifactStoreService artifactStore;
+
+    /**
+     * Instantiates a new Admission service.
+     *
+     * @param props             the props
+     * @param auditRepo         the audit repo
+     * @param managementService the management service
+     * @param artifactStore     the artifact store
+     */
+    @SuppressFBWarnings(
+            value = "EI_EXPOSE_REP2",
+            justification = "Spring-injected singleton beans are effectively immutable references")
+    public AdmissionService(
+            AdmissionProperties props,
+            MigrationAuditRepository auditRepo,
+            ManagementService managementService,
+            ArtifactStoreService artifactStore) {
+        this.props = props;
+        this.auditRepo = auditRepo;
+        this.managementService = managementService;
+        this.artifactStore = artifactStore;
+    }
+
+    /**
+     * Admits the start of the given number of migrations.
+     *
+     * @param count    the number of migrations to start
+     * @param priority the priority of the migrations
+     * @throws AdmissionRejectedException if the migrations cannot be started now
+     * @throws BatchTooLargeException     if more bulk migrations are requested than may ever be in
+     *                                    flight
+     */
+    public void admit(int count, MigrationPriority priority) {
+        long usableSpace = usableSpace();
+        if (usableSpace < props.minFreeDisk().toBytes()) {
+            reject(
+                    "only %s free for working directories, %s required"
+                            .formatted(
+                                    DataSize.ofBytes(usableSpace).toMegabytes() + "MB",
+                                    props.minFreeDisk().toMegabytes() + "MB"));
+        }
+        if (priority == MigrationPriority.INTERACTIVE) {
+            return;
+        }
+
+        if (count > props.maxInFlight()) {
+            throw new BatchTooLargeException(count, props.maxInFlight());
+        }
+        long inFlight = auditRepo.countByStatusIn(IN_FLIGHT);
+        if (inFlight + count > props.maxInFlight()) {
+            reject(
+                    "%d migrations in flight, %d more exceed the limit of %d"
+                            .formatted(inFlight, count, props.maxInFlight()));
+        }
+        long queuedJobs = managementService.createJobQuery().count();
+        if (queuedJobs >= props.maxQueuedJobs()) {
+            reject(
+                    "%d async jobs queued, limit is %d"
+                            .formatted(queuedJobs, props.maxQueuedJobs()));
+        }
+    }
+
+    private long usableSpace() {
+        try {
+            return artifactStore.usableSpace();
+        } catch (IOException e) {
+            log.warn("Cannot determine free space of working directories: {}", e.getMessage());
+            return Long.MAX_VALUE;
+        }
+    }
+
+    private void reject(String reason) {
+        log.warn("admission rejected: {}", reason);
+        throw new AdmissionRejectedException(
+                "Migration start rejected: " + reason, props.retryAfter());
+    }
+}
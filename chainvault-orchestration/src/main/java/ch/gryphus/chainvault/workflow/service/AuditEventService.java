@@ -3,6 +3,7 @@
  */
 package ch.gryphus.chainvault.workflow.service;
 
+import ch.gryphus.chainvault.config.Constants;
 import ch.gryphus.chainvault.domain.MigrationContext;
 import ch.gryphus.chainvault.model.dto.Migration;
 import ch.gryphus.chainvault.model.dto.MigrationDetail;
@@ -17,6 +18,7 @@ import io.opentelemetry.api.common.Attributes;
 import io.opentelemetry.api.trace.Span;
 import io.opentelemetry.api.trace.StatusCode;
 import jakarta.persistence.EntityNotFoundException;
+import java.nio.file.Path;
 import java.time.Instant;
 import java.util.*;
 import lombok.RequiredArgsConstructor;
@@ -140,9 +142,11 @@ public class AuditEventService {
         var event = new MigrationEvent();
         event.setMigrationAuditId(audit.getId());
         event.setEventType(
-                status == MigrationAudit.MigrationStatus.FAILED
-                        ? MigrationEvent.MigrationEventType.TASK_FAILED
-                        : MigrationEvent.MigrationEventType.TASK_COMPLETED);
+                switch (status) {
+                    case FAILED -> MigrationEvent.MigrationEventType.TASK_FAILED;
+                    case RETRYING -> MigrationEvent.MigrationEventType.RETRY_ATTEMPTED;
+                    case null, default -> MigrationEvent.MigrationEventType.TASK_COMPLETED;
+                });
         event.setTaskType(taskType);
         event.setMessage(msg);
         event.setErrorCode(code);
@@ -190,6 +194,45 @@ public class AuditEventService {
         throw new BpmnError(errorCode, message);
     }
 
+    /**
+     * Record a transient failure on the supplied tracing span, mark the related migration audit as
+     * retrying with a RETRY_ATTEMPTED event, and throw a BPMN error the process can route to a
+     * delayed retry.
+     *
+     * @param ex        the retryable exception that occurred
+     * @param span      the OpenTelemetry span to update with the recorded exception and a "{@code taskType}.retry" event
+     * @param piKey     the process-instance key identifying the migration audit to update
+     * @param errorCode the error code to store on the audit event and to use for the thrown BPMN error
+     * @param taskType  the task identifier used for the span event name and audit event
+     * @param attempt   the number of retries scheduled so far, including this one
+     * @throws BpmnError thrown with {@code errorCode} and the exception message after the audit and span are updated
+     */
+    public void handleRetryableException(
+            Exception ex, Span span, String piKey, String errorCode, String taskType, int attempt) {
+        String message = ExceptionUtils.getMessage(ex);
+
+        span.recordException(ex);
+        span.addEvent(
+                taskType + ".retry",
+                Attributes.of(
+                        AttributeKey.stringKey("error.message"),
+                        message,
+                        AttributeKey.longKey("retry.attempt"),
+                        (long) attempt));
+
+        updateAuditEventEnd(
+                piKey,
+                MigrationAudit.MigrationStatus.RETRYING,
+                errorCode,
+                message,
+                taskType,
+                "Retry %d scheduled: %s".formatted(attempt, message),
+                Map.of("retryAttempt", attempt),
+                span);
+
+        throw new BpmnError(errorCode, message);
+    }
+
     /**
      * Retrieve the MigrationAudit associated with the given process instance key.
      *
@@ -228,6 +271,7 @@ public class AuditEventService {
      * @param varMap a map of contextual variables; expected keys include:
      *               "migrationContext" (MigrationContext) for payload/pdf hashes,
      *               "ocrResults"/"ocrPageCount"/"ocrTextLength" for OCR result application,
+     *               "workingDirectory" (Path) and "checkpoint" (Map) for the stage checkpoint,
      *               "outputFileKey" (String) and "chainOfCustodyZip" (any) for optional output references
      */
     private void updateAuditDetails(
@@ -253,6 +297,9 @@ public class AuditEventService {
             applyContextHashes(audit, context);
         }
         applyOcrResults(audit, varMap);
+        if (status != MigrationAudit.MigrationStatus.FAILED) {
+            applyCheckpoint(audit, eventTaskType, varMap);
+        }
 
         Optional.ofNullable(varMap.get("outputFileKey"))
                 .ifPresent(k -> audit.setOutputFileKey((String) k));
@@ -274,7 +321,7 @@ public class AuditEventService {
         audit.setFailureReason(errorMsg);
         audit.setErrorCode(errorCode);
 
-        if ("perform-ocr".equals(eventTaskType)) {
+        if (Constants.TASK_TYPE_PERFORM_OCR.equals(eventTaskType)) {
             audit.setOcrAttempted(true);
             audit.setOcrSuccess(false);
             audit.setOcrErrorCode("OCR_TESSERACT_ERROR");
@@ -297,6 +344,31 @@ public class AuditEventService {
         Optional.ofNullable(context.getPdfHash()).ifPresent(audit::setMergedPdfHash);
     }
 
+    /**
+     * Record the artifacts a completed task published as its checkpoint, together with the working
+     * directory holding them, so that a restart can resume after this task.
+     *
+     * @param audit    the audit record to update
+     * @param taskType the completed task type, used as checkpoint key
+     * @param varMap   a map that may contain <code>"workingDirectory"</code> (Path) and a non-empty
+     *                 <code>"checkpoint"</code> (Map of variable name to artifact handle and checksum)
+     */
+    private void applyCheckpoint(
+            MigrationAudit audit, String taskType, Map<String, Object> varMap) {
+        if (varMap.get("workingDirectory") instanceof Path workingDirectory) {
+            audit.setWorkingDirectory(workingDirectory.toString());
+        }
+        if (varMap.get(Constants.BPMN_TRANSIENT_VAR_CHECKPOINT) instanceof Map<?, ?> checkpoint
+                && !checkpoint.isEmpty()) {
+            Map<String, Object> checkpoints =
+                    new LinkedHashMap<>(
+                            Objects.requireNonNullElseGet(
+                                    audit.getCheckpoints(), LinkedHashMap::new));
+            checkpoints.put(taskType, new LinkedHashMap<>(checkpoint));
+            audit.setCheckpoints(checkpoints);
+        }
+    }
+
     /**
      * Apply OCR results from the provided variables to the given audit, marking OCR as attempted and successful, recording completion time, storing a truncated text preview, and optionally setting page count and total text length.
      *
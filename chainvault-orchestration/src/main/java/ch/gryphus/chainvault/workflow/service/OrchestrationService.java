@@ -4,14 +4,26 @@
 package ch.gryphus.chainvault.workflow.service;
 
 import ch.gryphus.chainvault.config.Constants;
+import ch.gryphus.chainvault.domain.MigrationPriority;
+import ch.gryphus.chainvault.exception.AdmissionRejectedException;
+import ch.gryphus.chainvault.exception.BatchTooLargeException;
 import ch.gryphus.chainvault.model.entity.MigrationAudit;
+import ch.gryphus.chainvault.model.entity.MigrationEvent;
 import ch.gryphus.chainvault.repository.MigrationAuditRepository;
+import ch.gryphus.chainvault.repository.MigrationEventRepository;
+import ch.gryphus.chainvault.service.ArtifactStoreService;
+import ch.gryphus.chainvault.service.MetadataPrefetchService;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 import io.opentelemetry.api.trace.Span;
 import io.opentelemetry.api.trace.Tracer;
 import io.opentelemetry.context.Context;
+import jakarta.persistence.EntityNotFoundException;
+import java.nio.file.Path;
 import java.time.Instant;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import lombok.extern.slf4j.Slf4j;
 import org.flowable.engine.RuntimeService;
@@ -26,32 +38,99 @@ import org.springframework.transaction.annotation.Transactional;
 @Service
 @Transactional
 public class OrchestrationService {
+
+    /**
+     * The task types producing artifacts, in process order. A restart skips the leading stages
+     * whose checkpointed artifacts are still intact.
+     */
+    static final List<String> CHECKPOINTED_STAGES =
+            List.of(
+                    Constants.TASK_TYPE_EXTRACT_HASH,
+                    Constants.TASK_TYPE_SIGN_DOCUMENT,
+                    Constants.TASK_TYPE_PREPARE_FILES,
+                    Constants.TASK_TYPE_PERFORM_OCR,
+                    Constants.TASK_TYPE_MERGE_PDFS,
+                    Constants.TASK_TYPE_TRANSFORM_METADATA);
+
     private final RuntimeService runtimeService;
     private final MigrationAuditRepository auditRepo;
+    private final MigrationEventRepository eventRepo;
     private final Tracer tracer;
+    private final MetadataPrefetchService metadataPrefetchService;
+    private final ArtifactStoreService artifactStore;
+    private final AdmissionService admissionService;
 
     /**
      * Instantiates a new Orchestration service.
      *
-     * @param runtimeService the runtime service
-     * @param auditRepo      the audit repo
-     * @param tracer         the tracer
+     * @param runtimeService          the runtime service
+     * @param auditRepo               the audit repo
+     * @param eventRepo               the event repo
+     * @param tracer                  the tracer
+     * @param metadataPrefetchService the metadata prefetch service
+     * @param artifactStore           the artifact store
+     * @param admissionService        the admission service
      */
     @SuppressFBWarnings("EI_EXPOSE_REP2")
     public OrchestrationService(
-            RuntimeService runtimeService, MigrationAuditRepository auditRepo, Tracer tracer) {
+            RuntimeService runtimeService,
+            MigrationAuditRepository auditRepo,
+            MigrationEventRepository eventRepo,
+            Tracer tracer,
+            MetadataPrefetchService metadataPrefetchService,
+            ArtifactStoreService artifactStore,
+            AdmissionService admissionService) {
         this.runtimeService = runtimeService;
         this.auditRepo = auditRepo;
+        this.eventRepo = eventRepo;
         this.tracer = tracer;
+        this.metadataPrefetchService = metadataPrefetchService;
+        this.artifactStore = artifactStore;
+        this.admissionService = admissionService;
+    }
+
+    /**
+     * Start one process per doc id. The source metadata of the whole batch is fetched in bulk
+     * beforehand, so the extract step only has to download the payload.
+     *
+     * @param docIds   the doc ids
+     * @param priority the priority of the migrations
+     * @return the process instance ids
+     * @throws AdmissionRejectedException if the batch is not admitted
+     * @throws BatchTooLargeException     if the batch can never be admitted
+     */
+    public List<String> startBatch(List<String> docIds, MigrationPriority priority) {
+        log.info("start-batch: {} documents, priority {}", docIds.size(), priority);
+        admissionService.admit(docIds.size(), priority);
+        metadataPrefetchService.prefetch(docIds);
+
+        return docIds.stream()
+                .map(
+                        docId ->
+                                start(
+                                        Map.of(
+                                                Constants.BPMN_PROC_VAR_DOC_ID,
+                                                docId,
+                                                Constants.BPMN_PROC_VAR_PRIORITY,
+                                                priority.name())))
+                .toList();
     }
 
     /**
-     * Start process string.
+     * Start process string. The {@value Constants#BPMN_PROC_VAR_PRIORITY} variable selects the
+     * scheduling lane, migrations without it are {@link MigrationPriority#BULK}.
      *
      * @param variables the variables
      * @return the string
+     * @throws IllegalArgumentException    if the priority is unknown
+     * @throws AdmissionRejectedException if the start is not admitted
      */
     public String startProcess(Map<String, Object> variables) {
+        admissionService.admit(1, priorityOf(variables));
+        return start(variables);
+    }
+
+    private String start(Map<String, Object> variables) {
         log.info("start-process");
         Span parentSpan = tracer.spanBuilder("POST /start-migration").startSpan();
 
@@ -67,6 +146,7 @@ public class OrchestrationService {
 
             Map<String, Object> map = new HashMap<>(variables);
             map.put("traceParent", traceParent);
+            map.put(Constants.BPMN_PROC_VAR_PRIORITY, priorityOf(variables).name());
 
             ProcessInstance processInstance =
                     runtimeService.startProcessInstanceByKey(
@@ -94,4 +174,139 @@ public class OrchestrationService {
             parentSpan.end();
         }
     }
+
+    /**
+     * Restart a failed migration as a new process instance. The stages whose checkpointed
+     * artifacts are still present and match their checksums are handed over and restored instead
+     * of executed, so the new instance resumes at the first incomplete stage. The working directory
+     * moves to the new instance; without any reusable stage the document is migrated from scratch.
+     *
+     * @param processInstanceId the process instance id of the failed migration
+     * @return the process instance id of the restarted migration
+     * @throws EntityNotFoundException     if no audit exists for the process instance
+     * @throws IllegalStateException       if the migration has not failed
+     * @throws AdmissionRejectedException if the restart is not admitted
+     */
+    public String restartProcess(String processInstanceId) {
+        MigrationAudit audit =
+                auditRepo
+                        .findByProcessInstanceKey(processInstanceId)
+                        .orElseThrow(
+                                () ->
+                                        new EntityNotFoundException(
+                                                "Migration not found: " + processInstanceId));
+        if (audit.getStatus() != MigrationAudit.MigrationStatus.FAILED) {
+            throw new IllegalStateException(
+                    "Migration %s is %s, only failed migrations can be restarted"
+                            .formatted(processInstanceId, audit.getStatus()));
+        }
+
+        Map<String, Object> resumable = resumableCheckpoints(audit);
+        Map<String, Object> variables = new HashMap<>();
+        variables.put(Constants.BPMN_PROC_VAR_DOC_ID, audit.getDocumentId());
+        // a restart is a user waiting on one document, not part of a backlog
+        variables.put(Constants.BPMN_PROC_VAR_PRIORITY, MigrationPriority.INTERACTIVE.name());
+        if (!resumable.isEmpty()) {
+            variables.put(
+                    Constants.BPMN_PROC_VAR_WORKING_DIRECTORY_REF, audit.getWorkingDirectory());
+            variables.put(Constants.BPMN_PROC_VAR_RESUME_CHECKPOINTS, resumable);
+        }
+
+        admissionService.admit(1, MigrationPriority.INTERACTIVE);
+        String restartedId = start(variables);
+        if (!resumable.isEmpty()) {
+            auditRepo
+                    .findByProcessInstanceKey(restartedId)
+                    .ifPresent(
+                            restarted -> {
+                                restarted.setWorkingDirectory(audit.getWorkingDirectory());
+                                auditRepo.save(restarted);
+                            });
+        }
+
+        // the working directory now belongs to the restarted migration
+        audit.setWorkingDirectory(null);
+        auditRepo.save(audit);
+
+        var event = new MigrationEvent();
+        event.setMigrationAuditId(audit.getId());
+        event.setEventType(MigrationEvent.MigrationEventType.RETRY_ATTEMPTED);
+        event.setMessage(
+                "Restarted as %s, resuming after %s"
+                        .formatted(restartedId, resumable.isEmpty() ? "none" : resumable.keySet()));
+        event.setEventData(Map.of("restartedProcessInstanceKey", restartedId));
+        event.setTraceId(audit.getTraceId());
+        event.setCreatedAt(Instant.now());
+        eventRepo.save(event);
+
+        log.info(
+                "restart-process: {} restarted as {}, reusing {}",
+                processInstanceId,
+                restartedId,
+                resumable.keySet());
+        return restartedId;
+    }
+
+    private static MigrationPriority priorityOf(Map<String, Object> variables) {
+        Object priority = variables.get(Constants.BPMN_PROC_VAR_PRIORITY);
+        return priority == null
+                ? MigrationPriority.BULK
+                : MigrationPriority.valueOf(String.valueOf(priority).toUpperCase(Locale.ROOT));
+    }
+
+    /**
+     * Collects the leading checkpointed stages whose artifacts can be reused. Stages that never
+     * ran (skipped by a gateway) are passed over, the first stage with a missing or modified
+     * artifact ends the sequence. An artifact rewritten by a later stage is checked against the
+     * latest checksum.
+     *
+     * @param audit the audit of the failed migration
+     * @return the reusable checkpoints by task type, in process order
+     */
+    private Map<String, Object> resumableCheckpoints(MigrationAudit audit) {
+        Map<String, Object> resumable = new LinkedHashMap<>();
+        Map<String, Object> checkpoints = audit.getCheckpoints();
+        if (audit.getWorkingDirectory() == null || checkpoints == null || checkpoints.isEmpty()) {
+            return resumable;
+        }
+
+        Path workingDirectory = Path.of(audit.getWorkingDirectory());
+        Map<String, String> latest = new HashMap<>();
+        for (String stage : CHECKPOINTED_STAGES) {
+            if (checkpoints.get(stage) instanceof Map<?, ?> checkpoint) {
+                checkpoint.values().stream()
+                        .filter(Map.class::isInstance)
+                        .map(Map.class::cast)
+                        .forEach(
+                                artifact ->
+                                        latest.put(
+                                                String.valueOf(artifact.get("handle")),
+                                                String.valueOf(artifact.get("sha256"))));
+            }
+        }
+
+        Map<String, Boolean> verified = new HashMap<>();
+        for (String stage : CHECKPOINTED_STAGES) {
+            if (!(checkpoints.get(stage) instanceof Map<?, ?> checkpoint)) {
+                continue;
+            }
+            boolean intact =
+                    checkpoint.values().stream()
+                            .allMatch(
+                                    artifact ->
+                                            artifact instanceof Map<?, ?> entry
+                                                    && verified.computeIfAbsent(
+                                                            String.valueOf(entry.get("handle")),
+                                                            handle ->
+                                                                    artifactStore.verify(
+                                                                            workingDirectory,
+                                                                            handle,
+                                                                            latest.get(handle))));
+            if (!intact) {
+                break;
+            }
+            resumable.put(stage, new LinkedHashMap<>(checkpoint));
+        }
+        return resumable;
+    }
 }
@@ -0,0 +1,201 @@
+/*
+ * Copyright (c) 2026. Gryphus Lab
+ */
+package ch.gryphus.chainvault.workflow.service;
+
+import ch.gryphus.chainvault.config.ArtifactStoreProperties;
+import ch.gryphus.chainvault.model.entity.MigrationAudit;
+import ch.gryphus.chainvault.repository.MigrationAuditRepository;
+import ch.gryphus.chainvault.service.ArtifactStoreService;
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Instant;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import lombok.extern.slf4j.Slf4j;
+import org.flowable.engine.RuntimeService;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Reclaims the working directories no migration will read again. Such orphans are left behind by
+ * crashed nodes, by failed migrations nobody restarted and by paths that end before the upload or
+ * error handler deleted them. A directory is kept while it is younger than the grace period,
+ * while its migration is in flight or its process instance is still running, and for the
+ * retention period after its migration failed, so that a restart can resume from it.
+ *
+ * <p>Each run also publishes the number and size of the working directories.
+ */
+@Slf4j
+@Service
+@Transactional
+public class WorkingDirectorySweeperService {
+
+    private static final Set<MigrationAudit.MigrationStatus> IN_FLIGHT =
+            EnumSet.of(
+                    MigrationAudit.MigrationStatus.PENDING,
+                    MigrationAudit.MigrationStatus.RUNNING,
+                    MigrationAudit.MigrationStatus.RETRYING);
+
+    private final ArtifactStoreService artifactStore;
+    private final ArtifactStoreProperties storeProps;
+    private final MigrationAuditRepository auditRepo;
+    private final RuntimeService runtimeService;
+    private final Clock clock;
+    private final AtomicLong directories = new AtomicLong();
+    private final AtomicLong usedBytes = new AtomicLong();
+    private final Counter swept;
+
+    /**
+     * Instantiates a new Working directory sweeper service.
+     *
+     * @param artifactStore  the artifact store
+     * @param storeProps     the store props
+     * @param auditRepo      the audit repo
+     * @param runtimeService the runtime service
+     * @param meterRegistry  the meter registry
+     */
+    @SuppressFBWarnings(
+            value = "EI_EXPOSE_REP2",
+            justification = "Spring-injected singleton beans are effectively immutable references")
+    public WorkingDirectorySweeperService(
+            ArtifactStoreService artifactStore,
+            ArtifactStoreProperties storeProps,
+            MigrationAuditRepository auditRepo,
+            RuntimeService runtimeService,
+            MeterRegistry meterRegistry) {
+        this(
+                artifactStore,
+                storeProps,
+                auditRepo,
+                runtimeService,
+                meterRegistry,
+                Clock.systemUTC());
+    }
+
+    /**
+     * Instantiates a new Working directory sweeper service.
+     *
+     * @param artifactStore  the artifact store
+     * @param storeProps     the store props
+     * @param auditRepo      the audit repo
+     * @param runtimeService the runtime service
+     * @param meterRegistry  the meter registry
+     * @param clock          the clock used for the grace and retention periods
+     */
+    WorkingDirectorySweeperService(
+            ArtifactStoreService artifactStore,
+            ArtifactStoreProperties storeProps,
+            MigrationAuditRepository auditRepo,
+            RuntimeService runtimeService,
+            MeterRegistry meterRegistry,
+            Clock clock) {
+        this.artifactStore = artifactStore;
+        this.storeProps = storeProps;
+        this.auditRepo = auditRepo;
+        this.runtimeService = runtimeService;
+        this.clock = clock;
+
+        Gauge.builder("chainvault.workdir.count", directories, AtomicLong::get)
+                .description("Working directories found by the last sweep")
+                .register(meterRegistry);
+        Gauge.builder("chainvault.workdir.used", usedBytes, AtomicLong::get)
+                .description("Space taken by the working directories found by the last sweep")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        swept =
+                Counter.builder("chainvault.workdir.swept")
+                        .description("Orphaned working directories deleted by the sweeper")
+                        .register(meterRegistry);
+    }
+
+    /**
+     * Deletes the orphaned working directories and refreshes the disk usage metrics.
+     *
+     * @return the number of deleted working directories
+     */
+    @Scheduled(
+            initialDelayString = "${migration.artifact-store.sweep-interval}",
+            fixedDelayString = "${migration.artifact-store.sweep-interval}")
+    public int sweep() {
+        List<Path> workingDirectories;
+        try {
+            workingDirectories = artifactStore.workingDirectories();
+        } catch (IOException e) {
+            log.warn("Cannot list working directories: {}", e.getMessage());
+            return 0;
+        }
+
+        Instant now = clock.instant();
+        int deleted = 0;
+        long kept = 0;
+        long used = 0;
+        for (Path workingDirectory : workingDirectories) {
+            try {
+                if (isOrphan(workingDirectory, now)) {
+                    delete(workingDirectory);
+                    deleted++;
+                } else {
+                    kept++;
+                    used += artifactStore.size(workingDirectory);
+                }
+            } catch (IOException e) {
+                log.warn("Cannot sweep working directory {}: {}", workingDirectory, e.getMessage());
+            }
+        }
+
+        directories.set(kept);
+        usedBytes.set(used);
+        swept.increment(deleted);
+        if (deleted > 0) {
+            log.info("Swept {} orphaned working directories, {} remain", deleted, kept);
+        }
+        return deleted;
+    }
+
+    private boolean isOrphan(Path workingDirectory, Instant now) throws IOException {
+        Instant modified = Files.getLastModifiedTime(workingDirectory).toInstant();
+        if (modified.plus(storeProps.orphanGracePeriod()).isAfter(now)) {
+            return false;
+        }
+
+        for (MigrationAudit audit : auditRepo.findByWorkingDirectory(workingDirectory.toString())) {
+            if (IN_FLIGHT.contains(audit.getStatus())) {
+                return false;
+            }
+            if (audit.getStatus() == MigrationAudit.MigrationStatus.FAILED
+                    && audit.getLastUpdatedAt().plus(storeProps.failedRetention()).isAfter(now)) {
+                return false;
+            }
+        }
+
+        Optional<String> processInstanceId = artifactStore.processInstanceIdOf(workingDirectory);
+        return processInstanceId.isEmpty()
+                || runtimeService
+                                .createProcessInstanceQuery()
+                                .processInstanceId(processInstanceId.get())
+                                .count()
+                        == 0;
+    }
+
+    private void delete(Path workingDirectory) throws IOException {
+        log.info("Deleting orphaned working directory {}", workingDirectory);
+        artifactStore.delete(workingDirectory);
+
+        // the checkpoints are gone with it, a restart has to start over
+        for (MigrationAudit audit : auditRepo.findByWorkingDirectory(workingDirectory.toString())) {
+            audit.setWorkingDirectory(null);
+            auditRepo.save(audit);
+        }
+    }
+}
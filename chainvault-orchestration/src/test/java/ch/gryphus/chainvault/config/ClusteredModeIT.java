@@ -0,0 +1,244 @@
+/*
+ * Copyright (c) 2026. Gryphus Lab
+ */
+package ch.gryphus.chainvault.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+import ch.gryphus.chainvault.service.ArtifactStoreService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import lombok.extern.slf4j.Slf4j;
+import org.flowable.common.engine.api.async.AsyncTaskExecutor;
+import org.flowable.common.engine.impl.async.AsyncTaskExecutorConfiguration;
+import org.flowable.common.engine.impl.async.DefaultAsyncTaskExecutor;
+import org.flowable.common.engine.impl.history.HistoryLevel;
+import org.flowable.engine.ProcessEngine;
+import org.flowable.engine.ProcessEngineConfiguration;
+import org.flowable.engine.delegate.JavaDelegate;
+import org.flowable.engine.impl.cfg.StandaloneProcessEngineConfiguration;
+import org.flowable.engine.parse.BpmnParseHandler;
+import org.flowable.job.service.impl.asyncexecutor.AsyncJobExecutorConfiguration;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.postgresql.PostgreSQLContainer;
+import org.testcontainers.utility.DockerImageName;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * Integration benchmark of the clustered mode: 1, 2 and 4 process engines share one Postgres and
+ * one artifact directory, and drain a backlog of multi-stage processes whose stages are split into
+ * separate jobs by {@link ClusteredStageParseHandler}. Every stage reads the artifact of the
+ * previous one from the shared directory, so a process instance may continue on any node.
+ */
+@Slf4j
+@Testcontainers
+class ClusteredModeIT {
+
+    private static final int PROCESSES = 120;
+    private static final int STAGES = 4;
+    private static final long STAGE_MILLIS = 25;
+
+    private static final String PROCESS =
+            """
+            <?xml version="1.0" encoding="UTF-8"?>
+            <definitions xmlns="http://www.omg.org/spec/BPMN/20100524/MODEL"
+                         xmlns:flowable="http://flowable.org/bpmn"
+                         targetNamespace="http://chainvault.gryphus.ch/benchmark">
+              <process id="clusteredBenchmark" isExecutable="true">
+                <startEvent id="start"/>
+                <sequenceFlow id="toExtract" sourceRef="start" targetRef="Task_Extract"/>
+                <serviceTask id="Task_Extract" flowable:async="true" flowable:delegateExpression="${stage}"/>
+                <sequenceFlow id="toPrepare" sourceRef="Task_Extract" targetRef="Task_Prepare"/>
+                <serviceTask id="Task_Prepare" flowable:delegateExpression="${stage}"/>
+                <sequenceFlow id="toTransform" sourceRef="Task_Prepare" targetRef="Task_Transform"/>
+                <serviceTask id="Task_Transform" flowable:delegateExpression="${stage}"/>
+                <sequenceFlow id="toSend" sourceRef="Task_Transform" targetRef="Task_Send"/>
+                <serviceTask id="Task_Send" flowable:delegateExpression="${stage}"/>
+                <sequenceFlow id="toEnd" sourceRef="Task_Send" targetRef="end"/>
+                <endEvent id="end"/>
+              </process>
+            </definitions>
+            """;
+
+    @Container
+    private static final PostgreSQLContainer postgres =
+            new PostgreSQLContainer(DockerImageName.parse("postgres:18-alpine"))
+                    .withDatabaseName("flowable_clustered");
+
+    @TempDir Path sharedDirectory;
+
+    private final Map<String, Set<String>> nodesByProcess = new ConcurrentHashMap<>();
+
+    /**
+     * Drains the backlog with 1, 2 and 4 engines and checks the throughput scales with the nodes.
+     */
+    @Test
+    void benchmarkClusteredThroughput_1_2_4_instances() {
+        Map<Integer, Double> results = new LinkedHashMap<>();
+        for (int instances : new int[] {1, 2, 4}) {
+            results.put(instances, drainBacklog(instances));
+        }
+
+        double single = results.get(1);
+        results.forEach(
+                (instances, processesPerSecond) ->
+                        log.info(
+                                "{} instance(s): {} processes/sec, speedup {}",
+                                instances,
+                                Math.round(processesPerSecond),
+                                "%.2f".formatted(processesPerSecond / single)));
+        assertThat(results.get(2) / single).isGreaterThan(1.4);
+        assertThat(results.get(4) / single).isGreaterThan(2.8);
+    }
+
+    private double drainBacklog(int instances) {
+        nodesByProcess.clear();
+        List<ProcessEngine> engines = new ArrayList<>();
+        try {
+            for (int i = 0; i < instances; i++) {
+                engines.add(buildEngine("clustered-%d-%d".formatted(instances, i)));
+            }
+            ProcessEngine first = engines.getFirst();
+            if (first.getRepositoryService().createDeploymentQuery().count() == 0) {
+                first.getRepositoryService()
+                        .createDeployment()
+                        .addString("clustered-benchmark.bpmn20.xml", PROCESS)
+                        .deploy();
+            }
+            for (int i = 0; i < PROCESSES; i++) {
+                first.getRuntimeService().startProcessInstanceByKey("clusteredBenchmark");
+            }
+
+            long start = System.nanoTime();
+            engines.forEach(
+                    engine -> engine.getProcessEngineConfiguration().getAsyncExecutor().start());
+            await().atMost(Duration.ofMinutes(5))
+                    .pollInterval(Duration.ofMillis(100))
+                    .until(
+                            () ->
+                                    first.getRuntimeService().createProcessInstanceQuery().count()
+                                            == 0);
+            double seconds = (System.nanoTime() - start) / 1_000_000_000d;
+
+            assertThat(first.getManagementService().createDeadLetterJobQuery().count()).isZero();
+            assertThat(nodesByProcess).hasSize(PROCESSES);
+            assertThat(nodesByProcess.values().stream().flatMap(Set::stream).distinct())
+                    .hasSize(instances);
+            return PROCESSES / seconds;
+        } finally {
+            engines.forEach(ClusteredModeIT::close);
+        }
+    }
+
+    private static void close(ProcessEngine engine) {
+        AsyncTaskExecutor taskExecutor =
+                engine.getProcessEngineConfiguration().getAsyncExecutor().getTaskExecutor();
+        engine.close();
+        taskExecutor.shutdown();
+    }
+
+    private ProcessEngine buildEngine(String name) {
+        AsyncJobExecutorConfiguration executorConfig = new AsyncJobExecutorConfiguration();
+        executorConfig.setDefaultAsyncJobAcquireWaitTime(Duration.ofMillis(100));
+        executorConfig.setMaxAsyncJobsDuePerAcquisition(4);
+
+        AsyncTaskExecutorConfiguration taskConfig = new AsyncTaskExecutorConfiguration();
+        taskConfig.setCorePoolSize(2);
+        taskConfig.setMaxPoolSize(2);
+        taskConfig.setQueueSize(4);
+        DefaultAsyncTaskExecutor taskExecutor = new DefaultAsyncTaskExecutor(taskConfig);
+        taskExecutor.start();
+        StageAwareAsyncExecutor asyncExecutor =
+                new StageAwareAsyncExecutor(
+                        executorConfig,
+                        runnable -> runnable,
+                        new AsyncExecutorProperties(
+                                AsyncExecutorProperties.Mode.PLATFORM,
+                                2,
+                                2,
+                                Duration.ofMillis(500)));
+        asyncExecutor.setTaskExecutor(taskExecutor);
+
+        StandaloneProcessEngineConfiguration configuration =
+                new StandaloneProcessEngineConfiguration();
+        configuration.setEngineName(name);
+        configuration.setJdbcUrl(postgres.getJdbcUrl());
+        configuration.setJdbcUsername(postgres.getUsername());
+        configuration.setJdbcPassword(postgres.getPassword());
+        configuration.setJdbcDriver(postgres.getDriverClassName());
+        configuration.setDatabaseSchemaUpdate(ProcessEngineConfiguration.DB_SCHEMA_UPDATE_TRUE);
+        configuration.setHistoryLevel(HistoryLevel.NONE);
+        configuration.setAsyncExecutor(asyncExecutor);
+        configuration.setAsyncExecutorActivate(false);
+        configuration.setPostBpmnParseHandlers(
+                List.<BpmnParseHandler>of(
+                        new ClusteredStageParseHandler(
+                                Map.of(
+                                        "Task_Prepare", "",
+                                        "Task_Transform", "",
+                                        "Task_Send", StageAwareAsyncExecutor.IO_CATEGORY))));
+        configuration.setBeans(Map.of("stage", stage(name)));
+        return configuration.buildProcessEngine();
+    }
+
+    /**
+     * A stage that takes {@link #STAGE_MILLIS}, reads the artifact of the previous stage from the
+     * shared directory, appends to it and records the node it ran on.
+     */
+    private JavaDelegate stage(String node) {
+        var artifactStore =
+                new ArtifactStoreService(
+                        new MigrationProperties(
+                                sharedDirectory.resolve("local").toString(),
+                                5000000,
+                                10.0,
+                                10000,
+                                "eng",
+                                300),
+                        new ArtifactStoreProperties(
+                                sharedDirectory.toString(),
+                                DataSize.ofGigabytes(1),
+                                DataSize.ofGigabytes(10),
+                                4.0,
+                                Duration.ofMinutes(5),
+                                Duration.ofHours(1),
+                                Duration.ofDays(7),
+                                "",
+                                DataSize.ofMegabytes(5)),
+                        new SimpleMeterRegistry());
+        return execution -> {
+            try {
+                String pid = execution.getProcessInstanceId();
+                Path workingDirectory = artifactStore.open(pid);
+                String previous = (String) execution.getVariable("artifactRef");
+                byte[] data =
+                        previous == null
+                                ? new byte[0]
+                                : artifactStore.getBytes(workingDirectory, previous);
+                assertThat(data).hasSizeLessThan(STAGES);
+
+                byte[] next = new byte[data.length + 1];
+                System.arraycopy(data, 0, next, 0, data.length);
+                execution.setVariable(
+                        "artifactRef",
+                        artifactStore.putBytes(
+                                workingDirectory, "stage-%d.bin".formatted(next.length), next));
+                nodesByProcess.computeIfAbsent(pid, key -> ConcurrentHashMap.newKeySet()).add(node);
+                Thread.sleep(STAGE_MILLIS);
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        };
+    }
+}
@@ -0,0 +1,104 @@
+/*
+ * Copyright (c) 2026. Gryphus Lab
+ */
+package ch.gryphus.chainvault.config;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.util.List;
+import java.util.Map;
+import org.flowable.bpmn.model.ExtensionElement;
+import org.flowable.bpmn.model.ServiceTask;
+import org.junit.jupiter.api.Test;
+
+/**
+ * The type Clustered stage parse handler test.
+ */
+class ClusteredStageParseHandlerTest {
+
+    private final ClusteredStageParseHandler handlerUnderTest =
+            new ClusteredStageParseHandler(
+                    Map.of("Task_OCR", "", "Task_Send", StageAwareAsyncExecutor.IO_CATEGORY));
+
+    /**
+     * Test configured stages become exclusive async continuations.
+     */
+    @Test
+    void testExecuteParse_shouldMakeConfiguredStagesAsync() {
+        ServiceTask ocr = serviceTask("Task_OCR");
+
+        handlerUnderTest.executeParse(null, ocr);
+
+        assertThat(ocr.isAsynchronous()).isTrue();
+        assertThat(ocr.isExclusive()).isTrue();
+        assertThat(ocr.getExtensionElements()).doesNotContainKey("jobCategory");
+    }
+
+    /**
+     * Test a configured category is set as the job category of the stage.
+     */
+    @Test
+    void testExecuteParse_shouldSetJobCategory() {
+        ServiceTask send = serviceTask("Task_Send");
+
+        handlerUnderTest.executeParse(null, send);
+
+        assertThat(send.isAsynchronous()).isTrue();
+        assertThat(send.getExtensionElements().get("jobCategory"))
+                .singleElement()
+                .extracting(ExtensionElement::getElementText)
+                .isEqualTo(StageAwareAsyncExecutor.IO_CATEGORY);
+    }
+
+    /**
+     * Test a job category declared in the model is kept.
+     */
+    @Test
+    void testExecuteParse_shouldKeepDeclaredJobCategory() {
+        ServiceTask send = serviceTask("Task_Send");
+        var declared = new ExtensionElement();
+        declared.setName("jobCategory");
+        declared.setElementText("custom");
+        send.getExtensionElements().put("jobCategory", List.of(declared));
+
+        handlerUnderTest.executeParse(null, send);
+
+        assertThat(send.getExtensionElements().get("jobCategory")).containsExactly(declared);
+    }
+
+    /**
+     * Test other service tasks are left untouched.
+     */
+    @Test
+    void testExecuteParse_shouldIgnoreOtherTasks() {
+        ServiceTask extract = serviceTask("Task_Extract");
+
+        handlerUnderTest.executeParse(null, extract);
+
+        assertThat(extract.isAsynchronous()).isFalse();
+        assertThat(extract.getExtensionElements()).isEmpty();
+        assertThat(handlerUnderTest.getHandledType()).isEqualTo(ServiceTask.class);
+    }
+
+    /**
+     * Test the clustered stages split every step after the extraction into its own job.
+     */
+    @Test
+    void testClusteredStages_shouldRouteUploadToIoExecutor() {
+        assertThat(ClusterConfiguration.CLUSTERED_STAGES)
+                .containsOnlyKeys(
+                        "Task_Sign",
+                        "Task_Prepare",
+                        "Task_OCR",
+                        "Task_Merge",
+                        "Task_Transform",
+                        "Task_Send")
+                .containsEntry("Task_Send", StageAwareAsyncExecutor.IO_CATEGORY);
+    }
+
+    private static ServiceTask serviceTask(String id) {
+        ServiceTask serviceTask = new ServiceTask();
+        serviceTask.setId(id);
+        return serviceTask;
+    }
+}
@@ -0,0 +1,92 @@
+/*
+ * Copyright (c) 2026. Gryphus Lab
+ */
+package ch.gryphus.chainvault.config;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.io.IOException;
+import net.sourceforge.tess4j.TesseractException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.task.support.ContextPropagatingTaskDecorator;
+
+/**
+ * The type Cpu stage executor test.
+ */
+class CpuStageExecutorTest {
+
+    private CpuStageExecutor cpuStageExecutorUnderTest;
+
+    /**
+     * Sets up.
+     */
+    @BeforeEach
+    void setUp() {
+        cpuStageExecutorUnderTest =
+                new CpuStageExecutor(
+                        new StageExecutorProperties(2), new ContextPropagatingTaskDecorator());
+    }
+
+    /**
+     * Tear down.
+     */
+    @AfterEach
+    void tearDown() {
+        cpuStageExecutorUnderTest.shutdown();
+    }
+
+    /**
+     * Test call runs the task on a platform thread of the cpu pool.
+     *
+     * @throws Exception the exception
+     */
+    @Test
+    void testCall_shouldRunOnCpuPool() throws Exception {
+        Thread thread = cpuStageExecutorUnderTest.call(Thread::currentThread);
+
+        assertThat(thread).isNotSameAs(Thread.currentThread());
+        assertThat(thread.isVirtual()).isFalse();
+        assertThat(thread.getName()).startsWith("cpu-stage-");
+        assertThat(cpuStageExecutorUnderTest.getPoolSize()).isEqualTo(2);
+    }
+
+    /**
+     * Test call rethrows checked exceptions of the task unchanged.
+     */
+    @Test
+    void testCall_shouldRethrowCheckedExceptions() {
+        assertThatExceptionOfType(TesseractException.class)
+                .isThrownBy(
+                        () ->
+                                cpuStageExecutorUnderTest.call(
+                                        () -> {
+                                            throw new TesseractException("ocr failed");
+                                        }));
+        assertThatExceptionOfType(IOException.class)
+                .isThrownBy(
+                        () ->
+                                cpuStageExecutorUnderTest.call(
+                                        () -> {
+                                            throw new IOException("disk full");
+                                        }));
+        assertThatIllegalArgumentException()
+                .isThrownBy(
+                        () ->
+                                cpuStageExecutorUnderTest.call(
+                                        () -> {
+                                            throw new IllegalArgumentException("bad input");
+                                        }));
+    }
+
+    /**
+     * Test the pool defaults to the available processors.
+     */
+    @Test
+    void testResolvedCpuThreads_shouldDefaultToAvailableProcessors() {
+        assertThat(new StageExecutorProperties(0).resolvedCpuThreads())
+                .isEqualTo(Runtime.getRuntime().availableProcessors());
+        assertThat(new StageExecutorProperties(3).resolvedCpuThreads()).isEqualTo(3);
+    }
+}
@@ -0,0 +1,169 @@
+/*
+ * Copyright (c) 2026. Gryphus Lab
+ */
+package ch.gryphus.chainvault.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import lombok.extern.slf4j.Slf4j;
+import org.flowable.common.engine.api.async.AsyncTaskExecutor;
+import org.flowable.common.engine.impl.async.AsyncTaskExecutorConfiguration;
+import org.flowable.common.engine.impl.async.DefaultAsyncTaskExecutor;
+import org.flowable.common.engine.impl.history.HistoryLevel;
+import org.flowable.engine.ProcessEngine;
+import org.flowable.engine.ProcessEngineConfiguration;
+import org.flowable.engine.impl.cfg.StandaloneProcessEngineConfiguration;
+import org.flowable.job.service.impl.asyncexecutor.AsyncJobExecutorConfiguration;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.context.properties.source.ConfigurationPropertySources;
+import org.springframework.boot.env.YamlPropertySourceLoader;
+import org.springframework.core.io.ClassPathResource;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.postgresql.PostgreSQLContainer;
+import org.testcontainers.utility.DockerImageName;
+
+/**
+ * Integration benchmark of the throughput profile: 1, 2 and 4 process engines, each configured
+ * from {@code application-throughput.yml}, drain the same backlog of async jobs from one Postgres
+ * and the resulting jobs/sec are reported.
+ */
+@Slf4j
+@Testcontainers
+class JobAcquisitionThroughputIT {
+
+    private static final int JOBS = 600;
+
+    private static final String PROCESS =
+            """
+            <?xml version="1.0" encoding="UTF-8"?>
+            <definitions xmlns="http://www.omg.org/spec/BPMN/20100524/MODEL"
+                         xmlns:flowable="http://flowable.org/bpmn"
+                         targetNamespace="http://chainvault.gryphus.ch/benchmark">
+              <process id="throughputBenchmark" isExecutable="true">
+                <startEvent id="start"/>
+                <sequenceFlow id="toWork" sourceRef="start" targetRef="work"/>
+                <serviceTask id="work" flowable:async="true" flowable:expression="${true}"/>
+                <sequenceFlow id="toEnd" sourceRef="work" targetRef="end"/>
+                <endEvent id="end"/>
+              </process>
+            </definitions>
+            """;
+
+    @Container
+    private static final PostgreSQLContainer postgres =
+            new PostgreSQLContainer(DockerImageName.parse("postgres:18-alpine"))
+                    .withDatabaseName("flowable_benchmark");
+
+    private static Binder profile;
+
+    @BeforeAll
+    static void loadProfile() throws IOException {
+        var sources =
+                new YamlPropertySourceLoader()
+                        .load("throughput", new ClassPathResource("application-throughput.yml"));
+        profile = new Binder(ConfigurationPropertySources.from(sources.getFirst()));
+    }
+
+    /**
+     * Drains the backlog with 1, 2 and 4 engines and reports the throughput.
+     */
+    @Test
+    void benchmarkJobsPerSecond_1_2_4_instances() {
+        Map<Integer, Double> results = new LinkedHashMap<>();
+        for (int instances : new int[] {1, 2, 4}) {
+            results.put(instances, drainBacklog(instances));
+        }
+
+        results.forEach(
+                (instances, jobsPerSecond) ->
+                        log.info(
+                                "{} instance(s): {} jobs/sec",
+                                instances,
+                                Math.round(jobsPerSecond)));
+        assertThat(results.values())
+                .allSatisfy(jobsPerSecond -> assertThat(jobsPerSecond).isPositive());
+    }
+
+    private double drainBacklog(int instances) {
+        List<ProcessEngine> engines = new ArrayList<>();
+        try {
+            for (int i = 0; i < instances; i++) {
+                engines.add(buildEngine("benchmark-%d-%d".formatted(instances, i)));
+            }
+            ProcessEngine first = engines.getFirst();
+            if (first.getRepositoryService().createDeploymentQuery().count() == 0) {
+                first.getRepositoryService()
+                        .createDeployment()
+                        .addString("throughput-benchmark.bpmn20.xml", PROCESS)
+                        .deploy();
+            }
+            for (int i = 0; i < JOBS; i++) {
+                first.getRuntimeService().startProcessInstanceByKey("throughputBenchmark");
+            }
+
+            long start = System.nanoTime();
+            engines.forEach(
+                    engine -> engine.getProcessEngineConfiguration().getAsyncExecutor().start());
+            await().atMost(Duration.ofMinutes(5))
+                    .pollInterval(Duration.ofMillis(100))
+                    .until(() -> first.getManagementService().createJobQuery().count() == 0);
+            double seconds = (System.nanoTime() - start) / 1_000_000_000d;
+
+            assertThat(first.getManagementService().createDeadLetterJobQuery().count()).isZero();
+            return JOBS / seconds;
+        } finally {
+            engines.forEach(JobAcquisitionThroughputIT::close);
+        }
+    }
+
+    private static void close(ProcessEngine engine) {
+        AsyncTaskExecutor taskExecutor =
+                engine.getProcessEngineConfiguration().getAsyncExecutor().getTaskExecutor();
+        engine.close();
+        taskExecutor.shutdown();
+    }
+
+    private static ProcessEngine buildEngine(String name) {
+        AsyncJobExecutorConfiguration executorConfig =
+                profile.bind("flowable.process.async.executor", AsyncJobExecutorConfiguration.class)
+                        .get();
+        AsyncTaskExecutorConfiguration taskConfig =
+                profile.bind("flowable.task-invoker", AsyncTaskExecutorConfiguration.class).get();
+
+        DefaultAsyncTaskExecutor taskExecutor = new DefaultAsyncTaskExecutor(taskConfig);
+        taskExecutor.start();
+        StageAwareAsyncExecutor asyncExecutor =
+                new StageAwareAsyncExecutor(
+                        executorConfig,
+                        runnable -> runnable,
+                        new AsyncExecutorProperties(
+                                AsyncExecutorProperties.Mode.PLATFORM,
+                                256,
+                                8,
+                                Duration.ofMillis(500)));
+        asyncExecutor.setTaskExecutor(taskExecutor);
+
+        StandaloneProcessEngineConfiguration configuration =
+                new StandaloneProcessEngineConfiguration();
+        configuration.setEngineName(name);
+        configuration.setJdbcUrl(postgres.getJdbcUrl());
+        configuration.setJdbcUsername(postgres.getUsername());
+        configuration.setJdbcPassword(postgres.getPassword());
+        configuration.setJdbcDriver(postgres.getDriverClassName());
+        configuration.setDatabaseSchemaUpdate(ProcessEngineConfiguration.DB_SCHEMA_UPDATE_TRUE);
+        configuration.setHistoryLevel(HistoryLevel.NONE);
+        configuration.setAsyncExecutor(asyncExecutor);
+        configuration.setAsyncExecutorActivate(false);
+        return configuration.buildProcessEngine();
+    }
+}
@@ -0,0 +1,80 @@
+/*
+ * Copyright (c) 2026. Gryphus Lab
+ */
+package ch.gryphus.chainvault.config;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.util.List;
+import java.util.Map;
+import org.flowable.bpmn.model.ExtensionElement;
+import org.flowable.bpmn.model.ServiceTask;
+import org.junit.jupiter.api.Test;
+
+/**
+ * The type Priority lane parse handler test.
+ */
+class PriorityLaneParseHandlerTest {
+
+    private final PriorityLaneParseHandler handlerUnderTest = new PriorityLaneParseHandler();
+
+    /**
+     * Test async tasks get the lane expression as job category.
+     */
+    @Test
+    void testExecuteParse_shouldRouteAsyncTasksByPriority() {
+        ServiceTask extract = serviceTask("Task_Extract", true);
+
+        handlerUnderTest.executeParse(null, extract);
+
+        assertThat(jobCategory(extract))
+                .isEqualTo(
+                        "${vars:getOrDefault('priority', 'BULK') == 'INTERACTIVE'"
+                                + " ? 'interactive' : null}");
+    }
+
+    /**
+     * Test a static category is kept for bulk migrations.
+     */
+    @Test
+    void testExecuteParse_shouldKeepStaticCategoryForBulk() {
+        ServiceTask send = serviceTask("Task_Send", true);
+        new ClusteredStageParseHandler(Map.of("Task_Send", StageAwareAsyncExecutor.IO_CATEGORY))
+                .executeParse(null, send);
+
+        handlerUnderTest.executeParse(null, send);
+
+        assertThat(jobCategory(send)).endsWith("? 'interactive' : 'io'}");
+    }
+
+    /**
+     * Test synchronous tasks and expression categories are left untouched.
+     */
+    @Test
+    void testExecuteParse_shouldIgnoreSyncTasksAndExpressions() {
+        ServiceTask sign = serviceTask("Task_Sign", false);
+        ServiceTask custom = serviceTask("Task_Custom", true);
+        var declared = new ExtensionElement();
+        declared.setName("jobCategory");
+        declared.setElementText("${category}");
+        custom.getExtensionElements().put("jobCategory", List.of(declared));
+
+        handlerUnderTest.executeParse(null, sign);
+        handlerUnderTest.executeParse(null, custom);
+
+        assertThat(sign.getExtensionElements()).isEmpty();
+        assertThat(jobCategory(custom)).isEqualTo("${category}");
+        assertThat(handlerUnderTest.getHandledType()).isEqualTo(ServiceTask.class);
+    }
+
+    private static ServiceTask serviceTask(String id, boolean async) {
+        ServiceTask serviceTask = new ServiceTask();
+        serviceTask.setId(id);
+        serviceTask.setAsynchronous(async);
+        return serviceTask;
+    }
+
+    private static String jobCategory(ServiceTask serviceTask) {
+        return serviceTask.getExtensionElements().get("jobCategory").getFirst().getElementText();
+    }
+}
@@ -0,0 +1,141 @@
+/*
+ * Copyright (c) 2026. Gryphus Lab
+ */
+package ch.gryphus.chainvault.config;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import org.flowable.common.engine.api.async.AsyncTaskExecutor;
+import org.flowable.job.api.Job;
+import org.flowable.job.service.impl.asyncexecutor.AsyncJobExecutorConfiguration;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.core.task.support.ContextPropagatingTaskDecorator;
+
+/**
+ * The type Stage aware async executor test.
+ */
+@MockitoSettings(strictness = Strictness.LENIENT)
+@ExtendWith(MockitoExtension.class)
+class StageAwareAsyncExecutorTest {
+
+    @Mock private AsyncTaskExecutor mockTaskExecutor;
+    @Mock private Job mockJob;
+
+    private StageAwareAsyncExecutor executorUnderTest;
+
+    /**
+     * Sets up.
+     */
+    @BeforeEach
+    void setUp() {
+        executorUnderTest = newExecutor(AsyncExecutorProperties.Mode.PLATFORM);
+    }
+
+    /**
+     * Tear down.
+     */
+    @AfterEach
+    void tearDown() {
+        executorUnderTest.stopExecutingAsyncJobs();
+    }
+
+    /**
+     * Test io jobs run on virtual threads.
+     *
+     * @throws Exception the exception
+     */
+    @Test
+    void testExecuteAsyncJob_shouldRunIoJobsOnVirtualThreads() throws Exception {
+        when(mockJob.getCategory()).thenReturn(StageAwareAsyncExecutor.IO_CATEGORY);
+        CompletableFuture<Thread> worker = new CompletableFuture<>();
+
+        boolean accepted =
+                executorUnderTest.executeAsyncJob(
+                        mockJob, () -> worker.complete(Thread.currentThread()));
+
+        assertThat(accepted).isTrue();
+        assertThat(worker.get(5, TimeUnit.SECONDS).isVirtual()).isTrue();
+        verifyNoInteractions(mockTaskExecutor);
+    }
+
+    /**
+     * Test jobs of interactive migrations run on their own lane.
+     *
+     * @throws Exception the exception
+     */
+    @Test
+    void testExecuteAsyncJob_shouldRunInteractiveJobsOnTheirOwnLane() throws Exception {
+        when(mockJob.getCategory()).thenReturn(StageAwareAsyncExecutor.INTERACTIVE_CATEGORY);
+        CompletableFuture<Thread> worker = new CompletableFuture<>();
+
+        boolean accepted =
+                executorUnderTest.executeAsyncJob(
+                        mockJob, () -> worker.complete(Thread.currentThread()));
+
+        assertThat(accepted).isTrue();
+        assertThat(worker.get(5, TimeUnit.SECONDS).getName()).startsWith("flowable-interactive-");
+        verifyNoInteractions(mockTaskExecutor);
+    }
+
+    /**
+     * Test jobs without the io category keep using the flowable task executor.
+     */
+    @Test
+    void testExecuteAsyncJob_shouldUseTaskExecutorForOtherJobs() {
+        when(mockJob.getCategory()).thenReturn(null);
+        Runnable runnable = () -> {};
+
+        boolean accepted = executorUnderTest.executeAsyncJob(mockJob, runnable);
+
+        assertThat(accepted).isTrue();
+        verify(mockTaskExecutor).execute(runnable);
+    }
+
+    /**
+     * Test virtual mode runs every job on the capped virtual thread executor.
+     *
+     * @throws Exception the exception
+     */
+    @Test
+    void testExecuteAsyncJob_shouldRunAllJobsOnVirtualThreadsInVirtualMode() throws Exception {
+        executorUnderTest.stopExecutingAsyncJobs();
+        executorUnderTest = newExecutor(AsyncExecutorProperties.Mode.VIRTUAL);
+        when(mockJob.getCategory()).thenReturn(null);
+        CompletableFuture<Thread> worker = new CompletableFuture<>();
+
+        boolean accepted =
+                executorUnderTest.executeAsyncJob(
+                        mockJob, () -> worker.complete(Thread.currentThread()));
+
+        assertThat(accepted).isTrue();
+        assertThat(worker.get(5, TimeUnit.SECONDS).isVirtual()).isTrue();
+        assertThat(executorUnderTest.getTaskExecutor())
+                .isInstanceOf(VirtualThreadAsyncTaskExecutor.class);
+        verifyNoInteractions(mockTaskExecutor);
+
+        executorUnderTest.stopExecutingAsyncJobs();
+        assertThat(executorUnderTest.getTaskExecutor()).isSameAs(mockTaskExecutor);
+    }
+
+    private StageAwareAsyncExecutor newExecutor(AsyncExecutorProperties.Mode mode) {
+        var executor =
+                new StageAwareAsyncExecutor(
+                        new AsyncJobExecutorConfiguration(),
+                        new ContextPropagatingTaskDecorator(),
+                        new AsyncExecutorProperties(mode, 4, 2, Duration.ofMillis(50)));
+        executor.setTaskExecutor(mockTaskExecutor);
+        executor.initAsyncJobExecutionThreadPool();
+        return executor;
+    }
+}
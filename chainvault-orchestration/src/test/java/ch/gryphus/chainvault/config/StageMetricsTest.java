@@ -0,0 +1,94 @@
+/*
+ * Copyright (c) 2026. Gryphus Lab
+ */
+package ch.gryphus.chainvault.config;
+
+import static org.assertj.core.api.Assertions.*;
+
+import ch.gryphus.chainvault.domain.OcrPageTelemetry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * The type Stage metrics test.
+ */
+class StageMetricsTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private StageMetrics stageMetricsUnderTest;
+
+    /**
+     * Sets up.
+     */
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        stageMetricsUnderTest = new StageMetrics(meterRegistry);
+    }
+
+    /**
+     * Test record ocr page times every phase tagged by the ocr settings.
+     */
+    @Test
+    void testRecordOcrPage_shouldTimePhasesBySettings() {
+        stageMetricsUnderTest.recordOcrPage(
+                new OcrPageTelemetry(
+                        "page1.png",
+                        2480,
+                        3508,
+                        3,
+                        300,
+                        true,
+                        TimeUnit.MILLISECONDS.toNanos(20),
+                        TimeUnit.MILLISECONDS.toNanos(30),
+                        TimeUnit.SECONDS.toNanos(2),
+                        91,
+                        1800,
+                        4_349_920));
+
+        assertThat(
+                        meterRegistry
+                                .get("chainvault.ocr.page.duration")
+                                .tags("phase", "recognize", "psm", "3", "dpi", "300")
+                                .tag("preprocess", "true")
+                                .timer()
+                                .totalTime(TimeUnit.MILLISECONDS))
+                .isEqualTo(2000);
+        assertThat(
+                        meterRegistry
+                                .get("chainvault.ocr.page.duration")
+                                .tag("phase", "preprocess")
+                                .timer()
+                                .totalTime(TimeUnit.MILLISECONDS))
+                .isEqualTo(30);
+        assertThat(meterRegistry.get("chainvault.ocr.page.confidence").summary().totalAmount())
+                .isEqualTo(91);
+        assertThat(meterRegistry.get("chainvault.ocr.page.throughput").summary().totalAmount())
+                .isEqualTo(4_349_920);
+    }
+
+    /**
+     * Test record ocr page skips the preprocess phase of pages that were not preprocessed.
+     */
+    @Test
+    void testRecordOcrPage_shouldSkipPreprocessWhenDisabled() {
+        stageMetricsUnderTest.recordOcrPage(
+                new OcrPageTelemetry("page1.png", 827, 1169, 6, 100, false, 1, 0, 1, 80, 10, 1));
+
+        assertThat(
+                        meterRegistry
+                                .find("chainvault.ocr.page.duration")
+                                .tag("phase", "preprocess")
+                                .timer())
+                .isNull();
+        assertThat(
+                        meterRegistry
+                                .get("chainvault.ocr.page.duration")
+                                .tags("phase", "decode", "psm", "6", "preprocess", "false")
+                                .timer()
+                                .count())
+                .isEqualTo(1);
+    }
+}
@@ -0,0 +1,139 @@
+/*
+ * Copyright (c) 2026. Gryphus Lab
+ */
+package ch.gryphus.chainvault.config;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.awaitility.Awaitility.await;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.task.TaskDecorator;
+
+/**
+ * The type Virtual thread async task executor test.
+ */
+class VirtualThreadAsyncTaskExecutorTest {
+
+    /**
+     * Test tasks run on virtual threads with the decorator applied.
+     *
+     * @throws Exception the exception
+     */
+    @Test
+    void testSubmit_shouldRunDecoratedTaskOnVirtualThread() throws Exception {
+        AtomicInteger decorated = new AtomicInteger();
+        TaskDecorator decorator =
+                runnable -> {
+                    decorated.incrementAndGet();
+                    return runnable;
+                };
+        var executor = new VirtualThreadAsyncTaskExecutor("test-vt-", 2, decorator);
+
+        Thread thread = executor.submit(Thread::currentThread).get(5, TimeUnit.SECONDS);
+
+        assertThat(thread.isVirtual()).isTrue();
+        assertThat(thread.getName()).startsWith("test-vt-");
+        assertThat(decorated).hasValue(1);
+        executor.shutdown();
+    }
+
+    /**
+     * Test the semaphore caps concurrency and frees permits once tasks complete.
+     *
+     * @throws Exception the exception
+     */
+    @Test
+    void testSubmit_shouldRejectTasksBeyondConcurrencyCap() throws Exception {
+        var executor = new VirtualThreadAsyncTaskExecutor("test-vt-", 2, runnable -> runnable);
+        CountDownLatch release = new CountDownLatch(1);
+
+        CompletableFuture<?> first = executor.submit(() -> awaitQuietly(release));
+        CompletableFuture<?> second = executor.submit(() -> awaitQuietly(release));
+
+        assertThat(executor.getRemainingCapacity()).isZero();
+        assertThat(executor.getActiveCount()).isEqualTo(2);
+        assertThatExceptionOfType(RejectedExecutionException.class)
+                .isThrownBy(() -> executor.execute(() -> {}));
+
+        release.countDown();
+        CompletableFuture.allOf(first, second).get(5, TimeUnit.SECONDS);
+
+        assertThat(executor.getRemainingCapacity()).isEqualTo(2);
+        executor.shutdown();
+    }
+
+    /**
+     * Test failures of a task complete its future exceptionally and release the permit.
+     */
+    @Test
+    void testSubmit_shouldCompleteExceptionallyOnFailure() {
+        var executor = new VirtualThreadAsyncTaskExecutor("test-vt-", 1, runnable -> runnable);
+
+        CompletableFuture<Object> future =
+                executor.submit(
+                        () -> {
+                            throw new IllegalStateException("boom");
+                        });
+
+        assertThat(future).failsWithin(5, TimeUnit.SECONDS);
+        assertThat(executor.getRemainingCapacity()).isEqualTo(1);
+        executor.shutdown();
+    }
+
+    /**
+     * Test far more than 32 tasks run at once, but never more than the concurrency cap.
+     *
+     * @throws Exception the exception
+     */
+    @Test
+    void testSubmit_shouldRunUpToConcurrencyCapAtOnce() throws Exception {
+        int maxConcurrency = 1000;
+        var executor =
+                new VirtualThreadAsyncTaskExecutor(
+                        "test-vt-", maxConcurrency, runnable -> runnable);
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger peak = new AtomicInteger();
+        CountDownLatch started = new CountDownLatch(maxConcurrency);
+        CountDownLatch release = new CountDownLatch(1);
+        List<CompletableFuture<?>> futures = new ArrayList<>();
+
+        for (int i = 0; i < maxConcurrency; i++) {
+            futures.add(
+                    executor.submit(
+                            () -> {
+                                peak.accumulateAndGet(running.incrementAndGet(), Math::max);
+                                started.countDown();
+                                awaitQuietly(release);
+                                running.decrementAndGet();
+                            }));
+        }
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+        assertThat(peak.get()).isGreaterThan(32).isLessThanOrEqualTo(maxConcurrency);
+        assertThatExceptionOfType(RejectedExecutionException.class)
+                .isThrownBy(() -> executor.execute(() -> {}));
+
+        release.countDown();
+        CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).get(5, TimeUnit.SECONDS);
+        // a permit is released just after the future of its task completes
+        await().atMost(Duration.ofSeconds(5))
+                .until(() -> executor.getRemainingCapacity() == maxConcurrency);
+        executor.shutdown();
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
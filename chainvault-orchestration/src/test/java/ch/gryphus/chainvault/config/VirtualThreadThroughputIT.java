@@ -0,0 +1,77 @@
+/*
+ * Copyright (c) 2026. Gryphus Lab
+ */
+package ch.gryphus.chainvault.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Integration benchmark of the virtual thread task executor: the same backlog of blocking
+ * documents is run with 32 and with 1000 documents in flight and the resulting docs/sec are
+ * reported.
+ */
+@Slf4j
+class VirtualThreadThroughputIT {
+
+    private static final int DOCUMENTS = 2000;
+    private static final long BLOCKING_MILLIS = 20;
+
+    /**
+     * Runs the backlog with 32 and 1000 documents in flight and reports the throughput.
+     *
+     * @throws Exception the exception
+     */
+    @Test
+    void benchmarkInFlightDocuments_32_1000() throws Exception {
+        Map<Integer, Double> results = new LinkedHashMap<>();
+        for (int inFlight : new int[] {32, 1000}) {
+            results.put(inFlight, documentsPerSecond(inFlight));
+        }
+
+        results.forEach(
+                (inFlight, docsPerSecond) ->
+                        log.info(
+                                "{} blocking documents, {} in flight: {} docs/sec",
+                                DOCUMENTS,
+                                inFlight,
+                                Math.round(docsPerSecond)));
+        assertThat(results.values())
+                .allSatisfy(docsPerSecond -> assertThat(docsPerSecond).isPositive());
+    }
+
+    private static double documentsPerSecond(int inFlight) throws Exception {
+        var executor =
+                new VirtualThreadAsyncTaskExecutor("bench-vt-", inFlight, runnable -> runnable);
+        List<CompletableFuture<?>> futures = new ArrayList<>(DOCUMENTS);
+        long start = System.nanoTime();
+
+        for (int i = 0; i < DOCUMENTS; i++) {
+            while (executor.getRemainingCapacity() == 0) {
+                Thread.onSpinWait();
+            }
+            futures.add(executor.submit(() -> sleepQuietly(BLOCKING_MILLIS)));
+        }
+        CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).get(1, TimeUnit.MINUTES);
+
+        double seconds = (System.nanoTime() - start) / 1_000_000_000d;
+        executor.shutdown();
+        return DOCUMENTS / seconds;
+    }
+
+    private static void sleepQuietly(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -5,17 +5,23 @@ package ch.gryphus.chainvault.controller;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.when;
 
 import ch.gryphus.chainvault.config.Constants;
 import ch.gryphus.chainvault.config.TraceIdFilter;
+import ch.gryphus.chainvault.domain.MigrationPriority;
+import ch.gryphus.chainvault.exception.AdmissionRejectedException;
+import ch.gryphus.chainvault.exception.BatchTooLargeException;
 import ch.gryphus.chainvault.workflow.service.OrchestrationService;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
 import java.util.Map;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -82,4 +88,74 @@ class OrchestrationControllerTest {
                         .exchange();
         assertThat(response).hasStatus(HttpStatus.CREATED);
     }
+
+    /**
+     * Test start process instances.
+     */
+    @Test
+    void testStartProcessInstances() {
+        // Setup
+        when(mockOrchestrationService.startBatch(any(), eq(MigrationPriority.BULK)))
+                .thenReturn(List.of("p1", "p2"));
+
+        String json = objectMapper.writeValueAsString(List.of("123", "456"));
+
+        // Run the test and verify the results
+        var response =
+                mockMvcTester
+                        .post()
+                        .uri("/chainvault/process/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(json)
+                        .exchange();
+        assertThat(response).hasStatus(HttpStatus.CREATED);
+    }
+
+    /**
+     * Test rejected starts are answered with 429 and Retry-After.
+     */
+    @Test
+    void testStartProcessInstance_shouldAnswerTooManyRequestsWhenRejected() {
+        // Setup
+        when(mockOrchestrationService.startProcess(any()))
+                .thenThrow(new AdmissionRejectedException("saturated", Duration.ofMillis(1500)));
+
+        String json =
+                objectMapper.writeValueAsString(Map.of(Constants.BPMN_PROC_VAR_DOC_ID, "123"));
+
+        // Run the test and verify the results
+        var response =
+                mockMvcTester
+                        .post()
+                        .uri("/chainvault/process")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(json)
+                        .exchange();
+        assertThat(response)
+                .hasStatus(HttpStatus.TOO_MANY_REQUESTS)
+                .headers()
+                .hasValue("Retry-After", "2");
+    }
+
+    /**
+     * Test batches that can never be admitted are answered with 400.
+     */
+    @Test
+    void testStartProcessInstances_shouldAnswerBadRequestWhenBatchTooLarge() {
+        // Setup
+        when(mockOrchestrationService.startBatch(any(), any()))
+                .thenThrow(new BatchTooLargeException(11, 10));
+
+        String json = objectMapper.writeValueAsString(List.of("123", "456"));
+
+        // Run the test and verify the results
+        var response =
+                mockMvcTester
+                        .post()
+                        .uri("/chainvault/process/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(json)
+                        .exchange();
+        assertThat(response).hasStatus(HttpStatus.BAD_REQUEST);
+    }
 }
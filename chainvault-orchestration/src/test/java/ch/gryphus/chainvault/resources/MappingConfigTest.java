@@ -12,6 +12,7 @@ import java.util.List;
 import java.util.Map;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
 import org.yaml.snakeyaml.Yaml;
 
 /**
@@ -172,9 +173,15 @@ class MappingConfigTest {
     }
 
     @Test
-    void enrichment_IntegrityAlgorithmShouldBeSha256() {
-        // PR fixed missing newline at EOF; value must remain "SHA-256"
-        assertThat(getIntegrity()).containsEntry("algorithm", "SHA-256");
+    void enrichment_IntegrityAlgorithmShouldFollowMigrationHashAlgorithm() {
+        String algorithm = (String) getIntegrity().get("algorithm");
+
+        assertThat(new MockEnvironment().resolvePlaceholders(algorithm)).isEqualTo("SHA-256");
+        assertThat(
+                        new MockEnvironment()
+                                .withProperty("MIGRATION_HASH_ALGORITHM", "BLAKE3-256")
+                                .resolvePlaceholders(algorithm))
+                .isEqualTo("BLAKE3-256");
     }
 
     // -----------------------------------------------------------------------
@@ -0,0 +1,66 @@
+/*
+ * Copyright (c) 2026. Gryphus Lab
+ */
+package ch.gryphus.chainvault.resources;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.time.Duration;
+import org.flowable.common.engine.impl.async.AsyncTaskExecutorConfiguration;
+import org.flowable.job.service.impl.asyncexecutor.AsyncJobExecutorConfiguration;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.context.properties.source.ConfigurationPropertySources;
+import org.springframework.boot.env.YamlPropertySourceLoader;
+import org.springframework.core.io.ClassPathResource;
+
+/**
+ * Validates that {@code application-throughput.yml} binds onto Flowable's executor configuration.
+ */
+class ThroughputProfileTest {
+
+    private static Binder binder;
+
+    @BeforeAll
+    static void loadProfile() throws IOException {
+        var sources =
+                new YamlPropertySourceLoader()
+                        .load("throughput", new ClassPathResource("application-throughput.yml"));
+        binder = new Binder(ConfigurationPropertySources.from(sources.getFirst()));
+    }
+
+    /**
+     * Jobs are acquired in batches with a global lock across nodes.
+     */
+    @Test
+    void throughputProfile_ShouldBatchAcquisitionBehindGlobalLock() {
+        AsyncJobExecutorConfiguration config =
+                binder.bind("flowable.process.async.executor", AsyncJobExecutorConfiguration.class)
+                        .get();
+
+        assertThat(config.getMaxAsyncJobsDuePerAcquisition()).isGreaterThan(1);
+        assertThat(config.getDefaultAsyncJobAcquireWaitTime()).isLessThan(Duration.ofSeconds(10));
+        assertThat(config.isGlobalAcquireLockEnabled()).isTrue();
+        assertThat(config.getAcquireRunnableThreadName())
+                .isEqualTo("flowable-async-job-acquisition");
+    }
+
+    /**
+     * The acquisition thread feeds a bounded queue that can hold at least one acquisition batch.
+     */
+    @Test
+    void throughputProfile_ShouldBoundTheExecutorQueue() {
+        AsyncTaskExecutorConfiguration taskConfig =
+                binder.bind("flowable.task-invoker", AsyncTaskExecutorConfiguration.class).get();
+        AsyncJobExecutorConfiguration config =
+                binder.bind("flowable.process.async.executor", AsyncJobExecutorConfiguration.class)
+                        .get();
+
+        assertThat(taskConfig.getQueueSize())
+                .isPositive()
+                .isGreaterThanOrEqualTo(config.getMaxAsyncJobsDuePerAcquisition());
+        assertThat(taskConfig.getMaxPoolSize()).isEqualTo(taskConfig.getCorePoolSize());
+    }
+}
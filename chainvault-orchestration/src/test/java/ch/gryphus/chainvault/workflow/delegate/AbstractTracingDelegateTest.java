@@ -7,9 +7,13 @@ import static org.assertj.core.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 
+import ch.gryphus.chainvault.config.StageMetrics;
+import ch.gryphus.chainvault.exception.InsufficientStorageException;
+import ch.gryphus.chainvault.exception.SourceUnavailableException;
 import ch.gryphus.chainvault.repository.MigrationAuditRepository;
 import ch.gryphus.chainvault.service.SseEmitterService;
 import ch.gryphus.chainvault.workflow.service.AuditEventService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import io.opentelemetry.api.OpenTelemetry;
 import io.opentelemetry.api.trace.Span;
 import io.opentelemetry.api.trace.SpanBuilder;
@@ -49,6 +53,8 @@ class AbstractTracingDelegateTest {
     @Mock private Span mockSpan;
     @Mock private MigrationAuditRepository mockAuditRepo;
 
+    private SimpleMeterRegistry meterRegistry;
+    private StageMetrics stageMetrics;
     private AbstractTracingDelegate abstractTracingDelegateUnderTest;
 
     /**
@@ -56,11 +62,14 @@ class AbstractTracingDelegateTest {
      */
     @BeforeEach
     void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        stageMetrics = new StageMetrics(meterRegistry);
         abstractTracingDelegateUnderTest =
                 new AbstractTracingDelegate(
                         mockOpenTelemetry,
                         mockAuditService,
                         mockSseEmitterService,
+                        stageMetrics,
                         "taskType",
                         "errorCode") {
                     @Override
@@ -119,6 +128,254 @@ class AbstractTracingDelegateTest {
                 .isThrownBy(() -> abstractTracingDelegateUnderTest.execute(mockExecution));
     }
 
+    /**
+     * Test execute counts source retries and hands them to the audit service.
+     */
+    @Test
+    void testExecuteSchedulesRetryWhenSourceIsUnavailable() {
+        // Setup
+        var delegate =
+                new AbstractTracingDelegate(
+                        mockOpenTelemetry,
+                        mockAuditService,
+                        mockSseEmitterService,
+                        stageMetrics,
+                        "extract-hash",
+                        "EXTRACTION_FAILED") {
+                    @Override
+                    protected void doExecute(DelegateExecution execution, Span span, String docId) {
+                        throw new SourceUnavailableException("Source API circuit is open");
+                    }
+                };
+        when(mockExecution.getVariable(anyString())).thenReturn(null);
+        when(mockExecution.getVariable(AbstractTracingDelegate.SOURCE_RETRY_COUNT)).thenReturn(2);
+
+        // Run the test
+        delegate.execute(mockExecution);
+
+        // Verify the results
+        verify(mockExecution).setVariable(AbstractTracingDelegate.SOURCE_RETRY_COUNT, 3);
+        verify(mockAuditService)
+                .handleRetryableException(
+                        any(SourceUnavailableException.class),
+                        eq(mockSpan),
+                        any(),
+                        eq(AbstractTracingDelegate.SOURCE_UNAVAILABLE),
+                        eq("extract-hash"),
+                        eq(3));
+        verify(mockAuditService, never()).handleException(any(), any(), any(), any(), any());
+        assertThat(
+                        meterRegistry
+                                .get("chainvault.stage.outcomes")
+                                .tags(
+                                        "stage",
+                                        "extract-hash",
+                                        "outcome",
+                                        StageMetrics.RETRY,
+                                        "error_code",
+                                        AbstractTracingDelegate.SOURCE_UNAVAILABLE)
+                                .counter()
+                                .count())
+                .isEqualTo(1);
+    }
+
+    /**
+     * Test execute backs off like for an unavailable source when no space can be reserved.
+     */
+    @Test
+    void testExecuteSchedulesRetryWhenStorageIsInsufficient() {
+        // Setup
+        var delegate =
+                new AbstractTracingDelegate(
+                        mockOpenTelemetry,
+                        mockAuditService,
+                        mockSseEmitterService,
+                        stageMetrics,
+                        "extract-hash",
+                        "EXTRACTION_FAILED") {
+                    @Override
+                    protected void doExecute(DelegateExecution execution, Span span, String docId) {
+                        throw new InsufficientStorageException("global quota exceeded");
+                    }
+                };
+        when(mockExecution.getVariable(anyString())).thenReturn(null);
+
+        // Run the test
+        delegate.execute(mockExecution);
+
+        // Verify the results
+        verify(mockExecution).setVariable(AbstractTracingDelegate.SOURCE_RETRY_COUNT, 1);
+        verify(mockAuditService)
+                .handleRetryableException(
+                        any(InsufficientStorageException.class),
+                        eq(mockSpan),
+                        any(),
+                        eq(AbstractTracingDelegate.SOURCE_UNAVAILABLE),
+                        eq("extract-hash"),
+                        eq(1));
+        verify(mockAuditService, never()).handleException(any(), any(), any(), any(), any());
+    }
+
+    /**
+     * Test execute restores a checkpointed stage instead of running it again.
+     */
+    @Test
+    void testExecuteRestoresCheckpointedStage() {
+        // Setup
+        var delegate =
+                new AbstractTracingDelegate(
+                        mockOpenTelemetry,
+                        mockAuditService,
+                        mockSseEmitterService,
+                        stageMetrics,
+                        "sign-document",
+                        "SIGN_FAILED") {
+                    @Override
+                    protected void doExecute(DelegateExecution execution, Span span, String docId) {
+                        throw new IllegalStateException("must not run");
+                    }
+
+                    @Override
+                    protected void onRestored(DelegateExecution execution) {
+                        execution.setVariable("restored", true);
+                    }
+                };
+        when(mockExecution.getVariable(anyString())).thenReturn(null);
+        when(mockExecution.getVariable("resumeCheckpoints"))
+                .thenReturn(
+                        Map.of(
+                                "sign-document",
+                                Map.of(
+                                        "pages",
+                                        Map.of("handle", "pages/index.json", "sha256", "abc"))));
+
+        // Run the test
+        delegate.execute(mockExecution);
+
+        // Verify the results
+        verify(mockExecution).setVariable("pagesRef", "pages/index.json");
+        verify(mockExecution).setVariable("restored", true);
+        verify(mockAuditService, never()).handleException(any(), any(), any(), any(), any());
+        verify(mockAuditService)
+                .updateAuditEventEnd(
+                        any(), any(), any(), any(), eq("sign-document"), any(), any(), any());
+    }
+
+    /**
+     * Test execute times the stage by outcome and counts its bytes.
+     */
+    @Test
+    void testExecuteRecordsStageMetrics() {
+        // Setup
+        var delegate =
+                new AbstractTracingDelegate(
+                        mockOpenTelemetry,
+                        mockAuditService,
+                        mockSseEmitterService,
+                        stageMetrics,
+                        "merge-pdfs",
+                        "MERGE_FAILED") {
+                    @Override
+                    protected void doExecute(DelegateExecution execution, Span span, String docId) {
+                        assertThat(
+                                        meterRegistry
+                                                .get("chainvault.stage.in_flight")
+                                                .tag("stage", "merge-pdfs")
+                                                .gauge()
+                                                .value())
+                                .isEqualTo(1);
+                        recordBytes(2048);
+                    }
+                };
+        when(mockExecution.getVariable(anyString())).thenReturn(null);
+
+        // Run the test
+        delegate.execute(mockExecution);
+
+        // Verify the results
+        assertThat(
+                        meterRegistry
+                                .get("chainvault.stage.duration")
+                                .tags("stage", "merge-pdfs", "outcome", StageMetrics.SUCCESS)
+                                .timer()
+                                .count())
+                .isEqualTo(1);
+        assertThat(
+                        meterRegistry
+                                .get("chainvault.stage.outcomes")
+                                .tags(
+                                        "stage",
+                                        "merge-pdfs",
+                                        "outcome",
+                                        StageMetrics.SUCCESS,
+                                        "error_code",
+                                        "none")
+                                .counter()
+                                .count())
+                .isEqualTo(1);
+        assertThat(
+                        meterRegistry
+                                .get("chainvault.stage.processed")
+                                .tag("stage", "merge-pdfs")
+                                .counter()
+                                .count())
+                .isEqualTo(2048);
+        assertThat(
+                        meterRegistry
+                                .get("chainvault.stage.in_flight")
+                                .tag("stage", "merge-pdfs")
+                                .gauge()
+                                .value())
+                .isZero();
+    }
+
+    /**
+     * Test execute counts a failed stage by its error code.
+     */
+    @Test
+    void testExecuteRecordsFailedStageByErrorCode() {
+        // Setup
+        var delegate =
+                new AbstractTracingDelegate(
+                        mockOpenTelemetry,
+                        mockAuditService,
+                        mockSseEmitterService,
+                        stageMetrics,
+                        "merge-pdfs",
+                        "MERGE_FAILED") {
+                    @Override
+                    protected void doExecute(DelegateExecution execution, Span span, String docId) {
+                        throw new IllegalStateException("corrupt page");
+                    }
+                };
+        when(mockExecution.getVariable(anyString())).thenReturn(null);
+
+        // Run the test
+        delegate.execute(mockExecution);
+
+        // Verify the results
+        assertThat(
+                        meterRegistry
+                                .get("chainvault.stage.duration")
+                                .tags("stage", "merge-pdfs", "outcome", StageMetrics.FAILURE)
+                                .timer()
+                                .count())
+                .isEqualTo(1);
+        assertThat(
+                        meterRegistry
+                                .get("chainvault.stage.outcomes")
+                                .tags(
+                                        "stage",
+                                        "merge-pdfs",
+                                        "outcome",
+                                        StageMetrics.FAILURE,
+                                        "error_code",
+                                        "MERGE_FAILED")
+                                .counter()
+                                .count())
+                .isEqualTo(1);
+    }
+
     /**
      * Test get transient variable safely returns expected value.
      */
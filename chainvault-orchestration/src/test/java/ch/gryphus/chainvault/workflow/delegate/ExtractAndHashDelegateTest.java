@@ -0,0 +1,64 @@
+/*
+ * Copyright (c) 2026. Gryphus Lab
+ */
+package ch.gryphus.chainvault.workflow.delegate;
+
+import static org.mockito.Mockito.*;
+
+import ch.gryphus.chainvault.config.StageMetrics;
+import ch.gryphus.chainvault.domain.SourceMetadata;
+import ch.gryphus.chainvault.service.ArtifactStoreService;
+import ch.gryphus.chainvault.service.MigrationService;
+import ch.gryphus.chainvault.service.SseEmitterService;
+import ch.gryphus.chainvault.workflow.service.AuditEventService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.opentelemetry.api.OpenTelemetry;
+import java.nio.file.Path;
+import org.flowable.engine.delegate.DelegateExecution;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+/**
+ * The type Extract and hash delegate test.
+ */
+@ExtendWith(MockitoExtension.class)
+class ExtractAndHashDelegateTest {
+
+    @Mock private OpenTelemetry mockOpenTelemetry;
+    @Mock private AuditEventService mockAuditService;
+    @Mock private SseEmitterService mockSseEmitterService;
+    @Mock private MigrationService mockMigrationService;
+    @Mock private ArtifactStoreService mockArtifactStore;
+    @Mock private DelegateExecution mockExecution;
+
+    /**
+     * Test a restored extraction reserves the space of its payload again.
+     *
+     * @throws Exception the exception
+     */
+    @Test
+    void testOnRestored_shouldReserveWorkingDirectoryAgain() throws Exception {
+        Path workingDirectory = Path.of("/tmp/chainvault/pi-1");
+        SourceMetadata meta = new SourceMetadata();
+        meta.setOriginalSizeBytes(4000);
+        when(mockExecution.getVariable("workingDirectoryRef"))
+                .thenReturn(workingDirectory.toString());
+        when(mockExecution.getVariable("metaRef")).thenReturn("meta.json");
+        when(mockArtifactStore.getJson(workingDirectory, "meta.json", SourceMetadata.class))
+                .thenReturn(meta);
+        var delegate =
+                new ExtractAndHashDelegate(
+                        mockOpenTelemetry,
+                        mockAuditService,
+                        mockSseEmitterService,
+                        new StageMetrics(new SimpleMeterRegistry()),
+                        mockMigrationService,
+                        mockArtifactStore);
+
+        delegate.onRestored(mockExecution);
+
+        verify(mockArtifactStore).reserve(workingDirectory, 4000);
+    }
+}
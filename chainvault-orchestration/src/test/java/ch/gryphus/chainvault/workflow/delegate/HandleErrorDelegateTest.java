@@ -0,0 +1,87 @@
+/*
+ * Copyright (c) 2026. Gryphus Lab
+ */
+package ch.gryphus.chainvault.workflow.delegate;
+
+import static org.mockito.Mockito.*;
+
+import ch.gryphus.chainvault.config.StageMetrics;
+import ch.gryphus.chainvault.service.ArtifactStoreService;
+import ch.gryphus.chainvault.service.SseEmitterService;
+import ch.gryphus.chainvault.workflow.service.AuditEventService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.opentelemetry.api.OpenTelemetry;
+import io.opentelemetry.api.trace.Span;
+import java.nio.file.Path;
+import java.util.Set;
+import org.flowable.engine.delegate.DelegateExecution;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+/**
+ * The type Handle error delegate test.
+ */
+@ExtendWith(MockitoExtension.class)
+class HandleErrorDelegateTest {
+
+    private static final Path WORKING_DIRECTORY = Path.of("/tmp/chainvault/pi-1");
+
+    @Mock private OpenTelemetry mockOpenTelemetry;
+    @Mock private AuditEventService mockAuditService;
+    @Mock private SseEmitterService mockSseEmitterService;
+    @Mock private ArtifactStoreService mockArtifactStore;
+    @Mock private DelegateExecution mockExecution;
+    @Mock private Span mockSpan;
+
+    private HandleErrorDelegate handleErrorDelegateUnderTest;
+
+    /**
+     * Sets up.
+     */
+    @BeforeEach
+    void setUp() {
+        handleErrorDelegateUnderTest =
+                new HandleErrorDelegate(
+                        mockOpenTelemetry,
+                        mockAuditService,
+                        mockSseEmitterService,
+                        new StageMetrics(new SimpleMeterRegistry()),
+                        mockArtifactStore);
+        when(mockExecution.getVariable("workingDirectoryRef"))
+                .thenReturn(WORKING_DIRECTORY.toString());
+    }
+
+    /**
+     * Test a failed migration with checkpoints keeps its working directory for a restart but
+     * releases its reservation.
+     *
+     * @throws Exception the exception
+     */
+    @Test
+    void testDoExecute_shouldReleaseReservationWhenKeepingCheckpoints() throws Exception {
+        when(mockExecution.getVariableNames())
+                .thenReturn(Set.of("workingDirectoryRef", "payloadRef"));
+
+        handleErrorDelegateUnderTest.doExecute(mockExecution, mockSpan, "DOC-1");
+
+        verify(mockArtifactStore).release(WORKING_DIRECTORY);
+        verify(mockArtifactStore, never()).delete(any());
+    }
+
+    /**
+     * Test a failed migration without checkpoints deletes its working directory.
+     *
+     * @throws Exception the exception
+     */
+    @Test
+    void testDoExecute_shouldDeleteWorkingDirectoryWithoutCheckpoints() throws Exception {
+        when(mockExecution.getVariableNames()).thenReturn(Set.of("workingDirectoryRef"));
+
+        handleErrorDelegateUnderTest.doExecute(mockExecution, mockSpan, "DOC-1");
+
+        verify(mockArtifactStore).delete(WORKING_DIRECTORY);
+    }
+}
@@ -0,0 +1,127 @@
+/*
+ * Copyright (c) 2026. Gryphus Lab
+ */
+package ch.gryphus.chainvault.workflow.service;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+import ch.gryphus.chainvault.config.AdmissionProperties;
+import ch.gryphus.chainvault.domain.MigrationPriority;
+import ch.gryphus.chainvault.exception.AdmissionRejectedException;
+import ch.gryphus.chainvault.exception.BatchTooLargeException;
+import ch.gryphus.chainvault.repository.MigrationAuditRepository;
+import ch.gryphus.chainvault.service.ArtifactStoreService;
+import java.io.IOException;
+import java.time.Duration;
+import org.flowable.engine.ManagementService;
+import org.flowable.job.api.JobQuery;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * The type Admission service test.
+ */
+@MockitoSettings(strictness = Strictness.LENIENT)
+@ExtendWith(MockitoExtension.class)
+class AdmissionServiceTest {
+
+    @Mock private MigrationAuditRepository mockAuditRepo;
+    @Mock private ManagementService mockManagementService;
+    @Mock private JobQuery mockJobQuery;
+    @Mock private ArtifactStoreService mockArtifactStore;
+
+    private AdmissionService admissionServiceUnderTest;
+
+    /**
+     * Sets up.
+     *
+     * @throws IOException the io exception
+     */
+    @BeforeEach
+    void setUp() throws IOException {
+        admissionServiceUnderTest =
+                new AdmissionService(
+                        new AdmissionProperties(
+                                10, 100, DataSize.ofMegabytes(100), Duration.ofSeconds(30)),
+                        mockAuditRepo,
+                        mockManagementService,
+                        mockArtifactStore);
+
+        when(mockArtifactStore.usableSpace()).thenReturn(DataSize.ofGigabytes(1).toBytes());
+        when(mockAuditRepo.countByStatusIn(anyCollection())).thenReturn(5L);
+        when(mockManagementService.createJobQuery()).thenReturn(mockJobQuery);
+        when(mockJobQuery.count()).thenReturn(10L);
+    }
+
+    /**
+     * Test starts within all bounds are admitted.
+     */
+    @Test
+    void testAdmit_shouldAdmitWithinBounds() {
+        assertThatNoException()
+                .isThrownBy(() -> admissionServiceUnderTest.admit(5, MigrationPriority.BULK));
+    }
+
+    /**
+     * Test bulk starts beyond the in-flight limit are rejected with a retry delay.
+     */
+    @Test
+    void testAdmit_shouldRejectBeyondInFlightLimit() {
+        assertThatThrownBy(() -> admissionServiceUnderTest.admit(6, MigrationPriority.BULK))
+                .isInstanceOf(AdmissionRejectedException.class)
+                .hasMessageContaining("in flight")
+                .extracting("retryAfter")
+                .isEqualTo(Duration.ofSeconds(30));
+    }
+
+    /**
+     * Test bulk starts are rejected while the job table is saturated.
+     */
+    @Test
+    void testAdmit_shouldRejectWhenJobQueueIsFull() {
+        when(mockJobQuery.count()).thenReturn(100L);
+
+        assertThatThrownBy(() -> admissionServiceUnderTest.admit(1, MigrationPriority.BULK))
+                .isInstanceOf(AdmissionRejectedException.class)
+                .hasMessageContaining("async jobs queued");
+    }
+
+    /**
+     * Test interactive starts bypass the in-flight and queue limits but not the disk limit.
+     *
+     * @throws IOException the io exception
+     */
+    @Test
+    void testAdmit_shouldOnlyCheckDiskForInteractiveStarts() throws IOException {
+        when(mockAuditRepo.countByStatusIn(anyCollection())).thenReturn(10L);
+        when(mockJobQuery.count()).thenReturn(100L);
+
+        assertThatNoException()
+                .isThrownBy(
+                        () -> admissionServiceUnderTest.admit(1, MigrationPriority.INTERACTIVE));
+
+        when(mockArtifactStore.usableSpace()).thenReturn(DataSize.ofMegabytes(50).toBytes());
+
+        assertThatThrownBy(() -> admissionServiceUnderTest.admit(1, MigrationPriority.INTERACTIVE))
+                .isInstanceOf(AdmissionRejectedException.class)
+                .hasMessageContaining("free for working directories");
+    }
+
+    /**
+     * Test batches that can never be admitted are refused as invalid.
+     */
+    @Test
+    void testAdmit_shouldRefuseBatchesLargerThanInFlightLimit() {
+        assertThatThrownBy(() -> admissionServiceUnderTest.admit(11, MigrationPriority.BULK))
+                .isInstanceOf(BatchTooLargeException.class)
+                .hasMessageContaining("limit of 10");
+    }
+}
@@ -7,6 +7,7 @@ import static org.assertj.core.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 
+import ch.gryphus.chainvault.config.Constants;
 import ch.gryphus.chainvault.domain.MigrationContext;
 import ch.gryphus.chainvault.model.dto.Migration;
 import ch.gryphus.chainvault.model.dto.MigrationDetail;
@@ -19,6 +20,7 @@ import ch.gryphus.chainvault.repository.MigrationEventRepository;
 import io.opentelemetry.api.trace.Span;
 import io.opentelemetry.api.trace.SpanContext;
 import jakarta.persistence.EntityNotFoundException;
+import java.nio.file.Path;
 import java.time.Instant;
 import java.util.*;
 import org.flowable.engine.delegate.BpmnError;
@@ -152,6 +154,35 @@ class AuditEventServiceTest {
         verify(auditRepo).save(testAudit);
     }
 
+    @Test
+    @DisplayName(
+            "handleRetryableException: Should mark audit RETRYING, log RETRY_ATTEMPTED and throw"
+                    + " BpmnError")
+    void handleRetryableExceptionFlow() {
+        when(auditRepo.findByProcessInstanceKey(PI_KEY)).thenReturn(Optional.of(testAudit));
+        Exception ex = new RuntimeException("Source API circuit is open");
+
+        assertThatThrownBy(
+                        () ->
+                                auditEventService.handleRetryableException(
+                                        ex, span, PI_KEY, "SOURCE_UNAVAILABLE", "extract-hash", 2))
+                .isInstanceOf(BpmnError.class)
+                .extracting(e -> ((BpmnError) e).getErrorCode())
+                .isEqualTo("SOURCE_UNAVAILABLE");
+
+        assertThat(testAudit.getStatus()).isEqualTo(MigrationAudit.MigrationStatus.RETRYING);
+        assertThat(testAudit.getErrorCode()).isNull();
+        verify(span).recordException(ex);
+        verify(eventRepo)
+                .save(
+                        argThat(
+                                e ->
+                                        e.getEventType()
+                                                        == MigrationEvent.MigrationEventType
+                                                                .RETRY_ATTEMPTED
+                                                && "SOURCE_UNAVAILABLE".equals(e.getErrorCode())));
+    }
+
     @Test
     @DisplayName("updateAuditDetails: Should apply MigrationContext hashes")
     void updateAuditDetailsContextHashes() {
@@ -313,4 +344,47 @@ class AuditEventServiceTest {
                 .isInstanceOf(IllegalStateException.class)
                 .hasMessageContaining("No audit found");
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("updateAuditEventEnd: Should record the checkpoint of a completed stage")
+    void updateAuditEventEndRecordsCheckpoint() {
+        when(auditRepo.findByProcessInstanceKey(PI_KEY)).thenReturn(Optional.of(testAudit));
+        Map<String, Object> checkpoint =
+                Map.of("pages", Map.of("handle", "pages/index.json", "sha256", "abc"));
+
+        Map<String, Object> varMap = new HashMap<>();
+        varMap.put("workingDirectory", Path.of("/tmp/migration-proc-123"));
+        varMap.put("checkpoint", checkpoint);
+        auditEventService.updateAuditEventEnd(
+                PI_KEY,
+                MigrationAudit.MigrationStatus.RUNNING,
+                null,
+                null,
+                "sign-document",
+                "Done",
+                varMap,
+                span);
+
+        assertThat(testAudit.getWorkingDirectory()).isEqualTo("/tmp/migration-proc-123");
+        assertThat(testAudit.getCheckpoints()).containsEntry("sign-document", checkpoint);
+        verify(eventRepo).save(argThat(e -> e.getEventData().containsKey("checkpoint")));
+    }
+
+    @Test
+    @DisplayName("updateAuditEventEnd: Should not checkpoint a failed stage")
+    void updateAuditEventEndSkipsCheckpointOnFailure() {
+        when(auditRepo.findByProcessInstanceKey(PI_KEY)).thenReturn(Optional.of(testAudit));
+
+        auditEventService.updateAuditEventEnd(
+                PI_KEY,
+                MigrationAudit.MigrationStatus.FAILED,
+                "MERGE_FAILED",
+                "boom",
+                Constants.TASK_TYPE_MERGE_PDFS,
+                "Failure",
+                Map.of("checkpoint", Map.of("pdfPath", Map.of("handle", "doc.pdf"))),
+                span);
+
+        assertThat(testAudit.getCheckpoints()).doesNotContainKey(Constants.TASK_TYPE_MERGE_PDFS);
+    }
+}
@@ -0,0 +1,289 @@
+/*
+ * Copyright (c) 2026. Gryphus Lab
+ */
+package ch.gryphus.chainvault.workflow.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+import ch.gryphus.chainvault.config.Constants;
+import ch.gryphus.chainvault.exception.AdmissionRejectedException;
+import ch.gryphus.chainvault.model.entity.MigrationAudit;
+import ch.gryphus.chainvault.model.entity.MigrationEvent;
+import ch.gryphus.chainvault.repository.MigrationAuditRepository;
+import ch.gryphus.chainvault.repository.MigrationEventRepository;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+/**
+ * End-to-end load test of the whole migration inside one JVM: the orchestration app runs against
+ * Testcontainers Postgres, an embedded source API serving generated ZIPs ({@link
+ * SourceApiStandIn}) and an embedded SFTP target ({@link SftpStandIn}). {@code N} documents are
+ * started through {@link OrchestrationService#startProcess} at a fixed rate; the report has the
+ * latency percentiles per stage and end to end, the docs/sec and the heap high-water mark.
+ *
+ * <p>Runs on demand only, left out of the default failsafe run and enabled by the document count,
+ * e.g. {@code mvn verify -Dit.test=LoadTestHarnessIT -Dloadtest.documents=500
+ * -Dloadtest.rate=10 -Dloadtest.pages=5}. Needs Docker for Postgres and a local Tesseract,
+ * nothing from the network.
+ */
+@Slf4j
+@EnabledIfSystemProperty(named = "loadtest.documents", matches = "\\d+")
+class LoadTestHarnessIT extends BaseServiceIT {
+
+    private static final int DOCUMENTS = Integer.getInteger("loadtest.documents", 20);
+    private static final double RATE = Double.parseDouble(System.getProperty("loadtest.rate", "2"));
+    private static final int PAGES = Integer.getInteger("loadtest.pages", 3);
+    private static final Duration ADMISSION_BACKOFF = Duration.ofMillis(200);
+
+    private static final SourceApiStandIn sourceApi;
+    private static final SftpStandIn sftp;
+
+    static {
+        try {
+            sourceApi = SourceApiStandIn.start(PAGES);
+            sftp =
+                    SftpStandIn.start(
+                            Files.createTempDirectory("chainvault-loadtest-").resolve("sftp"));
+        } catch (IOException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    @Autowired private OrchestrationService orchestrationService;
+    @Autowired private MigrationAuditRepository auditRepository;
+    @Autowired private MigrationEventRepository eventRepository;
+
+    /**
+     * Configure properties.
+     *
+     * @param registry the registry
+     */
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        registry.add("source.api.base-url", sourceApi::baseUrl);
+
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+        registry.add("spring.datasource.driver-class-name", () -> "org.postgresql.Driver");
+
+        registry.add("target.sftp.host", () -> "127.0.0.1");
+        registry.add("target.sftp.port", () -> String.valueOf(sftp.port()));
+        registry.add("target.sftp.username", () -> SftpStandIn.USERNAME);
+        registry.add("target.sftp.password", () -> SftpStandIn.PASSWORD);
+        registry.add("target.sftp.remote-directory", () -> SftpStandIn.REMOTE_DIRECTORY);
+        registry.add("target.sftp.allow-unknown-keys", () -> "true");
+    }
+
+    /**
+     * Stops the stand-ins.
+     *
+     * @throws IOException the io exception
+     */
+    @AfterAll
+    static void stopStandIns() throws IOException {
+        sourceApi.close();
+        sftp.close();
+    }
+
+    /**
+     * Drives the documents through the migration at the configured rate and reports.
+     *
+     * @throws IOException the io exception
+     */
+    @Test
+    void driveDocumentsAtAControlledRate() throws IOException {
+        var heap = new HeapHighWaterMark();
+        List<String> processInstanceIds = new ArrayList<>();
+        try {
+            long interval = (long) (TimeUnit.SECONDS.toNanos(1) / RATE);
+            long start = System.nanoTime();
+            for (int i = 0; i < DOCUMENTS; i++) {
+                LockSupport.parkNanos(start + i * interval - System.nanoTime());
+                processInstanceIds.add(start("DOC-LOAD-%05d".formatted(i)));
+            }
+
+            await().atMost(Duration.ofSeconds((long) (DOCUMENTS / RATE) + 600))
+                    .pollInterval(Duration.ofSeconds(1))
+                    .until(() -> finished(processInstanceIds).size() == DOCUMENTS);
+        } finally {
+            heap.close();
+        }
+
+        List<MigrationAudit> audits = finished(processInstanceIds);
+        String report = report(audits, heap.max());
+        log.info("Load test report\n{}", report);
+        Files.writeString(
+                Path.of("target", "load-test-report.txt"), report, StandardCharsets.UTF_8);
+
+        assertThat(audits)
+                .allSatisfy(
+                        audit ->
+                                assertThat(audit.getStatus())
+                                        .isEqualTo(MigrationAudit.MigrationStatus.SUCCESS));
+        assertThat(sourceApi.payloadRequests()).isEqualTo(DOCUMENTS);
+        assertThat(sftp.uploadedFiles()).isEqualTo(3L * DOCUMENTS);
+    }
+
+    // retries like a client would on 429 until the migration is admitted
+    private String start(String docId) {
+        while (true) {
+            try {
+                return orchestrationService.startProcess(
+                        Map.of(Constants.BPMN_PROC_VAR_DOC_ID, docId));
+            } catch (AdmissionRejectedException e) {
+                LockSupport.parkNanos(ADMISSION_BACKOFF.toNanos());
+            }
+        }
+    }
+
+    private List<MigrationAudit> finished(List<String> processInstanceIds) {
+        return processInstanceIds.stream()
+                .map(auditRepository::findByProcessInstanceKey)
+                .flatMap(Optional::stream)
+                .filter(
+                        audit ->
+                                audit.getStatus() == MigrationAudit.MigrationStatus.SUCCESS
+                                        || audit.getStatus()
+                                                == MigrationAudit.MigrationStatus.FAILED)
+                .toList();
+    }
+
+    private String report(List<MigrationAudit> audits, long heapHighWaterMark) {
+        Map<String, List<Long>> stageMillis = new TreeMap<>();
+        List<Long> endToEndMillis = new ArrayList<>();
+        for (MigrationAudit audit : audits) {
+            endToEndMillis.add(
+                    Duration.between(audit.getStartedAt(), audit.getCompletedAt()).toMillis());
+
+            Map<String, Instant> started = new HashMap<>();
+            for (MigrationEvent event :
+                    eventRepository.findByMigrationAuditIdOrderByCreatedAtAsc(audit.getId())) {
+                switch (event.getEventType()) {
+                    case TASK_STARTED -> started.put(event.getTaskType(), event.getCreatedAt());
+                    case TASK_COMPLETED -> {
+                        Instant from = started.remove(event.getTaskType());
+                        if (from != null) {
+                            stageMillis
+                                    .computeIfAbsent(event.getTaskType(), _ -> new ArrayList<>())
+                                    .add(Duration.between(from, event.getCreatedAt()).toMillis());
+                        }
+                    }
+                    default -> {
+                        // not a stage boundary
+                    }
+                }
+            }
+        }
+
+        Instant first =
+                audits.stream()
+                        .map(MigrationAudit::getStartedAt)
+                        .min(Comparator.naturalOrder())
+                        .orElseThrow();
+        Instant last =
+                audits.stream()
+                        .map(MigrationAudit::getCompletedAt)
+                        .max(Comparator.naturalOrder())
+                        .orElseThrow();
+        double seconds = Math.max(Duration.between(first, last).toMillis(), 1) / 1000d;
+        long succeeded =
+                audits.stream()
+                        .filter(
+                                audit ->
+                                        audit.getStatus() == MigrationAudit.MigrationStatus.SUCCESS)
+                        .count();
+
+        var report = new StringBuilder();
+        report.append(
+                "documents %d (%d succeeded), %d pages of %d KiB payload, offered %.1f docs/sec%n"
+                        .formatted(
+                                audits.size(),
+                                succeeded,
+                                PAGES,
+                                sourceApi.payloadSize() / 1024,
+                                RATE));
+        report.append(
+                "throughput %.2f docs/sec over %.1f s, heap high-water mark %d MiB%n"
+                        .formatted(
+                                succeeded / seconds, seconds, heapHighWaterMark / (1024 * 1024)));
+        report.append(
+                "%-20s %7s %7s %7s %7s %7s%n"
+                        .formatted("stage (ms)", "n", "p50", "p95", "p99", "max"));
+        stageMillis.forEach((stage, millis) -> report.append(row(stage, millis)));
+        report.append(row("end-to-end", endToEndMillis));
+        return report.toString();
+    }
+
+    private static String row(String name, List<Long> millis) {
+        List<Long> sorted = millis.stream().sorted().toList();
+        return "%-20s %7d %7d %7d %7d %7d%n"
+                .formatted(
+                        name,
+                        sorted.size(),
+                        percentile(sorted, 50),
+                        percentile(sorted, 95),
+                        percentile(sorted, 99),
+                        sorted.getLast());
+    }
+
+    // nearest rank
+    private static long percentile(List<Long> sorted, int percentile) {
+        int rank = (int) Math.ceil(percentile / 100d * sorted.size());
+        return sorted.get(Math.max(rank, 1) - 1);
+    }
+
+    /**
+     * Samples the used heap every 50 ms and keeps the maximum.
+     */
+    private static final class HeapHighWaterMark implements AutoCloseable {
+
+        private final AtomicLong max = new AtomicLong();
+        private final ScheduledExecutorService sampler =
+                Executors.newSingleThreadScheduledExecutor(
+                        Thread.ofPlatform().name("heap-sampler").daemon().factory());
+
+        HeapHighWaterMark() {
+            var memory = ManagementFactory.getMemoryMXBean();
+            sampler.scheduleAtFixedRate(
+                    () -> max.accumulateAndGet(memory.getHeapMemoryUsage().getUsed(), Math::max),
+                    0,
+                    50,
+                    TimeUnit.MILLISECONDS);
+        }
+
+        long max() {
+            return max.get();
+        }
+
+        @Override
+        public void close() {
+            sampler.shutdownNow();
+        }
+    }
+}
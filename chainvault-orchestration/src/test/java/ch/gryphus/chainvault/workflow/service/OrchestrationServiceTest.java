@@ -4,22 +4,41 @@
 package ch.gryphus.chainvault.workflow.service;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 import ch.gryphus.chainvault.config.Constants;
+import ch.gryphus.chainvault.domain.MigrationPriority;
+import ch.gryphus.chainvault.exception.AdmissionRejectedException;
+import ch.gryphus.chainvault.model.entity.MigrationAudit;
+import ch.gryphus.chainvault.model.entity.MigrationEvent;
 import ch.gryphus.chainvault.repository.MigrationAuditRepository;
+import ch.gryphus.chainvault.repository.MigrationEventRepository;
+import ch.gryphus.chainvault.service.ArtifactStoreService;
+import ch.gryphus.chainvault.service.MetadataPrefetchService;
 import io.opentelemetry.api.trace.Span;
 import io.opentelemetry.api.trace.SpanBuilder;
 import io.opentelemetry.api.trace.SpanContext;
 import io.opentelemetry.api.trace.Tracer;
 import io.opentelemetry.context.Context;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import org.flowable.engine.RuntimeService;
 import org.flowable.engine.runtime.ProcessInstance;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.mockito.junit.jupiter.MockitoSettings;
@@ -33,12 +52,16 @@ import org.mockito.quality.Strictness;
 class OrchestrationServiceTest {
     @Mock private RuntimeService mockRuntimeService;
     @Mock private MigrationAuditRepository auditRepository;
+    @Mock private MigrationEventRepository eventRepository;
+    @Mock private ArtifactStoreService mockArtifactStore;
     @Mock private ProcessInstance mockProcessInstance;
     @Mock private Tracer mockTracer;
     @Mock private SpanBuilder mockSpanBuilder;
     @Mock private Span mockSpan;
     @Mock private Context mockContext;
     @Mock private SpanContext mockSpanContext;
+    @Mock private MetadataPrefetchService mockMetadataPrefetchService;
+    @Mock private AdmissionService mockAdmissionService;
 
     private OrchestrationService orchestrationServiceUnderTest;
 
@@ -48,7 +71,14 @@ class OrchestrationServiceTest {
     @BeforeEach
     void setUp() {
         orchestrationServiceUnderTest =
-                new OrchestrationService(mockRuntimeService, auditRepository, mockTracer);
+                new OrchestrationService(
+                        mockRuntimeService,
+                        auditRepository,
+                        eventRepository,
+                        mockTracer,
+                        mockMetadataPrefetchService,
+                        mockArtifactStore,
+                        mockAdmissionService);
 
         when(mockTracer.spanBuilder(any())).thenReturn(mockSpanBuilder);
         when(mockSpanBuilder.startSpan()).thenReturn(mockSpan);
@@ -76,4 +106,247 @@ class OrchestrationServiceTest {
         // Verify the results
         assertThat(result).isEqualTo("test");
     }
+
+    /**
+     * Test start batch.
+     */
+    @Test
+    void testStartBatch() {
+        // Setup
+        List<String> docIds = List.of("123", "456");
+        when(mockRuntimeService.startProcessInstanceByKey(anyString(), anyMap()))
+                .thenReturn(mockProcessInstance);
+
+        // Run the test
+        List<String> result =
+                orchestrationServiceUnderTest.startBatch(docIds, MigrationPriority.BULK);
+
+        // Verify the results
+        assertThat(result).containsExactly("test", "test");
+        verify(mockAdmissionService).admit(2, MigrationPriority.BULK);
+        verify(mockMetadataPrefetchService).prefetch(docIds);
+    }
+
+    /**
+     * Test start batch starts nothing when the batch is not admitted.
+     */
+    @Test
+    void testStartBatch_shouldStartNothingWhenRejected() {
+        // Setup
+        doThrow(new AdmissionRejectedException("saturated", Duration.ofSeconds(30)))
+                .when(mockAdmissionService)
+                .admit(2, MigrationPriority.BULK);
+
+        // Run the test
+        assertThatThrownBy(
+                        () ->
+                                orchestrationServiceUnderTest.startBatch(
+                                        List.of("123", "456"), MigrationPriority.BULK))
+                .isInstanceOf(AdmissionRejectedException.class);
+
+        // Verify the results
+        verifyNoInteractions(mockRuntimeService, mockMetadataPrefetchService);
+    }
+
+    /**
+     * Test start process passes the priority on as a process variable, bulk unless given.
+     */
+    @Test
+    @SuppressWarnings("unchecked")
+    void testStartProcess_shouldSetPriorityVariable() {
+        // Setup
+        when(mockRuntimeService.startProcessInstanceByKey(anyString(), anyMap()))
+                .thenReturn(mockProcessInstance);
+        ArgumentCaptor<Map<String, Object>> variables = ArgumentCaptor.forClass(Map.class);
+
+        // Run the test
+        orchestrationServiceUnderTest.startProcess(Map.of(Constants.BPMN_PROC_VAR_DOC_ID, "1"));
+        orchestrationServiceUnderTest.startProcess(
+                Map.of(
+                        Constants.BPMN_PROC_VAR_DOC_ID,
+                        "2",
+                        Constants.BPMN_PROC_VAR_PRIORITY,
+                        "interactive"));
+
+        // Verify the results
+        verify(mockRuntimeService, times(2))
+                .startProcessInstanceByKey(anyString(), variables.capture());
+        assertThat(variables.getAllValues())
+                .extracting(map -> map.get(Constants.BPMN_PROC_VAR_PRIORITY))
+                .containsExactly("BULK", "INTERACTIVE");
+        assertThatThrownBy(
+                        () ->
+                                orchestrationServiceUnderTest.startProcess(
+                                        Map.of(Constants.BPMN_PROC_VAR_PRIORITY, "urgent")))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    /**
+     * Test restart process resumes after the leading intact checkpoints.
+     */
+    @Test
+    @SuppressWarnings("unchecked")
+    void testRestartProcess_shouldResumeAfterIntactCheckpoints() {
+        // Setup
+        Map<String, Object> checkpoints = new LinkedHashMap<>();
+        checkpoints.put("extract-hash", checkpoint("meta", "meta.json", "m1"));
+        checkpoints.put("sign-document", checkpoint("pages", "pages/index.json", "p1"));
+        checkpoints.put("prepare-files", checkpoint("zipPath", "DOC-1_chain.zip", "z1"));
+        checkpoints.put("perform-ocr", checkpoint("ocrResults", "ocr-results.json", "o1"));
+        MigrationAudit failed = audit("failed", MigrationAudit.MigrationStatus.FAILED);
+        failed.setWorkingDirectory("/tmp/migration-failed");
+        failed.setCheckpoints(checkpoints);
+        MigrationAudit restarted = audit("test", MigrationAudit.MigrationStatus.PENDING);
+        when(auditRepository.findByProcessInstanceKey("failed")).thenReturn(Optional.of(failed));
+        when(auditRepository.findByProcessInstanceKey("test")).thenReturn(Optional.of(restarted));
+        when(mockArtifactStore.verify(any(Path.class), anyString(), anyString())).thenReturn(true);
+        when(mockArtifactStore.verify(any(Path.class), eq("DOC-1_chain.zip"), anyString()))
+                .thenReturn(false);
+        when(mockRuntimeService.startProcessInstanceByKey(anyString(), anyMap()))
+                .thenReturn(mockProcessInstance);
+
+        // Run the test
+        String result = orchestrationServiceUnderTest.restartProcess("failed");
+
+        // Verify the results
+        ArgumentCaptor<Map<String, Object>> variables = ArgumentCaptor.forClass(Map.class);
+        verify(mockRuntimeService).startProcessInstanceByKey(anyString(), variables.capture());
+        assertThat(result).isEqualTo("test");
+        assertThat(variables.getValue())
+                .containsEntry(
+                        Constants.BPMN_PROC_VAR_WORKING_DIRECTORY_REF, "/tmp/migration-failed")
+                .containsEntry(
+                        Constants.BPMN_PROC_VAR_PRIORITY, MigrationPriority.INTERACTIVE.name());
+        assertThat(
+                        (Map<String, Object>)
+                                variables
+                                        .getValue()
+                                        .get(Constants.BPMN_PROC_VAR_RESUME_CHECKPOINTS))
+                .containsOnlyKeys("extract-hash", "sign-document");
+        assertThat(restarted.getWorkingDirectory()).isEqualTo("/tmp/migration-failed");
+        assertThat(failed.getWorkingDirectory()).isNull();
+        verify(eventRepository)
+                .save(
+                        argThat(
+                                (MigrationEvent e) ->
+                                        e.getEventType()
+                                                == MigrationEvent.MigrationEventType
+                                                        .RETRY_ATTEMPTED));
+    }
+
+    /**
+     * Test restart process after a failed upload resumes every stage through transform metadata,
+     * the context checksum of the merge being the one that matches the file.
+     */
+    @Test
+    @SuppressWarnings("unchecked")
+    void testRestartProcess_shouldResumeAllStagesWhenUploadFailed() {
+        // Setup
+        Map<String, Object> checkpoints = new LinkedHashMap<>();
+        checkpoints.put(
+                Constants.TASK_TYPE_EXTRACT_HASH,
+                Map.of(
+                        "meta", artifact("meta.json", "m1"),
+                        "migrationContext", artifact("migration-context.json", "c1")));
+        checkpoints.put(
+                Constants.TASK_TYPE_SIGN_DOCUMENT,
+                Map.of(
+                        "pages", artifact("pages/index.json", "p1"),
+                        "migrationContext", artifact("migration-context.json", "c2")));
+        checkpoints.put(
+                Constants.TASK_TYPE_PREPARE_FILES,
+                Map.of(
+                        "zipPath", artifact("DOC-1_chain.zip", "z1"),
+                        "migrationContext", artifact("migration-context.json", "c3")));
+        checkpoints.put(
+                Constants.TASK_TYPE_PERFORM_OCR,
+                checkpoint("ocrResults", "ocr-results.json", "o1"));
+        checkpoints.put(
+                Constants.TASK_TYPE_MERGE_PDFS,
+                Map.of(
+                        "pdfPath", artifact("DOC-1.pdf", "d1"),
+                        "migrationContext", artifact("migration-context.json", "c4")));
+        checkpoints.put(
+                Constants.TASK_TYPE_TRANSFORM_METADATA, checkpoint("xml", "metadata.xml", "x1"));
+        MigrationAudit failed = audit("failed", MigrationAudit.MigrationStatus.FAILED);
+        failed.setWorkingDirectory("/tmp/migration-failed");
+        failed.setCheckpoints(checkpoints);
+        when(auditRepository.findByProcessInstanceKey("failed")).thenReturn(Optional.of(failed));
+        when(auditRepository.findByProcessInstanceKey("test")).thenReturn(Optional.empty());
+        when(mockArtifactStore.verify(any(Path.class), anyString(), anyString())).thenReturn(true);
+        when(mockArtifactStore.verify(any(Path.class), eq("migration-context.json"), anyString()))
+                .thenAnswer(invocation -> "c4".equals(invocation.getArgument(2)));
+        when(mockRuntimeService.startProcessInstanceByKey(anyString(), anyMap()))
+                .thenReturn(mockProcessInstance);
+
+        // Run the test
+        orchestrationServiceUnderTest.restartProcess("failed");
+
+        // Verify the results
+        ArgumentCaptor<Map<String, Object>> variables = ArgumentCaptor.forClass(Map.class);
+        verify(mockRuntimeService).startProcessInstanceByKey(anyString(), variables.capture());
+        assertThat(
+                        (Map<String, Object>)
+                                variables
+                                        .getValue()
+                                        .get(Constants.BPMN_PROC_VAR_RESUME_CHECKPOINTS))
+                .containsOnlyKeys(OrchestrationService.CHECKPOINTED_STAGES);
+    }
+
+    /**
+     * Test restart process starts from scratch without a working directory.
+     */
+    @Test
+    void testRestartProcess_shouldStartFromScratchWithoutWorkingDirectory() {
+        // Setup
+        MigrationAudit failed = audit("failed", MigrationAudit.MigrationStatus.FAILED);
+        failed.setCheckpoints(Map.of("extract-hash", checkpoint("meta", "meta.json", "m1")));
+        when(auditRepository.findByProcessInstanceKey("failed")).thenReturn(Optional.of(failed));
+        when(mockRuntimeService.startProcessInstanceByKey(anyString(), anyMap()))
+                .thenReturn(mockProcessInstance);
+
+        // Run the test
+        orchestrationServiceUnderTest.restartProcess("failed");
+
+        // Verify the results
+        verify(mockRuntimeService)
+                .startProcessInstanceByKey(
+                        anyString(),
+                        argThat(
+                                (Map<String, Object> map) ->
+                                        !map.containsKey(
+                                                Constants.BPMN_PROC_VAR_RESUME_CHECKPOINTS)));
+        verify(mockArtifactStore, never()).verify(any(), any(), any());
+    }
+
+    /**
+     * Test restart process rejects migrations that have not failed.
+     */
+    @Test
+    void testRestartProcess_shouldRejectMigrationsThatHaveNotFailed() {
+        when(auditRepository.findByProcessInstanceKey("running"))
+                .thenReturn(Optional.of(audit("running", MigrationAudit.MigrationStatus.RUNNING)));
+
+        assertThatThrownBy(() -> orchestrationServiceUnderTest.restartProcess("running"))
+                .isInstanceOf(IllegalStateException.class);
+        verify(mockRuntimeService, never()).startProcessInstanceByKey(anyString(), anyMap());
+    }
+
+    private static MigrationAudit audit(
+            String processInstanceKey, MigrationAudit.MigrationStatus status) {
+        MigrationAudit audit = new MigrationAudit();
+        audit.setId(1L);
+        audit.setProcessInstanceKey(processInstanceKey);
+        audit.setDocumentId("DOC-1");
+        audit.setStatus(status);
+        return audit;
+    }
+
+    private static Map<String, Object> checkpoint(String name, String handle, String sha256) {
+        return Map.of(name, artifact(handle, sha256));
+    }
+
+    private static Map<String, Object> artifact(String handle, String sha256) {
+        return Map.of("handle", handle, "sha256", sha256);
+    }
 }
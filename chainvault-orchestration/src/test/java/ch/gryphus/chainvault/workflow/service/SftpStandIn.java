@@ -0,0 +1,91 @@
+/*
+ * Copyright (c) 2026. Gryphus Lab
+ */
+package ch.gryphus.chainvault.workflow.service;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Stream;
+import org.apache.sshd.common.file.virtualfs.VirtualFileSystemFactory;
+import org.apache.sshd.server.SshServer;
+import org.apache.sshd.server.keyprovider.SimpleGeneratorHostKeyProvider;
+import org.apache.sshd.sftp.server.SftpSubsystemFactory;
+
+/**
+ * An embedded Apache SSHD SFTP target, chrooted into a local directory, with password login.
+ */
+final class SftpStandIn implements AutoCloseable {
+
+    /**
+     * The username.
+     */
+    static final String USERNAME = "loadtest";
+
+    /**
+     * The password.
+     */
+    static final String PASSWORD = "loadtest";
+
+    /**
+     * The remote directory the migrations upload into.
+     */
+    static final String REMOTE_DIRECTORY = "/upload";
+
+    private final SshServer server;
+    private final Path root;
+
+    private SftpStandIn(Path root) throws IOException {
+        this.root = root;
+        Files.createDirectories(root.resolve(REMOTE_DIRECTORY.substring(1)));
+
+        server = SshServer.setUpDefaultServer();
+        server.setHost("127.0.0.1");
+        server.setPort(0);
+        server.setKeyPairProvider(
+                new SimpleGeneratorHostKeyProvider(root.getParent().resolve("hostkey.ser")));
+        server.setPasswordAuthenticator(
+                (username, password, _) -> USERNAME.equals(username) && PASSWORD.equals(password));
+        server.setSubsystemFactories(List.of(new SftpSubsystemFactory()));
+        server.setFileSystemFactory(new VirtualFileSystemFactory(root));
+        server.start();
+    }
+
+    /**
+     * Starts the target on an ephemeral port.
+     *
+     * @param root the directory the target is chrooted into
+     * @return the stand-in
+     * @throws IOException the io exception
+     */
+    static SftpStandIn start(Path root) throws IOException {
+        return new SftpStandIn(root);
+    }
+
+    /**
+     * Gets the port.
+     *
+     * @return the port
+     */
+    int port() {
+        return server.getPort();
+    }
+
+    /**
+     * Counts the files uploaded so far.
+     *
+     * @return the number of files
+     * @throws IOException the io exception
+     */
+    long uploadedFiles() throws IOException {
+        try (Stream<Path> paths = Files.walk(root.resolve(REMOTE_DIRECTORY.substring(1)))) {
+            return paths.filter(Files::isRegularFile).count();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        server.stop(true);
+    }
+}
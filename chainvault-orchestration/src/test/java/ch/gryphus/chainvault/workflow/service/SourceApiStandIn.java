@@ -0,0 +1,187 @@
+/*
+ * Copyright (c) 2026. Gryphus Lab
+ */
+package ch.gryphus.chainvault.workflow.service;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+import javax.imageio.ImageIO;
+import tools.jackson.databind.ObjectMapper;
+
+/**
+ * An embedded stand-in for the source API on the JDK HTTP server. Every doc id is known and
+ * serves the same generated payload, a ZIP of A4 text pages at 150 dpi, so the load is bounded by
+ * the migration and not by the source.
+ *
+ * <ul>
+ *   <li>{@code GET /documents/{id}} — the metadata of one document
+ *   <li>{@code GET /documents?id=..&id=..} — the metadata of several documents
+ *   <li>{@code GET /payloads/{id}.zip} — the payload
+ * </ul>
+ */
+final class SourceApiStandIn implements AutoCloseable {
+
+    private static final int PAGE_WIDTH = 1240;
+    private static final int PAGE_HEIGHT = 1754;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final AtomicLong payloadRequests = new AtomicLong();
+    private final HttpServer server;
+    private final int pages;
+    private final byte[] payload;
+
+    private SourceApiStandIn(int pages) throws IOException {
+        this.pages = pages;
+        payload = payload(pages);
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/documents", this::documents);
+        server.createContext("/payloads", this::payload);
+        server.setExecutor(executor);
+        server.start();
+    }
+
+    /**
+     * Starts the stand-in on an ephemeral port.
+     *
+     * @param pages the number of pages of every payload
+     * @return the stand-in
+     * @throws IOException the io exception
+     */
+    static SourceApiStandIn start(int pages) throws IOException {
+        return new SourceApiStandIn(pages);
+    }
+
+    /**
+     * Gets the base url.
+     *
+     * @return the base url
+     */
+    String baseUrl() {
+        return "http://127.0.0.1:%d".formatted(server.getAddress().getPort());
+    }
+
+    /**
+     * Gets the number of payloads served.
+     *
+     * @return the payload requests
+     */
+    long payloadRequests() {
+        return payloadRequests.get();
+    }
+
+    /**
+     * Gets the size of the payload.
+     *
+     * @return the payload size in bytes
+     */
+    int payloadSize() {
+        return payload.length;
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.close();
+    }
+
+    private void documents(HttpExchange exchange) throws IOException {
+        String path = exchange.getRequestURI().getPath();
+        String query = exchange.getRequestURI().getQuery();
+        Object body;
+        if (path.startsWith("/documents/")) {
+            body = metadata(path.substring("/documents/".length()));
+        } else {
+            body =
+                    Arrays.stream(query == null ? new String[0] : query.split("&"))
+                            .filter(param -> param.startsWith("id="))
+                            .map(param -> metadata(param.substring("id=".length())))
+                            .toList();
+        }
+        respond(exchange, "application/json", objectMapper.writeValueAsBytes(body));
+    }
+
+    private void payload(HttpExchange exchange) throws IOException {
+        payloadRequests.incrementAndGet();
+        respond(exchange, "application/octet-stream", payload);
+    }
+
+    private Map<String, Object> metadata(String docId) {
+        Map<String, Object> meta = new LinkedHashMap<>();
+        meta.put("id", docId);
+        meta.put("docId", docId);
+        meta.put("title", "Load test document %s".formatted(docId));
+        meta.put("creationDate", "2026-01-01T00:00:00Z");
+        meta.put("clientId", "CHE-000.000.000");
+        meta.put("accountNo", "CH0000000000000000000");
+        meta.put("documentType", "INVOICE");
+        meta.put("department", "Accounts Payable");
+        meta.put("status", "ARCHIVED");
+        meta.put("originalSizeBytes", payload.length);
+        meta.put("pageCount", pages);
+        meta.put("tags", List.of("load-test"));
+        meta.put("payloadUrl", "/payloads/%s.zip".formatted(docId));
+        return meta;
+    }
+
+    private static void respond(HttpExchange exchange, String contentType, byte[] body)
+            throws IOException {
+        try (exchange) {
+            exchange.getResponseHeaders().set("Content-Type", contentType);
+            exchange.sendResponseHeaders(200, body.length);
+            exchange.getResponseBody().write(body);
+        }
+    }
+
+    private static byte[] payload(int pages) {
+        var bytes = new ByteArrayOutputStream();
+        try (var zip = new ZipOutputStream(bytes)) {
+            for (int number = 1; number <= pages; number++) {
+                zip.putNextEntry(new ZipEntry("page%03d.png".formatted(number)));
+                ImageIO.write(page(number), "png", zip);
+                zip.closeEntry();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static BufferedImage page(int number) {
+        var image = new BufferedImage(PAGE_WIDTH, PAGE_HEIGHT, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = image.createGraphics();
+        try {
+            g.setColor(Color.WHITE);
+            g.fillRect(0, 0, PAGE_WIDTH, PAGE_HEIGHT);
+            g.setColor(Color.BLACK);
+            g.setFont(new Font(Font.SERIF, Font.PLAIN, 28));
+            for (int line = 0, y = 120; y < PAGE_HEIGHT - 120; line++, y += 42) {
+                g.drawString(
+                        "Page %d line %d: invoice 7836 Stark Industries CHF %d.00"
+                                .formatted(number, line, 100 + line * 7),
+                        100,
+                        y);
+            }
+        } finally {
+            g.dispose();
+        }
+        return image;
+    }
+}
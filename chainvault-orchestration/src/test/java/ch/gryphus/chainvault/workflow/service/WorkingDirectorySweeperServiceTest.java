@@ -0,0 +1,162 @@
+/*
+ * Copyright (c) 2026. Gryphus Lab
+ */
+package ch.gryphus.chainvault.workflow.service;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import ch.gryphus.chainvault.config.ArtifactStoreProperties;
+import ch.gryphus.chainvault.model.entity.MigrationAudit;
+import ch.gryphus.chainvault.repository.MigrationAuditRepository;
+import ch.gryphus.chainvault.service.ArtifactStoreService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Optional;
+import org.flowable.engine.RuntimeService;
+import org.flowable.engine.runtime.ProcessInstanceQuery;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * The type Working directory sweeper service test.
+ */
+@MockitoSettings(strictness = Strictness.LENIENT)
+@ExtendWith(MockitoExtension.class)
+class WorkingDirectorySweeperServiceTest {
+
+    private static final Instant NOW = Instant.parse("2026-10-19T12:00:00Z");
+
+    @TempDir Path tempDir;
+
+    @Mock private ArtifactStoreService mockArtifactStore;
+    @Mock private MigrationAuditRepository mockAuditRepo;
+    @Mock private RuntimeService mockRuntimeService;
+    @Mock private ProcessInstanceQuery mockProcessInstanceQuery;
+
+    private SimpleMeterRegistry meterRegistry;
+    private WorkingDirectorySweeperService sweeperUnderTest;
+
+    /**
+     * Sets up.
+     */
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        sweeperUnderTest =
+                new WorkingDirectorySweeperService(
+                        mockArtifactStore,
+                        new ArtifactStoreProperties(
+                                "",
+                                DataSize.ofGigabytes(1),
+                                DataSize.ofGigabytes(10),
+                                4.0,
+                                Duration.ofMinutes(5),
+                                Duration.ofHours(1),
+                                Duration.ofDays(7),
+                                "",
+                                DataSize.ofMegabytes(5)),
+                        mockAuditRepo,
+                        mockRuntimeService,
+                        meterRegistry,
+                        Clock.fixed(NOW, ZoneOffset.UTC));
+
+        when(mockRuntimeService.createProcessInstanceQuery()).thenReturn(mockProcessInstanceQuery);
+        when(mockProcessInstanceQuery.processInstanceId(anyString()))
+                .thenReturn(mockProcessInstanceQuery);
+        when(mockProcessInstanceQuery.count()).thenReturn(0L);
+        when(mockAuditRepo.findByWorkingDirectory(anyString())).thenReturn(List.of());
+    }
+
+    /**
+     * Test directories of finished or unknown process instances are deleted, the others kept.
+     *
+     * @throws Exception the exception
+     */
+    @Test
+    void testSweep_shouldDeleteOrphansOnly() throws Exception {
+        Path young = directory("young", "pid-young", NOW.minusSeconds(60));
+        Path running = directory("running", "pid-running", NOW.minus(Duration.ofDays(1)));
+        Path inFlight = directory("in-flight", "pid-in-flight", NOW.minus(Duration.ofDays(1)));
+        Path recentlyFailed = directory("failed", "pid-failed", NOW.minus(Duration.ofDays(1)));
+        Path finished = directory("finished", "pid-finished", NOW.minus(Duration.ofDays(1)));
+        Path expired = directory("expired", "pid-expired", NOW.minus(Duration.ofDays(30)));
+        when(mockArtifactStore.workingDirectories())
+                .thenReturn(List.of(young, running, inFlight, recentlyFailed, finished, expired));
+        when(mockArtifactStore.size(any())).thenReturn(100L);
+
+        ProcessInstanceQuery runningQuery = mock(ProcessInstanceQuery.class);
+        when(runningQuery.count()).thenReturn(1L);
+        when(mockProcessInstanceQuery.processInstanceId("pid-running")).thenReturn(runningQuery);
+        when(mockAuditRepo.findByWorkingDirectory(inFlight.toString()))
+                .thenReturn(List.of(audit(MigrationAudit.MigrationStatus.RETRYING, NOW)));
+        when(mockAuditRepo.findByWorkingDirectory(recentlyFailed.toString()))
+                .thenReturn(
+                        List.of(
+                                audit(
+                                        MigrationAudit.MigrationStatus.FAILED,
+                                        NOW.minus(Duration.ofDays(1)))));
+        MigrationAudit expiredAudit =
+                audit(MigrationAudit.MigrationStatus.FAILED, NOW.minus(Duration.ofDays(30)));
+        expiredAudit.setWorkingDirectory(expired.toString());
+        when(mockAuditRepo.findByWorkingDirectory(expired.toString()))
+                .thenReturn(List.of(expiredAudit));
+
+        int swept = sweeperUnderTest.sweep();
+
+        assertThat(swept).isEqualTo(2);
+        verify(mockArtifactStore).delete(finished);
+        verify(mockArtifactStore).delete(expired);
+        verify(mockArtifactStore, times(2)).delete(any());
+        assertThat(expiredAudit.getWorkingDirectory()).isNull();
+        verify(mockAuditRepo).save(expiredAudit);
+        assertThat(meterRegistry.get("chainvault.workdir.count").gauge().value()).isEqualTo(4);
+        assertThat(meterRegistry.get("chainvault.workdir.used").gauge().value()).isEqualTo(400);
+        assertThat(meterRegistry.get("chainvault.workdir.swept").counter().count()).isEqualTo(2);
+    }
+
+    /**
+     * Test a failing listing leaves everything in place.
+     *
+     * @throws Exception the exception
+     */
+    @Test
+    void testSweep_shouldSkipWhenListingFails() throws Exception {
+        when(mockArtifactStore.workingDirectories()).thenThrow(new IOException("denied"));
+
+        assertThat(sweeperUnderTest.sweep()).isZero();
+        verify(mockArtifactStore, never()).delete(any());
+    }
+
+    private Path directory(String name, String processInstanceId, Instant modified)
+            throws IOException {
+        Path directory = Files.createDirectories(tempDir.resolve(name));
+        Files.setLastModifiedTime(directory, FileTime.from(modified));
+        when(mockArtifactStore.processInstanceIdOf(directory))
+                .thenReturn(Optional.of(processInstanceId));
+        return directory;
+    }
+
+    private static MigrationAudit audit(MigrationAudit.MigrationStatus status, Instant updated) {
+        MigrationAudit audit = new MigrationAudit();
+        audit.setStatus(status);
+        audit.setLastUpdatedAt(updated);
+        return audit;
+    }
+}